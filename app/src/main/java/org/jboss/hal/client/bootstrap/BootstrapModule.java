@@ -24,7 +24,6 @@ import org.jboss.hal.client.bootstrap.tasks.InitializationTasks;
 import org.jboss.hal.client.bootstrap.tasks.LoadSettings;
 import org.jboss.hal.client.bootstrap.tasks.ReadAuthentication;
 import org.jboss.hal.client.bootstrap.tasks.ReadEnvironment;
-import org.jboss.hal.client.bootstrap.tasks.ReadHostNames;
 import org.jboss.hal.client.bootstrap.tasks.RegisterStaticCapabilities;
 import org.jboss.hal.client.bootstrap.tasks.SetTitle;
 import org.jboss.hal.client.bootstrap.tasks.StartAnalytics;
@@ -43,7 +42,6 @@ public class BootstrapModule extends AbstractGinModule {
         bind(CheckTargetVersion.class).in(Singleton.class);
         bind(EndpointManager.class).in(Singleton.class);
         bind(EndpointStorage.class).in(Singleton.class);
-        bind(ReadHostNames.class).in(Singleton.class);
         bind(InitializationTasks.class).in(Singleton.class);
         bind(LoadSettings.class).in(Singleton.class);
         bind(ReadAuthentication.class).in(Singleton.class);
@@ -22,18 +22,19 @@ import org.jboss.hal.client.bootstrap.tasks.BootstrapTasks;
 import org.jboss.hal.client.bootstrap.tasks.InitializationTasks;
 import org.jboss.hal.client.bootstrap.tasks.InitializedTask;
 import org.jboss.hal.core.ExceptionHandler;
-import org.jboss.hal.flow.Flow;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.js.Browser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Stopwatch;
 import com.gwtplatform.mvp.client.Bootstrapper;
 import com.gwtplatform.mvp.client.proxy.PlaceManager;
 
 import elemental2.dom.Event;
 
 import static elemental2.dom.DomGlobal.window;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class HalBootstrapper implements Bootstrapper {
 
@@ -70,9 +71,11 @@ public class HalBootstrapper implements Bootstrapper {
 
         endpointManager.select(() -> {
             LoadingPanel.get().on();
-            Flow.sequential(new FlowContext(), bootstrapTasks.tasks())
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            bootstrapTasks.graph().execute(new FlowContext())
                     .then(context -> {
-                        logger.info("Bootstrap finished");
+                        logger.info("Bootstrap finished in {} ms", stopwatch.elapsed(MILLISECONDS));
+                        logger.debug("Bootstrap timings: {}", bootstrapTasks.graph().timings());
                         LoadingPanel.get().off();
                         placeManager.revealCurrentPlace();
                         exceptionHandler.afterBootstrap();
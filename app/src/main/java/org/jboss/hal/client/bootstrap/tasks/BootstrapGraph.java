@@ -0,0 +1,195 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.flow.Flow;
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Stopwatch;
+
+import elemental2.promise.Promise;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Executes tasks according to their dependencies.
+ * <p>
+ * Tasks are registered together with the tasks they depend on. A dependency has to be registered before the tasks which
+ * depend on it, so the graph is free of cycles by construction. The tasks are grouped into levels: A task without
+ * dependencies is on level 0, all other tasks are one level above their highest dependency.
+ * <p>
+ * The levels are executed one after another. The operations of all {@linkplain CompositeTask composite tasks} on one level
+ * are executed in one composite operation. Then all tasks of the level are applied in parallel. So the number of
+ * round-trips is the number of levels which contain composite tasks, no matter how many tasks there are.
+ * <p>
+ * For each task the time from the start of its level until the task has been finished is recorded and logged.
+ */
+public class BootstrapGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(BootstrapGraph.class);
+
+    private final Dispatcher dispatcher;
+    private final Map<Task<FlowContext>, Node> nodes;
+    private final List<List<Node>> levels;
+    private final Map<String, Long> timings;
+
+    BootstrapGraph(Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        this.nodes = new LinkedHashMap<>();
+        this.levels = new ArrayList<>();
+        this.timings = new LinkedHashMap<>();
+    }
+
+    /**
+     * Registers a task.
+     *
+     * @param name         the name of the task used for logging and timings
+     * @param task         the task
+     * @param dependencies the tasks which have to be finished before this task is executed
+     * @throws IllegalArgumentException if the task has already been registered or if one of the dependencies has not been
+     *                                  registered yet
+     */
+    @SafeVarargs
+    final BootstrapGraph add(String name, Task<FlowContext> task, Task<FlowContext>... dependencies) {
+        if (nodes.containsKey(task)) {
+            throw new IllegalArgumentException("Task " + name + " has already been registered");
+        }
+        int level = 0;
+        for (Task<FlowContext> dependency : dependencies) {
+            Node node = nodes.get(dependency);
+            if (node == null) {
+                throw new IllegalArgumentException("Dependency of task " + name + " has not been registered yet");
+            }
+            level = Math.max(level, node.level + 1);
+        }
+        Node node = new Node(name, task, level);
+        nodes.put(task, node);
+        while (levels.size() <= level) {
+            levels.add(new ArrayList<>());
+        }
+        levels.get(level).add(node);
+        return this;
+    }
+
+    /** Executes all tasks level by level. */
+    public Promise<FlowContext> execute(FlowContext context) {
+        timings.clear();
+        List<Task<FlowContext>> tasks = new ArrayList<>();
+        for (int i = 0; i < levels.size(); i++) {
+            int index = i;
+            tasks.add(c -> executeLevel(index, levels.get(index), c));
+        }
+        return Flow.sequential(context, tasks).promise();
+    }
+
+    private Promise<FlowContext> executeLevel(int index, List<Node> level, FlowContext context) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        List<Operation> operations = new ArrayList<>();
+        for (Node node : level) {
+            if (node.task instanceof CompositeTask) {
+                node.from = operations.size();
+                operations.addAll(((CompositeTask) node.task).operations(context));
+                node.to = operations.size();
+            }
+        }
+
+        Promise<CompositeResult> read;
+        if (operations.isEmpty()) {
+            read = Promise.resolve((CompositeResult) null);
+        } else {
+            read = dispatcher.execute(new Composite(operations));
+        }
+        return read.then(result -> {
+            if (result != null) {
+                logger.debug("Bootstrap level {}: Executed {} operations in {} ms", index, operations.size(),
+                        stopwatch.elapsed(MILLISECONDS));
+            }
+            List<Task<FlowContext>> tasks = new ArrayList<>();
+            for (Node node : level) {
+                tasks.add(c -> apply(node, c, result, stopwatch));
+            }
+            return Flow.parallel(context, tasks).promise();
+        });
+    }
+
+    private Promise<FlowContext> apply(Node node, FlowContext context, CompositeResult result, Stopwatch stopwatch) {
+        Promise<FlowContext> promise;
+        if (node.task instanceof CompositeTask) {
+            List<ModelNode> steps = new ArrayList<>();
+            for (int i = node.from; i < node.to; i++) {
+                steps.add(result.step(i));
+            }
+            promise = ((CompositeTask) node.task).apply(context, steps);
+        } else {
+            promise = node.task.apply(context);
+        }
+        return promise.then(c -> {
+            long elapsed = stopwatch.elapsed(MILLISECONDS);
+            timings.put(node.name, elapsed);
+            logger.debug("Bootstrap task {} finished after {} ms", node.name, elapsed);
+            return Promise.resolve(c);
+        });
+    }
+
+    /** @return the names of the tasks grouped by level */
+    List<List<String>> levels() {
+        List<List<String>> names = new ArrayList<>();
+        for (List<Node> level : levels) {
+            List<String> levelNames = new ArrayList<>();
+            for (Node node : level) {
+                levelNames.add(node.name);
+            }
+            names.add(levelNames);
+        }
+        return names;
+    }
+
+    /**
+     * @return the time in milliseconds from the start of the level until the task has been finished by task name. Only
+     *         contains the tasks of the last execution which have been finished.
+     */
+    public Map<String, Long> timings() {
+        return timings;
+    }
+
+    private static class Node {
+
+        private final String name;
+        private final Task<FlowContext> task;
+        private final int level;
+        private int from;
+        private int to;
+
+        private Node(String name, Task<FlowContext> task, int level) {
+            this.name = name;
+            this.task = task;
+            this.level = level;
+        }
+    }
+}
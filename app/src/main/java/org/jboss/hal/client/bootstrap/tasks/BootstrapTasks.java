@@ -15,42 +15,40 @@
  */
 package org.jboss.hal.client.bootstrap.tasks;
 
-import java.util.List;
-
 import javax.inject.Inject;
 
-import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
-
-import static java.util.Arrays.asList;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
 
-/** Simple wrapper around an ordered array of bootstrap tasks. */
+/** Declares the bootstrap tasks and their dependencies. The tasks are executed by a {@link BootstrapGraph}. */
 public class BootstrapTasks {
 
-    private final List<Task<FlowContext>> tasks;
+    private final BootstrapGraph graph;
 
-    // Don't change the order unless you know what you're doing!
+    // Don't change the dependencies unless you know what you're doing!
     @Inject
-    public BootstrapTasks(ReadEnvironment readEnvironment,
+    public BootstrapTasks(Dispatcher dispatcher,
+            ReadEnvironment readEnvironment,
             ReadAuthentication readAuthentication,
-            ReadHostNames readHostNames,
             FindDomainController findDomainController,
             RegisterStaticCapabilities registerStaticCapabilities,
             LoadSettings loadSettings,
             SetTitle setTitle,
-            StartAnalytics startAnalytics) {
-        this.tasks = asList(
-                readEnvironment,
-                readAuthentication,
-                readHostNames,
-                findDomainController,
-                registerStaticCapabilities,
-                loadSettings,
-                setTitle,
-                startAnalytics);
+            StartAnalytics startAnalytics,
+            WarmUpMetadata warmUpMetadata) {
+        this.graph = new BootstrapGraph(dispatcher)
+                .add("ReadEnvironment", readEnvironment)
+                .add("ReadAuthentication", readAuthentication, readEnvironment)
+                .add("FindDomainController", findDomainController, readEnvironment)
+                .add("RegisterStaticCapabilities", registerStaticCapabilities, readEnvironment)
+                // LoadSettings loads the run-as role used by the dispatcher:
+                // It must depend on all tasks which read from the management model.
+                .add("LoadSettings", loadSettings, readEnvironment, readAuthentication, findDomainController)
+                .add("SetTitle", setTitle, readEnvironment, loadSettings)
+                .add("StartAnalytics", startAnalytics, readAuthentication, loadSettings)
+                .add("WarmUpMetadata", warmUpMetadata, loadSettings);
     }
 
-    public List<Task<FlowContext>> tasks() {
-        return tasks;
+    public BootstrapGraph graph() {
+        return graph;
     }
 }
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Task;
+
+import elemental2.promise.Promise;
+
+/**
+ * A bootstrap task which reads from the management model. Instead of executing its operations itself, the task returns
+ * them from {@link #operations(FlowContext)}. The {@link BootstrapGraph} executes the operations of all composite tasks on
+ * the same level in one composite operation and passes the results to {@link #apply(FlowContext, List)}.
+ */
+public interface CompositeTask extends Task<FlowContext> {
+
+    /**
+     * Returns the operations of this task. Called after all dependencies of this task have been finished.
+     *
+     * @return the operations to execute, or an empty list if there's nothing to read
+     */
+    List<Operation> operations(FlowContext context);
+
+    /**
+     * Processes the results of the operations.
+     *
+     * @param steps the step results (including outcome and result) in the order of {@link #operations(FlowContext)}
+     */
+    Promise<FlowContext> apply(FlowContext context, List<ModelNode> steps);
+
+    /** Executes the operations of this task on its own. Use this to implement {@link #apply(FlowContext)}. */
+    default Promise<FlowContext> execute(Dispatcher dispatcher, FlowContext context) {
+        List<Operation> operations = operations(context);
+        if (operations.isEmpty()) {
+            return apply(context, new ArrayList<>());
+        }
+        return dispatcher.execute(new Composite(operations)).then(result -> {
+            List<ModelNode> steps = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                steps.add(result.step(i));
+            }
+            return apply(context, steps);
+        });
+    }
+}
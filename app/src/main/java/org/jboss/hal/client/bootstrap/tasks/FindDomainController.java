@@ -15,32 +15,35 @@
  */
 package org.jboss.hal.client.bootstrap.tasks;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
-import org.jboss.hal.flow.Flow;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import elemental2.promise.Promise;
 
-import static java.util.stream.Collectors.toList;
-import static org.jboss.hal.client.bootstrap.tasks.ReadHostNames.HOST_NAMES;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES_ONLY;
+import static java.util.Collections.singletonList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.PRIMARY;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 
-public final class FindDomainController implements Task<FlowContext> {
+/**
+ * Finds the domain controller. Only executed in domain mode. Reads the {@code primary} attribute of all hosts using one
+ * wildcard operation. Depends on {@link ReadEnvironment}.
+ */
+public final class FindDomainController implements CompositeTask {
 
     private static final Logger logger = LoggerFactory.getLogger(FindDomainController.class);
 
@@ -55,33 +58,32 @@ public final class FindDomainController implements Task<FlowContext> {
 
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
-        if (!environment.isStandalone()) {
-            List<String> hosts = context.get(HOST_NAMES);
-            if (hosts != null) {
-                List<Task<FlowContext>> hostTasks = hosts.stream()
-                        .map(host -> {
-                            ResourceAddress address = new ResourceAddress().add(HOST, host);
-                            Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
-                                    .param(ATTRIBUTES_ONLY, true)
-                                    .param(INCLUDE_RUNTIME, true)
-                                    .build();
-                            return (Task<FlowContext>) c -> dispatcher.execute(operation).then(result -> {
-                                boolean primary = result.get(PRIMARY).asBoolean();
-                                if (primary) {
-                                    String name = result.get(NAME).asString();
-                                    environment.setDomainController(name);
-                                    logger.info("Found domain controller: {}", name);
-                                }
-                                return Promise.resolve(c);
-                            });
-                        })
-                        .collect(toList());
-                return Flow.sequential(context, hostTasks).promise();
-            } else {
-                return Promise.resolve(context);
+        return execute(dispatcher, context);
+    }
+
+    @Override
+    public List<Operation> operations(FlowContext context) {
+        if (environment.isStandalone()) {
+            return new ArrayList<>();
+        }
+        ResourceAddress address = new ResourceAddress().add(HOST, "*");
+        return singletonList(new Operation.Builder(address, READ_ATTRIBUTE_OPERATION)
+                .param(NAME, PRIMARY)
+                .build());
+    }
+
+    @Override
+    public Promise<FlowContext> apply(FlowContext context, List<ModelNode> steps) {
+        if (!steps.isEmpty() && steps.get(0).hasDefined(RESULT)) {
+            // hosts which can't be read (e.g. because they're booting) are reported as failed items
+            for (ModelNode host : steps.get(0).get(RESULT).asList()) {
+                if (!host.isFailure() && host.get(RESULT).asBoolean(false)) {
+                    String name = new ResourceAddress(host.get(ADDRESS)).lastValue();
+                    environment.setDomainController(name);
+                    logger.info("Found domain controller: {}", name);
+                }
             }
-        } else {
-            return Promise.resolve(context);
         }
+        return Promise.resolve(context);
     }
 }
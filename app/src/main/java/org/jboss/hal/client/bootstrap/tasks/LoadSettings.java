@@ -28,7 +28,10 @@ import org.slf4j.LoggerFactory;
 
 import elemental2.promise.Promise;
 
+import static org.jboss.hal.config.Settings.Key.COALESCE_REQUESTS;
 import static org.jboss.hal.config.Settings.Key.COLLECT_USER_DATA;
+import static org.jboss.hal.config.Settings.Key.DMR_WORKER_POOL_SIZE;
+import static org.jboss.hal.config.Settings.Key.DMR_WORKER_THRESHOLD;
 import static org.jboss.hal.config.Settings.Key.LOCALE;
 import static org.jboss.hal.config.Settings.Key.PAGE_SIZE;
 import static org.jboss.hal.config.Settings.Key.POLL;
@@ -61,6 +64,9 @@ public final class LoadSettings implements Task<FlowContext> {
         settings.load(PAGE_SIZE, Settings.DEFAULT_PAGE_SIZE);
         settings.load(POLL, true);
         settings.load(POLL_TIME, Settings.DEFAULT_POLL_TIME);
+        settings.load(DMR_WORKER_THRESHOLD, Settings.DEFAULT_DMR_WORKER_THRESHOLD);
+        settings.load(DMR_WORKER_POOL_SIZE, Settings.DEFAULT_DMR_WORKER_POOL_SIZE);
+        settings.load(COALESCE_REQUESTS, true);
         settings.load(RUN_AS, null);
         logger.debug("Load settings: {}", settings);
         return Promise.resolve(context);
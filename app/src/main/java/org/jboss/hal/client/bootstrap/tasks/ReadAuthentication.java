@@ -16,6 +16,7 @@
 package org.jboss.hal.client.bootstrap.tasks;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -23,15 +24,12 @@ import javax.inject.Inject;
 import org.jboss.hal.config.AccessControlProvider;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Role;
-import org.jboss.hal.dmr.Composite;
-import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
@@ -40,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import elemental2.promise.Promise;
 
+import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toSet;
 import static org.jboss.hal.config.AccessControlProvider.RBAC;
 import static org.jboss.hal.config.AccessControlProvider.SIMPLE;
@@ -68,7 +67,7 @@ import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
  * function, because the operation might fail in some corner cases (e.g. when the current user is a host scoped role scoped to a
  * secondary host).
  */
-public final class ReadAuthentication implements Task<FlowContext> {
+public final class ReadAuthentication implements CompositeTask {
 
     private static final Logger logger = LoggerFactory.getLogger(ReadAuthentication.class);
     private static final AddressTemplate CORE_SERVICE_TEMPLATE = AddressTemplate.of("/core-service=management");
@@ -86,6 +85,11 @@ public final class ReadAuthentication implements Task<FlowContext> {
 
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
+        return execute(dispatcher, context);
+    }
+
+    @Override
+    public List<Operation> operations(FlowContext context) {
         logger.debug("Read authentication");
         ResourceAddress address = CORE_SERVICE_TEMPLATE.resolve(statementContext);
         Operation opAuthorization = new Operation.Builder(address, READ_CHILDREN_RESOURCES_OPERATION)
@@ -96,55 +100,55 @@ public final class ReadAuthentication implements Task<FlowContext> {
         Operation opWhoami = new Operation.Builder(ResourceAddress.root(), WHOAMI)
                 .param(VERBOSE, true)
                 .build();
-        return dispatcher.execute(new Composite(opAuthorization, opWhoami))
-                .then((CompositeResult compositeResult) -> {
+        return asList(opAuthorization, opWhoami);
+    }
 
-                    ModelNode result = compositeResult.step(0).get(RESULT);
-                    if (result.hasDefined(AUTHORIZATION)) {
-                        result = result.get(AUTHORIZATION);
-                        // provider
-                        AccessControlProvider accessControlProvider = asEnumValue(result, PROVIDER,
-                                AccessControlProvider::valueOf, SIMPLE);
-                        environment.setAccessControlProvider(accessControlProvider);
+    @Override
+    public Promise<FlowContext> apply(FlowContext context, List<ModelNode> steps) {
+        ModelNode result = steps.get(0).get(RESULT);
+        if (result.hasDefined(AUTHORIZATION)) {
+            result = result.get(AUTHORIZATION);
+            // provider
+            AccessControlProvider accessControlProvider = asEnumValue(result, PROVIDER, AccessControlProvider::valueOf, SIMPLE);
+            environment.setAccessControlProvider(accessControlProvider);
 
-                        // standard roles
-                        if (result.hasDefined(STANDARD_ROLE_NAMES)) {
-                            result.get(STANDARD_ROLE_NAMES).asList().stream()
-                                    .map(node -> new Role(node.asString()))
-                                    .forEach(role -> environment.getRoles().add(role));
-                        }
+            // standard roles
+            if (result.hasDefined(STANDARD_ROLE_NAMES)) {
+                result.get(STANDARD_ROLE_NAMES).asList().stream()
+                        .map(node -> new Role(node.asString()))
+                        .forEach(role -> environment.getRoles().add(role));
+            }
 
-                        // scoped roles
-                        if (!environment.isStandalone()) {
-                            if (result.hasDefined(HOST_SCOPED_ROLE)) {
-                                result.get(HOST_SCOPED_ROLE).asPropertyList().stream()
-                                        .map(property -> scopedRole(property, Role.Type.HOST, HOSTS))
-                                        .forEach(role -> environment.getRoles().add(role));
-                            }
-                            if (result.hasDefined(SERVER_GROUP_SCOPED_ROLE)) {
-                                result.get(SERVER_GROUP_SCOPED_ROLE).asPropertyList().stream()
-                                        .map(property -> scopedRole(property, Role.Type.SERVER_GROUP, SERVER_GROUPS))
-                                        .forEach(role -> environment.getRoles().add(role));
-                            }
-                        }
-                    } else {
-                        logger.warn("Unable to read {} (insufficient rights?). Use :whoami values as fallback.",
-                                CORE_SERVICE_TEMPLATE.append("access=authorization"));
-                        ModelNode resultWhoami = compositeResult.step(1).get(RESULT);
-                        environment.setAccessControlProvider(RBAC);
-                        environment.getRoles().clear();
-                        if (resultWhoami.hasDefined(ROLES)) {
-                            resultWhoami.get(ROLES).asList().stream()
-                                    .map(node -> new Role(node.asString()))
-                                    .forEach(role -> environment.getRoles().add(role));
-                        } else if (resultWhoami.hasDefined(MAPPED_ROLES)) {
-                            resultWhoami.get(MAPPED_ROLES).asList().stream()
-                                    .map(node -> new Role(node.asString()))
-                                    .forEach(role -> environment.getRoles().add(role));
-                        }
-                    }
-                    return Promise.resolve(context);
-                });
+            // scoped roles
+            if (!environment.isStandalone()) {
+                if (result.hasDefined(HOST_SCOPED_ROLE)) {
+                    result.get(HOST_SCOPED_ROLE).asPropertyList().stream()
+                            .map(property -> scopedRole(property, Role.Type.HOST, HOSTS))
+                            .forEach(role -> environment.getRoles().add(role));
+                }
+                if (result.hasDefined(SERVER_GROUP_SCOPED_ROLE)) {
+                    result.get(SERVER_GROUP_SCOPED_ROLE).asPropertyList().stream()
+                            .map(property -> scopedRole(property, Role.Type.SERVER_GROUP, SERVER_GROUPS))
+                            .forEach(role -> environment.getRoles().add(role));
+                }
+            }
+        } else {
+            logger.warn("Unable to read {} (insufficient rights?). Use :whoami values as fallback.",
+                    CORE_SERVICE_TEMPLATE.append("access=authorization"));
+            ModelNode resultWhoami = steps.get(1).get(RESULT);
+            environment.setAccessControlProvider(RBAC);
+            environment.getRoles().clear();
+            if (resultWhoami.hasDefined(ROLES)) {
+                resultWhoami.get(ROLES).asList().stream()
+                        .map(node -> new Role(node.asString()))
+                        .forEach(role -> environment.getRoles().add(role));
+            } else if (resultWhoami.hasDefined(MAPPED_ROLES)) {
+                resultWhoami.get(MAPPED_ROLES).asList().stream()
+                        .map(node -> new Role(node.asString()))
+                        .forEach(role -> environment.getRoles().add(role));
+            }
+        }
+        return Promise.resolve(context);
     }
 
     private Role scopedRole(Property property, Role.Type type, String scopeAttribute) {
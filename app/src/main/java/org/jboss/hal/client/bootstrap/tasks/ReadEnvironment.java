@@ -28,13 +28,11 @@ import org.jboss.hal.config.Version;
 import org.jboss.hal.config.keycloak.Keycloak;
 import org.jboss.hal.config.keycloak.KeycloakHolder;
 import org.jboss.hal.core.runtime.server.Server;
-import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.ManagementModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,7 +64,7 @@ import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
  * Reads important information from the root resource like product name and version, operation mode and management version.
  * Executes the {@code :whoami} operation to get the current user / roles.
  */
-public final class ReadEnvironment implements Task<FlowContext> {
+public final class ReadEnvironment implements CompositeTask {
 
     private static final Logger logger = LoggerFactory.getLogger(ReadEnvironment.class);
 
@@ -85,6 +83,11 @@ public final class ReadEnvironment implements Task<FlowContext> {
 
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
+        return execute(dispatcher, context);
+    }
+
+    @Override
+    public List<Operation> operations(FlowContext context) {
         logger.debug("Read environment");
 
         Keycloak keycloak = keycloakHolder.getKeycloak();
@@ -103,70 +106,71 @@ public final class ReadEnvironment implements Task<FlowContext> {
                 .param(CHILD_TYPE, CORE_SERVICE)
                 .param(RECURSIVE, false)
                 .build());
+        return ops;
+    }
+
+    @Override
+    public Promise<FlowContext> apply(FlowContext context, List<ModelNode> steps) {
+        Keycloak keycloak = keycloakHolder.getKeycloak();
+        ModelNode node = steps.get(0).get(RESULT);
+
+        // operation mode
+        OperationMode operationMode = asEnumValue(node, LAUNCH_TYPE, OperationMode::valueOf, OperationMode.UNDEFINED);
+        environment.setOperationMode(operationMode);
+        logger.debug("Operation mode: {}", operationMode);
+
+        // name and org
+        if (node.get(NAME).isDefined()) {
+            String name = node.get(NAME).asString();
+            environment.setName(name);
+        }
+        String orgAttribute = environment.isStandalone() ? ORGANIZATION : DOMAIN_ORGANIZATION;
+        if (node.get(orgAttribute).isDefined()) {
+            String org = node.get(orgAttribute).asString();
+            environment.setOrganization(org);
+        }
+
+        // server info
+        environment.setInstanceInfo(node.get(PRODUCT_NAME).asString(), node.get(PRODUCT_VERSION).asString(),
+                node.get(RELEASE_CODENAME).asString(), node.get(RELEASE_VERSION).asString());
+
+        // management version
+        Version version = ManagementModel.parseVersion(node);
+        environment.setManagementVersion(version);
+        logger.debug("Management model version: {}", version);
+
+        if (environment.isStandalone()) {
+            Server.STANDALONE.addServerAttributes(node);
+        }
+
+        // user info
+        if (environment.isSingleSignOn() && keycloak != null) {
+            user.setName(keycloak.userProfile.username);
+            // as Keycloak is a native js object, the Java 8 collection methods as: stream, foreach, iterator
+            // are not supported on the javascript side when run in the browser.
+            if (keycloak.realmAccess != null && keycloak.realmAccess.roles != null) {
+                for (int i = 0; i < keycloak.realmAccess.roles.length; i++) {
+                    String role = keycloak.realmAccess.roles[i];
+                    user.addRole(new Role(role));
+                }
+            }
+        } else {
+            ModelNode whoami = steps.get(1).get(RESULT);
+            String username = whoami.get("identity").get("username").asString();
+            user.setName(username);
+            if (whoami.hasDefined("mapped-roles")) {
+                List<ModelNode> roles = whoami.get("mapped-roles").asList();
+                for (ModelNode role : roles) {
+                    String roleName = role.asString();
+                    user.addRole(new Role(roleName));
+                }
+            }
+        }
+        user.setAuthenticated(true);
+        logger.debug("User info: {} {}", user.getName(), user.getRoles());
 
-        return dispatcher.execute(new Composite(ops))
-                .then(result -> {
-                    ModelNode node = result.step(0).get(RESULT);
-
-                    // operation mode
-                    OperationMode operationMode = asEnumValue(node, LAUNCH_TYPE, OperationMode::valueOf,
-                            OperationMode.UNDEFINED);
-                    environment.setOperationMode(operationMode);
-                    logger.debug("Operation mode: {}", operationMode);
-
-                    // name and org
-                    if (node.get(NAME).isDefined()) {
-                        String name = node.get(NAME).asString();
-                        environment.setName(name);
-                    }
-                    String orgAttribute = environment.isStandalone() ? ORGANIZATION : DOMAIN_ORGANIZATION;
-                    if (node.get(orgAttribute).isDefined()) {
-                        String org = node.get(orgAttribute).asString();
-                        environment.setOrganization(org);
-                    }
-
-                    // server info
-                    environment.setInstanceInfo(node.get(PRODUCT_NAME).asString(), node.get(PRODUCT_VERSION).asString(),
-                            node.get(RELEASE_CODENAME).asString(), node.get(RELEASE_VERSION).asString());
-
-                    // management version
-                    Version version = ManagementModel.parseVersion(node);
-                    environment.setManagementVersion(version);
-                    logger.debug("Management model version: {}", version);
-
-                    if (environment.isStandalone()) {
-                        Server.STANDALONE.addServerAttributes(node);
-                    }
-
-                    // user info
-                    if (environment.isSingleSignOn() && keycloak != null) {
-                        user.setName(keycloak.userProfile.username);
-                        // as Keycloak is a native js object, the Java 8 collection methods as: stream, foreach, iterator
-                        // are not supported on the javascript side when run in the browser.
-                        if (keycloak.realmAccess != null && keycloak.realmAccess.roles != null) {
-                            for (int i = 0; i < keycloak.realmAccess.roles.length; i++) {
-                                String role = keycloak.realmAccess.roles[i];
-                                user.addRole(new Role(role));
-                            }
-                        }
-                    } else {
-                        ModelNode whoami = result.step(1).get(RESULT);
-                        String username = whoami.get("identity").get("username").asString();
-                        user.setName(username);
-                        if (whoami.hasDefined("mapped-roles")) {
-                            List<ModelNode> roles = whoami.get("mapped-roles").asList();
-                            for (ModelNode role : roles) {
-                                String roleName = role.asString();
-                                user.addRole(new Role(roleName));
-                            }
-                        }
-                    }
-                    user.setAuthenticated(true);
-                    logger.debug("User info: {} {}", user.getName(), user.getRoles());
-
-                    ModelNode step = result.step(2).get(RESULT);
-                    environment.setPatchingEnabled(!environment.isStandalone() || step.get(PATCHING).isDefined());
-                    return Promise.resolve(context);
-                });
+        ModelNode step = steps.get(2).get(RESULT);
+        environment.setPatchingEnabled(!environment.isStandalone() || step.get(PATCHING).isDefined());
+        return Promise.resolve(context);
     }
 }
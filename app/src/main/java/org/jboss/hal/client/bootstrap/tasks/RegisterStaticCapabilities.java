@@ -30,7 +30,10 @@ import elemental2.promise.Promise;
 
 import static org.jboss.hal.meta.StatementContext.Expression.SELECTED_PROFILE;
 
-/** Reads the capabilities from the capability registry. Depends on {@link ReadHostNames}. */
+/**
+ * Registers well-known capabilities if the management model does not support the capability registry. Depends on
+ * {@link ReadEnvironment}.
+ */
 public final class RegisterStaticCapabilities implements Task<FlowContext> {
 
     private static final Logger logger = LoggerFactory.getLogger(RegisterStaticCapabilities.class);
@@ -0,0 +1,54 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Task;
+import org.jboss.hal.meta.processing.MetadataStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.promise.Promise;
+
+/**
+ * Deletes obsolete metadata databases and warms up the databases with the required resources of the most visited name
+ * tokens. Both happens in the background: This task does not wait for the metadata and resolves immediately. Must run after
+ * {@link LoadSettings}, since the metadata databases depend on the locale and run-as roles.
+ */
+public final class WarmUpMetadata implements Task<FlowContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpMetadata.class);
+
+    private final MetadataStore metadataStore;
+
+    @Inject
+    public WarmUpMetadata(MetadataStore metadataStore) {
+        this.metadataStore = metadataStore;
+    }
+
+    @Override
+    public Promise<FlowContext> apply(final FlowContext context) {
+        metadataStore.verify()
+                .then(__ -> metadataStore.warmUp())
+                .catch_(error -> {
+                    logger.error("Unable to warm up metadata: {}", error);
+                    return null;
+                });
+        return Promise.resolve(context);
+    }
+}
@@ -15,6 +15,11 @@
  */
 package org.jboss.hal.client.deployment;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -34,9 +39,9 @@ import org.jboss.hal.ballroom.form.FileItem;
 import org.jboss.hal.ballroom.form.Form;
 import org.jboss.hal.ballroom.form.TextBoxItem;
 import org.jboss.hal.ballroom.form.ValidationResult;
+import org.jboss.hal.ballroom.tree.DataFunction.ResultCallback;
 import org.jboss.hal.ballroom.tree.Node;
-import org.jboss.hal.ballroom.tree.SelectionContext;
-import org.jboss.hal.ballroom.tree.Tree;
+import org.jboss.hal.ballroom.virtual.VirtualTree;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.core.deployment.Content;
 import org.jboss.hal.core.mbui.dialog.AddResourceDialog;
@@ -61,10 +66,8 @@ import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 
 import com.google.common.collect.Sets;
-import com.google.gwt.safehtml.shared.SafeHtmlUtils;
 import com.google.web.bindery.event.shared.EventBus;
 
-import elemental2.core.JsArray;
 import elemental2.dom.File;
 import elemental2.dom.File.ConstructorContentsArrayUnionType;
 import elemental2.dom.HTMLButtonElement;
@@ -75,7 +78,9 @@ import elemental2.promise.Promise;
 import static com.google.common.base.Strings.nullToEmpty;
 import static elemental2.dom.DomGlobal.window;
 import static java.lang.Math.max;
-import static java.util.Collections.emptyList;
+import static java.util.Arrays.asList;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toList;
 import static org.jboss.elemento.Elements.a;
 import static org.jboss.elemento.Elements.button;
 import static org.jboss.elemento.Elements.div;
@@ -97,6 +102,7 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.ADD_CONTENT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.BROWSE_CONTENT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CONTENT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPTH;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FILE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INPUT_STREAM_INDEX;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.PATH;
@@ -180,16 +186,22 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
             "tiff",
             "webp");
 
+    /** Directories which are likely opened next, in order of preference. Their children are prefetched. */
+    @SuppressWarnings("HardCodedStringLiteral") private static final List<String> LIKELY_DIRECTORIES = asList(
+            "WEB-INF", "META-INF", "BOOT-INF", "classes", "lib");
+
     private static final int MIN_HEIGHT = 70;
     private static final AddressTemplate CONTENT_TEMPLATE = AddressTemplate.of("/deployment=*");
 
     private final Dispatcher dispatcher;
     private final EventBus eventBus;
     private final Resources resources;
+    private final Map<String, Map<String, Promise<List<ModelNode>>>> directories;
+    private final Map<String, Promise<Void>> completeDirectories;
 
     private final HTMLElement root;
     private final Search treeSearch;
-    private Tree<ContentEntry> tree;
+    private VirtualTree<ContentEntry> tree;
     private final EmptyState pleaseSelect;
     private final EmptyState deploymentPreview;
     private final EmptyState explodedPreview;
@@ -221,9 +233,11 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
         this.dispatcher = dispatcher;
         this.eventBus = eventBus;
         this.resources = resources;
+        this.directories = new HashMap<>();
+        this.completeDirectories = new HashMap<>();
         this.surroundingHeight = 0;
 
-        treeSearch = new Search.Builder(Ids.CONTENT_TREE_SEARCH, query -> tree.search(query))
+        treeSearch = new Search.Builder(Ids.CONTENT_TREE_SEARCH, this::search)
                 .onClear(() -> tree.clearSearch())
                 .build();
         treeSearch.element().classList.add(marginLeftSmall);
@@ -277,9 +291,7 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
                                                         .title(resources.constants().refresh())
                                                         .add(i().css(fontAwesome(refresh))))
                                                 .add(expandAllButton = button().css(btn, btnDefault)
-                                                        .on(click, event -> {
-                                                            tree.openAllNodes();
-                                                        })
+                                                        .on(click, event -> expandAll())
                                                         .title(resources.constants().expandAll())
                                                         .add(i().css(fontAwesome(CSS.list))).element())
                                                 .add(collapseButton = button().css(btn, btnDefault)
@@ -383,6 +395,9 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
     @Override
     public void detach() {
         window.onresize = null;
+        if (tree != null) {
+            tree.detach();
+        }
     }
 
     @Override
@@ -429,12 +444,11 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
     }
 
     private void refresh() {
-        String selectedId = selectedId();
+        String selectedPath = selectedEntryPath();
         browseContent()
-                .then(__ -> awaitTreeReady())
                 .then(__ -> {
-                    if (selectedId != null) {
-                        tree.selectNode(selectedId);
+                    if (selectedPath != null) {
+                        reveal(selectedPath);
                     }
                     return null;
                 });
@@ -450,7 +464,7 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
         setVisible(saveContentButton.orElse(null), content.isExploded());
         editor.getEditor().setReadOnly(!content.isExploded());
 
-        browseContent().then(__ -> {
+        showContent().then(__ -> {
             noSelection();
             return null;
         });
@@ -474,11 +488,10 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
                     .build();
             dispatcher.upload(file(filename(path), ""), operation)
                     .then(__ -> browseContent())
-                    .then(__ -> awaitTreeReady())
                     .then(__ -> {
                         MessageEvent.fire(eventBus,
                                 Message.success(resources.messages().newContentSuccess(content.getName(), path)));
-                        tree.selectNode(NODE_ID.apply(path));
+                        reveal(path);
                         return null;
                     });
         });
@@ -530,11 +543,10 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
                     ? dispatcher.execute(operation)
                     : dispatcher.upload(fileItem.getValue(), operation);
             promise.then(__ -> browseContent())
-                    .then(__ -> awaitTreeReady())
                     .then(__ -> {
                         MessageEvent.fire(eventBus,
                                 Message.success(resources.messages().newContentSuccess(content.getName(), path)));
-                        tree.selectNode(NODE_ID.apply(path));
+                        reveal(path);
                         return null;
                     });
         });
@@ -552,39 +564,184 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
         form.edit(new ModelNode());
     }
 
-    @SuppressWarnings("unchecked")
     private Promise<Void> browseContent() {
-        ResourceAddress address = new ResourceAddress().add(DEPLOYMENT, content.getName());
-        Operation operation = new Operation.Builder(address, BROWSE_CONTENT).build();
-        return dispatcher.execute(operation)
-                .then(result -> {
-                    String contentName = SafeHtmlUtils.htmlEscapeAllowEntities(content.getName());
-                    Node<ContentEntry> root = new Node.Builder<>(Ids.CONTENT_TREE_ROOT, contentName,
-                            new ContentEntry())
-                            .root()
-                            .folder()
-                            .open()
-                            .build();
-                    JsArray<Node<ContentEntry>> nodes = new JsArray<>();
-                    new ContentParser().parse(root, nodes, result.isDefined() ? result.asList() : emptyList());
-
-                    if (tree != null) {
-                        tree.destroy();
-                        tree = null;
-                    }
-                    tree = new Tree<>(Ids.CONTENT_TREE, nodes);
-                    Elements.removeChildrenFrom(treeContainer);
-                    treeContainer.appendChild(tree.element());
-                    tree.attach();
-                    tree.onSelectionChange((event, selectionContext) -> {
-                        if (!"ready".equals(selectionContext.action)) { // NON-NLS
-                            onNodeSelected(selectionContext);
-                        }
-                    });
-                    return Promise.resolve((Void) null);
+        directories.remove(content.getName());
+        completeDirectories.remove(content.getName());
+        return showContent();
+    }
+
+    private Promise<Void> showContent() {
+        Node<ContentEntry> root = new Node.Builder<>(Ids.CONTENT_TREE_ROOT, content.getName(), new ContentEntry())
+                .root()
+                .asyncFolder()
+                .build();
+        if (tree != null) {
+            tree.detach();
+            tree = null;
+        }
+        // directories are loaded on demand when they're opened for the first time
+        tree = new VirtualTree<>(Ids.CONTENT_TREE, root, this::loadDirectory);
+        Elements.removeChildrenFrom(treeContainer);
+        treeContainer.appendChild(tree.element());
+        tree.attach();
+        tree.onSelectionChange(this::onNodeSelected);
+        return new Promise<>((resolve, reject) -> tree.openNode(Ids.CONTENT_TREE_ROOT, () -> resolve.onInvoke(
+                (Void) null)));
+    }
+
+    // ------------------------------------------------------ search & expand all
+
+    // Directories are loaded lazily. To cover the whole deployment, search and expand all read the complete content once
+    // using a recursive browse-content operation. This costs as much as reading the deployment up front, but only if
+    // search or expand all are used. Afterwards all directories are served from the cache.
+
+    private void search(String query) {
+        VirtualTree<ContentEntry> currentTree = tree;
+        loadAllDirectories().then(__ -> {
+            if (currentTree == tree) {
+                tree.search(query);
+            }
+            return null;
+        });
+    }
+
+    private void expandAll() {
+        VirtualTree<ContentEntry> currentTree = tree;
+        loadAllDirectories().then(__ -> {
+            if (currentTree == tree) {
+                tree.openAllNodes();
+            }
+            return null;
+        });
+    }
+
+    private Promise<Void> loadAllDirectories() {
+        VirtualTree<ContentEntry> currentTree = tree;
+        return readAllDirectories().then(__ -> new Promise<>(
+                (resolve, reject) -> currentTree.loadAllNodes(() -> resolve.onInvoke((Void) null))));
+    }
+
+    /**
+     * Reads the complete content of the deployment using one recursive {@code browse-content} operation and puts the
+     * directories into the cache used by {@link #readDirectory(String)}.
+     */
+    private Promise<Void> readAllDirectories() {
+        String deployment = content.getName();
+        Promise<Void> promise = completeDirectories.get(deployment);
+        if (promise == null) {
+            ResourceAddress address = new ResourceAddress().add(DEPLOYMENT, deployment);
+            Operation operation = new Operation.Builder(address, BROWSE_CONTENT).build();
+            promise = dispatcher.execute(operation).then(result -> {
+                List<ModelNode> entries = result.isDefined() ? result.asList() : Collections.emptyList();
+                Map<String, Promise<List<ModelNode>>> cache = directories.computeIfAbsent(deployment,
+                        __ -> new HashMap<>());
+                new ContentParser().directories(entries)
+                        .forEach((directory, children) -> cache.put(directory, Promise.resolve(children)));
+                return Promise.resolve((Void) null);
+            });
+            promise.catch_(error -> {
+                completeDirectories.remove(deployment);
+                return null;
+            });
+            completeDirectories.put(deployment, promise);
+        }
+        return promise;
+    }
+
+    // ------------------------------------------------------ load directories
+
+    @SuppressWarnings("unchecked")
+    private void loadDirectory(Node<ContentEntry> node, ResultCallback<ContentEntry> callback) {
+        String directory = Ids.CONTENT_TREE_ROOT.equals(node.id) ? "" : node.data.path;
+        readDirectory(directory)
+                .then(content -> {
+                    Node<ContentEntry>[] children = new ContentParser().children(directory, content);
+                    callback.result(children);
+                    prefetch(children);
+                    return null;
+                })
+                .catch_(error -> {
+                    // the error has already been reported by the dispatcher
+                    callback.result(new Node[0]);
+                    return null;
                 });
     }
 
+    /**
+     * Reads the direct children of the specified directory using {@code browse-content(path=<directory>, depth=1)}. The
+     * results are cached per deployment until the content is refreshed or modified.
+     */
+    private Promise<List<ModelNode>> readDirectory(String directory) {
+        String deployment = content.getName();
+        Map<String, Promise<List<ModelNode>>> cache = directories.computeIfAbsent(deployment, __ -> new HashMap<>());
+        Promise<List<ModelNode>> promise = cache.get(directory);
+        if (promise == null) {
+            ResourceAddress address = new ResourceAddress().add(DEPLOYMENT, deployment);
+            Operation.Builder builder = new Operation.Builder(address, BROWSE_CONTENT).param(DEPTH, 1);
+            if (!directory.isEmpty()) {
+                builder.param(PATH, directory);
+            }
+            promise = dispatcher.execute(builder.build()).then(result -> {
+                List<ModelNode> children = result.isDefined() ? result.asList() : Collections.emptyList();
+                return Promise.resolve(children);
+            });
+            promise.catch_(error -> {
+                Map<String, Promise<List<ModelNode>>> current = directories.get(deployment);
+                if (current != null) {
+                    current.remove(directory);
+                }
+                return null;
+            });
+            cache.put(directory, promise);
+        }
+        return promise;
+    }
+
+    /**
+     * Reads the children of the directory which is most likely opened next: Either the only subdirectory or one of the
+     * well known directories of Java archives.
+     */
+    private void prefetch(Node<ContentEntry>[] children) {
+        List<ContentEntry> subdirectories = stream(children)
+                .map(node -> node.data)
+                .filter(entry -> entry.directory)
+                .collect(toList());
+        ContentEntry next = null;
+        if (subdirectories.size() == 1) {
+            next = subdirectories.get(0);
+        } else {
+            for (String name : LIKELY_DIRECTORIES) {
+                next = subdirectories.stream().filter(entry -> name.equals(entry.name)).findFirst().orElse(null);
+                if (next != null) {
+                    break;
+                }
+            }
+        }
+        if (next != null) {
+            readDirectory(next.path);
+        }
+    }
+
+    /** Opens the parent directories of the specified path one after another and selects the node of the path. */
+    private void reveal(String path) {
+        List<String> parents = new ArrayList<>();
+        String stripped = Strings.strip(path, "/");
+        int index = stripped.indexOf('/');
+        while (index != -1) {
+            parents.add(NODE_ID.apply(stripped.substring(0, index + 1)));
+            index = stripped.indexOf('/', index + 1);
+        }
+        reveal(parents, NODE_ID.apply(path));
+    }
+
+    private void reveal(List<String> parents, String id) {
+        if (parents.isEmpty()) {
+            tree.selectNode(id);
+        } else {
+            tree.openNode(parents.get(0), () -> reveal(parents.subList(1, parents.size()), id));
+        }
+    }
+
     private void loadContent(ContentEntry contentEntry, Consumer<String> successCallback) {
         if (!contentEntry.directory) {
             ResourceAddress address = new ResourceAddress().add(DEPLOYMENT, content.getName());
@@ -617,11 +774,10 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
                         return Promise.resolve((Void) null);
                     })
                     .then(__ -> browseContent())
-                    .then(__ -> awaitTreeReady())
                     .then(__ -> {
                         MessageEvent.fire(eventBus,
                                 Message.success(resources.messages().saveContentSuccess(content.getName(), filename)));
-                        tree.selectNode(selection.id);
+                        reveal(selection.data.path);
                         return null;
                     });
         }
@@ -640,7 +796,6 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
                                 .build();
                         dispatcher.execute(operation)
                                 .then(__ -> browseContent())
-                                .then(__ -> awaitTreeReady())
                                 .then(__ -> {
                                     MessageEvent.fire(eventBus, Message.success(
                                             resources.messages().removeContentSuccess(content.getName(), path)));
@@ -653,14 +808,14 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
 
     // ------------------------------------------------------ UI state
 
-    private void onNodeSelected(SelectionContext<ContentEntry> selection) {
-        collapseButton.disabled = selection.selected.length == 0;
-        if (selection.selected.length != 0) {
-            if (selection.node.id.equals(Ids.CONTENT_TREE_ROOT)) {
+    private void onNodeSelected(Node<ContentEntry> selection) {
+        collapseButton.disabled = selection == null;
+        if (selection != null) {
+            if (selection.id.equals(Ids.CONTENT_TREE_ROOT)) {
                 deploymentPreview();
 
             } else {
-                ContentEntry contentEntry = selection.node.data;
+                ContentEntry contentEntry = selection.data;
                 if (contentEntry.directory) {
                     directory();
 
@@ -799,11 +954,11 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
 
     // ------------------------------------------------------ helper methods
 
-    private String selectedId() {
+    private String selectedEntryPath() {
         if (tree != null) {
             Node<ContentEntry> selection = tree.getSelected();
-            if (selection != null) {
-                return selection.id;
+            if (selection != null && !selection.id.equals(Ids.CONTENT_TREE_ROOT)) {
+                return selection.data.path;
             }
         }
         return null;
@@ -848,8 +1003,4 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
         ConstructorContentsArrayUnionType contents = ConstructorContentsArrayUnionType.of(content);
         return new File(new ConstructorContentsArrayUnionType[] { contents }, name);
     }
-
-    private Promise<Void> awaitTreeReady() {
-        return new Promise<>((resolve, reject) -> tree.onReady((event, __) -> resolve.onInvoke((Void) null)));
-    }
 }
@@ -0,0 +1,223 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.deployment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.js.Browser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.dom.ErrorEvent;
+import elemental2.dom.File;
+import elemental2.dom.MessageEvent;
+import elemental2.dom.Worker;
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+
+import static elemental2.dom.DomGlobal.setTimeout;
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CONTENT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HASH;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.hal.dmr.ModelNodeHelper.failSafeList;
+import static org.jboss.hal.resources.UIConstants.OBJECT;
+
+/**
+ * Finds managed content which has the same bytes as a file. If the content repository already contains the bytes, a
+ * deployment can be added or replaced using {@code content=[{hash=...}]} without uploading the file.
+ * <p>
+ * The SHA-1 hash of the file is computed in a web worker (see {@code app/src/web/script/hash-worker.js}) which reads the
+ * file in chunks. The hashes of the existing deployments are read once per flow and kept in the flow context. If the worker
+ * fails or doesn't answer in time, the file is treated as unknown content and uploaded as usual. The same applies if the
+ * content cannot be referred to by its hash, e.g. because it has been removed in the meantime.
+ */
+final class ContentHashes {
+
+    // provided by app/src/web/script/index.js
+    @JsType(isNative = true, namespace = GLOBAL, name = "window")
+    static class WorkerProvider {
+
+        @JsProperty static Worker hashWorker;
+    }
+
+    private static final String CONTENT_HASHES = "contentHashes.hashes";
+    // the timeout grows with the file size: 10 seconds plus one second per 10 MB
+    private static final int MIN_TIMEOUT = 10_000;
+    private static final int BYTES_PER_MILLISECOND = 10_000;
+    private static final Logger logger = LoggerFactory.getLogger(ContentHashes.class);
+    private static ContentHashes instance;
+
+    /**
+     * Resolves with the hash of the existing content which has the same bytes as the specified file or with {@code null}
+     * if there's no such content or if the hash cannot be computed. Never rejects.
+     */
+    static Promise<ModelNode> find(Dispatcher dispatcher, FlowContext context, File file) {
+        ContentHashes contentHashes = instance();
+        if (contentHashes == null) {
+            return Promise.resolve((ModelNode) null);
+        }
+        return hashes(dispatcher, context)
+                .then(hashes -> {
+                    if (hashes.isEmpty()) {
+                        // nothing to compare with, don't compute the hash at all
+                        return Promise.resolve((ModelNode) null);
+                    }
+                    return contentHashes.sha1(file).then(hash -> {
+                        ModelNode existing = hash != null ? hashes.get(hash) : null;
+                        if (existing != null) {
+                            logger.debug("Content of {} already exists with hash {}", file.name, hash);
+                        }
+                        return Promise.resolve(existing);
+                    });
+                })
+                .catch_(error -> {
+                    logger.warn("Unable to look up content hash of {}: {}", file.name, error);
+                    return Promise.resolve((ModelNode) null);
+                });
+    }
+
+    /**
+     * Removes the specified hash from the hashes of the existing content, e.g. if the content has been removed since the
+     * hashes have been read.
+     */
+    static void remove(FlowContext context, ModelNode hash) {
+        Map<String, ModelNode> hashes = context.get(CONTENT_HASHES);
+        if (hashes != null) {
+            hashes.remove(hex(hash.asBytes()));
+        }
+    }
+
+    private static ContentHashes instance() {
+        if (instance == null && !Browser.isIE() && WorkerProvider.hashWorker != null) {
+            instance = new ContentHashes(WorkerProvider.hashWorker);
+        }
+        return instance;
+    }
+
+    private static Promise<Map<String, ModelNode>> hashes(Dispatcher dispatcher, FlowContext context) {
+        Map<String, ModelNode> hashes = context.get(CONTENT_HASHES);
+        if (hashes != null) {
+            return Promise.resolve(hashes);
+        }
+        Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_RESOURCES_OPERATION)
+                .param(CHILD_TYPE, DEPLOYMENT)
+                .build();
+        return dispatcher.execute(operation).then(result -> {
+            Map<String, ModelNode> map = new HashMap<>();
+            for (Property property : result.asPropertyList()) {
+                for (ModelNode content : failSafeList(property.getValue(), CONTENT)) {
+                    if (content.hasDefined(HASH)) {
+                        map.put(hex(content.get(HASH).asBytes()), content.get(HASH));
+                    }
+                }
+            }
+            context.set(CONTENT_HASHES, map);
+            return Promise.resolve(map);
+        });
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(2 * bytes.length);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    // ------------------------------------------------------ instance
+
+    private final Worker worker;
+    private final Map<Integer, ResolveCallbackFn<String>> pending;
+    private int counter;
+
+    private ContentHashes(Worker worker) {
+        this.worker = worker;
+        this.pending = new HashMap<>();
+        this.counter = 0;
+
+        worker.addEventListener("message", event -> { // NON-NLS
+            HashResponse response = Js.uncheckedCast(((MessageEvent<?>) event).data);
+            if (response.error != null) {
+                logger.error("Unable to compute hash: {}", response.error);
+            }
+            settle(response.id, response.hash);
+        });
+        worker.addEventListener("error", event -> { // NON-NLS
+            logger.error("Hash worker failed: {}. Skip the lookup of {} pending hashes.",
+                    Js.<ErrorEvent>uncheckedCast(event).message, pending.size());
+            List<ResolveCallbackFn<String>> callbacks = new ArrayList<>(pending.values());
+            pending.clear();
+            callbacks.forEach(resolve -> resolve.onInvoke((String) null));
+        });
+    }
+
+    /**
+     * Resolves with the hex encoded SHA-1 hash or {@code null} if the hash could not be computed in time. Never rejects.
+     */
+    private Promise<String> sha1(File file) {
+        return new Promise<>((resolve, reject) -> {
+            HashRequest request = new HashRequest();
+            request.id = ++counter;
+            request.file = file;
+            pending.put(request.id, resolve);
+            int timeout = MIN_TIMEOUT + (int) (file.size / BYTES_PER_MILLISECOND);
+            setTimeout(__ -> {
+                if (pending.containsKey(request.id)) {
+                    logger.warn("Computing the hash of {} timed out after {} ms", file.name, timeout);
+                    settle(request.id, null);
+                }
+            }, timeout);
+            worker.postMessage(request);
+        });
+    }
+
+    private void settle(int id, String hash) {
+        ResolveCallbackFn<String> resolve = pending.remove(id);
+        if (resolve != null) {
+            resolve.onInvoke(hash);
+        }
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class HashRequest {
+
+        int id;
+        File file;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class HashResponse {
+
+        int id;
+        String hash;
+        String error;
+    }
+}
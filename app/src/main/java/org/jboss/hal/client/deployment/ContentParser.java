@@ -15,6 +15,7 @@
  */
 package org.jboss.hal.client.deployment;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -28,51 +29,81 @@ import org.jboss.hal.resources.Ids;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
 
-import elemental2.core.JsArray;
-
+import static com.google.common.base.Strings.nullToEmpty;
+import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.PATH;
 import static org.jboss.hal.resources.CSS.fontAwesome;
 
 class ContentParser {
 
     private static final Comparator<ContentEntry> BY_NAME = Comparator.comparing(c -> c.name);
-    private static final Comparator<ContentEntry> BY_DEPTH = Comparator.comparingInt(c -> c.depth);
 
     private static final String DIRECTORY = "directory";
     private static final String FILE_SIZE = "file-size";
 
     static final Function<String, String> NODE_ID = path -> Ids.build("bct", path, "node");
 
+    /**
+     * Turns the result of {@code browse-content(path=<directory>, depth=1)} into the child nodes of the directory. Paths are
+     * normalized to be relative to the root of the deployment. Entries which are not direct children of the directory are
+     * skipped. Directories come first, both directories and files are sorted by name.
+     *
+     * @param directory the path of the directory ending with "/" or an empty string for the root directory
+     */
     @SuppressWarnings("unchecked")
-    void parse(Node<ContentEntry> root, JsArray<Node<ContentEntry>> nodes, List<ModelNode> content) {
-        nodes.push(root);
-
-        Map<String, Node<ContentEntry>> nodesByPath = new HashMap<>();
-        content.stream()
-                .map(this::contentEntry)
-                .filter(contentEntry -> contentEntry.directory)
-                .sorted(BY_DEPTH.thenComparing(BY_NAME))
-                .forEach(directory -> {
-                    String parentPath = parentPath(directory);
-                    Node<ContentEntry> parent = parentPath == null ? root : nodesByPath.get(parentPath);
+    Node<ContentEntry>[] children(String directory, List<ModelNode> content) {
+        List<Node<ContentEntry>> nodes = new ArrayList<>();
+        List<ContentEntry> entries = content.stream()
+                .map(node -> contentEntry(node, directory))
+                .filter(entry -> entry != null && directory.equals(nullToEmpty(parentPath(entry))))
+                .collect(toList());
+        entries.stream()
+                .filter(entry -> entry.directory)
+                .sorted(BY_NAME)
+                .forEach(entry -> nodes.add(new Node.Builder<>(NODE_ID.apply(entry.path), entry.name, entry)
+                        .asyncFolder()
+                        .build()));
+        entries.stream()
+                .filter(entry -> !entry.directory)
+                .sorted(BY_NAME)
+                .forEach(entry -> nodes.add(new Node.Builder<>(NODE_ID.apply(entry.path), entry.name, entry)
+                        .icon(fontAwesome("file-text-o"))
+                        .build()));
+        return nodes.toArray(new Node[0]);
+    }
 
-                    if (parent != null) {
-                        Node<ContentEntry> node = pushFolder(nodes, parent, directory);
-                        nodesByPath.put(directory.path, node);
-                    }
-                });
+    /**
+     * Groups the result of a recursive {@code browse-content} by directory. The keys are the paths of the directories ending
+     * with "/" or an empty string for the root directory. The values are the entries of the directory as if they were read
+     * using {@code browse-content(path=<directory>, depth=1)}. Every directory gets an entry, even if it's empty.
+     */
+    Map<String, List<ModelNode>> directories(List<ModelNode> content) {
+        Map<String, List<ModelNode>> directories = new HashMap<>();
+        directories.put("", new ArrayList<>());
+        for (ModelNode node : content) {
+            String path = node.get(PATH).asString();
+            if (!path.replace("/", "").isEmpty()) {
+                ContentEntry entry = contentEntry(node);
+                if (entry.directory) {
+                    directories.computeIfAbsent(entry.path, __ -> new ArrayList<>());
+                }
+                directories.computeIfAbsent(nullToEmpty(parentPath(entry)), __ -> new ArrayList<>()).add(node);
+            }
+        }
+        return directories;
+    }
 
-        content.stream()
-                .map(this::contentEntry)
-                .filter(contentEntry -> !contentEntry.directory)
-                .sorted(BY_NAME)
-                .forEach(file -> {
-                    String parentPath = parentPath(file);
-                    Node<ContentEntry> parent = parentPath == null ? root : nodesByPath.get(parentPath);
-                    if (parent != null) {
-                        pushEntry(nodes, parent, file);
-                    }
-                });
+    private ContentEntry contentEntry(ModelNode node, String directory) {
+        String path = node.get(PATH).asString();
+        if (!path.startsWith(directory)) {
+            path = directory + path;
+        }
+        if (path.replace("/", "").isEmpty()) {
+            return null;
+        }
+        ModelNode normalized = node.clone();
+        normalized.get(PATH).set(path);
+        return contentEntry(normalized);
     }
 
     private ContentEntry contentEntry(ModelNode node) {
@@ -88,28 +119,6 @@ class ContentParser {
         return contentEntry;
     }
 
-    @SuppressWarnings("unchecked")
-    private Node<ContentEntry> pushFolder(JsArray<Node<ContentEntry>> nodes, Node<ContentEntry> parent,
-            ContentEntry contentEntry) {
-        Node<ContentEntry> node = new Node.Builder<>(NODE_ID.apply(contentEntry.path), contentEntry.name, contentEntry)
-                .parent(parent.id)
-                .folder()
-                .build();
-        nodes.push(node);
-        return node;
-    }
-
-    @SuppressWarnings("unchecked")
-    private Node<ContentEntry> pushEntry(JsArray<Node<ContentEntry>> nodes, Node<ContentEntry> parent,
-            ContentEntry contentEntry) {
-        Node<ContentEntry> node = new Node.Builder<>(NODE_ID.apply(contentEntry.path), contentEntry.name, contentEntry)
-                .parent(parent.id)
-                .icon(fontAwesome("file-text-o"))
-                .build();
-        nodes.push(node);
-        return node;
-    }
-
     private String parentPath(ContentEntry contentEntry) {
         String path = contentEntry.path.endsWith("/")
                 ? contentEntry.path.substring(0, contentEntry.path.length() - 1)
@@ -64,6 +64,7 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.CONTENT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPLOYMENT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.ENABLED;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FULL_REPLACE_DEPLOYMENT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HASH;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INPUT_STREAM_INDEX;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
@@ -395,6 +396,10 @@ class DeploymentTasks {
      * status context or {@code 404} is found, a new deployment is created, if {@code 200} is found the deployment is replaced.
      * <p>
      * The function puts an {@link UploadStatistics} under the key {@link DeploymentTasks#UPLOAD_STATISTICS} into the context.
+     * <p>
+     * If the content repository already contains the bytes of the file, the deployment refers to the existing content by
+     * its hash and the file is not uploaded at all. If that fails, the file is uploaded after all. See
+     * {@link ContentHashes}.
      */
     static final class UploadOrReplace implements Task<FlowContext> {
 
@@ -438,32 +443,52 @@ class DeploymentTasks {
                         .param(ENABLED, enabled);
 
             }
+            return ContentHashes.find(dispatcher, context, file).then(hash -> {
+                Operation operation = builder.build();
+                Promise<ModelNode> promise;
+                if (hash != null) {
+                    // the content repository already contains the bytes: refer to them instead of uploading the file
+                    operation.get(CONTENT).add().get(HASH).set(hash);
+                    promise = dispatcher.execute(operation).catch_(error -> {
+                        // the content might have been removed in the meantime: upload the file after all
+                        logger.warn("Unable to refer to existing content of {}: {}. Upload the file instead.",
+                                file.name, error);
+                        ContentHashes.remove(context, hash);
+                        return upload(builder);
+                    });
+                } else {
+                    promise = upload(builder);
+                }
+                return promise
+                        .then(result -> {
+                            UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
+                            if (statistics == null) {
+                                statistics = new UploadStatistics(environment);
+                                context.set(UPLOAD_STATISTICS, statistics);
+                            }
+                            if (ADD.equals(operation.getName())) {
+                                statistics.recordAdded(name);
+                            } else {
+                                statistics.recordReplaced(name);
+                            }
+                            return Promise.resolve(context);
+                        })
+                        .catch_(error -> {
+                            UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
+                            if (statistics == null) {
+                                statistics = new UploadStatistics(environment);
+                                context.set(UPLOAD_STATISTICS, statistics);
+                            }
+                            statistics.recordFailed(name);
+                            return Promise.reject(error);
+                        });
+            });
+        }
+
+        private Promise<ModelNode> upload(Operation.Builder builder) {
             Operation operation = builder.build();
             operation.get(CONTENT).add().get(INPUT_STREAM_INDEX).set(0); // NON-NLS
-
-            return dispatcher.upload(file, operation)
-                    .then(result -> {
-                        UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
-                        if (statistics == null) {
-                            statistics = new UploadStatistics(environment);
-                            context.set(UPLOAD_STATISTICS, statistics);
-                        }
-                        if (ADD.equals(operation.getName())) {
-                            statistics.recordAdded(name);
-                        } else {
-                            statistics.recordReplaced(name);
-                        }
-                        return Promise.resolve(context);
-                    })
-                    .catch_(error -> {
-                        UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
-                        if (statistics == null) {
-                            statistics = new UploadStatistics(environment);
-                            context.set(UPLOAD_STATISTICS, statistics);
-                        }
-                        statistics.recordFailed(name);
-                        return Promise.reject(error);
-                    });
+            return dispatcher.upload(file, operation);
         }
     }
 
@@ -0,0 +1,198 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jboss.hal.core.runtime.HasServersNode;
+import org.jboss.hal.core.runtime.group.ServerGroup;
+import org.jboss.hal.core.runtime.host.Host;
+import org.jboss.hal.core.runtime.server.Server;
+
+/**
+ * Keeps the last snapshot of the topology shown in {@link TopologyPreview} and computes which hosts, server groups and
+ * servers have changed since then. The preview uses the {@link Changes} to patch only the affected table cells instead
+ * of rebuilding the whole table.
+ */
+class TopologyModel {
+
+    private final Map<String, Host> hosts;
+    private final Map<String, ServerGroup> serverGroups;
+    private final Map<String, Server> servers;
+
+    TopologyModel() {
+        this.hosts = new LinkedHashMap<>();
+        this.serverGroups = new LinkedHashMap<>();
+        this.servers = new LinkedHashMap<>();
+    }
+
+    boolean isEmpty() {
+        return hosts.isEmpty() && serverGroups.isEmpty();
+    }
+
+    /** Replaces the snapshot without computing any changes. */
+    void reset(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers) {
+        this.hosts.clear();
+        this.serverGroups.clear();
+        this.servers.clear();
+        hosts.forEach(host -> this.hosts.put(host.getName(), host));
+        serverGroups.forEach(serverGroup -> this.serverGroups.put(serverGroup.getName(), serverGroup));
+        servers.forEach(server -> this.servers.put(server.getId(), server));
+    }
+
+    /**
+     * Compares a complete topology with the current snapshot and replaces the snapshot afterwards. If hosts, server groups
+     * or servers were added, removed or moved, the returned changes are {@linkplain Changes#isStructural() structural} and
+     * the table has to be rebuilt.
+     */
+    Changes update(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers) {
+        Changes changes = new Changes(!sameStructure(hosts, serverGroups, servers));
+        if (!changes.structural) {
+            for (Server server : servers) {
+                Server existing = this.servers.get(server.getId());
+                if (changed(existing, server)) {
+                    changes.servers.put(server.getId(), server);
+                }
+            }
+            for (Host host : hosts) {
+                if (!host.equals(this.hosts.get(host.getName())) || containsChanged(host, changes)) {
+                    changes.hosts.put(host.getName(), host);
+                }
+            }
+            for (ServerGroup serverGroup : serverGroups) {
+                if (!serverGroup.equals(this.serverGroups.get(serverGroup.getName()))
+                        || containsChanged(serverGroup, changes)) {
+                    changes.serverGroups.put(serverGroup.getName(), serverGroup);
+                }
+            }
+        }
+        reset(hosts, serverGroups, servers);
+        return changes;
+    }
+
+    /**
+     * Merges refreshed servers into the snapshot. Each refreshed server is reported as changed together with its host and
+     * server group: Even if the server's state is the same, its pending state and the actions of the host and server group
+     * depend on it. Servers which are unknown or which moved to another server group make the changes
+     * {@linkplain Changes#isStructural() structural}.
+     */
+    Changes update(List<Server> refreshed) {
+        for (Server server : refreshed) {
+            Server existing = servers.get(server.getId());
+            if (existing == null || !Objects.equals(existing.getServerGroup(), server.getServerGroup())) {
+                return new Changes(true);
+            }
+        }
+
+        Changes changes = new Changes(false);
+        for (Server server : refreshed) {
+            servers.put(server.getId(), server);
+            changes.servers.put(server.getId(), server);
+            Host host = hosts.get(server.getHost());
+            if (host != null) {
+                replace(host, server);
+                changes.hosts.put(host.getName(), host);
+            }
+            ServerGroup serverGroup = serverGroups.get(server.getServerGroup());
+            if (serverGroup != null) {
+                replace(serverGroup, server);
+                changes.serverGroups.put(serverGroup.getName(), serverGroup);
+            }
+        }
+        return changes;
+    }
+
+    private boolean sameStructure(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers) {
+        if (!names(hosts).equals(new ArrayList<>(this.hosts.keySet()))
+                || !names(serverGroups).equals(new ArrayList<>(this.serverGroups.keySet()))
+                || servers.size() != this.servers.size()) {
+            return false;
+        }
+        for (Server server : servers) {
+            Server existing = this.servers.get(server.getId());
+            if (existing == null || !Objects.equals(existing.getServerGroup(), server.getServerGroup())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> names(Collection<? extends HasServersNode> nodes) {
+        List<String> names = new ArrayList<>();
+        nodes.forEach(node -> names.add(node.getName()));
+        return names;
+    }
+
+    private boolean changed(Server existing, Server server) {
+        return existing == null || existing.hasBootErrors() != server.hasBootErrors() || !existing.equals(server);
+    }
+
+    private boolean containsChanged(HasServersNode node, Changes changes) {
+        return node.hasServers(server -> changes.servers.containsKey(server.getId()));
+    }
+
+    private void replace(HasServersNode node, Server server) {
+        List<Server> nodeServers = node.getServers();
+        for (int i = 0; i < nodeServers.size(); i++) {
+            if (nodeServers.get(i).getId().equals(server.getId())) {
+                nodeServers.set(i, server);
+                return;
+            }
+        }
+    }
+
+    /** The hosts, server groups and servers which need to be re-rendered. */
+    static class Changes {
+
+        private final boolean structural;
+        private final Map<String, Host> hosts;
+        private final Map<String, ServerGroup> serverGroups;
+        private final Map<String, Server> servers;
+
+        private Changes(boolean structural) {
+            this.structural = structural;
+            this.hosts = new LinkedHashMap<>();
+            this.serverGroups = new LinkedHashMap<>();
+            this.servers = new LinkedHashMap<>();
+        }
+
+        /** @return {@code true} if the table cannot be patched and has to be rebuilt */
+        boolean isStructural() {
+            return structural;
+        }
+
+        boolean isEmpty() {
+            return !structural && hosts.isEmpty() && serverGroups.isEmpty() && servers.isEmpty();
+        }
+
+        Collection<Host> hosts() {
+            return hosts.values();
+        }
+
+        Collection<ServerGroup> serverGroups() {
+            return serverGroups.values();
+        }
+
+        Collection<Server> servers() {
+            return servers.values();
+        }
+    }
+}
@@ -81,6 +81,7 @@ import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 
 import com.google.common.base.Strings;
+import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.web.bindery.event.shared.EventBus;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
@@ -99,7 +100,9 @@ import static com.google.common.collect.Lists.asList;
 import static elemental2.dom.DomGlobal.clearTimeout;
 import static elemental2.dom.DomGlobal.document;
 import static elemental2.dom.DomGlobal.setTimeout;
+import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.elemento.Elements.a;
 import static org.jboss.elemento.Elements.asHtmlElement;
@@ -120,7 +123,7 @@ import static org.jboss.elemento.Elements.thead;
 import static org.jboss.elemento.Elements.tr;
 import static org.jboss.elemento.Elements.ul;
 import static org.jboss.elemento.EventType.click;
-import static org.jboss.hal.core.runtime.TopologyTasks.topology;
+import static org.jboss.hal.core.runtime.TopologyTasks.snapshot;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.AUTO_START;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DISCONNECTED;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST;
@@ -199,6 +202,7 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
     private final PreviewAttributes<Server> serverAttributes;
     private final HTMLElement serverUrl;
     private final LabelBuilder labelBuilder;
+    private final TopologyModel model;
 
     TopologyPreview(SecurityContextRegistry securityContextRegistry,
             Environment environment,
@@ -223,6 +227,7 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
         this.serverActions = serverActions;
         this.resources = resources;
         this.labelBuilder = new LabelBuilder();
+        this.model = new TopologyModel();
 
         eventBus.addHandler(HostActionEvent.getType(), this);
         eventBus.addHandler(HostResultEvent.getType(), this);
@@ -343,11 +348,23 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
 
     @Override
     public void update(StaticItem item) {
-        // remember selection
-        HTMLElement element = (HTMLElement) document.querySelector(DOT + topology + " ." + selected);
-        String hostName = element != null ? String.valueOf(element.dataset.get("host")) : null;
-        String serverGroupName = element != null ? String.valueOf(element.dataset.get("serverGroup")) : null;
-        String serverName = element != null ? String.valueOf(element.dataset.get("server")) : null;
+        updateTopology(resources.messages().topologyError());
+    }
+
+    /** Updates the topology and shows the specified message if reading the topology fails. */
+    private void updateTopology(SafeHtml errorMessage) {
+        if (model.isEmpty() || !isVisible()) {
+            rebuild(errorMessage);
+        } else {
+            refresh(errorMessage);
+        }
+    }
+
+    /** Reads the whole topology and rebuilds the table. Used for the initial update. */
+    private void rebuild(SafeHtml errorMessage) {
+        String hostName = selectedData("host"); // NON-NLS
+        String serverGroupName = selectedData("serverGroup"); // NON-NLS
+        String serverName = selectedData("server"); // NON-NLS
 
         clearSelected();
         setVisible(loadingSection, false);
@@ -356,107 +373,133 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
 
         // show the loading indicator if the operations take too long
         double timeoutHandle = setTimeout((o) -> setVisible(loadingSection, true), MEDIUM_TIMEOUT);
-        sequential(new FlowContext(progress.get()), topology(environment, dispatcher))
+        sequential(new FlowContext(progress.get()), snapshot(environment, dispatcher))
                 .then(context -> {
                     clearTimeout(timeoutHandle);
                     setVisible(loadingSection, false);
-                    Elements.removeChildrenFrom(topologySection);
 
                     List<Host> hosts = context.get(TopologyTasks.HOSTS);
                     List<ServerGroup> serverGroups = context.get(TopologyTasks.SERVER_GROUPS);
                     List<Server> servers = context.get(TopologyTasks.SERVERS);
-
-                    topologySection.appendChild(buildTable(hosts, serverGroups, servers));
-                    setVisible(topologySection, true);
-                    adjustTdHeight();
-
-                    // restore selection
-                    if (hostName != null) {
-                        hosts.stream()
-                                .filter(host -> hostName.equals(host.getName()))
-                                .findAny()
-                                .ifPresent(this::hostDetails);
-                    }
-                    if (serverGroupName != null) {
-                        serverGroups.stream()
-                                .filter(serverGroup -> serverGroupName.equals(serverGroup.getName()))
-                                .findAny()
-                                .ifPresent(this::serverGroupDetails);
-                    }
-                    if (serverName != null) {
-                        servers.stream()
-                                .filter(server -> serverName.equals(server.getName()))
-                                .findAny()
-                                .ifPresent(this::serverDetails);
-                    }
+                    model.reset(hosts, serverGroups, servers);
+                    render(hosts, serverGroups, servers, hostName, serverGroupName, serverName);
                     return null;
                 })
                 .catch_(error -> {
                     clearTimeout(timeoutHandle);
                     setVisible(loadingSection, false);
-                    MessageEvent.fire(eventBus,
-                            Message.error(resources.messages().topologyError(), String.valueOf(error)));
+                    MessageEvent.fire(eventBus, Message.error(errorMessage, String.valueOf(error)));
                     return null;
                 });
     }
 
-    private void updateServer(Server server) {
-        sequential(new FlowContext(progress.get()), topology(environment, dispatcher))
+    /**
+     * Reads the whole topology, but keeps the table and patches only the cells which have changed since the last
+     * snapshot. The table is rebuilt only if hosts, server groups or servers were added, removed or moved.
+     */
+    private void refresh(SafeHtml errorMessage) {
+        sequential(new FlowContext(progress.get()), snapshot(environment, dispatcher))
                 .then(context -> {
-                    Host host = null;
                     List<Host> hosts = context.get(TopologyTasks.HOSTS);
-                    for (Host h : hosts) {
-                        if (h.getName().equals(server.getHost())) {
-                            host = h;
-                            break;
-                        }
-                    }
-                    ServerGroup serverGroup = null;
                     List<ServerGroup> serverGroups = context.get(TopologyTasks.SERVER_GROUPS);
-                    for (ServerGroup sg : serverGroups) {
-                        if (sg.getName().equals(server.getServerGroup())) {
-                            serverGroup = sg;
-                            break;
-                        }
+                    List<Server> servers = context.get(TopologyTasks.SERVERS);
+                    TopologyModel.Changes changes = model.update(hosts, serverGroups, servers);
+                    if (changes.isStructural()) {
+                        String hostName = selectedData("host"); // NON-NLS
+                        String serverGroupName = selectedData("serverGroup"); // NON-NLS
+                        String serverName = selectedData("server"); // NON-NLS
+                        clearSelected();
+                        hideDetails();
+                        render(hosts, serverGroups, servers, hostName, serverGroupName, serverName);
+                    } else {
+                        patch(changes);
                     }
+                    return null;
+                })
+                .catch_(error -> {
+                    MessageEvent.fire(eventBus, Message.error(errorMessage, String.valueOf(error)));
+                    return null;
+                });
+    }
 
-                    if (host != null && serverGroup != null) {
-                        // Does not matter where we take the updated server from (must be included in both
-                        // host and server group)
-                        Host finalHost = host;
-                        ServerGroup finalServerGroup = serverGroup;
-                        host.getServers().stream()
-                                .filter(srv -> srv.getId().equals(server.getId()))
-                                .findAny()
-                                .ifPresent(updatedServer -> {
-                                    String updatedContainerId = Ids.build(updatedServer.getId(), CONTAINER);
-                                    replaceElement(document.getElementById(updatedContainerId),
-                                            () -> serverElement(updatedServer),
-                                            whatever -> serverDetails(updatedServer));
-                                });
-
-                        // Update not only the server, but also the host and server group elements. Since the
-                        // server's state has changed the host and server group dropdown links need to be updated
-                        // as well.
-                        replaceElement(document.querySelector(hostSelector(host)),
-                                () -> hostElement(finalHost),
-                                whatever -> hostDetails(finalHost));
-                        replaceElement(document.querySelector(serverGroupSelector(serverGroup)),
-                                () -> serverGroupElement(finalServerGroup),
-                                updatedElement -> serverGroupDetails(finalServerGroup));
+    /**
+     * Reads only the specified servers and patches their cells together with the cells of their hosts and server groups.
+     * Falls back to a full update if the servers are unknown to the current snapshot.
+     */
+    private void updateServers(List<Server> servers) {
+        SafeHtml errorMessage = resources.messages()
+                .updateServerError(servers.stream().map(Server::getName).collect(joining(", ")));
+        sequential(new FlowContext(progress.get()), TopologyTasks.servers(environment, dispatcher, servers))
+                .then(context -> {
+                    List<Server> refreshed = context.get(TopologyTasks.SERVERS);
+                    TopologyModel.Changes changes = model.update(refreshed);
+                    if (changes.isStructural() || refreshed.size() != servers.size()) {
+                        updateTopology(errorMessage);
+                    } else {
+                        patch(changes);
                     }
                     return null;
                 })
                 .catch_(error -> {
-                    MessageEvent.fire(eventBus,
-                            Message.error(resources.messages().updateServerError(server.getName()),
-                                    String.valueOf(error)));
+                    MessageEvent.fire(eventBus, Message.error(errorMessage, String.valueOf(error)));
                     return null;
                 });
     }
 
     // ------------------------------------------------------ UI methods
 
+    private void render(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers,
+            String hostName, String serverGroupName, String serverName) {
+        Elements.removeChildrenFrom(topologySection);
+        topologySection.appendChild(buildTable(hosts, serverGroups, servers));
+        setVisible(topologySection, true);
+        adjustTdHeight();
+
+        // restore selection
+        if (hostName != null) {
+            hosts.stream()
+                    .filter(host -> hostName.equals(host.getName()))
+                    .findAny()
+                    .ifPresent(this::hostDetails);
+        }
+        if (serverGroupName != null) {
+            serverGroups.stream()
+                    .filter(serverGroup -> serverGroupName.equals(serverGroup.getName()))
+                    .findAny()
+                    .ifPresent(this::serverGroupDetails);
+        }
+        if (serverName != null) {
+            servers.stream()
+                    .filter(server -> serverName.equals(server.getName()))
+                    .findAny()
+                    .ifPresent(this::serverDetails);
+        }
+    }
+
+    private void patch(TopologyModel.Changes changes) {
+        for (Server srv : changes.servers()) {
+            replaceElement(document.getElementById(Ids.build(srv.getId(), CONTAINER)),
+                    () -> serverElement(srv),
+                    whatever -> serverDetails(srv));
+        }
+        // The host and server group dropdown links depend on the servers' state, so they are re-rendered as well.
+        for (Host host : changes.hosts()) {
+            replaceElement(document.querySelector(hostSelector(host)),
+                    () -> hostElement(host),
+                    whatever -> hostDetails(host));
+        }
+        for (ServerGroup serverGroup : changes.serverGroups()) {
+            replaceElement(document.querySelector(serverGroupSelector(serverGroup)),
+                    () -> serverGroupElement(serverGroup),
+                    whatever -> serverGroupDetails(serverGroup));
+        }
+    }
+
+    private String selectedData(String key) {
+        HTMLElement element = (HTMLElement) document.querySelector(DOT + topology + " ." + selected);
+        return element != null ? String.valueOf(element.dataset.get(key)) : null;
+    }
+
     private HTMLElement buildTable(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers) {
         HTMLTableElement table = table().css(topology).element();
 
@@ -821,7 +864,11 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
     public void onServerGroupResult(ServerGroupResultEvent event) {
         if (isVisible()) {
             event.getServers().forEach(server -> stopProgress(serverSelector(server)));
-            update(null);
+            if (event.getServers().isEmpty()) {
+                update(null);
+            } else {
+                updateServers(event.getServers());
+            }
         }
     }
 
@@ -876,7 +923,7 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
         } else {
             actions.add(actionLink(event -> serverActions.editUrl(server, () -> {
                 if (isVisible()) {
-                    updateServer(server);
+                    updateServers(singletonList(server));
                 }
             }), resources.constants().editURL()));
             actions.add(li().css(divider).attr(UIConstants.ROLE, UIConstants.SEPARATOR).element());
@@ -972,7 +1019,7 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
     public void onServerResult(ServerResultEvent event) {
         if (isVisible()) {
             stopProgress(serverSelector(event.getServer()));
-            updateServer(event.getServer());
+            updateServers(singletonList(event.getServer()));
         }
     }
 
@@ -16,34 +16,36 @@
 package org.jboss.hal.client.runtime.server;
 
 import org.jboss.hal.ballroom.Format;
+import org.jboss.hal.ballroom.chart.Sparkline;
 import org.jboss.hal.ballroom.chart.Utilization;
 import org.jboss.hal.core.finder.PreviewContent;
+import org.jboss.hal.core.runtime.metrics.Metric;
+import org.jboss.hal.core.runtime.metrics.RuntimeMetrics;
 import org.jboss.hal.core.subsystem.SubsystemMetadata;
-import org.jboss.hal.dmr.Composite;
-import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
-import org.jboss.hal.dmr.Operation;
-import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Names;
 import org.jboss.hal.resources.Resources;
 
+import com.google.web.bindery.event.shared.HandlerRegistration;
+
 import elemental2.dom.HTMLElement;
 
 import static org.jboss.elemento.Elements.br;
 import static org.jboss.elemento.Elements.h;
 import static org.jboss.elemento.Elements.p;
 import static org.jboss.elemento.Elements.span;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
 import static org.jboss.hal.meta.StatementContext.Expression.SELECTED_HOST;
 import static org.jboss.hal.meta.StatementContext.Expression.SELECTED_SERVER;
 import static org.jboss.hal.resources.CSS.lead;
 
 public class ServerRuntimePreview extends PreviewContent<SubsystemMetadata> {
 
-    private final Dispatcher dispatcher;
+    private final RuntimeMetrics metrics;
     private final StatementContext statementContext;
     private final Resources resources;
     private final HTMLElement osName;
@@ -58,10 +60,14 @@ public class ServerRuntimePreview extends PreviewContent<SubsystemMetadata> {
     private final Utilization committedHeap;
     private final Utilization committedNonHeap;
     private final Utilization threads;
+    private final Sparkline heapTrend;
+    private final Sparkline nonHeapTrend;
+    private final Sparkline threadsTrend;
+    private HandlerRegistration registration;
 
-    public ServerRuntimePreview(Dispatcher dispatcher, StatementContext statementContext, Resources resources) {
+    public ServerRuntimePreview(RuntimeMetrics metrics, StatementContext statementContext, Resources resources) {
         super(resources.constants().status());
-        this.dispatcher = dispatcher;
+        this.metrics = metrics;
         this.statementContext = statementContext;
         this.resources = resources;
 
@@ -75,8 +81,11 @@ public class ServerRuntimePreview extends PreviewContent<SubsystemMetadata> {
         this.committedNonHeap.element().id = Ids.SERVER_RUNTIME_STATUS_NON_HEAP_COMMITTED;
         this.threads = new Utilization("Daemon", Names.THREADS, false, false); // NON-NLS
         this.threads.element().id = Ids.SERVER_RUNTIME_STATUS_THREADS;
+        this.heapTrend = new Sparkline(resources.constants().used());
+        this.nonHeapTrend = new Sparkline(resources.constants().used());
+        this.threadsTrend = new Sparkline(Names.THREADS);
 
-        getHeaderContainer().appendChild(refreshLink(() -> update(null)));
+        getHeaderContainer().appendChild(refreshLink(metrics::poll));
         previewBuilder()
                 .add(p().css(lead)
                         .add(osName = span().element())
@@ -89,63 +98,57 @@ public class ServerRuntimePreview extends PreviewContent<SubsystemMetadata> {
                         .add(uptime = span().element()))
                 .add(h(2).textContent(Names.HEAP))
                 .add(usedHeap)
+                .add(heapTrend)
                 .add(committedHeap)
                 .add(nonHeapTitle = h(2).element())
                 .add(usedNonHeap)
+                .add(nonHeapTrend)
                 .add(committedNonHeap)
                 .add(h(2).textContent(Names.THREADS))
-                .add(threads);
+                .add(threads)
+                .add(threadsTrend);
     }
 
     @Override
     @SuppressWarnings("HardCodedStringLiteral")
-    public void update(SubsystemMetadata item) {
+    public void attach() {
+        super.attach();
         AddressTemplate mbean = AddressTemplate.of(SELECTED_HOST, SELECTED_SERVER, "core-service=platform-mbean");
-        AddressTemplate osTmpl = mbean.append("type=operating-system");
-        AddressTemplate runtimeTmpl = mbean.append("type=runtime");
-        AddressTemplate memoryTmpl = mbean.append("type=memory");
-        AddressTemplate threadingTmpl = mbean.append("type=threading");
-
-        Operation osOp = new Operation.Builder(osTmpl.resolve(statementContext), READ_RESOURCE_OPERATION)
-                .param(ATTRIBUTES_ONLY, true)
-                .param(INCLUDE_RUNTIME, true)
-                .build();
-        Operation runtimeOp = new Operation.Builder(runtimeTmpl.resolve(statementContext), READ_RESOURCE_OPERATION)
-                .param(ATTRIBUTES_ONLY, true)
-                .param(INCLUDE_RUNTIME, true)
-                .build();
-        Operation memoryOp = new Operation.Builder(memoryTmpl.resolve(statementContext), READ_RESOURCE_OPERATION)
-                .param(ATTRIBUTES_ONLY, true)
-                .param(INCLUDE_RUNTIME, true)
-                .build();
-        Operation threadingOp = new Operation.Builder(threadingTmpl.resolve(statementContext), READ_RESOURCE_OPERATION)
-                .param(ATTRIBUTES_ONLY, true)
-                .param(INCLUDE_RUNTIME, true)
-                .build();
-        dispatcher.execute(new Composite(osOp, runtimeOp, memoryOp, threadingOp), (CompositeResult result) -> {
+        ResourceAddress os = mbean.append("type=operating-system").resolve(statementContext);
+        ResourceAddress runtime = mbean.append("type=runtime").resolve(statementContext);
+        ResourceAddress memory = mbean.append("type=memory").resolve(statementContext);
+        ResourceAddress threading = mbean.append("type=threading").resolve(statementContext);
+
+        Metric processorsMetric = new Metric(os, "available-processors");
+        Metric uptimeMetric = new Metric(runtime, "uptime");
+        Metric heapMetric = new Metric(memory, "heap-memory-usage/used");
+        Metric nonHeapMetric = new Metric(memory, "non-heap-memory-usage/used");
+        Metric threadsMetric = new Metric(threading, "thread-count");
+        registration = metrics.register(snapshot -> {
             // os
-            ModelNode osNode = result.step(0).get(RESULT);
+            ModelNode osNode = snapshot.resource(os);
             osName.textContent = osNode.get(NAME).asString();
             osVersion.textContent = " " + osNode.get("version").asString();
             processors.textContent = ", " + osNode.get("available-processors").asInt() + " " + resources.constants()
                     .processors();
 
             // runtime
-            ModelNode runtimeNode = result.step(1).get(RESULT);
+            ModelNode runtimeNode = snapshot.resource(runtime);
             jvm.textContent = runtimeNode.get("vm-name").asString();
             jvmVersion.textContent = " " + runtimeNode.get("spec-version").asString();
             uptime.textContent = resources.messages().uptime(
                     Format.humanReadableDuration(runtimeNode.get("uptime").asLong()));
 
             // memory
-            ModelNode heapMemoryNode = result.step(2).get(RESULT).get("heap-memory-usage");
+            ModelNode heapMemoryNode = snapshot.resource(memory).get("heap-memory-usage");
             long used = heapMemoryNode.get("used").asLong() / 1024 / 1024;
             long committed = heapMemoryNode.get("committed").asLong() / 1024 / 1024;
             long max = heapMemoryNode.get("max").asLong() / 1024 / 1024;
             usedHeap.update(used, max);
             committedHeap.update(committed, max);
+            heapTrend.update(snapshot.samples(heapMetric).values());
 
-            ModelNode nonHeapMemoryNode = result.step(2).get(RESULT).get("non-heap-memory-usage");
+            ModelNode nonHeapMemoryNode = snapshot.resource(memory).get("non-heap-memory-usage");
             used = nonHeapMemoryNode.get("used").asLong() / 1024 / 1024;
             committed = nonHeapMemoryNode.get("committed").asLong() / 1024 / 1024;
             long nonHeapMax = nonHeapMemoryNode.get("max").asLong() / 1024 / 1024;
@@ -156,12 +159,28 @@ public class ServerRuntimePreview extends PreviewContent<SubsystemMetadata> {
             }
             usedNonHeap.update(used, nonHeapMax);
             committedNonHeap.update(committed, nonHeapMax);
+            nonHeapTrend.update(snapshot.samples(nonHeapMetric).values());
 
             // threads
-            ModelNode threadsNode = result.step(3).get(RESULT);
+            ModelNode threadsNode = snapshot.resource(threading);
             long threadCount = threadsNode.get("thread-count").asLong();
             long daemonCount = threadsNode.get("daemon-thread-count").asLong();
             threads.update(daemonCount, threadCount);
-        });
+            threadsTrend.update(snapshot.samples(threadsMetric).values());
+        }, processorsMetric, uptimeMetric, heapMetric, nonHeapMetric, threadsMetric);
+    }
+
+    @Override
+    public void detach() {
+        super.detach();
+        if (registration != null) {
+            registration.removeHandler();
+            registration = null;
+        }
+    }
+
+    @Override
+    public void update(SubsystemMetadata item) {
+        metrics.poll();
     }
 }
@@ -17,12 +17,15 @@ package org.jboss.hal.client.runtime.subsystem.batch;
 
 import javax.inject.Inject;
 
+import org.jboss.hal.ballroom.dataprovider.PageLoader;
 import org.jboss.hal.core.finder.Finder;
 import org.jboss.hal.core.finder.FinderPath;
 import org.jboss.hal.core.finder.FinderPathFactory;
 import org.jboss.hal.core.mvp.ApplicationFinderPresenter;
 import org.jboss.hal.core.mvp.HalView;
+import org.jboss.hal.core.mbui.listview.ResourcePageLoader;
 import org.jboss.hal.core.mvp.HasPresenter;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
@@ -41,19 +44,25 @@ import com.gwtplatform.mvp.client.annotations.ProxyCodeSplit;
 import com.gwtplatform.mvp.client.proxy.ProxyPlace;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
 import static org.jboss.hal.client.runtime.subsystem.batch.AddressTemplates.BATCH_DEPLOYMENT_JOB_ADDRESS;
 import static org.jboss.hal.client.runtime.subsystem.batch.AddressTemplates.BATCH_DEPLOYMENT_JOB_TEMPLATE;
 import static org.jboss.hal.client.runtime.subsystem.batch.AddressTemplates.BATCH_SUBDEPLOYMENT_JOB_TEMPLATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.BATCH_JBERET;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.BATCH_STATUS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPLOYMENT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.EXECUTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INSTANCE_ID;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.LAST_UPDATED_TIME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.RECURSIVE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESTART_JOB;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.STOP_JOB;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUBDEPLOYMENT;
+import static org.jboss.hal.dmr.ModelNodeHelper.failSafeDate;
 import static org.jboss.hal.meta.token.NameTokens.JOB;
 
 public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView, JobPresenter.MyProxy> {
@@ -65,6 +74,7 @@ public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView
     private String deployment;
     private String subdeployment;
     private String job;
+    private PageLoader<ExecutionNode> executions;
 
     @Inject
     public JobPresenter(EventBus eventBus,
@@ -94,6 +104,7 @@ public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView
         deployment = request.getParameter(DEPLOYMENT, null);
         subdeployment = request.getParameter(SUBDEPLOYMENT, null);
         job = request.getParameter(NAME, null);
+        executions = null;
     }
 
     @Override
@@ -105,12 +116,51 @@ public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView
 
     @Override
     protected void reload() {
+        // the executions are loaded page by page, read only the job itself
         ResourceAddress address = jobAddress();
         Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
                 .param(INCLUDE_RUNTIME, true)
-                .param(RECURSIVE, true)
                 .build();
-        dispatcher.execute(operation, result -> getView().update(new JobNode(address, result)));
+        dispatcher.execute(operation, result -> getView().update(new JobNode(address, result), executions(address)));
+    }
+
+    private PageLoader<ExecutionNode> executions(ResourceAddress address) {
+        if (executions == null) {
+            executions = new ResourcePageLoader.Builder<ExecutionNode>(dispatcher, address, EXECUTION,
+                    ExecutionNode::new)
+                    // like JobNode, JobColumn and JobPreview: only the latest execution per instance
+                    .distinct(INSTANCE_ID, comparing(node -> failSafeDate(node, LAST_UPDATED_TIME),
+                            nullsFirst(naturalOrder())), LAST_UPDATED_TIME)
+                    .nameFilter(NAME)
+                    .where(INSTANCE_ID, INSTANCE_ID, this::instanceId)
+                    .where(BATCH_STATUS, BATCH_STATUS, this::batchStatus)
+                    // most recent executions first
+                    .order((e1, e2) -> Integer.compare(Integer.parseInt(e2), Integer.parseInt(e1)))
+                    .build();
+        }
+        return executions;
+    }
+
+    private ModelNode instanceId(String value) {
+        try {
+            return new ModelNode().set(Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private ModelNode batchStatus(String value) {
+        // the toolbar filters by substring, the server by equality: use the filter only if it's unique
+        ExecutionNode.BatchStatus match = null;
+        for (ExecutionNode.BatchStatus status : ExecutionNode.BatchStatus.values()) {
+            if (status.name().contains(value.trim().toUpperCase())) {
+                if (match != null) {
+                    return null;
+                }
+                match = status;
+            }
+        }
+        return match != null ? new ModelNode().set(match.name()) : null;
     }
 
     void restartExecution(ExecutionNode execution) {
@@ -149,7 +199,7 @@ public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView
     }
 
     public interface MyView extends HalView, HasPresenter<JobPresenter> {
-        void update(JobNode job);
+        void update(JobNode job, PageLoader<ExecutionNode> executions);
     }
     // @formatter:on
 }
@@ -20,6 +20,7 @@ import javax.inject.Inject;
 import org.jboss.hal.ballroom.Toolbar.Action;
 import org.jboss.hal.ballroom.Toolbar.Attribute;
 import org.jboss.hal.ballroom.dataprovider.DataProvider;
+import org.jboss.hal.ballroom.dataprovider.PageLoader;
 import org.jboss.hal.core.mbui.listview.ModelNodeListView;
 import org.jboss.hal.core.mvp.HalViewImpl;
 import org.jboss.hal.dmr.NamedNode;
@@ -38,6 +39,7 @@ import static org.jboss.hal.resources.UIConstants.POLLING_INTERVAL;
 public class JobView extends HalViewImpl implements JobPresenter.MyView {
 
     private final DataProvider<ExecutionNode> dataProvider;
+    private PageLoader<ExecutionNode> executions;
     private JobPresenter presenter;
 
     @Inject
@@ -78,8 +80,13 @@ public class JobView extends HalViewImpl implements JobPresenter.MyView {
     }
 
     @Override
-    public void update(JobNode job) {
-        dataProvider.update(job.getExecutions());
+    public void update(JobNode job, PageLoader<ExecutionNode> executions) {
+        if (this.executions != executions) {
+            this.executions = executions;
+            dataProvider.setLoader(executions);
+        } else {
+            dataProvider.reload();
+        }
         if (job.getRunningExecutions() > 0) {
             setTimeout(o -> presenter.reload(), POLLING_INTERVAL);
         }
@@ -30,6 +30,7 @@ import org.jboss.hal.core.finder.ItemActionFactory;
 import org.jboss.hal.core.finder.ItemDisplay;
 import org.jboss.hal.core.finder.ItemsProvider;
 import org.jboss.hal.core.mvp.Places;
+import org.jboss.hal.core.runtime.metrics.RuntimeMetrics;
 import org.jboss.hal.core.runtime.server.Server;
 import org.jboss.hal.core.runtime.server.ServerActions;
 import org.jboss.hal.dmr.Composite;
@@ -119,6 +120,7 @@ public class DataSourceColumn extends FinderColumn<DataSource> {
             Dispatcher dispatcher,
             EventBus eventBus,
             StatementContext statementContext,
+            RuntimeMetrics metrics,
             Environment environment,
             Resources resources,
             Finder finder,
@@ -343,7 +345,7 @@ public class DataSourceColumn extends FinderColumn<DataSource> {
         });
 
         setPreviewCallback(item -> new DataSourcePreview(this, server, item, environment, dispatcher, statementContext,
-                serverActions, finderPathFactory, places, resources));
+                metrics, serverActions, finderPathFactory, places, resources));
     }
 
     private void testConnection(DataSource dataSource) {
@@ -21,6 +21,7 @@ import java.util.List;
 import org.jboss.elemento.Elements;
 import org.jboss.hal.ballroom.Alert;
 import org.jboss.hal.ballroom.EmptyState;
+import org.jboss.hal.ballroom.chart.Sparkline;
 import org.jboss.hal.ballroom.chart.Utilization;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.core.datasource.DataSource;
@@ -28,6 +29,8 @@ import org.jboss.hal.core.finder.FinderPath;
 import org.jboss.hal.core.finder.FinderPathFactory;
 import org.jboss.hal.core.finder.PreviewContent;
 import org.jboss.hal.core.mvp.Places;
+import org.jboss.hal.core.runtime.metrics.Metric;
+import org.jboss.hal.core.runtime.metrics.RuntimeMetrics;
 import org.jboss.hal.core.runtime.server.Server;
 import org.jboss.hal.core.runtime.server.ServerActions;
 import org.jboss.hal.dmr.Composite;
@@ -47,6 +50,7 @@ import org.jboss.hal.resources.Names;
 import org.jboss.hal.resources.Resources;
 
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
+import com.google.web.bindery.event.shared.HandlerRegistration;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 
 import elemental2.dom.HTMLElement;
@@ -92,9 +96,12 @@ class DataSourcePreview extends PreviewContent<DataSource> {
     private final HTMLElement poolHeader;
     private final Utilization activeConnections;
     private final Utilization maxUsedConnections;
+    private final Sparkline activeTrend;
     private final HTMLElement cacheHeader;
     private final Utilization hitCount;
     private final Utilization missCount;
+    private final RuntimeMetrics metrics;
+    private HandlerRegistration registration;
 
     DataSourcePreview(DataSourceColumn column,
             Server server,
@@ -102,6 +109,7 @@ class DataSourcePreview extends PreviewContent<DataSource> {
             Environment environment,
             Dispatcher dispatcher,
             StatementContext statementContext,
+            RuntimeMetrics metrics,
             ServerActions serverActions,
             FinderPathFactory finderPathFactory,
             Places places,
@@ -113,6 +121,7 @@ class DataSourcePreview extends PreviewContent<DataSource> {
         this.environment = environment;
         this.dispatcher = dispatcher;
         this.statementContext = statementContext;
+        this.metrics = metrics;
         this.dataSourceAddress = column.dataSourceAddress(dataSource);
 
         if (dataSource.fromDeployment()) {
@@ -173,6 +182,7 @@ class DataSourcePreview extends PreviewContent<DataSource> {
                 environment.isStandalone(), true);
         maxUsedConnections = new Utilization(resources.constants().maxUsed(), Names.CONNECTIONS,
                 environment.isStandalone(), true);
+        activeTrend = new Sparkline(resources.constants().active());
         hitCount = new Utilization(resources.constants().hitCount(), resources.constants().count(),
                 environment.isStandalone(), false);
         missCount = new Utilization(resources.constants().missCount(), resources.constants().count(),
@@ -187,6 +197,7 @@ class DataSourcePreview extends PreviewContent<DataSource> {
                 .add(disabledWarning)
                 .add(poolHeader = h(2).css(underline).textContent(Names.CONNECTION_POOL).element())
                 .add(activeConnections)
+                .add(activeTrend)
                 .add(maxUsedConnections)
                 .add(cacheHeader = h(2).css(underline)
                         .textContent(resources.constants().preparedStatementCache()).element())
@@ -212,6 +223,7 @@ class DataSourcePreview extends PreviewContent<DataSource> {
             setVisible(refresh, false);
             setVisible(poolHeader, false);
             setVisible(activeConnections.element(), false);
+            setVisible(activeTrend.element(), false);
             setVisible(maxUsedConnections.element(), false);
             setVisible(cacheHeader, false);
             setVisible(hitCount.element(), false);
@@ -251,6 +263,7 @@ class DataSourcePreview extends PreviewContent<DataSource> {
                 setVisible(refresh, statisticsEnabled);
                 setVisible(poolHeader, statisticsEnabled);
                 setVisible(activeConnections.element(), statisticsEnabled);
+                setVisible(activeTrend.element(), statisticsEnabled);
                 setVisible(maxUsedConnections.element(), statisticsEnabled);
                 setVisible(cacheHeader, statisticsEnabled);
                 setVisible(hitCount.element(), statisticsEnabled);
@@ -269,33 +282,66 @@ class DataSourcePreview extends PreviewContent<DataSource> {
                         Elements.toggle(needsRestartWarning.element(), hidden, !server.needsRestart());
                     }
 
-                    // pool statistics
-                    ModelNode pool = ModelNodeHelper.failSafeGet(dataSource, "statistics/pool");
-                    if (pool.isDefined()) {
-                        int available = pool.get("AvailableCount").asInt(0);
-                        int active = pool.get("ActiveCount").asInt(0);
-                        int maxUsed = pool.get("MaxUsedCount").asInt(0);
-                        activeConnections.update(active, available);
-                        maxUsedConnections.update(maxUsed, available);
-                    } else {
-                        activeConnections.update(0, 0);
-                        maxUsedConnections.update(0, 0);
-                    }
-
-                    // jdbc statistics
-                    ModelNode jdbc = ModelNodeHelper.failSafeGet(dataSource, "statistics/jdbc");
-                    if (jdbc.isDefined()) {
-                        long accessed = jdbc.get("PreparedStatementCacheAccessCount").asLong(0);
-                        long hit = jdbc.get("PreparedStatementCacheHitCount").asLong(0);
-                        long missed = jdbc.get("PreparedStatementCacheMissCount").asLong(0);
-                        hitCount.update(hit, accessed);
-                        missCount.update(missed, accessed);
-                    } else {
-                        hitCount.update(0, 0);
-                        missCount.update(0, 0);
-                    }
+                    updatePool(ModelNodeHelper.failSafeGet(dataSource, "statistics/pool"));
+                    updateJdbc(ModelNodeHelper.failSafeGet(dataSource, "statistics/jdbc"));
                 }
             });
         }
     }
+
+    @Override
+    @SuppressWarnings("HardCodedStringLiteral")
+    public void attach() {
+        super.attach();
+        if (!dataSource.fromDeployment()) {
+            ResourceAddress poolAddress = new ResourceAddress().add(dataSourceAddress).add("statistics", "pool");
+            ResourceAddress jdbcAddress = new ResourceAddress().add(dataSourceAddress).add("statistics", "jdbc");
+            Metric activeMetric = new Metric(poolAddress, "ActiveCount");
+            Metric hitMetric = new Metric(jdbcAddress, "PreparedStatementCacheHitCount");
+            registration = metrics.register(snapshot -> {
+                if (dataSource.isStatisticsEnabled()) {
+                    updatePool(snapshot.resource(poolAddress));
+                    updateJdbc(snapshot.resource(jdbcAddress));
+                    activeTrend.update(snapshot.samples(activeMetric).values());
+                }
+            }, activeMetric, hitMetric);
+        }
+    }
+
+    @Override
+    public void detach() {
+        super.detach();
+        if (registration != null) {
+            registration.removeHandler();
+            registration = null;
+        }
+    }
+
+    @SuppressWarnings("HardCodedStringLiteral")
+    private void updatePool(ModelNode pool) {
+        if (pool.isDefined()) {
+            int available = pool.get("AvailableCount").asInt(0);
+            int active = pool.get("ActiveCount").asInt(0);
+            int maxUsed = pool.get("MaxUsedCount").asInt(0);
+            activeConnections.update(active, available);
+            maxUsedConnections.update(maxUsed, available);
+        } else {
+            activeConnections.update(0, 0);
+            maxUsedConnections.update(0, 0);
+        }
+    }
+
+    @SuppressWarnings("HardCodedStringLiteral")
+    private void updateJdbc(ModelNode jdbc) {
+        if (jdbc.isDefined()) {
+            long accessed = jdbc.get("PreparedStatementCacheAccessCount").asLong(0);
+            long hit = jdbc.get("PreparedStatementCacheHitCount").asLong(0);
+            long missed = jdbc.get("PreparedStatementCacheMissCount").asLong(0);
+            hitCount.update(hit, accessed);
+            missCount.update(missed, accessed);
+        } else {
+            hitCount.update(0, 0);
+            missCount.update(0, 0);
+        }
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.jndi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index over the names and URIs of the JNDI tree. Each entry is registered in a prefix index (trie) under its name and its
+ * URI, so that searching for {@code ExampleDS} and {@code java:jboss/datasources/Ex} finds the same entry without walking
+ * the tree. Queries which match in the middle of a name or URI (e.g. {@code DS}) are answered by a substring scan over the
+ * indexed entries, which is still much cheaper than walking the tree. Lookups are case-insensitive.
+ */
+class JndiIndex {
+
+    private final TrieNode root;
+    private final List<Entry> entries;
+
+    JndiIndex() {
+        this.root = new TrieNode();
+        this.entries = new ArrayList<>();
+    }
+
+    /**
+     * Adds an entry to the index.
+     *
+     * @param name the name of the entry as shown in the tree
+     * @param uri the JNDI URI of the entry, may be empty
+     * @param path the IDs of the tree nodes from the root to the entry (including the entry itself)
+     */
+    void add(String name, String uri, String[] path) {
+        Entry entry = new Entry(name, uri, path);
+        insert(name, entry);
+        if (uri != null && !uri.isEmpty() && !uri.equals(name)) {
+            insert(uri, entry);
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Finds the entries whose name or URI contain the specified query. Entries whose name or URI start with the query are
+     * returned first, shorter matches before longer ones. If there are less than {@code limit} of them, the remaining
+     * entries are scanned for names and URIs which contain the query. The lookup stops as soon as {@code limit} entries
+     * have been found.
+     *
+     * @param query the query to look for
+     * @param limit the maximum number of entries to return
+     */
+    List<Entry> find(String query, int limit) {
+        String key = query.toLowerCase();
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Entry> result = new LinkedHashSet<>();
+        prefixMatches(key, result, limit);
+        for (int i = 0; i < entries.size() && result.size() < limit; i++) {
+            Entry entry = entries.get(i);
+            if (entry.lowerCaseName.contains(key) || entry.lowerCaseUri.contains(key)) {
+                result.add(entry);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /** Traverses the trie breadth-first starting at the node of the prefix. */
+    private void prefixMatches(String prefix, Set<Entry> result, int limit) {
+        TrieNode node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node != null) {
+            Deque<TrieNode> queue = new ArrayDeque<>();
+            queue.add(node);
+            while (!queue.isEmpty() && result.size() < limit) {
+                TrieNode current = queue.poll();
+                for (Entry entry : current.entries) {
+                    if (result.size() < limit) {
+                        result.add(entry);
+                    }
+                }
+                queue.addAll(current.children.values());
+            }
+        }
+    }
+
+    /** @return the number of indexed entries */
+    int size() {
+        return entries.size();
+    }
+
+    private void insert(String key, Entry entry) {
+        TrieNode node = root;
+        String lowerCase = key.toLowerCase();
+        for (int i = 0; i < lowerCase.length(); i++) {
+            node = node.children.computeIfAbsent(lowerCase.charAt(i), c -> new TrieNode());
+        }
+        node.entries.add(entry);
+    }
+
+    private static class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>(1);
+    }
+
+    static class Entry {
+
+        final String name;
+        final String uri;
+        final String[] path;
+        private final String lowerCaseName;
+        private final String lowerCaseUri;
+
+        private Entry(String name, String uri, String[] path) {
+            this.name = name;
+            this.uri = uri;
+            this.path = path;
+            this.lowerCaseName = name.toLowerCase();
+            this.lowerCaseUri = uri != null ? uri.toLowerCase() : "";
+        }
+
+        /** @return the ID of the tree node of this entry */
+        String id() {
+            return path[path.length - 1];
+        }
+    }
+}
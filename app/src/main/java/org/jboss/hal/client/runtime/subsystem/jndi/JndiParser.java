@@ -15,64 +15,125 @@
  */
 package org.jboss.hal.client.runtime.subsystem.jndi;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.hal.ballroom.tree.Node;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ModelType;
-import org.jboss.hal.dmr.Property;
 import org.jboss.hal.resources.Ids;
 
 import com.google.common.base.Strings;
 
-import elemental2.core.JsArray;
-
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILDREN;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CLASS_NAME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.VALUE;
 import static org.jboss.hal.resources.CSS.fontAwesome;
 
+/**
+ * Turns the result of the {@code jndi-view} operation into tree nodes. Only the root nodes are created up front. The nodes
+ * of a folder are created by {@link #children(Node)} when the folder is expanded for the first time. The names of all
+ * entries are added to a {@link JndiIndex} when a root is {@linkplain #root(String, String, ModelNode) registered}, so
+ * that the tree can be searched without creating all nodes.
+ * <p>
+ * Node IDs are derived from the position of a node within its parent. That way the IDs of the index and the IDs of nodes
+ * created later on match.
+ */
 class JndiParser {
 
-    @SuppressWarnings("unchecked")
-    void parse(JsArray<Node<JndiContext>> nodes, Node<JndiContext> root, List<Property> children) {
-        nodes.push(root);
-        readChildren(nodes, root, children);
-    }
+    private final Map<String, Folder> folders;
+    private final JndiIndex index;
 
-    private void readChildren(JsArray<Node<JndiContext>> nodes, Node<JndiContext> parent, List<Property> children) {
+    JndiParser() {
+        this.folders = new HashMap<>();
+        this.index = new JndiIndex();
+    }
 
-        children.stream()
-                .filter(child -> child.getValue().isDefined())
-                .forEach(child -> {
+    Node<JndiContext> root(String id, String text, ModelNode children) {
+        JndiContext jndiContext = new JndiContext();
+        Node<JndiContext> root = new Node.Builder<>(id, text, jndiContext)
+                .root()
+                .asyncFolder()
+                .open()
+                .build();
+        folders.put(id, new Folder(id, "", children));
+        indexChildren(id, new String[] { id }, "", children);
+        return root;
+    }
 
-                    ModelNode modelNode = child.getValue();
-                    JndiContext jndiContext = jndiContext(parent, child.getName(), modelNode);
+    @SuppressWarnings("unchecked")
+    Node<JndiContext>[] children(Node<JndiContext> parent) {
+        List<Node<JndiContext>> nodes = new ArrayList<>();
+        Folder folder = folders.get(parent.id);
+        if (folder != null) {
+            int i = 0;
+            for (String name : folder.children.keys()) {
+                ModelNode modelNode = folder.children.get(name);
+                String id = Ids.build(parent.id, String.valueOf(i++));
+                if (modelNode.isDefined()) {
+                    JndiContext jndiContext = jndiContext(folder, name, modelNode);
                     if (modelNode.hasDefined(VALUE)) {
-                        pushEntry(nodes, parent, child.getName(), jndiContext);
-
+                        nodes.add(new Node.Builder<>(id, name, jndiContext)
+                                .parent(parent.id)
+                                .icon(fontAwesome("file-text-o"))
+                                .build());
                     } else {
-                        Node<JndiContext> node = pushFolder(nodes, parent, child.getName(), jndiContext);
-                        if (modelNode.hasDefined(CHILDREN)) {
-                            readChildren(nodes, node, modelNode.get(CHILDREN).asPropertyList());
-
-                        } else if (child.getValue().getType() == ModelType.OBJECT) {
-                            readChildren(nodes, node, child.getValue().asPropertyList());
+                        ModelNode children = children(modelNode);
+                        Node.Builder<JndiContext> builder = new Node.Builder<>(id, name, jndiContext)
+                                .parent(parent.id);
+                        if (children == null || children.keys().isEmpty()) {
+                            builder.folder();
+                        } else {
+                            builder.asyncFolder();
+                            folders.put(id, new Folder(id, jndiContext.uri, children));
                         }
+                        nodes.add(builder.build());
                     }
-                });
+                }
+            }
+        }
+        return nodes.toArray(new Node[0]);
     }
 
-    private JndiContext jndiContext(Node<JndiContext> parent, String name, ModelNode modelNode) {
-        JndiContext jndiContext = new JndiContext();
-        if (parent.id.equals(Ids.JNDI_TREE_APPLICATIONS_ROOT)) {
-            jndiContext.uri = "";
-        } else if (parent.id.equals(Ids.JNDI_TREE_JAVA_CONTEXTS_ROOT)) {
-            jndiContext.uri = name;
-        } else {
-            jndiContext.uri = parent.data.uri.length() == 0 ? name : parent.data.uri + "/" + name;
+    JndiIndex index() {
+        return index;
+    }
+
+    private void indexChildren(String parentId, String[] parentPath, String parentUri, ModelNode children) {
+        int i = 0;
+        for (String name : children.keys()) {
+            ModelNode modelNode = children.get(name);
+            String id = Ids.build(parentId, String.valueOf(i++));
+            if (modelNode.isDefined()) {
+                String uri = uri(parentId, parentUri, name);
+                String[] path = new String[parentPath.length + 1];
+                System.arraycopy(parentPath, 0, path, 0, parentPath.length);
+                path[parentPath.length] = id;
+                index.add(name, uri, path);
+                if (!modelNode.hasDefined(VALUE)) {
+                    ModelNode nested = children(modelNode);
+                    if (nested != null) {
+                        indexChildren(id, path, uri, nested);
+                    }
+                }
+            }
+        }
+    }
+
+    private ModelNode children(ModelNode modelNode) {
+        if (modelNode.hasDefined(CHILDREN)) {
+            return modelNode.get(CHILDREN);
+        } else if (modelNode.getType() == ModelType.OBJECT) {
+            return modelNode;
         }
+        return null;
+    }
 
+    private JndiContext jndiContext(Folder parent, String name, ModelNode modelNode) {
+        JndiContext jndiContext = new JndiContext();
+        jndiContext.uri = uri(parent.id, parent.uri, name);
         if (modelNode.hasDefined(CLASS_NAME)) {
             jndiContext.className = modelNode.get(CLASS_NAME).asString();
         }
@@ -85,25 +146,27 @@ class JndiParser {
         return jndiContext;
     }
 
-    @SuppressWarnings("unchecked")
-    private Node<JndiContext> pushFolder(JsArray<Node<JndiContext>> nodes, Node<JndiContext> parent, String name,
-            JndiContext jndiContext) {
-        Node<JndiContext> node = new Node.Builder<>(Ids.build(parent.id, Ids.uniqueId()), name, jndiContext)
-                .parent(parent.id)
-                .folder()
-                .build();
-        nodes.push(node);
-        return node;
+    private String uri(String parentId, String parentUri, String name) {
+        if (parentId.equals(Ids.JNDI_TREE_APPLICATIONS_ROOT)) {
+            return "";
+        } else if (parentId.equals(Ids.JNDI_TREE_JAVA_CONTEXTS_ROOT)) {
+            return name;
+        } else {
+            return parentUri.length() == 0 ? name : parentUri + "/" + name;
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    private Node<JndiContext> pushEntry(JsArray<Node<JndiContext>> nodes, Node<JndiContext> parent, String name,
-            JndiContext jndiContext) {
-        Node<JndiContext> node = new Node.Builder<>(Ids.build(parent.id, Ids.uniqueId()), name, jndiContext)
-                .parent(parent.id)
-                .icon(fontAwesome("file-text-o"))
-                .build();
-        nodes.push(node);
-        return node;
+    /** A folder whose nodes have not been created yet. */
+    private static class Folder {
+
+        private final String id;
+        private final String uri;
+        private final ModelNode children;
+
+        private Folder(String id, String uri, ModelNode children) {
+            this.id = id;
+            this.uri = uri;
+            this.children = children;
+        }
     }
 }
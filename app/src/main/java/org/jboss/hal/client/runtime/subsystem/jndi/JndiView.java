@@ -15,9 +15,13 @@
  */
 package org.jboss.hal.client.runtime.subsystem.jndi;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.jboss.elemento.Elements;
+import org.jboss.hal.ballroom.JsCallback;
 import org.jboss.hal.ballroom.Search;
 import org.jboss.hal.ballroom.form.Form;
 import org.jboss.hal.ballroom.tree.Node;
@@ -30,7 +34,6 @@ import org.jboss.hal.resources.CSS;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Resources;
 
-import elemental2.core.JsArray;
 import elemental2.dom.HTMLElement;
 
 import static org.jboss.elemento.Elements.*;
@@ -49,10 +52,12 @@ public class JndiView extends HalViewImpl implements JndiPresenter.MyView {
 
     private static final String JAVA_CONTEXTS = "java: contexts";
     private static final String APPLICATIONS = "applications";
+    private static final int MAX_SEARCH_RESULTS = 50;
 
     private HTMLElement header;
     private HTMLElement treeContainer;
     private Tree<JndiContext> tree;
+    private JndiParser parser;
     private HTMLElement hint;
     private Search search;
     private Form<ModelNode> details;
@@ -61,7 +66,7 @@ public class JndiView extends HalViewImpl implements JndiPresenter.MyView {
     @Inject
     public JndiView(JndiResources jndiResources, Resources resources) {
 
-        search = new Search.Builder(Ids.JNDI_SEARCH, query -> tree.search(query))
+        search = new Search.Builder(Ids.JNDI_SEARCH, this::search)
                 .onClear(() -> tree.clearSearch())
                 .build();
 
@@ -117,33 +122,49 @@ public class JndiView extends HalViewImpl implements JndiPresenter.MyView {
         treeContainer.style.height = vh(offset);
     }
 
+    /**
+     * Looks up the query in the index of the parser and opens the folders of the matching entries, so that the entries are
+     * loaded before the tree highlights them.
+     */
+    private void search(String query) {
+        if (tree != null && parser != null) {
+            List<JndiIndex.Entry> matches = parser.index().find(query, MAX_SEARCH_RESULTS);
+            openPaths(matches, 0, 0, () -> {
+                tree.search(query);
+                if (!matches.isEmpty()) {
+                    tree.selectNode(matches.get(0).id());
+                }
+            });
+        }
+    }
+
+    private void openPaths(List<JndiIndex.Entry> matches, int match, int segment, JsCallback finished) {
+        if (match >= matches.size()) {
+            finished.execute();
+        } else {
+            String[] path = matches.get(match).path;
+            if (segment < path.length - 1) {
+                tree.openNode(path[segment], () -> openPaths(matches, match, segment + 1, finished));
+            } else {
+                openPaths(matches, match + 1, 0, finished);
+            }
+        }
+    }
+
     @Override
-    @SuppressWarnings("HardCodedStringLiteral")
+    @SuppressWarnings({ "HardCodedStringLiteral", "unchecked" })
     public void update(ModelNode jndi) {
-        JndiParser jndiParser = new JndiParser();
-        JsArray<Node<JndiContext>> nodes = new JsArray<>();
-
+        List<Node<JndiContext>> roots = new ArrayList<>();
+        parser = new JndiParser();
         if (jndi.hasDefined(JAVA_CONTEXTS)) {
-            JndiContext jndiContext = new JndiContext();
-            Node<JndiContext> root = new Node.Builder<>(Ids.JNDI_TREE_JAVA_CONTEXTS_ROOT, "Java Contexts", jndiContext)
-                    .root()
-                    .folder()
-                    .open()
-                    .build();
-            jndiParser.parse(nodes, root, jndi.get(JAVA_CONTEXTS).asPropertyList());
+            roots.add(parser.root(Ids.JNDI_TREE_JAVA_CONTEXTS_ROOT, "Java Contexts", jndi.get(JAVA_CONTEXTS)));
         }
-
         if (jndi.hasDefined(APPLICATIONS)) {
-            JndiContext jndiContext = new JndiContext();
-            Node<JndiContext> root = new Node.Builder<>(Ids.JNDI_TREE_APPLICATIONS_ROOT, "Applications", jndiContext)
-                    .root()
-                    .folder()
-                    .open()
-                    .build();
-            jndiParser.parse(nodes, root, jndi.get(APPLICATIONS).asPropertyList());
+            roots.add(parser.root(Ids.JNDI_TREE_APPLICATIONS_ROOT, "Applications", jndi.get(APPLICATIONS)));
         }
 
-        tree = new Tree<>(Ids.JNDI_TREE, nodes);
+        tree = new Tree<>(Ids.JNDI_TREE, roots.toArray(new Node[0]),
+                (node, callback) -> callback.result(parser.children(node)));
         Elements.removeChildrenFrom(treeContainer);
         treeContainer.appendChild(tree.element());
 
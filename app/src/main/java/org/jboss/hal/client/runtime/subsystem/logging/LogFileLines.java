@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.List;
+
+import org.jboss.hal.ballroom.virtual.Page;
+import org.jboss.hal.ballroom.virtual.PagedProvider;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+
+import elemental2.promise.Promise;
+
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.LINES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_LOG_FILE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SKIP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TAIL;
+
+/**
+ * Reads the lines of a log file page by page using {@code read-log-file(skip=offset, lines=limit, tail=false)}.
+ * <p>
+ * The management model does not return the number of lines in a log file. The total is estimated from the file size and
+ * the average line length of the lines read so far. The estimation is corrected by the virtual list as soon as the end
+ * of the file has been read.
+ */
+class LogFileLines implements PagedProvider<String> {
+
+    private final Dispatcher dispatcher;
+    private final ResourceAddress address;
+    private final long fileSize;
+    private long bytesRead;
+    private long linesRead;
+
+    LogFileLines(Dispatcher dispatcher, ResourceAddress address, long fileSize) {
+        this.dispatcher = dispatcher;
+        this.address = address;
+        this.fileSize = fileSize;
+        this.bytesRead = 0;
+        this.linesRead = 0;
+    }
+
+    @Override
+    public Promise<Page<String>> load(int offset, int limit) {
+        Operation operation = new Operation.Builder(address, READ_LOG_FILE)
+                .param(LINES, limit)
+                .param(SKIP, offset)
+                .param(TAIL, false)
+                .build();
+        return dispatcher.execute(operation).then(result -> {
+            List<String> lines = result.asList().stream().map(ModelNode::asString).collect(toList());
+            return Promise.resolve(new Page<>(lines, estimate(lines)));
+        });
+    }
+
+    int estimate(List<String> lines) {
+        for (String line : lines) {
+            bytesRead += line.length() + 1; // line separator
+        }
+        linesRead += lines.size();
+        if (linesRead == 0 || bytesRead == 0) {
+            return Page.UNKNOWN;
+        }
+        long estimate = fileSize * linesRead / bytesRead;
+        return (int) Math.min(estimate, Integer.MAX_VALUE);
+    }
+}
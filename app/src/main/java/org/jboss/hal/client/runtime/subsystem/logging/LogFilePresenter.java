@@ -15,10 +15,12 @@
  */
 package org.jboss.hal.client.runtime.subsystem.logging;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.inject.Inject;
 
+import org.jboss.hal.ballroom.virtual.PagedProvider;
 import org.jboss.hal.core.finder.Finder;
 import org.jboss.hal.core.finder.FinderPath;
 import org.jboss.hal.core.finder.FinderPathFactory;
@@ -38,6 +40,8 @@ import org.jboss.hal.resources.UIConstants;
 import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 import org.jboss.hal.spi.Requires;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.web.bindery.event.shared.EventBus;
 import com.gwtplatform.mvp.client.annotations.NameToken;
@@ -45,11 +49,10 @@ import com.gwtplatform.mvp.client.annotations.ProxyCodeSplit;
 import com.gwtplatform.mvp.client.proxy.ProxyPlace;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 
-import static elemental2.dom.DomGlobal.clearInterval;
 import static elemental2.dom.DomGlobal.clearTimeout;
-import static elemental2.dom.DomGlobal.setInterval;
 import static elemental2.dom.DomGlobal.setTimeout;
-import static java.util.stream.Collectors.joining;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.LOG_FILE_ADDRESS;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.LOG_FILE_TEMPLATE;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.PROFILE_LOG_FILE_TEMPLATE;
@@ -61,21 +64,32 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_LOG_FILE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SKIP;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.TAIL;
 import static org.jboss.hal.meta.token.NameTokens.LOG_FILE;
 
 public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresenter.MyView, LogFilePresenter.MyProxy> {
 
     private static final int REFRESH_INTERVAL = 1000;
+    private static final int MAX_REFRESH_INTERVAL = 16000;
+
+    /** Number of lines read at once in tail mode. */
+    private static final int TAIL_LINES = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(LogFilePresenter.class);
 
     private final FinderPathFactory finderPathFactory;
     private final Dispatcher dispatcher;
     private final StatementContext statementContext;
     private final Resources resources;
+    private final LogTail logTail;
     private String logFileName;
     private String loggingProfile;
     private LogFile logFile;
-    private double intervalHandle;
+    private boolean tailMode;
+    private int tailRun;
+    private int tailInterval;
+    private double tailHandle;
 
     @Inject
     public LogFilePresenter(EventBus eventBus,
@@ -95,7 +109,11 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
         this.logFileName = null;
         this.loggingProfile = null;
         this.logFile = null;
-        this.intervalHandle = -1;
+        this.logTail = new LogTail(LogFiles.LINES);
+        this.tailMode = false;
+        this.tailRun = 0;
+        this.tailInterval = REFRESH_INTERVAL;
+        this.tailHandle = -1;
     }
 
     @Override
@@ -104,6 +122,12 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
         getView().setPresenter(this);
     }
 
+    @Override
+    protected void onHide() {
+        super.onHide();
+        stopTail();
+    }
+
     @Override
     public void prepareFromRequest(PlaceRequest request) {
         super.prepareFromRequest(request);
@@ -123,12 +147,7 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
     protected void reload() {
         if (logFileName != null) {
             double handle = setTimeout((o) -> getView().loading(), UIConstants.MEDIUM_TIMEOUT);
-            ResourceAddress address;
-            if (loggingProfile == null) {
-                address = LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
-            } else {
-                address = PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, logFileName);
-            }
+            ResourceAddress address = logFileAddress();
             Operation logFileOp = new Operation.Builder(address, READ_RESOURCE_OPERATION)
                     .param(INCLUDE_RUNTIME, true)
                     .build();
@@ -145,10 +164,13 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
                         } else {
                             logFile = new LogFile(logFileName, loggingProfile, result.step(0).get(RESULT));
                         }
-                        List<ModelNode> linesRead = result.step(1).get(RESULT).asList();
-                        String content = linesRead.stream().map(ModelNode::asString)
-                                .collect(joining("\n"));
-                        getView().show(logFile, linesRead.size(), content);
+                        List<String> linesRead = lines(result.step(1).get(RESULT));
+                        logTail.reset(linesRead);
+                        if (paged()) {
+                            getView().show(logFile, lineProvider());
+                        } else {
+                            getView().show(logFile, linesRead.size(), String.join("\n", linesRead));
+                        }
                     },
                     (operation, failure) -> {
                         clearTimeout(handle);
@@ -162,24 +184,21 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
 
     void reloadFile() {
         if (logFile != null) {
-            int linesToRead = inTailMode() ? getView().visibleLines() : LogFiles.LINES;
             double handle = setTimeout((o) -> getView().loading(), UIConstants.MEDIUM_TIMEOUT);
-            ResourceAddress address;
-            if (loggingProfile == null) {
-                address = LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
-            } else {
-                address = PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, logFileName);
-            }
             // noinspection HardCodedStringLiteral
-            Operation operation = new Operation.Builder(address, READ_LOG_FILE)
-                    .param(LINES, linesToRead)
+            Operation operation = new Operation.Builder(logFileAddress(), READ_LOG_FILE)
+                    .param(LINES, LogFiles.LINES)
                     .param(TAIL, true)
                     .build();
             dispatcher.execute(operation, result -> {
                 clearTimeout(handle);
-                List<ModelNode> linesRead = result.asList();
-                String content = linesRead.stream().map(ModelNode::asString).collect(joining("\n"));
-                getView().refresh(linesRead.size(), content);
+                List<String> linesRead = lines(result);
+                logTail.reset(linesRead);
+                if (paged() && !tailMode) {
+                    getView().refresh(logFile, lineProvider());
+                } else {
+                    getView().refresh(linesRead.size(), String.join("\n", linesRead));
+                }
             }, (op, failure) -> {
                 clearTimeout(handle);
                 MessageEvent.fire(getEventBus(),
@@ -193,12 +212,17 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
     void toggleTailMode(boolean on) {
         if (logFile != null) {
             if (on) {
-                if (!inTailMode()) {
-                    intervalHandle = setInterval((o) -> reloadFile(), REFRESH_INTERVAL);
+                if (!tailMode) {
+                    tailMode = true;
+                    if (paged()) {
+                        // switch from the paged lines to the editor which shows the last lines
+                        getView().refresh(logTail.size(), String.join("\n", logTail.lines()));
+                    }
+                    tailInterval = REFRESH_INTERVAL;
+                    scheduleTail();
                 }
             } else {
-                clearInterval(intervalHandle);
-                intervalHandle = -1;
+                stopTail();
                 reloadFile();
             }
         } else {
@@ -206,8 +230,91 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
         }
     }
 
-    private boolean inTailMode() {
-        return intervalHandle != -1;
+    // ------------------------------------------------------ tail mode
+
+    private void scheduleTail() {
+        int run = tailRun;
+        tailHandle = setTimeout((o) -> readTail(run, 0, emptyList()), tailInterval);
+    }
+
+    private void stopTail() {
+        tailMode = false;
+        tailRun++; // pending responses of this run are ignored
+        if (tailHandle != -1) {
+            clearTimeout(tailHandle);
+            tailHandle = -1;
+        }
+    }
+
+    /**
+     * Reads the last {@link #TAIL_LINES} lines before the already read lines {@code newer}. If the last known line is not
+     * part of the lines read so far, the next page is read using {@code skip} until either the last known line has been
+     * found or {@link LogFiles#LINES} have been read.
+     */
+    private void readTail(int run, int skip, List<String> newer) {
+        // noinspection HardCodedStringLiteral
+        Operation operation = new Operation.Builder(logFileAddress(), READ_LOG_FILE)
+                .param(LINES, TAIL_LINES)
+                .param(SKIP, skip)
+                .param(TAIL, true)
+                .build();
+        dispatcher.execute(operation, result -> {
+            if (tailMode && run == tailRun) {
+                List<String> linesRead = lines(result);
+                List<String> tail = new ArrayList<>(linesRead.size() + newer.size());
+                tail.addAll(linesRead);
+                tail.addAll(newer);
+
+                List<String> appended = logTail.merge(tail);
+                if (appended == null && linesRead.size() == TAIL_LINES && tail.size() < logTail.capacity()) {
+                    readTail(run, skip + TAIL_LINES, tail);
+                    return;
+                }
+
+                if (appended == null) {
+                    // log file has been rotated or more than LogFiles.LINES have been written
+                    logger.debug("Last known line not found in log file {}: Replace content", logFileName);
+                    logTail.reset(tail);
+                    getView().refresh(logTail.size(), String.join("\n", logTail.lines()));
+                    tailInterval = REFRESH_INTERVAL;
+                } else if (appended.isEmpty()) {
+                    tailInterval = Math.min(2 * tailInterval, MAX_REFRESH_INTERVAL);
+                } else {
+                    getView().append(logTail.size(), appended);
+                    tailInterval = REFRESH_INTERVAL;
+                }
+                scheduleTail();
+            }
+        }, (op, failure) -> {
+            if (tailMode && run == tailRun) {
+                logger.error("Unable to read log file {}: {}", logFileName, failure);
+                tailInterval = Math.min(2 * tailInterval, MAX_REFRESH_INTERVAL);
+                scheduleTail();
+            }
+        });
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private ResourceAddress logFileAddress() {
+        if (loggingProfile == null) {
+            return LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
+        } else {
+            return PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, logFileName);
+        }
+    }
+
+    /** Large log files are shown page by page, unless the tail mode is active. */
+    private boolean paged() {
+        return logFile != null && logFile.getSize() > LogFiles.LOG_FILE_SIZE_THRESHOLD;
+    }
+
+    private LogFileLines lineProvider() {
+        return new LogFileLines(dispatcher, logFileAddress(), logFile.getSize());
+    }
+
+    private List<String> lines(ModelNode result) {
+        return result.asList().stream().map(ModelNode::asString).collect(toList());
     }
 
     // @formatter:off
@@ -224,7 +331,11 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
 
         void refresh(int lines, String content);
 
-        int visibleLines();
+        void show(LogFile logFile, PagedProvider<String> lines);
+
+        void refresh(LogFile logFile, PagedProvider<String> lines);
+
+        void append(int lines, List<String> appended);
     }
     // @formatter:on
 }
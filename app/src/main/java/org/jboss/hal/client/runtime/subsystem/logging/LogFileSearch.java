@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.List;
+
+import org.jboss.hal.ballroom.virtual.PagedProvider;
+
+import elemental2.promise.Promise;
+
+/**
+ * Searches the lines of a log file page by page using a {@link PagedProvider}. Used by the log file viewer for log files
+ * which are shown page by page, since only the pages around the visible lines are loaded.
+ * <p>
+ * Only the latest search is active: Starting a new search cancels the previous one.
+ */
+class LogFileSearch {
+
+    static final int NOT_FOUND = -1;
+
+    private final PagedProvider<String> provider;
+    private final int pageSize;
+    private int run;
+
+    LogFileSearch(PagedProvider<String> provider, int pageSize) {
+        this.provider = provider;
+        this.pageSize = pageSize;
+        this.run = 0;
+    }
+
+    /**
+     * Finds the next line which contains the query (case-insensitive).
+     *
+     * @param query the text to look for
+     * @param from the index of the first line to look at
+     * @param forward whether to search towards the end or the beginning of the log file
+     * @return a promise with the index of the matching line or {@link #NOT_FOUND} if there's no such line or if the search
+     *         has been cancelled
+     */
+    Promise<Integer> find(String query, int from, boolean forward) {
+        run++;
+        if (query == null || query.isEmpty() || from < 0) {
+            return Promise.resolve(NOT_FOUND);
+        }
+        return find(run, query, from, forward);
+    }
+
+    void cancel() {
+        run++;
+    }
+
+    private Promise<Integer> find(int run, String query, int from, boolean forward) {
+        int offset = (from / pageSize) * pageSize;
+        return provider.load(offset, pageSize).then(page -> {
+            if (run != this.run) {
+                return Promise.resolve(NOT_FOUND);
+            }
+            List<String> lines = page.getItems();
+            int index = indexOf(lines, offset, query, from, forward);
+            if (index != NOT_FOUND) {
+                return Promise.resolve(index);
+            } else if (forward && lines.size() == pageSize) {
+                return find(run, query, offset + pageSize, true);
+            } else if (!forward && offset > 0) {
+                return find(run, query, offset - 1, false);
+            }
+            return Promise.resolve(NOT_FOUND);
+        });
+    }
+
+    /**
+     * Returns the index of the first line at or after (before if {@code forward} is {@code false}) {@code from} which
+     * contains {@code query}. {@code offset} is the index of the first line in {@code lines}.
+     */
+    static int indexOf(List<String> lines, int offset, String query, int from, boolean forward) {
+        String lowerQuery = query.toLowerCase();
+        if (forward) {
+            for (int i = Math.max(from - offset, 0); i < lines.size(); i++) {
+                if (lines.get(i).toLowerCase().contains(lowerQuery)) {
+                    return offset + i;
+                }
+            }
+        } else {
+            for (int i = Math.min(from - offset, lines.size() - 1); i >= 0; i--) {
+                if (lines.get(i).toLowerCase().contains(lowerQuery)) {
+                    return offset + i;
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+}
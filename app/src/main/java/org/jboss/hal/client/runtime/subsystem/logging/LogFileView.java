@@ -16,6 +16,7 @@
 package org.jboss.hal.client.runtime.subsystem.logging;
 
 import java.util.Date;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -25,8 +26,11 @@ import org.jboss.hal.ballroom.Search;
 import org.jboss.hal.ballroom.Skeleton;
 import org.jboss.hal.ballroom.Tooltip;
 import org.jboss.hal.ballroom.editor.AceEditor;
+import org.jboss.hal.ballroom.editor.Document;
 import org.jboss.hal.ballroom.editor.Options;
 import org.jboss.hal.ballroom.form.SwitchBridge;
+import org.jboss.hal.ballroom.virtual.PagedProvider;
+import org.jboss.hal.ballroom.virtual.VirtualList;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.core.mvp.HalViewImpl;
 import org.jboss.hal.core.runtime.server.Server;
@@ -40,7 +44,6 @@ import elemental2.dom.HTMLDivElement;
 import elemental2.dom.HTMLElement;
 import elemental2.dom.HTMLInputElement;
 
-import static elemental2.dom.DomGlobal.document;
 import static elemental2.dom.DomGlobal.setTimeout;
 import static elemental2.dom.DomGlobal.window;
 import static java.lang.Math.max;
@@ -50,9 +53,11 @@ import static org.jboss.elemento.Elements.h;
 import static org.jboss.elemento.Elements.i;
 import static org.jboss.elemento.Elements.input;
 import static org.jboss.elemento.Elements.label;
+import static org.jboss.elemento.Elements.setVisible;
 import static org.jboss.elemento.EventType.click;
 import static org.jboss.elemento.InputType.checkbox;
 import static org.jboss.hal.ballroom.Skeleton.MARGIN_BIG;
+import static org.jboss.hal.resources.CSS.active;
 import static org.jboss.hal.resources.CSS.bootstrapSwitch;
 import static org.jboss.hal.resources.CSS.btn;
 import static org.jboss.hal.resources.CSS.btnDefault;
@@ -68,6 +73,7 @@ import static org.jboss.hal.resources.CSS.editorStatus;
 import static org.jboss.hal.resources.CSS.fontAwesome;
 import static org.jboss.hal.resources.CSS.logFileEditorContainer;
 import static org.jboss.hal.resources.CSS.logFileFollow;
+import static org.jboss.hal.resources.CSS.logFileLines;
 import static org.jboss.hal.resources.CSS.logFileLoading;
 import static org.jboss.hal.resources.CSS.marginBottomLarge;
 import static org.jboss.hal.resources.CSS.marginBottomSmall;
@@ -79,7 +85,6 @@ import static org.jboss.hal.resources.CSS.spinner;
 import static org.jboss.hal.resources.CSS.spinnerLg;
 import static org.jboss.hal.resources.UIConstants.BODY;
 import static org.jboss.hal.resources.UIConstants.CONTAINER;
-import static org.jboss.hal.resources.UIConstants.HASH;
 import static org.jboss.hal.resources.UIConstants.PLACEMENT;
 import static org.jboss.hal.resources.UIConstants.TOGGLE;
 import static org.jboss.hal.resources.UIConstants.TOOLTIP;
@@ -88,6 +93,8 @@ import static org.jboss.hal.resources.UIConstants.TOP;
 public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView {
 
     private static final int MIN_HEIGHT = 70;
+    private static final int LINE_HEIGHT = 20;
+    private static final int PAGE_SIZE = LogFiles.LINES / 4;
     private static final String SLASH = " / ";
 
     private final Environment environment;
@@ -105,9 +112,12 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
     private final HTMLElement loading;
 
     private final Search search;
+    private final VirtualList<String> lines;
     private AceEditor editor;
     private Clipboard clipboard;
     private LogFilePresenter presenter;
+    private LogFileSearch pagedSearch; // not null if the log file is shown page by page
+    private int match;
 
     @Inject
     public LogFileView(Environment environment, StatementContext statementContext, LogFiles logFiles,
@@ -117,9 +127,30 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
         this.logFiles = logFiles;
         this.resources = resources;
 
-        search = new Search.Builder(Ids.LOG_FILE_SEARCH, query -> editor.getEditor().find(query))
-                .onPrevious(query -> editor.getEditor().findPrevious())
-                .onNext(query -> editor.getEditor().findNext())
+        this.match = LogFileSearch.NOT_FOUND;
+
+        search = new Search.Builder(Ids.LOG_FILE_SEARCH, query -> {
+            if (pagedSearch != null) {
+                findLine(query, 0, true);
+            } else {
+                editor.getEditor().find(query);
+            }
+        })
+                .onPrevious(query -> {
+                    if (pagedSearch != null) {
+                        findLine(query, match == LogFileSearch.NOT_FOUND ? this.lines.size() - 1 : match - 1, false);
+                    } else {
+                        editor.getEditor().findPrevious();
+                    }
+                })
+                .onNext(query -> {
+                    if (pagedSearch != null) {
+                        findLine(query, match + 1, true);
+                    } else {
+                        editor.getEditor().findNext();
+                    }
+                })
+                .onClear(this::clearMatch)
                 .build();
 
         Options editorOptions = new Options();
@@ -129,6 +160,14 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
         editorOptions.showPrintMargin = false;
         editor = new AceEditor(Ids.LOG_FILE_EDITOR, editorOptions);
 
+        // large log files are shown page by page
+        lines = new VirtualList.Builder<String>(Ids.LOG_FILE_LINES, this::line)
+                .rowHeight(LINE_HEIGHT)
+                .pageSize(PAGE_SIZE)
+                .build();
+        lines.element().classList.add(logFileLines);
+        setVisible(lines.element(), false);
+
         HTMLDivElement root = div().css(row)
                 .add(div().css(column(12, columnLg, columnMd, columnSm))
                         .add(header = h(1).element())
@@ -166,11 +205,12 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
                                 .element())
                         .add(editorContainer = div().css(marginBottomLarge, logFileEditorContainer)
                                 .add(editor)
+                                .add(lines)
                                 .add(loading = div().css(spinner, spinnerLg).element())
                                 .element()))
                 .element();
 
-        registerAttachable(editor);
+        registerAttachable(editor, lines);
         initElement(root);
     }
 
@@ -191,7 +231,10 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
         };
 
         Clipboard.Options options = new Clipboard.Options();
-        options.text = element -> editor.getEditor().getSession().getValue();
+        // paged log files are too large for the clipboard: copy the visible lines
+        options.text = element -> pagedSearch != null
+                ? String.join("\n", lines.visible())
+                : editor.getEditor().getSession().getValue();
         clipboard = new Clipboard(copyToClipboard, options);
         clipboard.on("success", event -> {
             Tooltip tooltip = Tooltip.element(copyToClipboard);
@@ -221,6 +264,8 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
         height = max(height, MIN_HEIGHT);
         editor.element().style.height = CSS.height(px(height));
         editor.getEditor().resize();
+        lines.element().style.height = CSS.height(px(height));
+        lines.redraw();
     }
 
     @Override
@@ -234,14 +279,32 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
     public void loading() {
         status.textContent = resources.constants().loadingPleaseWait();
         status.title = resources.constants().loadingPleaseWait();
-        int top = loading.offsetHeight + editor.element().offsetHeight / 2;
+        int top = loading.offsetHeight + editorContainer.offsetHeight / 2;
         loading.style.top = -1 * top + "px"; // NON-NLS
         editorContainer.classList.add(logFileLoading);
     }
 
     @Override
     public void show(LogFile logFile, int lines, String content) {
-        statusUpdate(lines);
+        header(logFile);
+        refresh(lines, content);
+    }
+
+    @Override
+    public void show(LogFile logFile, PagedProvider<String> lines) {
+        header(logFile);
+        refresh(logFile, lines);
+    }
+
+    @Override
+    public void refresh(LogFile logFile, PagedProvider<String> lines) {
+        paged(true);
+        pagedSearch = new LogFileSearch(lines, PAGE_SIZE);
+        this.lines.setProvider(lines);
+        pagedStatusUpdate(logFile.getFormattedSize());
+    }
+
+    private void header(LogFile logFile) {
         StringBuilder builder = new StringBuilder();
         if (presenter.isExternal()) {
             if (!environment.isStandalone()) {
@@ -263,27 +326,76 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
         download.setAttribute(UIConstants.DOWNLOAD, logFile.getFilename());
         download.setAttribute(UIConstants.HREF,
                 logFiles.downloadUrl(logFile.getFilename(), logFile.getLoggingProfile()));
-
-        editor.getEditor().getSession().setValue(content);
-        editor.getEditor().gotoLine(lines, 0, false);
     }
 
     @Override
     public void refresh(int lines, String content) {
+        paged(false);
         statusUpdate(lines);
         editor.getEditor().getSession().setValue(content);
         editor.getEditor().gotoLine(lines, 0, false);
     }
 
     @Override
-    public int visibleLines() {
-        int lineHeight = 15;
-        HTMLElement lineElement = (HTMLElement) document.querySelector(
-                HASH + Ids.LOG_FILE_EDITOR + " .ace_text-layer .ace_line"); // NON-NLS
-        if (lineElement != null) {
-            lineHeight = lineElement.offsetHeight;
+    public void append(int lines, List<String> appended) {
+        statusUpdate(lines);
+        // append the new lines and remove the oldest lines to keep the document size bounded
+        Document document = editor.getEditor().getSession().getDocument();
+        if (editor.getEditor().getSession().getValue().isEmpty()) {
+            editor.getEditor().getSession().setValue(String.join("\n", appended));
+        } else {
+            document.insertFullLines(document.getLength(), appended.toArray(new String[0]));
         }
-        return editor.element().offsetHeight / lineHeight;
+        int overflow = document.getLength() - LogFiles.LINES;
+        if (overflow > 0) {
+            document.removeFullLines(0, overflow - 1);
+        }
+        editor.getEditor().gotoLine(document.getLength(), 0, false);
+    }
+
+    /** Switches between the editor and the paged lines. */
+    private void paged(boolean paged) {
+        if (pagedSearch != null) {
+            pagedSearch.cancel();
+            pagedSearch = null;
+        }
+        search.clear();
+        match = LogFileSearch.NOT_FOUND;
+        setVisible(editor.element(), !paged);
+        setVisible(lines.element(), paged);
+    }
+
+    private void findLine(String query, int from, boolean forward) {
+        pagedSearch.find(query, from, forward).then(index -> {
+            if (index != LogFileSearch.NOT_FOUND) {
+                match = index;
+                lines.scrollIntoView(index);
+            }
+            return null;
+        });
+    }
+
+    private HTMLElement line(String line, int index) {
+        HTMLElement element = div().textContent(line).element();
+        if (index == match) {
+            element.classList.add(active);
+        }
+        return element;
+    }
+
+    private void clearMatch() {
+        if (pagedSearch != null) {
+            pagedSearch.cancel();
+            match = LogFileSearch.NOT_FOUND;
+            lines.redraw();
+        }
+    }
+
+    private void pagedStatusUpdate(String fileSize) {
+        String statusText = resources.messages().logFilePagedStatus(fileSize, Format.time(new Date()));
+        status.textContent = statusText;
+        status.title = statusText;
+        editorContainer.classList.remove(logFileLoading);
     }
 
     private void statusUpdate(int lines) {
@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bounded buffer with the last lines of a log file. Used by the tail mode of the log file viewer to find out which lines
+ * are new.
+ * <p>
+ * New lines are detected by lining up the buffer with the latest lines read from the log file: The end of the buffer is the
+ * last position in the latest lines where all lines before that position match the end of the buffer. Everything after that
+ * position is new. The overlap has to be at least {@value #MIN_OVERLAP} lines long (or as long as the buffer). If there's
+ * no such position, either too many lines have been written since the last read or the log file has been rotated.
+ */
+class LogTail {
+
+    /** Minimal number of lines which have to match when lining up the buffer with the latest lines of the log file. */
+    static final int MIN_OVERLAP = 3;
+
+    private final int capacity;
+    private final Deque<String> lines;
+
+    LogTail(int capacity) {
+        this.capacity = capacity;
+        this.lines = new ArrayDeque<>();
+    }
+
+    /** Replaces the content of this buffer with the given lines. */
+    void reset(List<String> lines) {
+        this.lines.clear();
+        append(lines);
+    }
+
+    /**
+     * Merges the latest lines of the log file into this buffer.
+     *
+     * @param tail the latest lines of the log file
+     * @return the lines which have been appended (might be empty if there are no new lines) or {@code null} if the lines
+     *         of this buffer cannot be found in {@code tail}.
+     */
+    List<String> merge(List<String> tail) {
+        if (lines.isEmpty()) {
+            append(tail);
+            return new ArrayList<>(tail);
+        }
+
+        // the whole overlap has to match, not just the last lines: the new lines might repeat the end of the buffer
+        List<String> buffer = new ArrayList<>(lines);
+        for (int end = tail.size(); end >= Math.min(MIN_OVERLAP, buffer.size()); end--) {
+            if (overlaps(buffer, tail, end)) {
+                List<String> newLines = new ArrayList<>(tail.subList(end, tail.size()));
+                append(newLines);
+                return newLines;
+            }
+        }
+        return null;
+    }
+
+    /** Whether the lines of {@code tail} before {@code end} match the end of {@code buffer}. */
+    private boolean overlaps(List<String> buffer, List<String> tail, int end) {
+        int overlap = Math.min(end, buffer.size());
+        for (int i = 1; i <= overlap; i++) {
+            if (!tail.get(end - i).equals(buffer.get(buffer.size() - i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void append(List<String> newLines) {
+        // only the last 'capacity' lines survive
+        for (int i = Math.max(0, newLines.size() - capacity); i < newLines.size(); i++) {
+            lines.addLast(newLines.get(i));
+        }
+        while (lines.size() > capacity) {
+            lines.removeFirst();
+        }
+    }
+
+    int size() {
+        return lines.size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    List<String> lines() {
+        return new ArrayList<>(lines);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.ballroom.dataprovider.DataProvider;
+import org.jboss.hal.ballroom.dataprovider.PageLoader;
+import org.jboss.hal.ballroom.virtual.Page;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+
+import elemental2.promise.Promise;
+
+import static java.lang.Math.min;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.COUNT_MESSAGES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FILTER;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_DELIVERY_MODE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_MESSAGE_ID;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_PRIORITY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.LIST_MESSAGES;
+
+/**
+ * Loads the messages of a JMS queue page by page. Use this loader together with a {@link DataProvider} in
+ * {@linkplain DataProvider#setLoader(PageLoader) lazy mode}.
+ * <p>
+ * The filters of the data provider are turned into a JMS message selector which is passed as {@code filter} parameter to
+ * {@code count-messages} and {@code list-messages}. {@code list-messages} does not support paging. So the loader first
+ * counts the matching messages. If there are more than the threshold, no messages are read and {@link #getSkipped()}
+ * returns the number of matching messages. Otherwise the matching messages are read once and kept until the selector
+ * changes. The pages are sliced from the kept messages.
+ */
+class JmsMessageLoader implements PageLoader<JmsMessage> {
+
+    private static final String[] DELIVERY_MODES = { "PERSISTENT", "NON_PERSISTENT" }; // NON-NLS
+
+    private final Dispatcher dispatcher;
+    private final ResourceAddress queue;
+    private final long threshold;
+    private boolean unlimited;
+    private long skipped;
+    private String selector;
+    private List<JmsMessage> messages;
+
+    /**
+     * @param dispatcher the dispatcher
+     * @param queue      the address of the queue
+     * @param threshold  the maximal number of messages which are read by one {@code list-messages} operation
+     */
+    JmsMessageLoader(Dispatcher dispatcher, ResourceAddress queue, long threshold) {
+        this.dispatcher = dispatcher;
+        this.queue = queue;
+        this.threshold = threshold;
+        this.unlimited = false;
+        this.skipped = 0;
+        this.selector = null;
+        this.messages = null;
+    }
+
+    @Override
+    public Promise<Page<JmsMessage>> load(int offset, int limit, Map<String, String> filters) {
+        String filter = selector(filters);
+        if (messages != null && filter.equals(selector)) {
+            return Promise.resolve(page(offset, limit));
+        }
+
+        Operation count = operation(COUNT_MESSAGES, filter);
+        return dispatcher.execute(count).then(result -> {
+            long matching = result.asLong();
+            if (matching > threshold && !unlimited) {
+                skipped = matching;
+                selector = null;
+                messages = null;
+                return Promise.resolve(new Page<JmsMessage>(emptyList(), 0));
+            }
+            Operation list = operation(LIST_MESSAGES, filter);
+            return dispatcher.execute(list).then(messagesResult -> {
+                skipped = 0;
+                selector = filter;
+                messages = messagesResult.asList().stream().map(JmsMessage::new).collect(toList());
+                return Promise.resolve(page(offset, limit));
+            });
+        });
+    }
+
+    @Override
+    public void invalidate() {
+        selector = null;
+        messages = null;
+    }
+
+    /** Reads the matching messages even if there are more than the threshold. */
+    void setUnlimited(boolean unlimited) {
+        this.unlimited = unlimited;
+    }
+
+    /**
+     * @return the number of matching messages if they were not read because there were more than the threshold, 0
+     *         otherwise
+     */
+    long getSkipped() {
+        return skipped;
+    }
+
+    private Operation operation(String name, String filter) {
+        Operation.Builder builder = new Operation.Builder(queue, name);
+        if (!filter.isEmpty()) {
+            builder.param(FILTER, filter);
+        }
+        return builder.build();
+    }
+
+    private Page<JmsMessage> page(int offset, int limit) {
+        int total = messages.size();
+        return new Page<>(new ArrayList<>(messages.subList(min(offset, total), min(offset + limit, total))), total);
+    }
+
+    /**
+     * Turns the filters of the toolbar into a JMS message selector. Filters which cannot be expressed as selector are
+     * ignored. The value of the {@code filter} filter is used as selector as is.
+     *
+     * @return the selector or an empty string if no filter applies
+     */
+    static String selector(Map<String, String> filters) {
+        List<String> conditions = new ArrayList<>();
+        String messageId = value(filters, JMS_MESSAGE_ID);
+        if (messageId != null) {
+            conditions.add(JMS_MESSAGE_ID + " LIKE '%" + escape(messageId) + "%'"); // NON-NLS
+        }
+        String priority = value(filters, JMS_PRIORITY);
+        if (priority != null) {
+            try {
+                conditions.add(JMS_PRIORITY + " = " + Integer.parseInt(priority));
+            } catch (NumberFormatException ignored) {
+                // not a valid priority
+            }
+        }
+        String deliveryMode = deliveryMode(value(filters, JMS_DELIVERY_MODE));
+        if (deliveryMode != null) {
+            conditions.add(JMS_DELIVERY_MODE + " = '" + deliveryMode + "'");
+        }
+        String filter = value(filters, FILTER);
+        if (filter != null) {
+            conditions.add(conditions.isEmpty() ? filter : "(" + filter + ")");
+        }
+        return String.join(" AND ", conditions); // NON-NLS
+    }
+
+    private static String value(Map<String, String> filters, String name) {
+        String value = filters.get(name);
+        return value != null && !value.trim().isEmpty() ? value.trim() : null;
+    }
+
+    private static String deliveryMode(String value) {
+        if (value != null) {
+            // the toolbar filters by substring, the selector by equality: use the filter only if it's unique
+            String upperCase = value.toUpperCase();
+            String match = null;
+            for (String mode : DELIVERY_MODES) {
+                if (mode.equals(upperCase)) {
+                    return mode;
+                } else if (mode.contains(upperCase)) {
+                    if (match != null) {
+                        return null;
+                    }
+                    match = mode;
+                }
+            }
+            return match;
+        }
+        return null;
+    }
+
+    private static String escape(String value) {
+        return value.replace("'", "''");
+    }
+}
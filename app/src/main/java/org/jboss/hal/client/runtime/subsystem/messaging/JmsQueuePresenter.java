@@ -20,7 +20,6 @@ import java.util.List;
 import java.util.Map;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 
 import org.jboss.elemento.Elements;
 import org.jboss.hal.ballroom.dialog.Dialog;
@@ -39,9 +38,6 @@ import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
-import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Progress;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.Metadata;
 import org.jboss.hal.meta.MetadataRegistry;
 import org.jboss.hal.meta.StatementContext;
@@ -49,12 +45,9 @@ import org.jboss.hal.meta.token.NameTokens;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Names;
 import org.jboss.hal.resources.Resources;
-import org.jboss.hal.spi.Footer;
 import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 import org.jboss.hal.spi.Requires;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.web.bindery.event.shared.EventBus;
@@ -63,12 +56,7 @@ import com.gwtplatform.mvp.client.annotations.ProxyCodeSplit;
 import com.gwtplatform.mvp.client.proxy.ProxyPlace;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 
-import elemental2.promise.Promise;
-
-import static java.util.Arrays.asList;
-import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_CORE_QUEUE_ADDRESS;
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_CORE_QUEUE_TEMPLATE;
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_DEPLOYMENT_TEMPLATE;
@@ -76,14 +64,12 @@ import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_SUBDEPLOYMENT_TEMPLATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CHANGE_MESSAGES_PRIORITY;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CHANGE_MESSAGE_PRIORITY;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.COUNT_MESSAGES;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPLOYMENT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.EXPIRE_MESSAGE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.EXPIRE_MESSAGES;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FILTER;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_MESSAGE_ID;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_PRIORITY;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.LIST_MESSAGES;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.MESSAGE_ID;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.MESSAGING_ACTIVEMQ;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.MOVE_MESSAGE;
@@ -98,26 +84,23 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.SEND_MESSAGES_TO_DEAD_
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SEND_MESSAGE_TO_DEAD_LETTER_ADDRESS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUBDEPLOYMENT;
 import static org.jboss.hal.dmr.ModelNodeHelper.failSafeBoolean;
-import static org.jboss.hal.flow.Flow.sequential;
 
 public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresenter.MyView, JmsQueuePresenter.MyProxy> {
 
-    private static final long MESSAGES_THRESHOLD = 500L;
-    private static final String MESSAGES_COUNT = "messagesCount";
-    private static final String MESSAGES = "messages";
-    private static final Logger logger = LoggerFactory.getLogger(JmsQueuePresenter.class);
+    /** Maximal number of messages read by one {@code list-messages} operation unless all messages are requested. */
+    private static final long MESSAGES_THRESHOLD = 5_000L;
 
     private final FinderPathFactory finderPathFactory;
     private final MetadataRegistry metadataRegistry;
     private final Dispatcher dispatcher;
     private final StatementContext statementContext;
-    private final Provider<Progress> progress;
     private final Resources resources;
     private final Map<String, Boolean> showAll;
     private String deployment;
     private String subdeployment;
     private String messageServer;
     private String queue;
+    private JmsMessageLoader messages;
 
     @Inject
     public JmsQueuePresenter(EventBus eventBus,
@@ -128,14 +111,12 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
             MetadataRegistry metadataRegistry,
             Dispatcher dispatcher,
             StatementContext statementContext,
-            @Footer Provider<Progress> progress,
             Resources resources) {
         super(eventBus, view, myProxy, finder);
         this.finderPathFactory = finderPathFactory;
         this.metadataRegistry = metadataRegistry;
         this.dispatcher = dispatcher;
         this.statementContext = statementContext;
-        this.progress = progress;
         this.resources = resources;
         this.showAll = new HashMap<>();
     }
@@ -153,6 +134,7 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
         subdeployment = request.getParameter(SUBDEPLOYMENT, null);
         messageServer = request.getParameter(Ids.MESSAGING_SERVER, null);
         queue = request.getParameter(NAME, null);
+        messages = null;
     }
 
     @Override
@@ -167,43 +149,9 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
 
     @Override
     protected void reload() {
-        if (showAll()) {
-            readAll();
-
-        } else {
-            ResourceAddress address = queueAddress();
-            Task<FlowContext> count = context -> {
-                Operation operation = new Operation.Builder(address, COUNT_MESSAGES).build();
-                return dispatcher.execute(operation)
-                        .then(result -> context.resolve(MESSAGES_COUNT, result.asLong()));
-            };
-            Task<FlowContext> list = context -> {
-                long messages = context.get(MESSAGES_COUNT);
-                if (messages > MESSAGES_THRESHOLD) {
-                    context.set(MESSAGES, emptyList());
-                    return Promise.resolve(context);
-                } else {
-                    Operation operation = new Operation.Builder(address, LIST_MESSAGES).build();
-                    return dispatcher.execute(operation)
-                            .then(result -> context.resolve(MESSAGES,
-                                    result.asList().stream().map(JmsMessage::new).collect(toList())));
-                }
-            };
-            List<Task<FlowContext>> tasks = asList(count, list);
-            sequential(new FlowContext(progress.get()), tasks)
-                    .then(context -> {
-                        long c = context.get(MESSAGES_COUNT);
-                        List<JmsMessage> messages = context.get(MESSAGES);
-                        if (c > MESSAGES_THRESHOLD) {
-                            logger.debug("More than {} messages in queue {}. Skip :list-messages operation.",
-                                    MESSAGES_THRESHOLD, queueAddress());
-                            getView().showMany(c);
-                        } else {
-                            getView().showAll(messages);
-                        }
-                        return null;
-                    });
-        }
+        JmsMessageLoader loader = messages();
+        loader.setUnlimited(showAll());
+        getView().update(loader);
     }
 
     void readAllMessages(boolean always) {
@@ -211,14 +159,16 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
             String id = Ids.destination(deployment, subdeployment, messageServer, Type.JMS_QUEUE.name(), queue);
             showAll.put(id, true);
         }
-        readAll();
+        JmsMessageLoader loader = messages();
+        loader.setUnlimited(true);
+        getView().update(loader);
     }
 
-    private void readAll() {
-        ResourceAddress address = queueAddress();
-        Operation operation = new Operation.Builder(address, LIST_MESSAGES).build();
-        dispatcher.execute(operation,
-                result -> getView().showAll(result.asList().stream().map(JmsMessage::new).collect(toList())));
+    private JmsMessageLoader messages() {
+        if (messages == null) {
+            messages = new JmsMessageLoader(dispatcher, queueAddress(), MESSAGES_THRESHOLD);
+        }
+        return messages;
     }
 
     private boolean showAll() {
@@ -450,9 +400,7 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     }
 
     public interface MyView extends HalView, HasPresenter<JmsQueuePresenter> {
-        void showMany(long count);
-
-        void showAll(List<JmsMessage> messages);
+        void update(JmsMessageLoader messages);
     }
     // @formatter:on
 }
@@ -15,14 +15,15 @@
  */
 package org.jboss.hal.client.runtime.subsystem.messaging;
 
-import java.util.List;
-
 import javax.inject.Inject;
 
 import org.jboss.hal.ballroom.EmptyState;
 import org.jboss.hal.ballroom.Toolbar;
 import org.jboss.hal.ballroom.Toolbar.Attribute;
 import org.jboss.hal.ballroom.dataprovider.DataProvider;
+import org.jboss.hal.ballroom.dataprovider.Display;
+import org.jboss.hal.ballroom.dataprovider.PageInfo;
+import org.jboss.hal.ballroom.dataprovider.SelectionInfo;
 import org.jboss.hal.core.mbui.listview.ModelNodeListView;
 import org.jboss.hal.core.mvp.HalViewImpl;
 import org.jboss.hal.meta.Metadata;
@@ -44,6 +45,7 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
     private final DataProvider<JmsMessage> dataProvider;
     private final EmptyState tooManyMessages;
     private final ModelNodeListView<JmsMessage> listView;
+    private JmsMessageLoader messages;
     private JmsQueuePresenter presenter;
 
     @Inject
@@ -60,6 +62,9 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
         listView = new ModelNodeListView.Builder<>(Ids.JMS_MESSAGE_LIST, metadata, dataProvider,
                 item -> new JmsMessageDisplay(item, presenter, resources))
 
+                // the filters are turned into a JMS selector by JmsMessageLoader
+                .toolbarAttribute(new Attribute<>(FILTER, resources.constants().filter(),
+                        (model, filter) -> true))
                 .toolbarAttribute(new Attribute<>(JMS_MESSAGE_ID, JMS_MESSAGE_ID,
                         (model, filter) -> model.getMessageId().contains(filter),
                         comparing(JmsMessage::getMessageId)))
@@ -105,6 +110,21 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
                 .multiSelect(true)
                 .build();
 
+        // registered after the list view to override its empty states
+        dataProvider.addDisplay(new Display<JmsMessage>() {
+            @Override
+            public void showItems(Iterable<JmsMessage> items, PageInfo pageInfo) {
+                if (messages != null && messages.getSkipped() > 0) {
+                    showMany(messages.getSkipped());
+                }
+            }
+
+            @Override
+            public void updateSelection(SelectionInfo<JmsMessage> selectionInfo) {
+                // noop
+            }
+        });
+
         registerAttachable(listView);
         initElements(listView);
     }
@@ -115,14 +135,18 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
     }
 
     @Override
-    public void showMany(long count) {
-        tooManyMessages.setDescription(resources.messages().manyMessages(count));
-        listView.showEmptyState(TOO_MANY_MESSAGES);
+    public void update(JmsMessageLoader messages) {
+        if (this.messages != messages) {
+            this.messages = messages;
+            dataProvider.setLoader(messages);
+        } else {
+            dataProvider.reload();
+        }
     }
 
-    @Override
-    public void showAll(List<JmsMessage> messages) {
-        dataProvider.update(messages);
+    private void showMany(long count) {
+        tooManyMessages.setDescription(resources.messages().manyMessages(count));
+        listView.showEmptyState(TOO_MANY_MESSAGES);
     }
 
     private void refresh() {
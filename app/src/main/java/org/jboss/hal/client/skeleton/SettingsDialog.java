@@ -84,6 +84,9 @@ class SettingsDialog {
         }
         attributes.add(POLL.key());
         attributes.add(POLL_TIME.key());
+        attributes.add(DMR_WORKER_THRESHOLD.key());
+        attributes.add(DMR_WORKER_POOL_SIZE.key());
+        attributes.add(COALESCE_REQUESTS.key());
         ModelNodeForm<ModelNode> form = new ModelNodeForm.Builder<>(Ids.SETTINGS_FORM, metadata)
                 .include(attributes)
                 .customFormItem(PAGE_SIZE.key(),
@@ -117,6 +120,11 @@ class SettingsDialog {
             modelNode.get(LOCALE.key()).set(settings.get(LOCALE).value());
         }
         modelNode.get(PAGE_SIZE.key()).set(settings.get(PAGE_SIZE).asInt(Settings.DEFAULT_PAGE_SIZE));
+        modelNode.get(DMR_WORKER_THRESHOLD.key())
+                .set(settings.get(DMR_WORKER_THRESHOLD).asInt(Settings.DEFAULT_DMR_WORKER_THRESHOLD));
+        modelNode.get(DMR_WORKER_POOL_SIZE.key())
+                .set(settings.get(DMR_WORKER_POOL_SIZE).asInt(Settings.DEFAULT_DMR_WORKER_POOL_SIZE));
+        modelNode.get(COALESCE_REQUESTS.key()).set(settings.get(COALESCE_REQUESTS).asBoolean());
         dialog.show(modelNode);
     }
 
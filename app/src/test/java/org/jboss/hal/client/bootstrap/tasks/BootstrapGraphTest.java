@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Task;
+import org.junit.Before;
+import org.junit.Test;
+
+import elemental2.promise.Promise;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BootstrapGraphTest {
+
+    private BootstrapGraph graph;
+    private Task<FlowContext> a;
+    private Task<FlowContext> b;
+    private Task<FlowContext> c;
+    private Task<FlowContext> d;
+
+    @Before
+    public void setUp() {
+        graph = new BootstrapGraph(null);
+        a = Promise::resolve;
+        b = Promise::resolve;
+        c = Promise::resolve;
+        d = Promise::resolve;
+    }
+
+    @Test
+    public void empty() {
+        assertTrue(graph.levels().isEmpty());
+    }
+
+    @Test
+    public void independent() {
+        graph.add("a", a).add("b", b).add("c", c);
+        assertEquals(singletonList(asList("a", "b", "c")), graph.levels());
+    }
+
+    @Test
+    public void chain() {
+        graph.add("a", a).add("b", b, a).add("c", c, b);
+        assertEquals(asList(singletonList("a"), singletonList("b"), singletonList("c")), graph.levels());
+    }
+
+    @Test
+    public void highestDependency() {
+        graph.add("a", a)
+                .add("b", b, a)
+                .add("c", c, a)
+                .add("d", d, a, c);
+        assertEquals(asList(singletonList("a"), asList("b", "c"), singletonList("d")), graph.levels());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownDependency() {
+        graph.add("b", b, a);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicate() {
+        graph.add("a", a).add("a", a);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.deployment;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.ballroom.tree.Node;
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ContentParserTest {
+
+    private final ContentParser parser = new ContentParser();
+
+    @Test
+    public void rootChildren() {
+        Node<ContentEntry>[] children = parser.children("", asList(
+                file("index.html", 12), directory("WEB-INF/"), directory("META-INF/"), file("about.html", 34)));
+
+        assertEquals(4, children.length);
+        assertNode(children[0], "META-INF", "META-INF/", true);
+        assertNode(children[1], "WEB-INF", "WEB-INF/", true);
+        assertNode(children[2], "about.html", "about.html", false);
+        assertNode(children[3], "index.html", "index.html", false);
+        assertEquals(34, children[2].data.fileSize);
+        assertEquals(1, children[0].data.depth);
+    }
+
+    @Test
+    public void relativePaths() {
+        // browse-asList(path=WEB-INF/, depth=1) might return paths relative to the directory
+        Node<ContentEntry>[] children = parser.children("WEB-INF/", asList(
+                directory("lib/"), file("web.xml", 1)));
+
+        assertEquals(2, children.length);
+        assertNode(children[0], "lib", "WEB-INF/lib/", true);
+        assertNode(children[1], "web.xml", "WEB-INF/web.xml", false);
+        assertEquals(2, children[1].data.depth);
+    }
+
+    @Test
+    public void absolutePaths() {
+        Node<ContentEntry>[] children = parser.children("WEB-INF/", asList(
+                directory("WEB-INF/"), directory("WEB-INF/lib/"), file("WEB-INF/web.xml", 1),
+                file("WEB-INF/lib/foo.jar", 2)));
+
+        // the directory itself and grandchildren are skipped
+        assertEquals(2, children.length);
+        assertNode(children[0], "lib", "WEB-INF/lib/", true);
+        assertNode(children[1], "web.xml", "WEB-INF/web.xml", false);
+    }
+
+    @Test
+    public void directories() {
+        Map<String, List<ModelNode>> directories = parser.directories(asList(
+                file("index.html", 12), directory("WEB-INF/"), directory("WEB-INF/lib/"), directory("WEB-INF/empty/"),
+                file("WEB-INF/web.xml", 1), file("WEB-INF/lib/foo.jar", 2)));
+
+        assertEquals(4, directories.size());
+        assertEquals(2, directories.get("").size());
+        assertEquals(3, directories.get("WEB-INF/").size());
+        assertEquals(1, directories.get("WEB-INF/lib/").size());
+        assertTrue(directories.get("WEB-INF/empty/").isEmpty());
+
+        // the groups parse to the same nodes as a depth=1 listing
+        Node<ContentEntry>[] children = parser.children("WEB-INF/", directories.get("WEB-INF/"));
+        assertEquals(3, children.length);
+        assertNode(children[0], "empty", "WEB-INF/empty/", true);
+        assertNode(children[1], "lib", "WEB-INF/lib/", true);
+        assertNode(children[2], "web.xml", "WEB-INF/web.xml", false);
+    }
+
+    private void assertNode(Node<ContentEntry> node, String name, String path, boolean directory) {
+        assertEquals(name, node.text);
+        assertEquals(name, node.data.name);
+        assertEquals(path, node.data.path);
+        assertEquals(ContentParser.NODE_ID.apply(path), node.id);
+        assertEquals(directory, node.data.directory);
+        assertEquals(directory, node.children);
+    }
+
+    private ModelNode directory(String path) {
+        ModelNode node = new ModelNode();
+        node.get(PATH).set(path);
+        node.get("directory").set(true);
+        return node;
+    }
+
+    private ModelNode file(String path, long size) {
+        ModelNode node = new ModelNode();
+        node.get(PATH).set(path);
+        node.get("directory").set(false);
+        node.get("file-size").set(size);
+        return node;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.client.runtime.TopologyModel.Changes;
+import org.jboss.hal.core.runtime.group.ServerGroup;
+import org.jboss.hal.core.runtime.host.Host;
+import org.jboss.hal.core.runtime.server.Server;
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.GROUP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_STATE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STATUS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "DuplicateStringLiteralInspection" })
+public class TopologyModelTest {
+
+    private static final String MAIN = "main-server-group";
+    private static final String OTHER = "other-server-group";
+    private static final String RUNNING = "RUNNING";
+    private static final String STOPPED = "STOPPED";
+
+    private TopologyModel model;
+
+    @Before
+    public void setUp() {
+        model = new TopologyModel();
+        Topology topology = new Topology()
+                .server("primary", "server-one", MAIN, RUNNING)
+                .server("primary", "server-two", OTHER, RUNNING)
+                .server("secondary", "server-three", MAIN, RUNNING);
+        model.reset(topology.hosts(), topology.serverGroups(), topology.servers());
+    }
+
+    @Test
+    public void unchanged() {
+        Changes changes = update(new Topology()
+                .server("primary", "server-one", MAIN, RUNNING)
+                .server("primary", "server-two", OTHER, RUNNING)
+                .server("secondary", "server-three", MAIN, RUNNING));
+
+        assertFalse(changes.isStructural());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void changedServer() {
+        Changes changes = update(new Topology()
+                .server("primary", "server-one", MAIN, RUNNING)
+                .server("primary", "server-two", OTHER, STOPPED)
+                .server("secondary", "server-three", MAIN, RUNNING));
+
+        assertFalse(changes.isStructural());
+        assertEquals(singletonList("server-two"), names(changes.servers()));
+        assertEquals(singletonList("primary"), changes.hosts().stream().map(Host::getName).collect(toList()));
+        assertEquals(singletonList(OTHER),
+                changes.serverGroups().stream().map(ServerGroup::getName).collect(toList()));
+    }
+
+    @Test
+    public void addedServer() {
+        Changes changes = update(new Topology()
+                .server("primary", "server-one", MAIN, RUNNING)
+                .server("primary", "server-two", OTHER, RUNNING)
+                .server("secondary", "server-three", MAIN, RUNNING)
+                .server("secondary", "server-four", OTHER, STOPPED));
+
+        assertTrue(changes.isStructural());
+        assertFalse(changes.isEmpty());
+    }
+
+    @Test
+    public void removedServer() {
+        Changes changes = update(new Topology()
+                .server("primary", "server-one", MAIN, RUNNING)
+                .server("secondary", "server-three", MAIN, RUNNING));
+
+        assertTrue(changes.isStructural());
+    }
+
+    @Test
+    public void movedServer() {
+        Changes changes = update(new Topology()
+                .server("primary", "server-one", OTHER, RUNNING)
+                .server("primary", "server-two", MAIN, RUNNING)
+                .server("secondary", "server-three", MAIN, RUNNING));
+
+        assertTrue(changes.isStructural());
+    }
+
+    @Test
+    public void snapshotReplaced() {
+        Topology changed = new Topology()
+                .server("primary", "server-one", MAIN, STOPPED)
+                .server("primary", "server-two", OTHER, RUNNING)
+                .server("secondary", "server-three", MAIN, RUNNING);
+        update(changed);
+
+        assertTrue(update(changed).isEmpty());
+    }
+
+    @Test
+    public void refreshedServer() {
+        Server refreshed = new Topology().server("secondary", "server-three", MAIN, STOPPED).servers().get(0);
+        Changes changes = model.update(singletonList(refreshed));
+
+        assertFalse(changes.isStructural());
+        assertEquals(singletonList("server-three"), names(changes.servers()));
+        Host secondary = changes.hosts().iterator().next();
+        assertEquals("secondary", secondary.getName());
+        assertEquals(STOPPED, secondary.getServers().get(0).get(SERVER_STATE).asString());
+        ServerGroup main = changes.serverGroups().iterator().next();
+        assertEquals(MAIN, main.getName());
+        assertEquals(STOPPED, main.getServers().get(1).get(SERVER_STATE).asString());
+    }
+
+    @Test
+    public void refreshedUnknownServer() {
+        Server added = new Topology().server("secondary", "server-four", OTHER, STOPPED).servers().get(0);
+        assertTrue(model.update(singletonList(added)).isStructural());
+    }
+
+    @Test
+    public void refreshedMovedServer() {
+        Server moved = new Topology().server("secondary", "server-three", OTHER, RUNNING).servers().get(0);
+        assertTrue(model.update(singletonList(moved)).isStructural());
+    }
+
+    private Changes update(Topology topology) {
+        return model.update(topology.hosts(), topology.serverGroups(), topology.servers());
+    }
+
+    private List<String> names(Iterable<Server> servers) {
+        List<String> names = new ArrayList<>();
+        servers.forEach(server -> names.add(server.getName()));
+        return names;
+    }
+
+    /** Builds fresh hosts, server groups and servers, since the model changes the servers of hosts and groups. */
+    private static class Topology {
+
+        private final Map<String, Host> hosts = new LinkedHashMap<>();
+        private final Map<String, ServerGroup> serverGroups = new LinkedHashMap<>();
+        private final List<Server> servers = new ArrayList<>();
+
+        Topology server(String host, String name, String serverGroup, String state) {
+            ModelNode node = new ModelNode();
+            node.get(NAME).set(name);
+            node.get(GROUP).set(serverGroup);
+            node.get(STATUS).set(RUNNING.equals(state) ? "started" : "stopped");
+            node.get(SERVER_STATE).set(state);
+            Server server = new Server(host, node);
+            servers.add(server);
+            hosts.computeIfAbsent(host, h -> {
+                ModelNode hostNode = new ModelNode();
+                hostNode.get(NAME).set(h);
+                return new Host(hostNode);
+            }).addServer(server);
+            serverGroups.computeIfAbsent(serverGroup, sg -> new ServerGroup(sg, new ModelNode())).addServer(server);
+            return this;
+        }
+
+        List<Host> hosts() {
+            return new ArrayList<>(hosts.values());
+        }
+
+        List<ServerGroup> serverGroups() {
+            return new ArrayList<>(serverGroups.values());
+        }
+
+        List<Server> servers() {
+            return servers;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.jndi;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JndiIndexTest {
+
+    private JndiIndex index;
+
+    @Before
+    public void setUp() {
+        index = new JndiIndex();
+        index.add("ExampleDS", "java:jboss/datasources/ExampleDS", new String[] { "r", "r-0", "r-0-0" });
+        index.add("datasources", "java:jboss/datasources", new String[] { "r", "r-0" });
+        index.add("DefaultJMSConnectionFactory", "java:jboss/DefaultJMSConnectionFactory",
+                new String[] { "r", "r-1" });
+        index.add("ee", "", new String[] { "a", "a-0" });
+    }
+
+    @Test
+    public void size() {
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void byName() {
+        List<JndiIndex.Entry> entries = index.find("example", 10);
+        assertEquals(1, entries.size());
+        assertEquals("ExampleDS", entries.get(0).name);
+        assertEquals("r-0-0", entries.get(0).id());
+        assertArrayEquals(new String[] { "r", "r-0", "r-0-0" }, entries.get(0).path);
+    }
+
+    @Test
+    public void byUri() {
+        List<JndiIndex.Entry> entries = index.find("java:jboss/datasources/Ex", 10);
+        assertEquals(1, entries.size());
+        assertEquals("ExampleDS", entries.get(0).name);
+    }
+
+    @Test
+    public void shorterFirst() {
+        List<JndiIndex.Entry> entries = index.find("java:jboss/", 10);
+        assertEquals(3, entries.size());
+        assertEquals("datasources", entries.get(0).name);
+    }
+
+    @Test
+    public void substring() {
+        List<JndiIndex.Entry> entries = index.find("DS", 10);
+        assertEquals(1, entries.size());
+        assertEquals("ExampleDS", entries.get(0).name);
+
+        entries = index.find("datasources/ex", 10);
+        assertEquals(1, entries.size());
+        assertEquals("ExampleDS", entries.get(0).name);
+    }
+
+    @Test
+    public void prefixFirst() {
+        // "datasources" starts with the query, "ExampleDS" contains it in its URI only
+        List<JndiIndex.Entry> entries = index.find("data", 10);
+        assertEquals(2, entries.size());
+        assertEquals("datasources", entries.get(0).name);
+        assertEquals("ExampleDS", entries.get(1).name);
+    }
+
+    @Test
+    public void limit() {
+        assertEquals(2, index.find("java:", 2).size());
+        assertEquals(1, index.find("e", 1).size());
+    }
+
+    @Test
+    public void noMatch() {
+        assertTrue(index.find("foo", 10).isEmpty());
+        assertTrue(index.find("", 10).isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.jboss.hal.client.runtime.subsystem.logging.LogFileSearch.NOT_FOUND;
+import static org.jboss.hal.client.runtime.subsystem.logging.LogFileSearch.indexOf;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LogFileSearchTest {
+
+    // lines 100 - 104 of a log file
+    private final List<String> lines = asList("INFO start", "WARN disk", "INFO ready", "ERROR failed", "INFO stop");
+
+    @Test
+    public void forward() {
+        assertEquals(101, indexOf(lines, 100, "warn", 100, true));
+        assertEquals(102, indexOf(lines, 100, "INFO", 101, true));
+        assertEquals(104, indexOf(lines, 100, "info", 103, true));
+        // lines before the page are part of the page
+        assertEquals(100, indexOf(lines, 100, "info", 50, true));
+    }
+
+    @Test
+    public void backward() {
+        assertEquals(102, indexOf(lines, 100, "info", 103, false));
+        assertEquals(100, indexOf(lines, 100, "info", 101, false));
+        // lines after the page start at the last line of the page
+        assertEquals(104, indexOf(lines, 100, "info", 200, false));
+    }
+
+    @Test
+    public void notFound() {
+        assertEquals(NOT_FOUND, indexOf(lines, 100, "debug", 100, true));
+        assertEquals(NOT_FOUND, indexOf(lines, 100, "error", 104, true));
+        assertEquals(NOT_FOUND, indexOf(lines, 100, "error", 102, false));
+        assertEquals(NOT_FOUND, indexOf(lines, 100, "info", 99, false));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LogTailTest {
+
+    private LogTail logTail;
+
+    @Before
+    public void setUp() {
+        logTail = new LogTail(5);
+    }
+
+    @Test
+    public void mergeIntoEmpty() {
+        assertEquals(asList("a", "b"), logTail.merge(asList("a", "b")));
+        assertEquals(asList("a", "b"), logTail.lines());
+    }
+
+    @Test
+    public void noNewLines() {
+        logTail.reset(asList("a", "b", "c", "d"));
+        assertTrue(logTail.merge(asList("b", "c", "d")).isEmpty());
+        assertEquals(asList("a", "b", "c", "d"), logTail.lines());
+    }
+
+    @Test
+    public void newLines() {
+        logTail.reset(asList("a", "b", "c"));
+        assertEquals(asList("d", "e"), logTail.merge(asList("a", "b", "c", "d", "e")));
+        assertEquals(asList("a", "b", "c", "d", "e"), logTail.lines());
+    }
+
+    @Test
+    public void repeatedLines() {
+        logTail.reset(asList("x", "y", "x", "y"));
+        // the whole buffer has to match, not just its last lines
+        assertEquals(asList("z"), logTail.merge(asList("x", "y", "x", "y", "z")));
+    }
+
+    @Test
+    public void newLinesRepeatBuffer() {
+        logTail.reset(asList("a", "x", "y", "z"));
+        // the new lines are the same as the last lines of the buffer
+        assertEquals(asList("x", "y", "z"), logTail.merge(asList("a", "x", "y", "z", "x", "y", "z")));
+        assertEquals(asList("y", "z", "x", "y", "z"), logTail.lines());
+        assertTrue(logTail.merge(asList("x", "y", "z", "x", "y", "z")).isEmpty());
+    }
+
+    @Test
+    public void bounded() {
+        logTail.reset(asList("a", "b", "c", "d"));
+        assertEquals(asList("e", "f", "g"), logTail.merge(asList("b", "c", "d", "e", "f", "g")));
+        assertEquals(5, logTail.size());
+        assertEquals(asList("c", "d", "e", "f", "g"), logTail.lines());
+
+        logTail.reset(asList("1", "2", "3", "4", "5", "6", "7"));
+        assertEquals(asList("3", "4", "5", "6", "7"), logTail.lines());
+    }
+
+    @Test
+    public void overlapNotFound() {
+        logTail.reset(asList("a", "b", "c"));
+        assertNull(logTail.merge(asList("x", "y", "z")));
+        assertNull(logTail.merge(emptyList()));
+        assertEquals(asList("a", "b", "c"), logTail.lines());
+    }
+
+    @Test
+    public void shortBuffer() {
+        logTail.reset(asList("a"));
+        List<String> appended = logTail.merge(asList("a", "b"));
+        assertEquals(asList("b"), appended);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.messaging;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.client.runtime.subsystem.messaging.JmsMessageLoader.selector;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FILTER;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_DELIVERY_MODE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_MESSAGE_ID;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_PRIORITY;
+import static org.junit.Assert.assertEquals;
+
+public class JmsMessageLoaderTest {
+
+    private Map<String, String> filters;
+
+    @Before
+    public void setUp() {
+        filters = new HashMap<>();
+    }
+
+    @Test
+    public void empty() {
+        assertEquals("", selector(filters));
+        filters.put(JMS_MESSAGE_ID, " ");
+        assertEquals("", selector(filters));
+    }
+
+    @Test
+    public void messageId() {
+        filters.put(JMS_MESSAGE_ID, "ID:o'neil");
+        assertEquals("JMSMessageID LIKE '%ID:o''neil%'", selector(filters));
+    }
+
+    @Test
+    public void priority() {
+        filters.put(JMS_PRIORITY, "4");
+        assertEquals("JMSPriority = 4", selector(filters));
+        filters.put(JMS_PRIORITY, "high");
+        assertEquals("", selector(filters));
+    }
+
+    @Test
+    public void deliveryMode() {
+        filters.put(JMS_DELIVERY_MODE, "non");
+        assertEquals("JMSDeliveryMode = 'NON_PERSISTENT'", selector(filters));
+        filters.put(JMS_DELIVERY_MODE, "persistent");
+        assertEquals("JMSDeliveryMode = 'PERSISTENT'", selector(filters));
+        filters.put(JMS_DELIVERY_MODE, "sist");
+        assertEquals("", selector(filters));
+    }
+
+    @Test
+    public void filter() {
+        filters.put(FILTER, "color = 'red' OR color = 'blue'");
+        assertEquals("color = 'red' OR color = 'blue'", selector(filters));
+        filters.put(JMS_PRIORITY, "9");
+        assertEquals("JMSPriority = 9 AND (color = 'red' OR color = 'blue')", selector(filters));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ * Tests dmr-worker.js against the DMR fixture in dmr/src/test/resources/org/jboss/hal/dmr. The expected index in
+ * lazy-model-value.index is the one LazyModelValueTest uses to read the fixture lazily with the Java decoder, so both
+ * tests together check that the worker and the Java decoder agree. Run with "npm test".
+ */
+const assert = require("assert");
+const fs = require("fs");
+const path = require("path");
+const vm = require("vm");
+
+const FIXTURES = path.join(__dirname, "../../../../dmr/src/test/resources/org/jboss/hal/dmr");
+
+// load the worker script without a worker scope, so that it doesn't register a message listener
+const script = fs.readFileSync(path.join(__dirname, "../../web/script/dmr-worker.js"), "utf8");
+const {decodeBase64, decode} = vm.runInNewContext(script + "\n;({decodeBase64, decode})", {});
+
+function ascii(text) {
+    return new Uint8Array(Buffer.from(text, "ascii"));
+}
+
+function fixture() {
+    return ascii(fs.readFileSync(path.join(FIXTURES, "lazy-model-value.base64"), "ascii"));
+}
+
+function expectedIndex() {
+    const index = {};
+    fs.readFileSync(path.join(FIXTURES, "lazy-model-value.index"), "ascii").split(/\r?\n/)
+        .filter((line) => line.length > 0 && !line.startsWith("#"))
+        .forEach((line) => {
+            const [key, value] = line.split("=");
+            index[key] = value.split(",").map(Number);
+        });
+    return index;
+}
+
+function loadWorker() {
+    const self = {
+        listeners: {},
+        posted: [],
+        addEventListener: function (type, listener) {
+            this.listeners[type] = listener;
+        },
+        postMessage: function (message, transfer) {
+            this.posted.push({message: message, transfer: transfer});
+        }
+    };
+    vm.runInNewContext(script, {self: self});
+    return self;
+}
+
+const tests = {
+    "fixture index": function () {
+        const base64 = fixture();
+        const result = decode(base64.buffer);
+        const index = expectedIndex();
+        const expectedBytes = Buffer.from(Buffer.from(base64).toString("ascii"), "base64");
+
+        assert.deepStrictEqual(Buffer.from(result.bytes), expectedBytes);
+        assert.deepStrictEqual(Array.from(new Int32Array(result.offsets)), index.offsets);
+        assert.deepStrictEqual(Array.from(new Int32Array(result.ends)), index.ends);
+    },
+
+    "base64": function () {
+        for (const text of ["", "f", "fo", "foo", "foob", "fooba", "foobar", "Grüße, ☃"]) {
+            const encoded = Buffer.from(text, "utf8").toString("base64");
+            assert.deepStrictEqual(Buffer.from(decodeBase64(ascii(encoded))), Buffer.from(text, "utf8"), text);
+            // line breaks and other whitespace are ignored
+            const wrapped = encoded.replace(/(.{2})/g, "$1\r\n ");
+            assert.deepStrictEqual(Buffer.from(decodeBase64(ascii(wrapped))), Buffer.from(text, "utf8"), text);
+        }
+    },
+
+    "invalid base64": function () {
+        assert.throws(() => decodeBase64(ascii("Zm9v!")), /Invalid base64 character '!' at 4/);
+        assert.throws(() => decodeBase64(ascii("Zm9vY")), /Truncated base64 input/);
+    },
+
+    "invalid dmr": function () {
+        assert.throws(() => decode(ascii(Buffer.from("X").toString("base64")).buffer), /Invalid type 'X' at 0/);
+        // an object with one key, but without a value
+        const truncated = Buffer.from([0x6f, 0, 0, 0, 1, 0, 1, 0x61]).toString("base64");
+        assert.throws(() => decode(ascii(truncated).buffer), /Unexpected end of DMR payload/);
+    },
+
+    "message": function () {
+        const worker = loadWorker();
+        worker.listeners.message({data: {id: 1, buffer: fixture().buffer}});
+
+        assert.strictEqual(worker.posted.length, 1);
+        const {message, transfer} = worker.posted[0];
+        assert.strictEqual(message.id, 1);
+        assert.deepStrictEqual(Array.from(new Int32Array(message.offsets)), expectedIndex().offsets);
+        // all buffers are transferred, not copied
+        assert.strictEqual(transfer.length, 3);
+        assert.strictEqual(transfer[0], message.bytes);
+        assert.strictEqual(transfer[1], message.offsets);
+        assert.strictEqual(transfer[2], message.ends);
+    },
+
+    "error message": function () {
+        const worker = loadWorker();
+        const buffer = ascii("!").buffer;
+        worker.listeners.message({data: {id: 2, buffer: buffer}});
+
+        assert.strictEqual(worker.posted.length, 1);
+        const {message, transfer} = worker.posted[0];
+        assert.strictEqual(message.id, 2);
+        assert.match(message.error, /Invalid base64 character/);
+        // the original buffer is transferred back, so that it can be decoded on the main thread
+        assert.strictEqual(message.buffer, buffer);
+        assert.strictEqual(transfer.length, 1);
+        assert.strictEqual(transfer[0], buffer);
+    }
+};
+
+let failed = 0;
+for (const [name, test] of Object.entries(tests)) {
+    try {
+        test();
+        console.log("ok " + name);
+    } catch (error) {
+        failed++;
+        console.log("FAILED " + name + ": " + error.message);
+    }
+}
+process.exitCode = failed > 0 ? 1 : 0;
@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ * Tests the SHA-1 implementation of hash-worker.js against known digests and the digests computed by Node's crypto
+ * module. Run with "npm test".
+ */
+const assert = require("assert");
+const crypto = require("crypto");
+const fs = require("fs");
+const path = require("path");
+const vm = require("vm");
+const {Blob} = require("buffer");
+
+// load the worker script without a worker scope, so that it doesn't register a message listener
+const script = fs.readFileSync(path.join(__dirname, "../../web/script/hash-worker.js"), "utf8");
+const {Sha1, sha1, CHUNK_SIZE} = vm.runInNewContext(script + "\n;({Sha1, sha1, CHUNK_SIZE})", {});
+
+function digest(bytes, split) {
+    const sha = new Sha1();
+    let offset = 0;
+    for (const length of split || [bytes.length]) {
+        sha.update(bytes.subarray(offset, offset + length));
+        offset += length;
+    }
+    sha.update(bytes.subarray(offset));
+    return sha.digest();
+}
+
+function expected(bytes) {
+    return crypto.createHash("sha1").update(bytes).digest("hex");
+}
+
+function bytes(length) {
+    const array = new Uint8Array(length);
+    for (let i = 0; i < length; i++) {
+        array[i] = (i * 31 + 7) & 0xff;
+    }
+    return array;
+}
+
+const tests = {
+    "known digests": function () {
+        const text = (s) => new TextEncoder().encode(s);
+        assert.strictEqual(digest(text("")), "da39a3ee5e6b4b0d3255bfef95601890afd80709");
+        assert.strictEqual(digest(text("abc")), "a9993e364706816aba3e25717850c26c9cd0d89d");
+        assert.strictEqual(digest(text("abcdbcdecdefdefgefghfghighijhijkijkljklmklmnlmnomnopnopq")),
+            "84983e441c3bd26ebaae4aa1f95129e5e54670f1");
+        assert.strictEqual(digest(text("The quick brown fox jumps over the lazy dog")),
+            "2fd4e1c67a2d28fced849ee1bb76e7391b93eb12");
+    },
+
+    "block boundaries": function () {
+        // 55 and 56 bytes switch between one and two padding blocks, 64 bytes is exactly one block
+        for (const length of [1, 55, 56, 57, 63, 64, 65, 119, 120, 127, 128, 129, 1000]) {
+            const data = bytes(length);
+            assert.strictEqual(digest(data), expected(data), "length " + length);
+        }
+    },
+
+    "split updates": function () {
+        const data = bytes(200);
+        for (const split of [[1], [63], [64], [65], [10, 54], [60, 10], [63, 1, 64], [3, 3, 3, 3]]) {
+            assert.strictEqual(digest(data, split), expected(data), "split " + split);
+        }
+    },
+
+    "chunk boundaries": async function () {
+        for (const length of [CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 2 * CHUNK_SIZE + 64]) {
+            const data = bytes(length);
+            assert.strictEqual(await sha1(new Blob([data])), expected(data), "length " + length);
+        }
+    },
+
+    "empty file": async function () {
+        assert.strictEqual(await sha1(new Blob([])), "da39a3ee5e6b4b0d3255bfef95601890afd80709");
+    }
+};
+
+(async function () {
+    let failed = 0;
+    for (const [name, test] of Object.entries(tests)) {
+        try {
+            await test();
+            console.log("ok " + name);
+        } catch (error) {
+            failed++;
+            console.log("FAILED " + name + ": " + error.message);
+        }
+    }
+    process.exitCode = failed > 0 ? 1 : 0;
+})();
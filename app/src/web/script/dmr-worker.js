@@ -0,0 +1,168 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ * Decodes large DMR responses off the main thread. The base64 encoded response is decoded into the DMR encoded bytes and
+ * the bytes are scanned once to build an index of all objects, lists and properties. The main thread uses the index to
+ * read nodes lazily (see org.jboss.hal.dmr.IndexedDmr).
+ *
+ * Expects messages like {id: number, buffer: ArrayBuffer} where buffer contains the base64 encoded characters and answers
+ * with {id: number, bytes: ArrayBuffer, offsets: ArrayBuffer, ends: ArrayBuffer} or {id: number, error: string, buffer:
+ * ArrayBuffer}. The offsets and ends are 32-bit integers in ascending order of the offsets. If the response cannot be
+ * decoded, the original buffer is sent back, so that the main thread can decode it. All buffers are transferred, not copied.
+ */
+const ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+const SEXTETS = new Int8Array(128).fill(-1);
+for (let i = 0; i < ALPHABET.length; i++) {
+    SEXTETS[ALPHABET.charCodeAt(i)] = i;
+}
+
+function decodeBase64(chars) {
+    const bytes = new Uint8Array(Math.floor(chars.length * 3 / 4) + 3);
+    let length = 0;
+    let quantum = 0;
+    let sextets = 0;
+    for (let i = 0; i < chars.length; i++) {
+        const c = chars[i];
+        if (c <= 32) {
+            continue; // whitespace and line breaks
+        }
+        if (c === 61) {
+            break; // padding
+        }
+        const sextet = c < 128 ? SEXTETS[c] : -1;
+        if (sextet === -1) {
+            throw new Error("Invalid base64 character '" + String.fromCharCode(c) + "' at " + i);
+        }
+        quantum = (quantum << 6) | sextet;
+        if (++sextets === 4) {
+            bytes[length++] = (quantum >> 16) & 0xff;
+            bytes[length++] = (quantum >> 8) & 0xff;
+            bytes[length++] = quantum & 0xff;
+            quantum = 0;
+            sextets = 0;
+        }
+    }
+    if (sextets === 1) {
+        throw new Error("Truncated base64 input");
+    } else if (sextets === 2) {
+        bytes[length++] = (quantum >> 4) & 0xff;
+    } else if (sextets === 3) {
+        bytes[length++] = (quantum >> 10) & 0xff;
+        bytes[length++] = (quantum >> 2) & 0xff;
+    }
+    return bytes.slice(0, length);
+}
+
+function Indexer(bytes) {
+    this.bytes = bytes;
+    this.view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+    this.pos = 0;
+    this.offsets = [];
+    this.ends = [];
+}
+
+Indexer.prototype.int = function () {
+    const value = this.view.getInt32(this.pos);
+    this.pos += 4;
+    return value;
+};
+
+Indexer.prototype.skipUtf = function () {
+    this.pos += 2 + this.view.getUint16(this.pos);
+};
+
+Indexer.prototype.node = function () {
+    if (this.pos >= this.bytes.length) {
+        throw new Error("Unexpected end of DMR payload");
+    }
+    const start = this.pos;
+    const type = String.fromCharCode(this.bytes[this.pos++]);
+    let index, count;
+    switch (type) {
+        case "o":
+        case "l":
+        case "p":
+            index = this.offsets.length;
+            this.offsets.push(start);
+            this.ends.push(0);
+            if (type === "p") {
+                this.skipUtf();
+                this.node();
+            } else {
+                count = this.int();
+                for (let i = 0; i < count; i++) {
+                    if (type === "o") {
+                        this.skipUtf();
+                    }
+                    this.node();
+                }
+            }
+            this.ends[index] = this.pos;
+            break;
+        case "u":
+            break;
+        case "Z":
+        case "t":
+            this.pos += 1;
+            break;
+        case "I":
+            this.pos += 4;
+            break;
+        case "J":
+        case "D":
+            this.pos += 8;
+            break;
+        case "s":
+        case "e":
+        case "d":
+            this.skipUtf();
+            break;
+        case "b":
+        case "i":
+            count = this.int();
+            this.pos += count;
+            break;
+        default:
+            throw new Error("Invalid type '" + type + "' at " + start);
+    }
+};
+
+function decode(buffer) {
+    const bytes = decodeBase64(new Uint8Array(buffer));
+    const indexer = new Indexer(bytes);
+    indexer.node();
+    return {
+        bytes: bytes.buffer,
+        offsets: Int32Array.from(indexer.offsets).buffer,
+        ends: Int32Array.from(indexer.ends).buffer
+    };
+}
+
+if (typeof self !== "undefined" && typeof self.addEventListener === "function") {
+    self.addEventListener("message", function (e) {
+        try {
+            const result = decode(e.data.buffer);
+            self.postMessage({
+                id: e.data.id,
+                bytes: result.bytes,
+                offsets: result.offsets,
+                ends: result.ends
+            }, [result.bytes, result.offsets, result.ends]);
+        } catch (error) {
+            self.postMessage({id: e.data.id, error: String(error), buffer: e.data.buffer}, [e.data.buffer]);
+        }
+    }, false);
+}
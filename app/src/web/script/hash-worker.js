@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ * Computes the SHA-1 hash of files. The files are read in chunks, so that the memory consumption stays bounded
+ * regardless of the file size. Used to check whether the content repository already contains a deployment.
+ *
+ * Expects messages like {id: number, file: File} and answers with {id: number, hash: string} where hash is the hex
+ * encoded SHA-1 hash or {id: number, error: string}.
+ */
+const CHUNK_SIZE = 4 * 1024 * 1024;
+
+function Sha1() {
+    this.h = new Int32Array([0x67452301, 0xEFCDAB89, 0x98BADCFE, 0x10325476, 0xC3D2E1F0]);
+    this.w = new Int32Array(80);
+    this.buffer = new Uint8Array(64);
+    this.bufferLength = 0;
+    this.length = 0;
+}
+
+Sha1.prototype.update = function (bytes) {
+    let i = 0;
+    this.length += bytes.length;
+    if (this.bufferLength > 0) {
+        while (this.bufferLength < 64 && i < bytes.length) {
+            this.buffer[this.bufferLength++] = bytes[i++];
+        }
+        if (this.bufferLength === 64) {
+            this.block(this.buffer, 0);
+            this.bufferLength = 0;
+        }
+    }
+    for (; i + 64 <= bytes.length; i += 64) {
+        this.block(bytes, i);
+    }
+    while (i < bytes.length) {
+        this.buffer[this.bufferLength++] = bytes[i++];
+    }
+};
+
+Sha1.prototype.block = function (bytes, offset) {
+    const w = this.w;
+    for (let t = 0; t < 16; t++) {
+        const j = offset + 4 * t;
+        w[t] = (bytes[j] << 24) | (bytes[j + 1] << 16) | (bytes[j + 2] << 8) | bytes[j + 3];
+    }
+    for (let t = 16; t < 80; t++) {
+        const x = w[t - 3] ^ w[t - 8] ^ w[t - 14] ^ w[t - 16];
+        w[t] = (x << 1) | (x >>> 31);
+    }
+    let a = this.h[0], b = this.h[1], c = this.h[2], d = this.h[3], e = this.h[4];
+    for (let t = 0; t < 80; t++) {
+        let f, k;
+        if (t < 20) {
+            f = (b & c) | (~b & d);
+            k = 0x5A827999;
+        } else if (t < 40) {
+            f = b ^ c ^ d;
+            k = 0x6ED9EBA1;
+        } else if (t < 60) {
+            f = (b & c) | (b & d) | (c & d);
+            k = 0x8F1BBCDC;
+        } else {
+            f = b ^ c ^ d;
+            k = 0xCA62C1D6;
+        }
+        const temp = (((a << 5) | (a >>> 27)) + f + e + k + w[t]) | 0;
+        e = d;
+        d = c;
+        c = (b << 30) | (b >>> 2);
+        b = a;
+        a = temp;
+    }
+    this.h[0] += a;
+    this.h[1] += b;
+    this.h[2] += c;
+    this.h[3] += d;
+    this.h[4] += e;
+};
+
+Sha1.prototype.digest = function () {
+    const bits = this.length * 8;
+    const padding = new Uint8Array(((this.bufferLength < 56 ? 56 : 120) - this.bufferLength) + 8);
+    padding[0] = 0x80;
+    const view = new DataView(padding.buffer);
+    view.setUint32(padding.length - 8, Math.floor(bits / 0x100000000));
+    view.setUint32(padding.length - 4, bits >>> 0);
+    this.update(padding);
+
+    let hex = "";
+    for (let i = 0; i < 5; i++) {
+        hex += (this.h[i] >>> 0).toString(16).padStart(8, "0");
+    }
+    return hex;
+};
+
+async function sha1(file) {
+    const sha = new Sha1();
+    for (let offset = 0; offset < file.size; offset += CHUNK_SIZE) {
+        const chunk = await file.slice(offset, offset + CHUNK_SIZE).arrayBuffer();
+        sha.update(new Uint8Array(chunk));
+    }
+    return sha.digest();
+}
+
+if (typeof self !== "undefined" && typeof self.addEventListener === "function") {
+    self.addEventListener("message", function (e) {
+        sha1(e.data.file)
+            .then(function (hash) {
+                self.postMessage({id: e.data.id, hash: hash});
+            })
+            .catch(function (error) {
+                self.postMessage({id: e.data.id, error: String(error)});
+            });
+    }, false);
+}
@@ -70,5 +70,9 @@ window.d3 = require("d3");
 window.PouchDB = require("pouchdb-browser").default;
 window.ClipboardJS = require("clipboard");
 
-// TODO Web worker
+// Web workers: metadata processing, SHA-1 hashes of deployments and DMR decoding
 window.metadataChannel = new Worker(new URL("./worker.js", import.meta.url), {type: "module"});
+window.hashWorker = new Worker(new URL("./hash-worker.js", import.meta.url));
+window.dmrWorker = function () {
+    return new Worker(new URL("./dmr-worker.js", import.meta.url));
+};
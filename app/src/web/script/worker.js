@@ -15,31 +15,75 @@
  */
 self.importScripts("pouchdb.min.js");
 
+// counters to measure the IndexedDB transactions saved by batching
+self.stats = {
+    batches: 0,
+    updates: 0,
+    collapsed: 0,
+    documents: 0,
+    transactions: 0,
+    savedTransactions: 0
+};
+
 self.addEventListener("message", function (e) {
-    let db = new PouchDB(e.data.database);
-    db.get(e.data.document._id)
-        .then(function (doc) {
-            // update existing document
-            e.data.document._rev = doc._rev;
-            db.put(e.data.document)
-                .then(function (response) {
-                    info("Update " + e.data.database + response.id);
-                })
-                .catch(function (error) {
-                    error("Unable to put " + e.data.database + e.data.document._id + ": " + error);
-                });
+    // a batch {batch: [{database, document}]} or a single update {database, document}
+    let updates = e.data.batch !== undefined ? e.data.batch : [e.data];
+    let databases = new Map();
+    updates.forEach(function (update) {
+        if (!databases.has(update.database)) {
+            databases.set(update.database, new Map());
+        }
+        // the latest update of a document wins
+        let documents = databases.get(update.database);
+        if (documents.has(update.document._id)) {
+            stats.collapsed++;
+            documents.delete(update.document._id);
+        }
+        documents.set(update.document._id, update.document);
+    });
+    stats.batches++;
+    stats.updates += updates.length;
+    // writing the updates one by one requires a get and a put per update,
+    // a batch requires one allDocs and one bulkDocs per database
+    stats.transactions += 2 * databases.size;
+    stats.savedTransactions += 2 * updates.length - 2 * databases.size;
+    databases.forEach(function (documents, database) {
+        bulkWrite(database, Array.from(documents.values()));
+    });
+}, false);
+
+self.bulkWrite = function (database, documents) {
+    let db = new PouchDB(database);
+    let ids = documents.map(function (document) {
+        return document._id;
+    });
+    // one transaction to read the current revisions and one transaction to write all documents
+    db.allDocs({keys: ids})
+        .then(function (result) {
+            result.rows.forEach(function (row, index) {
+                if (row.value !== undefined) {
+                    documents[index]._rev = row.value.rev;
+                } else {
+                    delete documents[index]._rev;
+                }
+            });
+            return db.bulkDocs(documents);
         })
-        .catch(function () {
-            // put new document
-            db.put(e.data.document)
-                .then(function (response) {
-                    info("Insert " + e.data.database + response.id);
-                })
-                .catch(function (error) {
-                    error("Unable to put " + e.data.database + e.data.document._id + ": " + error);
-                });
+        .then(function (results) {
+            let failed = results.filter(function (result) {
+                return result.error;
+            });
+            failed.forEach(function (result) {
+                error("Unable to put " + database + result.id + ": " + result.message);
+            });
+            stats.documents += documents.length;
+            info("Bulk write " + (documents.length - failed.length) + " of " + documents.length +
+                " documents to " + database + ". " + JSON.stringify(stats));
+        })
+        .catch(function (err) {
+            error("Unable to bulk write " + documents.length + " documents to " + database + ": " + err);
         });
-}, false);
+};
 
 self.info = function (message) {
     // use the same log format as HAL
@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.chart;
+
+import org.jboss.elemento.IsElement;
+
+import elemental2.dom.Element;
+import elemental2.dom.HTMLElement;
+
+import static elemental2.dom.DomGlobal.document;
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.hal.resources.CSS.sparkline;
+
+/**
+ * Small inline line chart without axes which shows the trend of a series of values, e.g. the samples of a runtime
+ * metric. Values are scaled between the minimum and maximum of the series.
+ */
+public class Sparkline implements IsElement {
+
+    private static final String SVG_NS = "http://www.w3.org/2000/svg"; // NON-NLS
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 20;
+
+    private final HTMLElement root;
+    private final Element polyline;
+
+    public Sparkline(String label) {
+        Element svg = document.createElementNS(SVG_NS, "svg"); // NON-NLS
+        svg.setAttribute("viewBox", "0 0 " + WIDTH + " " + HEIGHT); // NON-NLS
+        svg.setAttribute("preserveAspectRatio", "none"); // NON-NLS
+        polyline = document.createElementNS(SVG_NS, "polyline"); // NON-NLS
+        svg.appendChild(polyline);
+        root = div().css(sparkline).title(label).element();
+        root.appendChild(svg);
+    }
+
+    @Override
+    public HTMLElement element() {
+        return root;
+    }
+
+    /** Draws the specified values from left (oldest) to right (latest). */
+    public void update(double[] values) {
+        if (values.length < 2) {
+            polyline.setAttribute("points", ""); // NON-NLS
+            return;
+        }
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (double value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        double range = max - min;
+        double step = (double) WIDTH / (values.length - 1);
+
+        StringBuilder points = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            // flat series are drawn in the middle
+            double y = range == 0 ? HEIGHT / 2.0 : HEIGHT - (values[i] - min) / range * HEIGHT;
+            if (i > 0) {
+                points.append(' ');
+            }
+            points.append(Math.round(i * step * 10) / 10.0).append(',').append(Math.round(y * 10) / 10.0);
+        }
+        polyline.setAttribute("points", points.toString()); // NON-NLS
+    }
+}
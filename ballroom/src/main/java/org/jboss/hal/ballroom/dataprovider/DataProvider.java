@@ -16,33 +16,59 @@
 package org.jboss.hal.ballroom.dataprovider;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collector;
-import java.util.stream.Stream;
 
 import org.jboss.hal.ballroom.listview.ListView;
+import org.jboss.hal.ballroom.virtual.Page;
 import org.jboss.hal.config.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Lists;
-
+import static java.lang.Math.max;
 import static java.lang.Math.min;
-import static java.util.function.Function.identity;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 import static org.jboss.hal.config.Settings.DEFAULT_PAGE_SIZE;
 import static org.jboss.hal.config.Settings.Key.PAGE_SIZE;
 
 /**
  * Holds items and state for displays like {@link ListView}. Changes to the state is reflected in the connected displays.
+ * <p>
+ * By default every change of the items, filters, sort order or page re-applies all filters and the sort order to all items.
+ * In {@linkplain #setIncremental(boolean) incremental mode}, the data provider keeps the filtered and sorted items and only
+ * does the work which is necessary for a change:
+ * <ul>
+ * <li>narrowing a filter (adding a filter or extending the value of an existing filter) only re-checks the current
+ * matches</li>
+ * <li>the sort order is kept until the comparator or the items change</li>
+ * <li>paging slices the filtered and sorted items</li>
+ * </ul>
+ * Incremental mode assumes that extending the value of a filter (i.e. the new value starts with the old value) never matches
+ * more items than before. This is true for all "contains" or "starts with" filters, but not for filters which compare
+ * values for equality or look up elements in a list. Turn on incremental mode only if all filters are "contains" or
+ * "starts with" filters.
+ * <p>
+ * In {@linkplain #setLoader(PageLoader) lazy mode}, the data provider holds only the current page. The page info controls
+ * which items are requested from the {@link PageLoader}. Filters are passed to the loader, the sort order is applied to the
+ * current page only. The last {@value #PAGE_CACHE_SIZE} pages are cached and the next page is prefetched, so that paging
+ * forward is instant. Use lazy mode for items which are potentially too many to be loaded at once.
  */
 public class DataProvider<T> {
 
+    /** Number of pages cached in lazy mode */
+    static final int PAGE_CACHE_SIZE = 3;
+
+    private static final Logger logger = LoggerFactory.getLogger(DataProvider.class);
+
     private final Function<T, String> identifier;
     private final PageInfo pageInfo;
     private final SelectionInfo<T> selectionInfo;
@@ -50,9 +76,15 @@ public class DataProvider<T> {
     private final Map<String, FilterValue<T>> filterValues;
     private final List<Display<T>> displays;
     private List<SelectHandler<T>> selectHandler;
-    private Map<String, T> filteredItems;
+    private List<T> filteredItems;
     private Map<String, T> visibleItems;
     private Comparator<T> comparator;
+    private boolean incremental;
+    private PageLoader<T> loader;
+    private final Map<Integer, Page<T>> pageCache;
+    private final Set<Integer> pendingPages;
+    private int requestedPage;
+    private int generation;
 
     public DataProvider(Function<T, String> identifier, boolean multiSelect) {
         this(identifier, multiSelect, Settings.INSTANCE.get(PAGE_SIZE).asInt(DEFAULT_PAGE_SIZE));
@@ -63,11 +95,18 @@ public class DataProvider<T> {
         this.pageInfo = new PageInfo(pageSize);
         this.selectionInfo = new SelectionInfo<>(identifier, multiSelect);
         this.allItems = new LinkedHashMap<>();
-        this.filteredItems = new LinkedHashMap<>();
+        this.filteredItems = new ArrayList<>();
         this.visibleItems = new LinkedHashMap<>();
         this.filterValues = new HashMap<>();
         this.selectHandler = new ArrayList<>();
         this.displays = new ArrayList<>();
+        this.pageCache = new LinkedHashMap<Integer, Page<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page<T>> eldest) {
+                return size() > PAGE_CACHE_SIZE;
+            }
+        };
+        this.pendingPages = new HashSet<>();
 
         reset();
     }
@@ -102,7 +141,7 @@ public class DataProvider<T> {
     }
 
     public Iterable<T> getFilteredItems() {
-        return filteredItems.values();
+        return filteredItems;
     }
 
     public Iterable<T> getVisibleItems() {
@@ -116,42 +155,57 @@ public class DataProvider<T> {
     }
 
     private void applyFilterSortAndPaging() {
-        Stream<T> stream = allItems.values().stream();
-        if (!filterValues.isEmpty()) {
-            Predicate<T> predicate = null;
-            for (FilterValue<T> filterValue : filterValues.values()) {
-                if (predicate == null) {
-                    predicate = i -> filterValue.getFilter().test(i, filterValue.getValue());
-                } else {
-                    predicate = predicate.and(i -> filterValue.getFilter().test(i, filterValue.getValue()));
-                }
+        applyFilter();
+        applySort();
+        applyPaging();
+    }
+
+    private void applyFilter() {
+        if (filterValues.isEmpty()) {
+            filteredItems = new ArrayList<>(allItems.values());
+        } else {
+            filteredItems = allItems.values().stream().filter(predicate(filterValues.values())).collect(toList());
+        }
+    }
+
+    /** Re-checks the current matches only. Keeps the sort order. */
+    private void narrowFilter(FilterValue<T> filterValue) {
+        filteredItems = filteredItems.stream().filter(predicate(singletonList(filterValue))).collect(toList());
+    }
+
+    private Predicate<T> predicate(Collection<FilterValue<T>> filterValues) {
+        Predicate<T> predicate = null;
+        for (FilterValue<T> filterValue : filterValues) {
+            if (predicate == null) {
+                predicate = i -> filterValue.getFilter().test(i, filterValue.getValue());
+            } else {
+                predicate = predicate.and(i -> filterValue.getFilter().test(i, filterValue.getValue()));
             }
-            stream = stream.filter(predicate);
         }
+        return predicate;
+    }
+
+    private void applySort() {
         if (comparator != null) {
-            stream = stream.sorted(comparator);
+            filteredItems.sort(comparator);
         }
-        List<T> values = stream.collect(toList());
+    }
+
+    private void applyPaging() {
+        List<T> values = filteredItems;
         if (values.size() > pageInfo.getPageSize()) {
-            filteredItems = values.stream().collect(toLinkedMap(identifier, identity()));
             values = paged(values);
-            visibleItems = values.stream().collect(toLinkedMap(identifier, identity()));
-        } else {
-            filteredItems = visibleItems = values.stream().collect(toLinkedMap(identifier, identity()));
+        }
+        visibleItems = new LinkedHashMap<>();
+        for (T value : values) {
+            if (visibleItems.put(identifier.apply(value), value) != null) {
+                throw new IllegalStateException("Duplicate key " + identifier.apply(value)); // NON-NLS
+            }
         }
         pageInfo.setTotal(filteredItems.size()); // total first!
         pageInfo.setVisible(visibleItems.size());
     }
 
-    private Collector<T, ?, Map<String, T>> toLinkedMap(Function<? super T, ? extends String> keyMapper,
-            Function<? super T, ? extends T> valueMapper) {
-        return toMap(keyMapper, valueMapper,
-                (u, v) -> {
-                    throw new IllegalStateException("Duplicate key " + u); // NON-NLS
-                },
-                LinkedHashMap::new);
-    }
-
     // ------------------------------------------------------ selection
 
     public void onSelect(SelectHandler<T> selectHandler) {
@@ -161,7 +215,7 @@ public class DataProvider<T> {
     /** Selects all items if {@ocde multiSelect == true}. Does not fire selection events */
     public void selectAll() {
         if (selectionInfo.isMultiSelect()) {
-            filteredItems.forEach((id, item) -> selectInternal(id, item, true));
+            filteredItems.forEach(item -> selectInternal(getId(item), item, true));
             updateSelection();
         }
     }
@@ -177,7 +231,7 @@ public class DataProvider<T> {
     /** Clears the selection for all items */
     public void clearAllSelection() {
         if (selectionInfo.hasSelection()) {
-            filteredItems.forEach((id, item) -> selectInternal(id, item, false));
+            filteredItems.forEach(item -> selectInternal(getId(item), item, false));
             updateSelection();
         }
     }
@@ -220,15 +274,39 @@ public class DataProvider<T> {
     // ------------------------------------------------------ filter
 
     public void addFilter(String name, FilterValue<T> filter) {
-        filterValues.put(name, filter);
-        applyFilterSortAndPaging();
+        FilterValue<T> previous = filterValues.put(name, filter);
+        if (isLazy()) {
+            loadFirstPage();
+            return;
+        }
+        if (incremental) {
+            if (narrows(previous, filter)) {
+                narrowFilter(filter);
+            } else {
+                applyFilter();
+                applySort();
+            }
+            applyPaging();
+        } else {
+            applyFilterSortAndPaging();
+        }
         showItems();
         updateSelection();
     }
 
+    private boolean narrows(FilterValue<T> previous, FilterValue<T> filter) {
+        return previous == null || (previous.getFilter() == filter.getFilter()
+                && previous.getValue() != null && filter.getValue() != null
+                && filter.getValue().startsWith(previous.getValue()));
+    }
+
     public void removeFilter(String name) {
         if (filterValues.containsKey(name)) {
             filterValues.remove(name);
+            if (isLazy()) {
+                loadFirstPage();
+                return;
+            }
             applyFilterSortAndPaging();
             showItems();
             updateSelection();
@@ -238,6 +316,10 @@ public class DataProvider<T> {
     public void clearFilters() {
         if (!filterValues.isEmpty()) {
             filterValues.clear();
+            if (isLazy()) {
+                loadFirstPage();
+                return;
+            }
             applyFilterSortAndPaging();
             showItems();
             updateSelection();
@@ -256,8 +338,27 @@ public class DataProvider<T> {
     // ------------------------------------------------------ sort
 
     public void setComparator(Comparator<T> comparator) {
-        this.comparator = comparator;
-        applyFilterSortAndPaging();
+        if (isLazy()) {
+            // the loader returns the items in the order of the server, sort the current page only
+            this.comparator = comparator;
+            showPage(pageInfo.getPage(), pageCache.get(pageInfo.getPage()));
+            return;
+        }
+        if (incremental) {
+            if (this.comparator == comparator) {
+                return;
+            }
+            this.comparator = comparator;
+            if (comparator != null) {
+                applySort();
+            } else {
+                applyFilter(); // restore the original order
+            }
+            applyPaging();
+        } else {
+            this.comparator = comparator;
+            applyFilterSortAndPaging();
+        }
         showItems();
         updateSelection();
     }
@@ -272,7 +373,11 @@ public class DataProvider<T> {
         int oldPageSize = pageInfo.getPageSize();
         pageInfo.setPageSize(pageSize);
         if (oldPageSize != pageInfo.getPageSize()) {
-            applyFilterSortAndPaging();
+            if (isLazy()) {
+                loadFirstPage();
+                return;
+            }
+            applyPagingOrAll();
             showItems();
             updateSelection();
         }
@@ -295,10 +400,17 @@ public class DataProvider<T> {
     }
 
     public void gotoPage(int page) {
+        if (isLazy()) {
+            int safePage = max(0, min(page, pageInfo.getPages() - 1));
+            if (safePage != pageInfo.getPage()) {
+                load(safePage);
+            }
+            return;
+        }
         int oldPage = pageInfo.getPage();
         pageInfo.setPage(page);
         if (oldPage != pageInfo.getPage()) {
-            applyFilterSortAndPaging();
+            applyPagingOrAll();
             showItems();
             updateSelection();
         }
@@ -308,9 +420,153 @@ public class DataProvider<T> {
         return pageInfo;
     }
 
+    private void applyPagingOrAll() {
+        if (incremental) {
+            applyPaging();
+        } else {
+            applyFilterSortAndPaging();
+        }
+    }
+
     private List<T> paged(List<T> values) {
-        List<List<T>> pages = Lists.partition(values, pageInfo.getPageSize());
-        return pages.get(min(pageInfo.getPage(), pages.size() - 1));
+        int pageSize = pageInfo.getPageSize();
+        int pages = (values.size() + pageSize - 1) / pageSize;
+        int from = min(pageInfo.getPage(), pages - 1) * pageSize;
+        return values.subList(from, min(from + pageSize, values.size()));
+    }
+
+    // ------------------------------------------------------ mode
+
+    /**
+     * Switches the incremental mode on or off. Incremental mode is off by default. Use it only if all filters are "contains"
+     * or "starts with" filters. See class documentation for details. The mode should be set before the items are
+     * {@linkplain #update(Iterable) updated} the first time.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    // ------------------------------------------------------ lazy mode
+
+    /**
+     * Switches to lazy mode and loads the first page using the specified loader. In lazy mode, the items are not
+     * {@linkplain #update(Iterable) updated} but loaded page by page. See class documentation for details.
+     */
+    public void setLoader(PageLoader<T> loader) {
+        this.loader = loader;
+        reset();
+        loadFirstPage();
+    }
+
+    /** Drops all cached pages and reloads the current page. Keeps the selection. Only supported in lazy mode. */
+    public void reload() {
+        if (isLazy()) {
+            loader.invalidate();
+            invalidatePages();
+            load(pageInfo.getPage());
+        }
+    }
+
+    public boolean isLazy() {
+        return loader != null;
+    }
+
+    private void loadFirstPage() {
+        invalidatePages();
+        load(0);
+    }
+
+    private void invalidatePages() {
+        generation++; // ignore pending responses
+        pageCache.clear();
+        pendingPages.clear();
+    }
+
+    private void load(int page) {
+        requestedPage = page;
+        Page<T> cached = pageCache.get(page);
+        if (cached != null) {
+            showPage(page, cached);
+            prefetch(page + 1);
+        } else {
+            fetch(page);
+        }
+    }
+
+    private void prefetch(int page) {
+        if (page < pageInfo.getPages() && !pageCache.containsKey(page)) {
+            fetch(page);
+        }
+    }
+
+    /** Requests the page from the loader unless it's already pending. */
+    private void fetch(int page) {
+        if (!pendingPages.add(page)) {
+            return;
+        }
+
+        int fetchGeneration = generation;
+        int pageSize = pageInfo.getPageSize();
+        Map<String, String> filters = new HashMap<>();
+        filterValues.forEach((name, filterValue) -> filters.put(name, filterValue.getValue()));
+
+        loader.load(page * pageSize, pageSize, filters)
+                .then(result -> {
+                    loaded(fetchGeneration, page, result);
+                    return null;
+                })
+                .catch_(error -> {
+                    if (fetchGeneration == generation) {
+                        pendingPages.remove(page);
+                    }
+                    logger.error("Unable to load page {}: {}", page, error);
+                    return null;
+                });
+    }
+
+    private void loaded(int fetchGeneration, int page, Page<T> result) {
+        if (fetchGeneration != generation) {
+            // filters or page size have changed in the meantime
+            return;
+        }
+        pendingPages.remove(page);
+        pageCache.put(page, result);
+        if (page == requestedPage) {
+            showPage(page, result);
+            prefetch(page + 1);
+        }
+    }
+
+    private void showPage(int page, Page<T> result) {
+        if (result == null) {
+            return;
+        }
+        List<T> items = new ArrayList<>(result.getItems());
+        if (comparator != null) {
+            items.sort(comparator);
+        }
+        int offset = page * pageInfo.getPageSize();
+        int total = result.getTotal() != Page.UNKNOWN
+                ? result.getTotal()
+                // unknown total: assume there's another page as long as the page is full
+                : offset + items.size() + (items.size() == pageInfo.getPageSize() ? 1 : 0);
+
+        allItems.clear();
+        visibleItems = new LinkedHashMap<>();
+        for (T item : items) {
+            allItems.put(getId(item), item);
+            visibleItems.put(getId(item), item);
+        }
+        filteredItems = items;
+        pageInfo.setTotal(total); // total first!
+        pageInfo.setPage(page);
+        pageInfo.setVisible(visibleItems.size());
+        showItems();
+        updateSelection();
     }
 
     // ------------------------------------------------------ displays
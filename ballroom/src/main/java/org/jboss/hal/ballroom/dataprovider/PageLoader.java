@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.dataprovider;
+
+import java.util.Map;
+
+import org.jboss.hal.ballroom.virtual.Page;
+
+import elemental2.promise.Promise;
+
+/**
+ * Loads the items of a {@link DataProvider} page by page. Used by data providers in
+ * {@linkplain DataProvider#setLoader(PageLoader) lazy mode}.
+ */
+@FunctionalInterface
+public interface PageLoader<T> {
+
+    /**
+     * Loads one page.
+     *
+     * @param offset  the index of the first item
+     * @param limit   the maximal number of items
+     * @param filters the current filter values by filter name. It's up to the loader which filters are supported.
+     *
+     * @return the items and the total number of items which match the filters
+     */
+    Promise<Page<T>> load(int offset, int limit, Map<String, String> filters);
+
+    /** Drops any state the loader might keep between calls. Called when the data provider is reloaded. */
+    default void invalidate() {
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+import java.util.List;
+
+/** A page of items returned by a {@link PagedProvider}. */
+public class Page<T> {
+
+    /** Used if the provider does not know the total number of items. */
+    public static final int UNKNOWN = -1;
+
+    private final List<T> items;
+    private final int total;
+
+    /**
+     * Creates a page for a provider which does not know the total number of items. The {@link VirtualList} grows while
+     * the user scrolls until a page contains less items than requested.
+     */
+    public Page(List<T> items) {
+        this(items, UNKNOWN);
+    }
+
+    /**
+     * @param items the items of this page
+     * @param total the total number of items. Might be an estimation which is corrected by subsequent pages.
+     */
+    public Page(List<T> items, int total) {
+        this.items = items;
+        this.total = total;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the most recently used pages of a {@link VirtualList} and tracks the number of items. Pages are evicted in LRU
+ * order once more than {@code maxPages} pages have been loaded.
+ * <p>
+ * If the provider doesn't know or just estimates the number of items, the size is corrected as pages are loaded: A short
+ * page marks the end. Empty pages behind the end narrow down the size in the manner of a binary search, so that jumping
+ * to the end of a list whose size was overestimated needs a few round trips only.
+ */
+final class PageCache<T> {
+
+    private final int pageSize;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> pending;
+    private int size;
+    private boolean exact;
+    private int lowerBound; // the size is at least this value
+    private int upperBound; // the size is at most this value
+
+    PageCache(int pageSize, int maxPages) {
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxPages;
+            }
+        };
+        this.pending = new HashSet<>();
+        reset();
+    }
+
+    void reset() {
+        pages.clear();
+        pending.clear();
+        // as long as nothing has been loaded, assume one page
+        size = pageSize;
+        exact = false;
+        lowerBound = 0;
+        upperBound = Integer.MAX_VALUE;
+    }
+
+    /** @return the item or {@code null} if the item has not been loaded yet */
+    T get(int index) {
+        List<T> page = pages.get(index / pageSize);
+        if (page != null) {
+            int offset = index % pageSize;
+            if (offset < page.size()) {
+                return page.get(offset);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the pages which contain the items from {@code first} (inclusive) to {@code last} (exclusive) and which are
+     * neither loaded nor pending. The returned pages are marked as pending.
+     */
+    List<Integer> missing(int first, int last) {
+        List<Integer> missing = new ArrayList<>();
+        if (last > first) {
+            for (int page = first / pageSize; page <= (last - 1) / pageSize; page++) {
+                if (!pages.containsKey(page) && !pending.contains(page)) {
+                    pending.add(page);
+                    missing.add(page);
+                }
+            }
+        }
+        return missing;
+    }
+
+    void put(int index, Page<T> page) {
+        pending.remove(index);
+        List<T> items = page.getItems();
+        pages.put(index, items);
+
+        int offset = index * pageSize;
+        int loaded = offset + items.size();
+        if (exact) {
+            return;
+        }
+        if (items.size() == pageSize) {
+            lowerBound = Math.max(lowerBound, loaded);
+            if (lowerBound >= upperBound) {
+                end(upperBound);
+            } else if (page.getTotal() >= 0) {
+                size = Math.min(Math.max(page.getTotal(), loaded), upperBound);
+            } else {
+                // unknown size: grow by one page, so that scrolling to the end loads the next page
+                size = Math.min(Math.max(size, loaded + pageSize), upperBound);
+            }
+        } else if (!items.isEmpty() || offset <= lowerBound) {
+            // short page or empty page right after the last known item
+            end(loaded);
+        } else {
+            // empty page behind the end: the end is somewhere between lowerBound and offset
+            upperBound = Math.min(upperBound, offset);
+            int pagesBetween = (upperBound - lowerBound) / pageSize;
+            size = lowerBound + Math.max(1, pagesBetween / 2) * pageSize;
+        }
+    }
+
+    private void end(int size) {
+        this.size = size;
+        this.exact = true;
+    }
+
+    void failed(int index) {
+        pending.remove(index);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean exact() {
+        return exact;
+    }
+
+    int pageSize() {
+        return pageSize;
+    }
+}
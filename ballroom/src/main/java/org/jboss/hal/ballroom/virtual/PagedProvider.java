@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+import elemental2.promise.Promise;
+
+/** Loads the items of a {@link VirtualList} page by page. */
+@FunctionalInterface
+public interface PagedProvider<T> {
+
+    /**
+     * Loads a page of items.
+     *
+     * @param offset the index of the first item
+     * @param limit the maximum number of items to load
+     * @return a promise with the page. If the page contains fewer than {@code limit} items, the end has been reached.
+     */
+    Promise<Page<T>> load(int offset, int limit);
+}
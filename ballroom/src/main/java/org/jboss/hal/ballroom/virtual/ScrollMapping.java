@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+/**
+ * Maps between the scroll position of a {@link VirtualList} and the position in its content. Browsers limit the height of
+ * an element (about 17.9 million pixels in Firefox and 33.5 million pixels in Chrome). If the content is higher than
+ * {@link #MAX_HEIGHT}, the spacer is capped at {@link #MAX_HEIGHT} and the scroll position is scaled, so that the whole
+ * scroll range covers the whole content. Otherwise both positions are the same.
+ */
+final class ScrollMapping {
+
+    /** The maximum height of the spacer in pixels. Well below the limits of all browsers. */
+    static final double MAX_HEIGHT = 10_000_000;
+
+    /**
+     * @param contentHeight the height of all rows in pixels
+     * @param clientHeight  the visible height of the list in pixels
+     */
+    static ScrollMapping of(double contentHeight, double clientHeight) {
+        if (contentHeight <= MAX_HEIGHT) {
+            return new ScrollMapping(contentHeight, 1);
+        }
+        double visible = Math.min(Math.max(clientHeight, 0), MAX_HEIGHT / 2);
+        return new ScrollMapping(MAX_HEIGHT, (contentHeight - visible) / (MAX_HEIGHT - visible));
+    }
+
+    /** The height of the spacer in pixels */
+    final double spacerHeight;
+
+    /** Content pixels per scroll pixel; 1 if the content fits into the spacer */
+    final double scale;
+
+    private ScrollMapping(double spacerHeight, double scale) {
+        this.spacerHeight = spacerHeight;
+        this.scale = scale;
+    }
+
+    /** @return the position in the content which is shown at the top for the given scroll position */
+    double contentTop(double scrollTop) {
+        return scrollTop * scale;
+    }
+
+    /** @return the scroll position which shows the given position in the content at the top */
+    double scrollTop(double contentTop) {
+        return contentTop / scale;
+    }
+
+    /**
+     * @return the offset of the given position in the content relative to the top of the spacer, i.e. where the content
+     *         has to be placed for the given scroll position
+     */
+    double offset(double contentPosition, double scrollTop) {
+        return scrollTop + contentPosition - contentTop(scrollTop);
+    }
+
+    @Override
+    public String toString() {
+        return "ScrollMapping[spacer=" + spacerHeight + ", scale=" + scale + "]";
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+/** The range of rows of a {@link VirtualList} which have to be in the DOM: The visible rows plus the overscan. */
+final class Viewport {
+
+    static Viewport of(double scrollTop, double height, int rowHeight, int overscan, int size) {
+        int firstVisible = (int) Math.floor(scrollTop / rowHeight);
+        int visible = (int) Math.ceil(height / rowHeight) + 1;
+        int first = Math.max(0, Math.min(firstVisible, size) - overscan);
+        int last = Math.min(size, firstVisible + visible + overscan);
+        return new Viewport(first, Math.max(first, last));
+    }
+
+    /** Index of the first row (inclusive) */
+    final int first;
+
+    /** Index of the last row (exclusive) */
+    final int last;
+
+    private Viewport(int first, int last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    int rows() {
+        return last - first;
+    }
+
+    @Override
+    public String toString() {
+        return "Viewport[" + first + ", " + last + ")";
+    }
+}
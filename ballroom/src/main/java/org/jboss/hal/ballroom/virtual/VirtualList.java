@@ -0,0 +1,301 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.elemento.Elements;
+import org.jboss.elemento.IsElement;
+import org.jboss.hal.ballroom.Attachable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.web.bindery.event.shared.HandlerRegistration;
+
+import elemental2.dom.HTMLElement;
+
+import static elemental2.dom.DomGlobal.requestAnimationFrame;
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.EventType.bind;
+import static org.jboss.elemento.EventType.scroll;
+import static org.jboss.hal.resources.CSS.height;
+import static org.jboss.hal.resources.CSS.px;
+import static org.jboss.hal.resources.CSS.virtualList;
+import static org.jboss.hal.resources.CSS.virtualListPlaceholder;
+import static org.jboss.hal.resources.CSS.virtualListRow;
+import static org.jboss.hal.resources.CSS.virtualListRows;
+import static org.jboss.hal.resources.CSS.virtualListSpacer;
+
+/**
+ * A scrollable list which keeps only the visible rows plus a small overscan in the DOM. The items are loaded on demand
+ * page by page using a {@link PagedProvider} and kept in a bounded cache. Rows which are not yet loaded are rendered as
+ * placeholders.
+ * <p>
+ * Lists which are already in memory can be shown using {@link #setItems(List)}. In that case no provider is necessary.
+ * <p>
+ * All rows must have the same height. The height of the list itself has to be set by the owner, e.g. using
+ * {@code element().style.height}. Lists which are higher than the browsers allow are scrolled using a
+ * {@link ScrollMapping}.
+ *
+ * @param <T> the type of the items
+ */
+public class VirtualList<T> implements IsElement<HTMLElement>, Attachable {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualList.class);
+
+    private final int rowHeight;
+    private final int overscan;
+    private PagedProvider<T> provider;
+    private final RowRenderer<T> renderer;
+    private final PageCache<T> cache;
+    private final HTMLElement root;
+    private final HTMLElement spacer;
+    private final HTMLElement rows;
+    private List<T> items;
+    private HandlerRegistration scrollHandler;
+    private boolean renderPending;
+    private int generation;
+
+    private VirtualList(Builder<T> builder) {
+        this.rowHeight = builder.rowHeight;
+        this.overscan = builder.overscan;
+        this.provider = builder.provider;
+        this.renderer = builder.renderer;
+        this.items = null;
+        this.cache = new PageCache<>(builder.pageSize, builder.maxPages);
+        this.renderPending = false;
+        this.generation = 0;
+
+        root = div().id(builder.id).css(virtualList)
+                .add(spacer = div().css(virtualListSpacer).element())
+                .add(rows = div().css(virtualListRows).element())
+                .element();
+    }
+
+    @Override
+    public HTMLElement element() {
+        return root;
+    }
+
+    @Override
+    public void attach() {
+        if (scrollHandler == null) {
+            scrollHandler = bind(root, scroll, event -> scheduleRender());
+        }
+        scheduleRender();
+    }
+
+    @Override
+    public void detach() {
+        if (scrollHandler != null) {
+            scrollHandler.removeHandler();
+            scrollHandler = null;
+        }
+    }
+
+    // ------------------------------------------------------ API
+
+    /** Shows the given items instead of loading them using the provider. */
+    public void setItems(List<T> items) {
+        this.items = items;
+        generation++;
+        cache.reset();
+        scheduleRender();
+    }
+
+    /** Loads the items using the given provider. Replaces any items set by {@link #setItems(List)}. */
+    public void setProvider(PagedProvider<T> provider) {
+        this.provider = provider;
+        this.items = null;
+        refresh();
+    }
+
+    /** Drops all loaded pages and reloads the visible rows. */
+    public void refresh() {
+        generation++;
+        cache.reset();
+        scheduleRender();
+    }
+
+    /** Renders the visible rows again without reloading them. */
+    public void redraw() {
+        scheduleRender();
+    }
+
+    /** Scrolls to the row with the given index. */
+    public void scrollTo(int index) {
+        root.scrollTop = mapping().scrollTop((double) index * rowHeight);
+        scheduleRender();
+    }
+
+    /** Scrolls the row with the given index into view, if it's not already visible. */
+    public void scrollIntoView(int index) {
+        ScrollMapping mapping = mapping();
+        double top = (double) index * rowHeight;
+        double contentTop = mapping.contentTop(root.scrollTop);
+        if (top < contentTop) {
+            root.scrollTop = mapping.scrollTop(top);
+        } else if (top + rowHeight > contentTop + root.clientHeight) {
+            root.scrollTop = mapping.scrollTop(top + rowHeight - root.clientHeight);
+        }
+        scheduleRender();
+    }
+
+    /** @return the (estimated) number of items */
+    public int size() {
+        return items != null ? items.size() : cache.size();
+    }
+
+    /** @return the item with the given index or {@code null} if the item has not been loaded (yet) */
+    public T get(int index) {
+        if (items != null) {
+            return index >= 0 && index < items.size() ? items.get(index) : null;
+        }
+        return cache.get(index);
+    }
+
+    /** @return the loaded items of the rows which are currently visible */
+    public List<T> visible() {
+        List<T> visible = new ArrayList<>();
+        Viewport viewport = Viewport.of(mapping().contentTop(root.scrollTop), root.clientHeight, rowHeight, 0, size());
+        for (int i = viewport.first; i < viewport.last; i++) {
+            T item = get(i);
+            if (item != null) {
+                visible.add(item);
+            }
+        }
+        return visible;
+    }
+
+    // ------------------------------------------------------ render
+
+    private void scheduleRender() {
+        if (!renderPending) {
+            renderPending = true;
+            requestAnimationFrame(timestamp -> {
+                renderPending = false;
+                render();
+            });
+        }
+    }
+
+    private ScrollMapping mapping() {
+        return ScrollMapping.of((double) size() * rowHeight, root.clientHeight);
+    }
+
+    private void render() {
+        int size = size();
+        ScrollMapping mapping = mapping();
+        spacer.style.height = height(px(mapping.spacerHeight));
+
+        double scrollTop = root.scrollTop;
+        Viewport viewport = Viewport.of(mapping.contentTop(scrollTop), root.clientHeight, rowHeight, overscan, size);
+        double offset = mapping.offset((double) viewport.first * rowHeight, scrollTop);
+        rows.style.transform = "translateY(" + px(offset) + ")"; // NON-NLS
+        // scaled rows must not grow the scroll height beyond the spacer
+        int last = Math.min(viewport.last, viewport.first + (int) ((mapping.spacerHeight - offset) / rowHeight));
+        Elements.removeChildrenFrom(rows);
+        for (int i = viewport.first; i < last; i++) {
+            T item = get(i);
+            HTMLElement row = item != null ? renderer.render(item, i) : div().css(virtualListPlaceholder).element();
+            row.classList.add(virtualListRow);
+            row.style.height = height(px(rowHeight));
+            rows.appendChild(row);
+        }
+        if (items == null && provider != null) {
+            for (Integer page : cache.missing(viewport.first, last)) {
+                load(page);
+            }
+        }
+    }
+
+    private void load(int page) {
+        int requested = generation;
+        int pageSize = cache.pageSize();
+        provider.load(page * pageSize, pageSize)
+                .then(result -> {
+                    if (requested == generation) {
+                        cache.put(page, result);
+                        scheduleRender();
+                    }
+                    return null;
+                })
+                .catch_(error -> {
+                    if (requested == generation) {
+                        cache.failed(page);
+                    }
+                    logger.error("Unable to load page {} of virtual list {}: {}", page, root.id, error);
+                    return null;
+                });
+    }
+
+    // ------------------------------------------------------ builder
+
+    public static class Builder<T> {
+
+        private final String id;
+        private final PagedProvider<T> provider;
+        private final RowRenderer<T> renderer;
+        private int rowHeight;
+        private int overscan;
+        private int pageSize;
+        private int maxPages;
+
+        /** Creates a builder for a list whose items are set using {@link VirtualList#setItems(List)}. */
+        public Builder(String id, RowRenderer<T> renderer) {
+            this(id, null, renderer);
+        }
+
+        public Builder(String id, PagedProvider<T> provider, RowRenderer<T> renderer) {
+            this.id = id;
+            this.provider = provider;
+            this.renderer = renderer;
+            this.rowHeight = 20;
+            this.overscan = 10;
+            this.pageSize = 100;
+            this.maxPages = 50;
+        }
+
+        /** The height of one row in pixels. Defaults to 20. */
+        public Builder<T> rowHeight(int rowHeight) {
+            this.rowHeight = rowHeight;
+            return this;
+        }
+
+        /** The number of rows rendered above and below the visible rows. Defaults to 10. */
+        public Builder<T> overscan(int overscan) {
+            this.overscan = overscan;
+            return this;
+        }
+
+        /** The number of items requested from the provider at once. Defaults to 100. */
+        public Builder<T> pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /** The maximum number of pages kept in memory. Defaults to 50. */
+        public Builder<T> maxPages(int maxPages) {
+            this.maxPages = maxPages;
+            return this;
+        }
+
+        public VirtualList<T> build() {
+            return new VirtualList<>(this);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jboss.elemento.IsElement;
+import org.jboss.hal.ballroom.Attachable;
+import org.jboss.hal.ballroom.tree.DataFunction;
+import org.jboss.hal.ballroom.tree.Node;
+
+import elemental2.core.JsArray;
+import elemental2.dom.HTMLElement;
+import elemental2.dom.KeyboardEvent;
+
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.Elements.i;
+import static org.jboss.elemento.Elements.span;
+import static org.jboss.elemento.EventType.bind;
+import static org.jboss.elemento.EventType.click;
+import static org.jboss.elemento.EventType.dblclick;
+import static org.jboss.elemento.EventType.keydown;
+import static org.jboss.hal.resources.CSS.active;
+import static org.jboss.hal.resources.CSS.fontAwesome;
+import static org.jboss.hal.resources.CSS.px;
+import static org.jboss.hal.resources.CSS.virtualTreeMatch;
+import static org.jboss.hal.resources.CSS.virtualTreeRow;
+import static org.jboss.hal.resources.CSS.virtualTreeToggle;
+import static org.jboss.hal.resources.UIConstants.HASH;
+import static org.jboss.hal.resources.UIConstants.TABINDEX;
+
+/**
+ * A tree which renders only the visible nodes using a {@link VirtualList}. Use this tree instead of
+ * {@link org.jboss.hal.ballroom.tree.Tree} for trees with thousands of nodes.
+ * <p>
+ * The tree uses the same {@link Node} and {@link DataFunction} types as {@link org.jboss.hal.ballroom.tree.Tree}. It can
+ * either be populated with all nodes at once or load the children of a node on demand when the node is opened. Search
+ * works on the nodes which have been loaded so far and shows only the matching nodes and their parents. Trees which load
+ * nodes on demand have to call {@link #loadAllNodes(Runnable)} before searching or opening all nodes, if the whole tree
+ * should be covered.
+ *
+ * @param <T> the type of the node data
+ */
+public class VirtualTree<T> implements IsElement<HTMLElement>, Attachable {
+
+    private static final int ROW_HEIGHT = 30;
+    private static final int INDENT = 20;
+
+    private final VirtualList<Entry<T>> list;
+    private final DataFunction<T> data;
+    private final List<Entry<T>> roots;
+    private final Map<String, Entry<T>> entries;
+    private List<Entry<T>> visible;
+    private Set<Entry<T>> matches;
+    private Set<Entry<T>> filtered;
+    private Entry<T> selected;
+    private Consumer<Node<T>> selectionHandler;
+
+    /**
+     * Creates a tree with the specified root node. All other nodes are loaded on demand using the provided data function.
+     */
+    public VirtualTree(String id, Node<T> root, DataFunction<T> data) {
+        this(id, data);
+        Entry<T> entry = new Entry<>(root, null);
+        entries.put(root.id, entry);
+        roots.add(entry);
+        if (entry.node.state != null && entry.node.state.opened) {
+            entry.opened = false;
+            open(entry);
+        }
+        update();
+    }
+
+    /**
+     * Creates a tree and populates the tree with the specified nodes. Nodes must be given after their parents. Nodes
+     * without a parent or with {@code #} as parent are root nodes.
+     */
+    public VirtualTree(String id, JsArray<Node<T>> nodes) {
+        this(id, (DataFunction<T>) null);
+        for (int i = 0; i < nodes.length; i++) {
+            Node<T> node = nodes.getAt(i);
+            Entry<T> parent = node.parent == null || HASH.equals(node.parent) ? null : entries.get(node.parent);
+            Entry<T> entry = new Entry<>(node, parent);
+            entry.children = new ArrayList<>();
+            entries.put(node.id, entry);
+            if (parent != null) {
+                parent.children.add(entry);
+            } else {
+                roots.add(entry);
+            }
+        }
+        update();
+    }
+
+    private VirtualTree(String id, DataFunction<T> data) {
+        this.data = data;
+        this.roots = new ArrayList<>();
+        this.entries = new HashMap<>();
+        this.visible = new ArrayList<>();
+        this.matches = null;
+        this.filtered = null;
+        this.list = new VirtualList.Builder<Entry<T>>(id, this::renderRow)
+                .rowHeight(ROW_HEIGHT)
+                .build();
+        this.list.element().setAttribute(TABINDEX, 0);
+        bind(list.element(), keydown, this::onKey);
+    }
+
+    @Override
+    public HTMLElement element() {
+        return list.element();
+    }
+
+    @Override
+    public void attach() {
+        list.attach();
+    }
+
+    @Override
+    public void detach() {
+        list.detach();
+    }
+
+    // ------------------------------------------------------ API
+
+    public Node<T> getNode(String id) {
+        Entry<T> entry = entries.get(id);
+        return entry != null ? entry.node : null;
+    }
+
+    public Node<T> getSelected() {
+        return selected != null ? selected.node : null;
+    }
+
+    public void openNode(String id) {
+        openNode(id, null);
+    }
+
+    /**
+     * Opens the node and calls the callback as soon as the children of the node have been loaded. The callback is not
+     * called if there's no node with the specified id.
+     */
+    public void openNode(String id, Runnable callback) {
+        Entry<T> entry = entries.get(id);
+        if (entry != null) {
+            open(entry, callback);
+        }
+    }
+
+    public void closeNode(String id) {
+        Entry<T> entry = entries.get(id);
+        if (entry != null && entry.opened) {
+            entry.opened = false;
+            update();
+        }
+    }
+
+    /** Reloads the children of the given node. Works only for trees which load nodes on demand. */
+    public void refreshNode(String id) {
+        Entry<T> entry = entries.get(id);
+        if (entry != null && data != null) {
+            removeDescendants(entry);
+            entry.children = null;
+            entry.opened = false;
+            open(entry);
+        }
+    }
+
+    public void selectNode(String id) {
+        selectNode(id, false);
+    }
+
+    public void selectNode(String id, boolean closeSelected) {
+        Entry<T> entry = entries.get(id);
+        if (entry != null) {
+            for (Entry<T> parent = entry.parent; parent != null; parent = parent.parent) {
+                parent.opened = true;
+            }
+            if (closeSelected) {
+                entry.opened = false;
+            }
+            update();
+            select(entry);
+            int index = visible.indexOf(entry);
+            if (index != -1) {
+                list.scrollIntoView(index);
+            }
+        }
+    }
+
+    /**
+     * Loads the children of all nodes which have not been loaded so far, without opening them. The callback is called as
+     * soon as all nodes have been loaded. Use this method for trees which load nodes on demand, if the data function can
+     * serve the nodes cheaply (e.g. from a cache), since the data function is called for each node with children.
+     */
+    public void loadAllNodes(Runnable callback) {
+        loadAll(new ArrayList<>(roots), () -> {
+            update();
+            callback.run();
+        });
+    }
+
+    /** Opens all nodes which have been loaded so far. */
+    public void openAllNodes() {
+        for (Entry<T> entry : entries.values()) {
+            if (entry.children != null && !entry.children.isEmpty()) {
+                entry.opened = true;
+            }
+        }
+        update();
+    }
+
+    /** Shows only the loaded nodes whose text contains the query (case-insensitive) and their parents. */
+    public void search(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            clearSearch();
+        } else {
+            String lowerQuery = query.trim().toLowerCase();
+            matches = new HashSet<>();
+            filtered = new HashSet<>();
+            for (Entry<T> entry : entries.values()) {
+                if (entry.node.text != null && entry.node.text.toLowerCase().contains(lowerQuery)) {
+                    matches.add(entry);
+                    for (Entry<T> e = entry; e != null && filtered.add(e); e = e.parent) {
+                        // add entry and all parents
+                    }
+                }
+            }
+            update();
+        }
+    }
+
+    public void clearSearch() {
+        matches = null;
+        filtered = null;
+        update();
+    }
+
+    public void onSelectionChange(Consumer<Node<T>> handler) {
+        this.selectionHandler = handler;
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void open(Entry<T> entry) {
+        open(entry, null);
+    }
+
+    private void open(Entry<T> entry, Runnable callback) {
+        load(entry, () -> {
+            if (!entry.opened) {
+                entry.opened = true;
+                update();
+            }
+            if (callback != null) {
+                callback.run();
+            }
+        });
+    }
+
+    /** Loads the children of the entry (if necessary) and calls the callback as soon as the children are available. */
+    private void load(Entry<T> entry, Runnable callback) {
+        if (entry.children == null && (data == null || !entry.node.children)) {
+            // leaf or nothing to load
+            entry.children = new ArrayList<>();
+        }
+        if (entry.children != null) {
+            callback.run();
+        } else {
+            entry.callbacks.add(callback);
+            if (!entry.loading) {
+                entry.loading = true;
+                list.redraw();
+                data.load(entry.node, nodes -> {
+                    entry.loading = false;
+                    entry.children = new ArrayList<>();
+                    for (Node<T> node : nodes) {
+                        Entry<T> child = new Entry<>(node, entry);
+                        entries.put(node.id, child);
+                        entry.children.add(child);
+                    }
+                    list.redraw();
+                    List<Runnable> callbacks = new ArrayList<>(entry.callbacks);
+                    entry.callbacks.clear();
+                    callbacks.forEach(Runnable::run);
+                });
+            }
+        }
+    }
+
+    private void loadAll(List<Entry<T>> entries, Runnable callback) {
+        if (entries.isEmpty()) {
+            callback.run();
+        } else {
+            int[] outstanding = { entries.size() };
+            for (Entry<T> entry : entries) {
+                load(entry, () -> loadAll(new ArrayList<>(entry.children), () -> {
+                    outstanding[0]--;
+                    if (outstanding[0] == 0) {
+                        callback.run();
+                    }
+                }));
+            }
+        }
+    }
+
+    private void toggle(Entry<T> entry) {
+        if (entry.opened) {
+            entry.opened = false;
+            update();
+        } else {
+            open(entry);
+        }
+    }
+
+    private void select(Entry<T> entry) {
+        if (entry != selected) {
+            selected = entry;
+            list.redraw();
+            if (selectionHandler != null) {
+                selectionHandler.accept(entry != null ? entry.node : null);
+            }
+        }
+    }
+
+    private void removeDescendants(Entry<T> entry) {
+        if (entry.children != null) {
+            for (Entry<T> child : entry.children) {
+                removeDescendants(child);
+                entries.remove(child.node.id);
+                if (child == selected) {
+                    selected = null;
+                }
+            }
+        }
+    }
+
+    /** Computes the visible entries and updates the list. */
+    private void update() {
+        List<Entry<T>> visible = new ArrayList<>();
+        for (Entry<T> root : roots) {
+            collect(root, visible);
+        }
+        this.visible = visible;
+        list.setItems(visible);
+    }
+
+    private void collect(Entry<T> entry, List<Entry<T>> visible) {
+        if (filtered == null || filtered.contains(entry)) {
+            visible.add(entry);
+            boolean opened = filtered != null || entry.opened;
+            if (opened && entry.children != null) {
+                for (Entry<T> child : entry.children) {
+                    collect(child, visible);
+                }
+            }
+        }
+    }
+
+    private void onKey(KeyboardEvent event) {
+        int index = selected != null ? visible.indexOf(selected) : -1;
+        switch (event.key) {
+            case "ArrowDown": // NON-NLS
+                index = Math.min(index + 1, visible.size() - 1);
+                break;
+            case "ArrowUp": // NON-NLS
+                index = Math.max(index - 1, 0);
+                break;
+            case "ArrowRight": // NON-NLS
+                if (selected != null) {
+                    open(selected);
+                }
+                break;
+            case "ArrowLeft": // NON-NLS
+                if (selected != null) {
+                    if (selected.opened) {
+                        toggle(selected);
+                    } else if (selected.parent != null) {
+                        index = visible.indexOf(selected.parent);
+                    }
+                }
+                break;
+            default:
+                return;
+        }
+        event.preventDefault();
+        if (index >= 0 && index < visible.size()) {
+            select(visible.get(index));
+            list.scrollIntoView(index);
+        }
+    }
+
+    private HTMLElement renderRow(Entry<T> entry, int index) {
+        HTMLElement toggle = span().css(virtualTreeToggle)
+                .on(click, event -> {
+                    event.stopPropagation();
+                    toggle(entry);
+                })
+                .element();
+        if (entry.loading) {
+            toggle.appendChild(i().css(fontAwesome("spinner") + " fa-spin").element()); // NON-NLS
+        } else if (entry.expandable()) {
+            toggle.appendChild(
+                    i().css(fontAwesome(entry.opened || filtered != null ? "angle-down" : "angle-right")).element());
+        }
+        HTMLElement row = div().css(virtualTreeRow)
+                .style("padding-left:" + px(entry.depth * INDENT)) // NON-NLS
+                .on(click, event -> select(entry))
+                .on(dblclick, event -> toggle(entry))
+                .add(toggle)
+                .element();
+        if (entry.node.icon != null) {
+            row.appendChild(i().css(entry.node.icon).element());
+        }
+        row.appendChild(span().textContent(entry.node.text).element());
+        if (entry == selected) {
+            row.classList.add(active);
+        }
+        if (matches != null && matches.contains(entry)) {
+            row.classList.add(virtualTreeMatch);
+        }
+        return row;
+    }
+
+    private static final class Entry<T> {
+
+        private final Node<T> node;
+        private final Entry<T> parent;
+        private final int depth;
+        private List<Entry<T>> children; // null = not yet loaded
+        private boolean opened;
+        private boolean loading;
+        private final List<Runnable> callbacks;
+
+        private Entry(Node<T> node, Entry<T> parent) {
+            this.node = node;
+            this.parent = parent;
+            this.depth = parent != null ? parent.depth + 1 : 0;
+            this.children = null;
+            this.opened = node.state != null && node.state.opened;
+            this.loading = false;
+            this.callbacks = new ArrayList<>();
+        }
+
+        private boolean expandable() {
+            return children == null ? node.children : !children.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.dataprovider;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import static java.util.Comparator.naturalOrder;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the default and the incremental mode of the data provider for 10k, 50k and 100k items. Each run simulates typing a
+ * filter value, sorting and paging. Both modes must show the same items; the timings are printed for comparison.
+ */
+@SuppressWarnings({ "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr" })
+public class DataProviderBenchmarkTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final Function<Integer, String> IDENTIFIER = String::valueOf;
+    private static final Filter<Integer> CONTAINS = (number, filter) -> String.valueOf(number).contains(filter);
+    private static final Comparator<Integer> REVERSED = Comparator.<Integer> naturalOrder().reversed();
+
+    @Test
+    public void items10k() {
+        benchmark(10_000);
+    }
+
+    @Test
+    public void items50k() {
+        benchmark(50_000);
+    }
+
+    @Test
+    public void items100k() {
+        benchmark(100_000);
+    }
+
+    private void benchmark(int size) {
+        List<Integer> items = items(size);
+        DataProvider<Integer> classic = new DataProvider<>(IDENTIFIER, true, PAGE_SIZE);
+        DataProvider<Integer> incremental = new DataProvider<>(IDENTIFIER, true, PAGE_SIZE);
+        incremental.setIncremental(true);
+
+        long classicTime = run(classic, items);
+        long incrementalTime = run(incremental, items);
+
+        assertEquals(Lists.newArrayList(classic.getFilteredItems()), Lists.newArrayList(incremental.getFilteredItems()));
+        assertEquals(Lists.newArrayList(classic.getVisibleItems()), Lists.newArrayList(incremental.getVisibleItems()));
+        assertEquals(classic.getPageInfo(), incremental.getPageInfo());
+        System.out.printf("%,d items: classic %d ms, incremental %d ms%n", size, classicTime, incrementalTime);
+    }
+
+    private long run(DataProvider<Integer> dataProvider, List<Integer> items) {
+        return time(dataProvider, dp -> {
+            dp.update(items);
+            dp.setComparator(REVERSED);
+            for (int page = 0; page < 20; page++) {
+                dp.gotoNextPage();
+            }
+            // type "1", "12", "123" into a filter
+            dp.addFilter("contains", new FilterValue<>(CONTAINS, "1"));
+            dp.addFilter("contains", new FilterValue<>(CONTAINS, "12"));
+            dp.addFilter("contains", new FilterValue<>(CONTAINS, "123"));
+            for (int page = 0; page < 20; page++) {
+                dp.gotoNextPage();
+            }
+            dp.setComparator(naturalOrder());
+            dp.gotoLastPage();
+            dp.selectVisible();
+        });
+    }
+
+    private long time(DataProvider<Integer> dataProvider, Consumer<DataProvider<Integer>> operations) {
+        long start = System.nanoTime();
+        operations.accept(dataProvider);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private List<Integer> items(int size) {
+        List<Integer> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // pseudo random, but unique and reproducible
+            items.add((int) ((i * 2_654_435_761L) % 1_000_003L));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.dataprovider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.ballroom.virtual.Page;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import elemental2.promise.IThenable.ThenOnFulfilledCallbackFn;
+import elemental2.promise.Promise;
+
+import static java.lang.Math.min;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "unchecked" })
+public class DataProviderLazyTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int TOTAL = 95;
+
+    /** A promise which is settled by the test. */
+    private static class Request extends Promise<Page<Integer>> {
+
+        private final int offset;
+        private final Map<String, String> filters;
+        private ThenOnFulfilledCallbackFn onFulfilled;
+        private CatchOnRejectedCallbackFn onRejected;
+
+        private Request(int offset, Map<String, String> filters) {
+            super(null);
+            this.offset = offset;
+            this.filters = filters;
+        }
+
+        @Override
+        public <V> Promise<V> then(ThenOnFulfilledCallbackFn<? super Page<Integer>, ? extends V> onFulfilled) {
+            this.onFulfilled = onFulfilled;
+            return (Promise<V>) this;
+        }
+
+        @Override
+        public <V> Promise<V> catch_(CatchOnRejectedCallbackFn<? extends V> onRejected) {
+            this.onRejected = onRejected;
+            return (Promise<V>) this;
+        }
+
+        void resolve(int total) {
+            List<Integer> items = new ArrayList<>();
+            for (int i = offset; i < min(offset + PAGE_SIZE, total); i++) {
+                items.add(i);
+            }
+            onFulfilled.onInvoke(new Page<>(items, total));
+        }
+
+        void reject() {
+            onRejected.onInvoke("error");
+        }
+    }
+
+    private List<Request> requests;
+    private int invalidated;
+    private DataProvider<Integer> dataProvider;
+
+    @Before
+    public void setUp() {
+        requests = new ArrayList<>();
+        invalidated = 0;
+        dataProvider = new DataProvider<>(String::valueOf, false, PAGE_SIZE);
+        dataProvider.setLoader(new PageLoader<Integer>() {
+            @Override
+            public Promise<Page<Integer>> load(int offset, int limit, Map<String, String> filters) {
+                assertEquals(PAGE_SIZE, limit);
+                Request request = new Request(offset, new HashMap<>(filters));
+                requests.add(request);
+                return request;
+            }
+
+            @Override
+            public void invalidate() {
+                invalidated++;
+            }
+        });
+    }
+
+    @Test
+    public void firstPage() {
+        assertEquals(1, requests.size());
+        assertEquals(0, requests.get(0).offset);
+
+        requests.get(0).resolve(TOTAL);
+        assertVisible(0);
+        assertEquals(TOTAL, dataProvider.getPageInfo().getTotal());
+        assertEquals(10, dataProvider.getPageInfo().getPages());
+
+        // next page is prefetched
+        assertEquals(2, requests.size());
+        assertEquals(PAGE_SIZE, requests.get(1).offset);
+    }
+
+    @Test
+    public void prefetchedPage() {
+        requests.get(0).resolve(TOTAL);
+        requests.get(1).resolve(TOTAL);
+
+        dataProvider.gotoNextPage();
+        assertVisible(PAGE_SIZE);
+        assertEquals(1, dataProvider.getPageInfo().getPage());
+        // page 1 came from the cache, page 2 is prefetched
+        assertEquals(3, requests.size());
+        assertEquals(2 * PAGE_SIZE, requests.get(2).offset);
+    }
+
+    @Test
+    public void pendingPage() {
+        requests.get(0).resolve(TOTAL);
+
+        // page 1 is pending as prefetch and must not be requested twice
+        dataProvider.gotoNextPage();
+        assertEquals(2, requests.size());
+        assertVisible(0);
+
+        requests.get(1).resolve(TOTAL);
+        assertVisible(PAGE_SIZE);
+        assertEquals(1, dataProvider.getPageInfo().getPage());
+    }
+
+    @Test
+    public void cachedPage() {
+        requests.get(0).resolve(TOTAL);
+        requests.get(1).resolve(TOTAL);
+        dataProvider.gotoNextPage();
+        dataProvider.gotoPreviousPage();
+
+        assertVisible(0);
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void evict() {
+        requests.get(0).resolve(TOTAL);
+        for (int page = 1; page < 4; page++) {
+            dataProvider.gotoNextPage();
+            requests.get(page).resolve(TOTAL);
+            assertVisible(page * PAGE_SIZE);
+        }
+        // the cache holds pages 1 - 3, page 4 is pending
+        assertEquals(5, requests.size());
+
+        dataProvider.gotoFirstPage();
+        assertEquals(6, requests.size());
+        assertEquals(0, requests.get(5).offset);
+    }
+
+    @Test
+    public void filterChange() {
+        requests.get(0).resolve(TOTAL);
+        Request stale = requests.get(1);
+
+        dataProvider.addFilter("name", new FilterValue<>((item, value) -> true, "4"));
+        assertEquals(3, requests.size());
+        Request filtered = requests.get(2);
+        assertEquals(0, filtered.offset);
+        assertEquals(singletonMap("name", "4"), filtered.filters);
+
+        // the response for the old filter is ignored
+        stale.resolve(TOTAL);
+        assertEquals(3, requests.size());
+
+        filtered.resolve(5);
+        assertVisible(0, 5);
+        assertEquals(5, dataProvider.getPageInfo().getTotal());
+        assertEquals(1, dataProvider.getPageInfo().getPages());
+        // there's no next page to prefetch
+        assertEquals(3, requests.size());
+
+        // the cached pages of the old filter are dropped
+        dataProvider.removeFilter("name");
+        assertEquals(4, requests.size());
+        assertEquals(0, requests.get(3).offset);
+        assertTrue(requests.get(3).filters.isEmpty());
+    }
+
+    @Test
+    public void failedPage() {
+        requests.get(0).resolve(TOTAL);
+        requests.get(1).reject();
+
+        dataProvider.gotoNextPage();
+        assertEquals(3, requests.size());
+        assertEquals(PAGE_SIZE, requests.get(2).offset);
+    }
+
+    @Test
+    public void reload() {
+        requests.get(0).resolve(TOTAL);
+        requests.get(1).resolve(TOTAL);
+
+        dataProvider.reload();
+        assertEquals(1, invalidated);
+        assertEquals(3, requests.size());
+        assertEquals(0, requests.get(2).offset);
+    }
+
+    private void assertVisible(int from) {
+        assertVisible(from, PAGE_SIZE);
+    }
+
+    private void assertVisible(int from, int count) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, Lists.newArrayList(dataProvider.getVisibleItems()));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PageCacheTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private PageCache<String> cache;
+
+    @Before
+    public void setUp() {
+        cache = new PageCache<>(PAGE_SIZE, 3);
+    }
+
+    @Test
+    public void initial() {
+        assertEquals(PAGE_SIZE, cache.size());
+        assertFalse(cache.exact());
+        assertNull(cache.get(0));
+    }
+
+    @Test
+    public void missing() {
+        assertEquals(asList(0, 1), cache.missing(5, 15));
+        // pending pages are not requested twice
+        assertFalse(cache.missing(0, 20).contains(1));
+        assertEquals(singletonList(2), cache.missing(0, 30));
+    }
+
+    @Test
+    public void failed() {
+        cache.missing(0, 10);
+        cache.failed(0);
+        assertEquals(singletonList(0), cache.missing(0, 10));
+    }
+
+    @Test
+    public void get() {
+        cache.missing(0, 20);
+        cache.put(1, new Page<>(items(10, 10)));
+        assertNull(cache.get(0));
+        assertEquals("15", cache.get(15));
+    }
+
+    @Test
+    public void shortPage() {
+        cache.put(0, new Page<>(items(0, 10)));
+        cache.put(1, new Page<>(items(10, 3)));
+        assertEquals(13, cache.size());
+        assertTrue(cache.exact());
+    }
+
+    @Test
+    public void growWithoutTotal() {
+        cache.put(0, new Page<>(items(0, 10)));
+        assertEquals(20, cache.size());
+        cache.put(1, new Page<>(items(10, 10)));
+        assertEquals(30, cache.size());
+        assertFalse(cache.exact());
+    }
+
+    @Test
+    public void estimatedTotal() {
+        cache.put(0, new Page<>(items(0, 10), 1000));
+        assertEquals(1000, cache.size());
+        assertFalse(cache.exact());
+    }
+
+    @Test
+    public void emptyPageBehindEnd() {
+        cache.put(0, new Page<>(items(0, 10), 1000));
+        cache.put(99, new Page<>(emptyList(), 1000));
+        assertFalse(cache.exact());
+        assertTrue(cache.size() > 10);
+        assertTrue(cache.size() < 990);
+
+        // the end is found as soon as a short page has been read
+        cache.put(4, new Page<>(items(40, 5), 1000));
+        assertTrue(cache.exact());
+        assertEquals(45, cache.size());
+    }
+
+    @Test
+    public void emptyFile() {
+        cache.put(0, new Page<>(emptyList()));
+        assertEquals(0, cache.size());
+        assertTrue(cache.exact());
+    }
+
+    @Test
+    public void evict() {
+        for (int page = 0; page < 4; page++) {
+            cache.put(page, new Page<>(items(page * PAGE_SIZE, PAGE_SIZE)));
+        }
+        assertNull(cache.get(0));
+        assertEquals("35", cache.get(35));
+        assertEquals(singletonList(0), cache.missing(0, 10));
+    }
+
+    @Test
+    public void reset() {
+        cache.put(0, new Page<>(items(0, 5)));
+        cache.reset();
+        assertEquals(PAGE_SIZE, cache.size());
+        assertFalse(cache.exact());
+        assertNull(cache.get(0));
+    }
+
+    private List<Integer> asList(Integer... pages) {
+        List<Integer> list = new ArrayList<>();
+        for (Integer page : pages) {
+            list.add(page);
+        }
+        return list;
+    }
+
+    private List<String> items(int offset, int count) {
+        List<String> items = new ArrayList<>();
+        for (int i = offset; i < offset + count; i++) {
+            items.add(String.valueOf(i));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+import org.junit.Test;
+
+import static org.jboss.hal.ballroom.virtual.ScrollMapping.MAX_HEIGHT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScrollMappingTest {
+
+    private static final int ROW_HEIGHT = 20;
+    private static final double CLIENT_HEIGHT = 500;
+
+    @Test
+    public void fits() {
+        ScrollMapping mapping = ScrollMapping.of(1000 * ROW_HEIGHT, CLIENT_HEIGHT);
+        assertEquals(20_000, mapping.spacerHeight, 0);
+        assertEquals(1, mapping.scale, 0);
+        assertEquals(1234, mapping.contentTop(1234), 0);
+        assertEquals(1234, mapping.scrollTop(1234), 0);
+        assertEquals(600, mapping.offset(600, 640), 0);
+    }
+
+    @Test
+    public void capped() {
+        // 10 million rows: 200 million pixels
+        double contentHeight = 10_000_000.0 * ROW_HEIGHT;
+        ScrollMapping mapping = ScrollMapping.of(contentHeight, CLIENT_HEIGHT);
+        assertEquals(MAX_HEIGHT, mapping.spacerHeight, 0);
+        assertTrue(mapping.scale > 1);
+
+        // the whole scroll range covers the whole content
+        assertEquals(0, mapping.contentTop(0), 0);
+        assertEquals(contentHeight - CLIENT_HEIGHT, mapping.contentTop(MAX_HEIGHT - CLIENT_HEIGHT), 0.001);
+    }
+
+    @Test
+    public void roundTrip() {
+        ScrollMapping mapping = ScrollMapping.of(10_000_000.0 * ROW_HEIGHT, CLIENT_HEIGHT);
+        double top = 5_000_000.0 * ROW_HEIGHT;
+        double scrollTop = mapping.scrollTop(top);
+        assertTrue(scrollTop < MAX_HEIGHT);
+        assertEquals(top, mapping.contentTop(scrollTop), 0.001);
+    }
+
+    @Test
+    public void rowsFollowScrollPosition() {
+        ScrollMapping mapping = ScrollMapping.of(10_000_000.0 * ROW_HEIGHT, CLIENT_HEIGHT);
+        double scrollTop = 4_000_000;
+        double contentTop = mapping.contentTop(scrollTop);
+        int first = (int) Math.floor(contentTop / ROW_HEIGHT);
+
+        // the first visible row is placed at most one row above the visible area
+        double offset = mapping.offset((double) first * ROW_HEIGHT, scrollTop);
+        assertTrue(offset <= scrollTop);
+        assertTrue(offset > scrollTop - ROW_HEIGHT);
+        assertTrue(offset + CLIENT_HEIGHT < MAX_HEIGHT);
+    }
+
+    @Test
+    public void lastRows() {
+        int size = 10_000_000;
+        ScrollMapping mapping = ScrollMapping.of((double) size * ROW_HEIGHT, CLIENT_HEIGHT);
+        double scrollTop = MAX_HEIGHT - CLIENT_HEIGHT;
+        Viewport viewport = Viewport.of(mapping.contentTop(scrollTop), CLIENT_HEIGHT, ROW_HEIGHT, 0, size);
+        assertEquals(size, viewport.last);
+
+        // the last row ends at the bottom of the spacer
+        double offset = mapping.offset((double) (size - 1) * ROW_HEIGHT, scrollTop);
+        assertEquals(MAX_HEIGHT, offset + ROW_HEIGHT, 0.01);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ballroom.virtual;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ViewportTest {
+
+    @Test
+    public void top() {
+        Viewport viewport = Viewport.of(0, 100, 20, 5, 1000);
+        assertEquals(0, viewport.first);
+        assertEquals(11, viewport.last);
+    }
+
+    @Test
+    public void middle() {
+        Viewport viewport = Viewport.of(2000, 100, 20, 5, 1000);
+        assertEquals(95, viewport.first);
+        assertEquals(111, viewport.last);
+        assertEquals(16, viewport.rows());
+    }
+
+    @Test
+    public void bottom() {
+        Viewport viewport = Viewport.of(19900, 100, 20, 5, 1000);
+        assertEquals(990, viewport.first);
+        assertEquals(1000, viewport.last);
+    }
+
+    @Test
+    public void shrunk() {
+        // scroll position behind the end after the size has been corrected
+        Viewport viewport = Viewport.of(50_000, 100, 20, 5, 1000);
+        assertEquals(995, viewport.first);
+        assertEquals(1000, viewport.last);
+    }
+
+    @Test
+    public void empty() {
+        Viewport viewport = Viewport.of(0, 100, 20, 5, 0);
+        assertEquals(0, viewport.rows());
+    }
+}
@@ -37,6 +37,9 @@ public class Settings {
     public static final int DEFAULT_PAGE_SIZE = 10;
     // keep in sync with the poll-time attribute of settings.dmr
     public static final int DEFAULT_POLL_TIME = 10;
+    // keep in sync with the dmr-worker-* attributes of settings.dmr
+    public static final int DEFAULT_DMR_WORKER_THRESHOLD = 1024; // KB
+    public static final int DEFAULT_DMR_WORKER_POOL_SIZE = 2;
     public static final int[] PAGE_SIZE_VALUES = new int[] { 10, 20, 50 };
     private static final int EXPIRES = 365; // days
 
@@ -85,8 +88,10 @@ public class Settings {
     @SuppressWarnings("DuplicateStringLiteralInspection")
     public enum Key {
         TITLE("title", true), COLLECT_USER_DATA("collect-user-data", true), LOCALE("locale", true), PAGE_SIZE("page-size",
-                true), POLL("poll", true), POLL_TIME("poll-time", true), RUN_AS("run-as", false); // can contain multiple roles
-                                                                                                  // separated by ","
+                true), POLL("poll", true), POLL_TIME("poll-time", true), DMR_WORKER_THRESHOLD("dmr-worker-threshold",
+                        true), DMR_WORKER_POOL_SIZE("dmr-worker-pool-size", true), COALESCE_REQUESTS(
+                                "coalesce-requests", true), RUN_AS("run-as",
+                                        false); // can contain multiple roles separated by ","
 
         public static Key from(String key) {
             switch (key) {
@@ -102,6 +107,12 @@ public class Settings {
                     return POLL;
                 case "poll-time":
                     return POLL_TIME;
+                case "dmr-worker-threshold":
+                    return DMR_WORKER_THRESHOLD;
+                case "dmr-worker-pool-size":
+                    return DMR_WORKER_POOL_SIZE;
+                case "coalesce-requests":
+                    return COALESCE_REQUESTS;
                 case "run-as":
                     return RUN_AS;
                 default:
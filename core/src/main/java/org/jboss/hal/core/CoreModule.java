@@ -30,8 +30,10 @@ import org.jboss.hal.core.mbui.MbuiContext;
 import org.jboss.hal.core.mbui.table.TableButtonFactory;
 import org.jboss.hal.core.modelbrowser.ModelBrowser;
 import org.jboss.hal.core.mvp.Places;
+import org.jboss.hal.core.runtime.LifecycleWatch;
 import org.jboss.hal.core.runtime.group.ServerGroupActions;
 import org.jboss.hal.core.runtime.host.HostActions;
+import org.jboss.hal.core.runtime.metrics.RuntimeMetrics;
 import org.jboss.hal.core.runtime.server.ServerActions;
 import org.jboss.hal.core.runtime.server.ServerUrlStorage;
 import org.jboss.hal.core.subsystem.Subsystems;
@@ -64,9 +66,11 @@ public class CoreModule extends AbstractGinModule {
         bind(HostActions.class).in(Singleton.class);
         bind(ItemActionFactory.class).in(Singleton.class);
         bind(ItemMonitor.class).in(Singleton.class);
+        bind(LifecycleWatch.class).in(Singleton.class);
         bind(ModelBrowser.class);
         bind(Core.class).in(Singleton.class);
         bind(Places.class).in(Singleton.class);
+        bind(RuntimeMetrics.class).in(Singleton.class);
         bind(ServerActions.class).in(Singleton.class);
         bind(ServerGroupActions.class).in(Singleton.class);
         bind(ServerUrlStorage.class).in(Singleton.class);
@@ -335,7 +335,7 @@ public class GroupedForm<T extends ModelNode> implements Form<T> {
         public Builder<T> attributeGroup(String id, String name, String title) {
             assertNoCurrentGroup();
             currentGroup = new Group(id, title);
-            List<Property> attributes = metadata.getDescription().getAttributes(ATTRIBUTES, name);
+            List<Property> attributes = metadata.getDescription().attributeIndex(ATTRIBUTES).getGroup(name);
             include(attributes.stream().map(Property::getName).sorted().collect(toList()));
             return this;
         }
@@ -47,6 +47,7 @@ import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ModelType;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.meta.description.AttributeIndex;
 import org.jboss.hal.meta.description.ResourceDescription;
 import org.jboss.hal.meta.security.AuthorisationDecision;
 import org.jboss.hal.meta.security.Constraint;
@@ -99,12 +100,13 @@ public class ModelNodeForm<T extends ModelNode> extends AbstractForm<T> {
     private final Supplier<org.jboss.hal.dmr.Operation> ping;
     private final Map<String, ModelNode> attributeDescriptions;
     private final ResourceDescription resourceDescription;
+    private final AttributeIndex attributeIndex;
     private final String attributePath;
     private final Metadata metadata;
 
     protected ModelNodeForm(Builder<T> builder) {
         super(builder.id, builder.stateMachine(),
-                new ModelNodeMapping<>(builder.metadata.getDescription().getAttributes(builder.attributePath)),
+                new ModelNodeMapping<>(builder.metadata.getDescription().attributeIndex(builder.attributePath)),
                 builder.emptyState);
 
         this.addOnly = builder.addOnly;
@@ -116,11 +118,12 @@ public class ModelNodeForm<T extends ModelNode> extends AbstractForm<T> {
         this.prepareReset = builder.prepareReset;
         this.prepareRemove = builder.prepareRemove;
         this.resourceDescription = builder.metadata.getDescription();
+        this.attributeIndex = resourceDescription.attributeIndex(builder.attributePath);
         this.attributePath = builder.attributePath;
         this.metadata = builder.metadata;
 
         List<Property> properties = new ArrayList<>();
-        List<Property> filteredProperties = resourceDescription.getAttributes(attributePath)
+        List<Property> filteredProperties = attributeIndex.getAttributes()
                 .stream()
                 .filter(new PropertyFilter(builder))
                 .collect(toList());
@@ -228,7 +231,7 @@ public class ModelNodeForm<T extends ModelNode> extends AbstractForm<T> {
             }
 
             // alternatives
-            List<String> alternatives = resourceDescription.findAlternatives(attributePath, name);
+            List<String> alternatives = attributeIndex.getAlternatives(name);
             HashSet<String> uniqueAlternatives = new HashSet<>(alternatives);
             uniqueAlternatives.add(name);
             uniqueAlternatives.removeAll(processedAlternatives);
@@ -657,7 +660,7 @@ public class ModelNodeForm<T extends ModelNode> extends AbstractForm<T> {
             }
 
             if (!excludes.isEmpty() && !readOnly && verifyExcludes) {
-                List<Property> requiredAttributes = metadata.getDescription().getRequiredAttributes(attributePath);
+                List<Property> requiredAttributes = metadata.getDescription().attributeIndex(attributePath).getRequired();
                 for (Property attribute : requiredAttributes) {
                     if (excludes.contains(attribute.getName())) {
                         throw new IllegalStateException(
@@ -27,6 +27,7 @@ import org.jboss.hal.ballroom.form.ModelNodeItem;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ModelType;
 import org.jboss.hal.dmr.Property;
+import org.jboss.hal.meta.description.AttributeIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,9 +43,9 @@ import static org.jboss.hal.dmr.ModelType.INT;
 class ModelNodeMapping<T extends ModelNode> extends DefaultMapping<T> {
 
     private static final Logger logger = LoggerFactory.getLogger(ModelNodeMapping.class);
-    private final List<Property> attributeDescriptions;
+    private final AttributeIndex attributeDescriptions;
 
-    ModelNodeMapping(List<Property> attributeDescriptions) {
+    ModelNodeMapping(AttributeIndex attributeDescriptions) {
         this.attributeDescriptions = attributeDescriptions;
     }
 
@@ -60,7 +61,7 @@ class ModelNodeMapping<T extends ModelNode> extends DefaultMapping<T> {
                 ModelNode attributeDescription = findAttribute(name);
                 if (attributeDescription == null) {
                     logger.error("{}: Unable to populate form item '{}': No attribute description found in\n{}",
-                            id, name, attributeDescriptions);
+                            id, name, attributeDescriptions.getAttributes());
                     continue;
                 }
 
@@ -199,7 +200,7 @@ class ModelNodeMapping<T extends ModelNode> extends DefaultMapping<T> {
                 ModelNode attributeDescription = findAttribute(name);
                 if (attributeDescription == null) {
                     logger.error("{}: Unable to persist attribute '{}': No attribute description found in\n{}",
-                            id, name, attributeDescriptions);
+                            id, name, attributeDescriptions.getAttributes());
                     continue;
                 }
                 if (formItem instanceof ModelNodeItem) {
@@ -319,12 +320,8 @@ class ModelNodeMapping<T extends ModelNode> extends DefaultMapping<T> {
     }
 
     private ModelNode findAttribute(String name) {
-        for (Property property : attributeDescriptions) {
-            if (name.equals(property.getName())) {
-                return property.getValue();
-            }
-        }
-        return null;
+        Property property = attributeDescriptions.getAttribute(name);
+        return property != null ? property.getValue() : null;
     }
 
     private String id(Form<T> form) {
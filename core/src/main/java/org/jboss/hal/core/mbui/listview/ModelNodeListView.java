@@ -198,9 +198,10 @@ public class ModelNodeListView<T extends ModelNode> implements Display<T>, Itera
         // already covered by listView
     }
 
+    /** Shows the specified empty state. The toolbar remains visible if there are filters, so that they can be changed. */
     public void showEmptyState(String name) {
         if (emptyStates.containsKey(name)) {
-            Elements.setVisible(toolbar.element(), false);
+            Elements.setVisible(toolbar.element(), dataProvider.hasFilters());
             Elements.setVisible(listView.element(), false);
             Elements.setVisible(pager.element(), false);
             emptyStates.forEach((n, element) -> Elements.setVisible(element, n.equals(name)));
@@ -0,0 +1,382 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.mbui.listview;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.jboss.hal.ballroom.dataprovider.DataProvider;
+import org.jboss.hal.ballroom.dataprovider.PageLoader;
+import org.jboss.hal.ballroom.virtual.Page;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+
+import elemental2.promise.Promise;
+
+import static java.lang.Math.min;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.QUERY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SELECT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WHERE;
+
+/**
+ * Loads the child resources of a resource page by page. Use this loader together with a {@link DataProvider} in
+ * {@linkplain DataProvider#setLoader(PageLoader) lazy mode}.
+ * <p>
+ * The management model does not support paging. So the loader first reads the names of all children. Only the names are
+ * kept in memory. The resources of a page are then read in one composite operation. Filters which are mapped to
+ * attributes using {@link Builder#where(String, String)} are turned into a {@code query(where=...)} operation, so that only
+ * the names of the matching children are read. A filter registered using {@link Builder#nameFilter(String)} is applied to
+ * the names. Other filters are ignored. If {@link Builder#select(String...)} is used,
+ * the resources are read using {@code query(select=...)} which returns only the selected attributes.
+ * <p>
+ * Use {@link Builder#distinct(String, Comparator, String...)} to load only one child per distinct value of an attribute,
+ * e.g. the latest execution per job instance. The names are ordered using {@link Builder#order(Comparator)} before they're
+ * sliced into pages.
+ *
+ * @param <T> the type of the items
+ */
+public class ResourcePageLoader<T extends ModelNode> implements PageLoader<T> {
+
+    private final Dispatcher dispatcher;
+    private final ResourceAddress parent;
+    private final String childType;
+    private final Function<Property, T> factory;
+    private final List<String> select;
+    private final Map<String, Where> where;
+    private final String nameFilter;
+    private final Comparator<String> order;
+    private final Distinct distinct;
+    private String namesKey;
+    private List<String> names;
+
+    private ResourcePageLoader(Builder<T> builder) {
+        this.dispatcher = builder.dispatcher;
+        this.parent = builder.parent;
+        this.childType = builder.childType;
+        this.factory = builder.factory;
+        this.select = builder.select;
+        this.where = builder.where;
+        this.nameFilter = builder.nameFilter;
+        this.order = builder.order;
+        this.distinct = builder.distinct;
+        this.namesKey = null;
+        this.names = null;
+    }
+
+    @Override
+    public Promise<Page<T>> load(int offset, int limit, Map<String, String> filters) {
+        return names(filters).then(childNames -> {
+            int total = childNames.size();
+            List<String> page = page(childNames, offset, limit);
+            if (page.isEmpty()) {
+                return Promise.resolve(new Page<T>(emptyList(), total));
+            }
+            List<Operation> operations = page.stream().map(this::readChild).collect(toList());
+            return dispatcher.execute(new Composite(operations))
+                    .then(result -> Promise.resolve(new Page<>(items(page, result), total)));
+        });
+    }
+
+    @Override
+    public void invalidate() {
+        namesKey = null;
+        names = null;
+    }
+
+    /** Reads the names of the children matching the mapped filters. The names are cached until the filters change. */
+    private Promise<List<String>> names(Map<String, String> filters) {
+        ModelNode whereNode = where(filters);
+        String nameValue = nameFilter != null ? filters.getOrDefault(nameFilter, "") : "";
+        String key = (whereNode.isDefined() ? whereNode.toString() : "") + "/" + nameValue;
+        if (names != null && key.equals(namesKey)) {
+            return Promise.resolve(names);
+        }
+        return dispatcher.execute(namesOperation(whereNode)).then(result -> {
+            List<String> ordered = names(result, whereNode, nameValue);
+            this.namesKey = key;
+            this.names = ordered;
+            return Promise.resolve(ordered);
+        });
+    }
+
+    /** Maps the filters to the attributes registered using {@link Builder#where(String, String, Function)}. */
+    ModelNode where(Map<String, String> filters) {
+        ModelNode whereNode = new ModelNode();
+        Map<String, String> sorted = new TreeMap<>(filters);
+        sorted.forEach((name, value) -> {
+            Where w = where.get(name);
+            if (w != null && value != null && !value.isEmpty()) {
+                ModelNode whereValue = w.value.apply(value);
+                if (whereValue != null) {
+                    whereNode.get(w.attribute).set(whereValue);
+                }
+            }
+        });
+        return whereNode;
+    }
+
+    /**
+     * Returns the operation to read the names of the children. If there are no mapped filters and no distinct attribute,
+     * the names are read using {@code read-children-names}. Otherwise the children are queried.
+     */
+    Operation namesOperation(ModelNode whereNode) {
+        if (queried(whereNode)) {
+            ResourceAddress children = new ResourceAddress().add(parent).add(childType, "*");
+            ModelNode selectNode = new ModelNode();
+            if (distinct != null) {
+                // the where clause is applied after the children have been reduced to the distinct ones
+                Set<String> attributes = new LinkedHashSet<>();
+                attributes.add(distinct.attribute);
+                attributes.addAll(distinct.compared);
+                if (whereNode.isDefined()) {
+                    attributes.addAll(whereNode.keys());
+                }
+                attributes.forEach(selectNode::add);
+                return new Operation.Builder(children, QUERY)
+                        .param(SELECT, selectNode)
+                        .build();
+            } else {
+                selectNode.add(whereNode.keys().iterator().next());
+                return new Operation.Builder(children, QUERY)
+                        .param(WHERE, whereNode)
+                        .param(SELECT, selectNode)
+                        .build();
+            }
+        } else {
+            return new Operation.Builder(parent, READ_CHILDREN_NAMES_OPERATION)
+                    .param(CHILD_TYPE, childType)
+                    .build();
+        }
+    }
+
+    /**
+     * Turns the result of the {@linkplain #namesOperation(ModelNode) names operation} into the ordered names of the
+     * children. The names are ordered before they're sliced into pages, so the order holds across pages.
+     */
+    List<String> names(ModelNode result, ModelNode whereNode, String nameValue) {
+        List<String> childNames = new ArrayList<>();
+        if (queried(whereNode)) {
+            Map<String, Property> distinctChildren = new LinkedHashMap<>();
+            for (ModelNode node : result.asList()) {
+                if (SUCCESS.equals(node.get(OUTCOME).asString()) && node.get(RESULT).isDefined()) {
+                    String name = new ResourceAddress(node.get(ADDRESS)).lastValue();
+                    ModelNode payload = node.get(RESULT);
+                    if (distinct != null) {
+                        String value = payload.get(distinct.attribute).asString();
+                        Property current = distinctChildren.get(value);
+                        if (current == null || distinct.comparator.compare(payload, current.getValue()) > 0) {
+                            distinctChildren.put(value, new Property(name, payload));
+                        }
+                    } else {
+                        childNames.add(name);
+                    }
+                }
+            }
+            for (Property child : distinctChildren.values()) {
+                if (matches(child.getValue(), whereNode)) {
+                    childNames.add(child.getName());
+                }
+            }
+        } else {
+            for (ModelNode node : result.asList()) {
+                childNames.add(node.asString());
+            }
+        }
+
+        List<String> ordered = new ArrayList<>();
+        for (String name : childNames) {
+            if (nameValue.isEmpty() || name.contains(nameValue)) {
+                ordered.add(name);
+            }
+        }
+        ordered.sort(order);
+        return ordered;
+    }
+
+    List<String> page(List<String> childNames, int offset, int limit) {
+        int total = childNames.size();
+        return childNames.subList(min(offset, total), min(offset + limit, total));
+    }
+
+    /** Creates the items of a page. Children which could not be read are skipped. */
+    List<T> items(List<String> page, CompositeResult result) {
+        List<T> items = new ArrayList<>(page.size());
+        for (int i = 0; i < page.size(); i++) {
+            ModelNode step = result.step(i);
+            if (!step.isFailure()) {
+                items.add(factory.apply(new Property(page.get(i), step.get(RESULT))));
+            }
+        }
+        return items;
+    }
+
+    private boolean queried(ModelNode whereNode) {
+        return distinct != null || whereNode.isDefined();
+    }
+
+    private boolean matches(ModelNode payload, ModelNode whereNode) {
+        if (whereNode.isDefined()) {
+            for (Property property : whereNode.asPropertyList()) {
+                if (!payload.hasDefined(property.getName())
+                        || !payload.get(property.getName()).asString().equals(property.getValue().asString())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private Operation readChild(String name) {
+        ResourceAddress address = new ResourceAddress().add(parent).add(childType, name);
+        if (select.isEmpty()) {
+            return new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                    .param(INCLUDE_RUNTIME, true)
+                    .build();
+        } else {
+            ModelNode selectNode = new ModelNode();
+            select.forEach(selectNode::add);
+            return new Operation.Builder(address, QUERY)
+                    .param(SELECT, selectNode)
+                    .build();
+        }
+    }
+
+    private static class Where {
+
+        private final String attribute;
+        private final Function<String, ModelNode> value;
+
+        private Where(String attribute, Function<String, ModelNode> value) {
+            this.attribute = attribute;
+            this.value = value;
+        }
+    }
+
+    private static class Distinct {
+
+        private final String attribute;
+        private final Comparator<ModelNode> comparator;
+        private final List<String> compared;
+
+        private Distinct(String attribute, Comparator<ModelNode> comparator, List<String> compared) {
+            this.attribute = attribute;
+            this.comparator = comparator;
+            this.compared = compared;
+        }
+    }
+
+    public static class Builder<T extends ModelNode> {
+
+        private final Dispatcher dispatcher;
+        private final ResourceAddress parent;
+        private final String childType;
+        private final Function<Property, T> factory;
+        private final List<String> select;
+        private final Map<String, Where> where;
+        private String nameFilter;
+        private Comparator<String> order;
+        private Distinct distinct;
+
+        /**
+         * @param dispatcher the dispatcher
+         * @param parent     the address of the parent resource
+         * @param childType  the type of the children which are loaded
+         * @param factory    creates the items from the name and the payload of the children
+         */
+        public Builder(Dispatcher dispatcher, ResourceAddress parent, String childType, Function<Property, T> factory) {
+            this.dispatcher = dispatcher;
+            this.parent = parent;
+            this.childType = childType;
+            this.factory = factory;
+            this.select = new ArrayList<>();
+            this.where = new LinkedHashMap<>();
+            this.nameFilter = null;
+            this.order = Comparator.naturalOrder();
+            this.distinct = null;
+        }
+
+        /** Reads only the specified attributes of the children. */
+        public Builder<T> select(String... attributes) {
+            for (String attribute : attributes) {
+                select.add(attribute);
+            }
+            return this;
+        }
+
+        /** Maps the filter with the specified name to an attribute which has to be equal to the value of the filter. */
+        public Builder<T> where(String filter, String attribute) {
+            return where(filter, attribute, value -> new ModelNode().set(value));
+        }
+
+        /**
+         * Maps the filter with the specified name to an attribute which has to be equal to the value of the filter
+         * converted by the specified function. If the function returns {@code null}, the filter is ignored.
+         */
+        public Builder<T> where(String filter, String attribute, Function<String, ModelNode> value) {
+            where.put(filter, new Where(attribute, value));
+            return this;
+        }
+
+        /** Only children whose name contains the value of the filter with the specified name are loaded. */
+        public Builder<T> nameFilter(String filter) {
+            this.nameFilter = filter;
+            return this;
+        }
+
+        /** The order of the children. Defaults to the natural order of the names. */
+        public Builder<T> order(Comparator<String> order) {
+            this.order = order;
+            return this;
+        }
+
+        /**
+         * Loads only one child per distinct value of the specified attribute: the greatest one according to the
+         * comparator. The comparator gets the distinct attribute and the compared attributes of the children. Mapped
+         * filters are applied to the remaining children.
+         */
+        public Builder<T> distinct(String attribute, Comparator<ModelNode> comparator, String... compared) {
+            this.distinct = new Distinct(attribute, comparator, asList(compared));
+            return this;
+        }
+
+        public ResourcePageLoader<T> build() {
+            return new ResourcePageLoader<>(this);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.jboss.hal.core.runtime.server.ServerSelectionEvent;
 import org.jboss.hal.flow.Progress;
 import org.jboss.hal.meta.StatementContext.Expression;
 import org.jboss.hal.meta.processing.MetadataProcessor;
+import org.jboss.hal.meta.processing.MetadataStore;
 import org.jboss.hal.resources.Resources;
 import org.jboss.hal.spi.Footer;
 import org.jboss.hal.spi.Message;
@@ -67,6 +68,7 @@ import static org.jboss.hal.meta.StatementContext.Expression.SELECTED_SERVER_CON
 public class HalPlaceManager extends DefaultPlaceManager {
 
     private final MetadataProcessor metadataProcessor;
+    private final MetadataStore metadataStore;
     private final Provider<Progress> progress;
     private final Map<Expression, Consumer<String>> selectFunctions;
     private Resources resources;
@@ -78,11 +80,13 @@ public class HalPlaceManager extends DefaultPlaceManager {
             @ErrorPlace String errorPlaceNameToken,
             @UnauthorizedPlace String unauthorizedPlaceNameToken,
             MetadataProcessor metadataProcessor,
+            MetadataStore metadataStore,
             @Footer Provider<Progress> progress,
             Resources resources) {
         super(eventBus, tokenFormatter, defaultPlaceNameToken, errorPlaceNameToken, unauthorizedPlaceNameToken,
                 new PlaceHistoryHandler.DefaultHistorian());
         this.metadataProcessor = metadataProcessor;
+        this.metadataStore = metadataStore;
         this.progress = progress;
         this.resources = resources;
 
@@ -106,6 +110,7 @@ public class HalPlaceManager extends DefaultPlaceManager {
             }
         }
 
+        metadataStore.recordVisit(request.getNameToken());
         metadataProcessor.process(request.getNameToken(), progress.get())
                 .then(__ -> {
                     HalPlaceManager.super.doRevealPlace(request, updateBrowserUrl);
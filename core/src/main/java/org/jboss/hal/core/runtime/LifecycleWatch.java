@@ -0,0 +1,335 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.core.runtime.server.Server;
+import org.jboss.hal.core.runtime.server.ServerConfigStatus;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.flow.FlowStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.setTimeout;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_STATE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STATUS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_STATE;
+import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
+import static org.jboss.hal.flow.FlowStatus.SUCCESS;
+import static org.jboss.hal.flow.FlowStatus.TIMEOUT;
+
+/**
+ * Waits for servers to reach a lifecycle state after a lifecycle operation has been executed.
+ * <p>
+ * All servers of all pending operations are watched together: Each poll executes one composite with one
+ * {@code read-attribute} operation per attribute. If more than one server needs to be read, the operation uses a wildcard
+ * address like {@code /host=*&#47;server-config=*}. Thus the number of requests depends on the number of polls, not on the
+ * number of servers. The interval between two polls adapts to the progress and the pending {@linkplain Timeouts timeouts}
+ * (see {@link PollInterval}).
+ * <p>
+ * The promises returned by this class resolve to {@link FlowStatus#SUCCESS} once all servers have reached the state or to
+ * {@link FlowStatus#TIMEOUT} if the timeout is exceeded. Failed polls are repeated until the timeout occurs.
+ */
+public class LifecycleWatch {
+
+    private static final String WILDCARD = "*";
+    private static final Logger logger = LoggerFactory.getLogger(LifecycleWatch.class);
+
+    private final Dispatcher dispatcher;
+    private final List<Watch> watches;
+    private final PollInterval interval;
+    private double timeoutHandle;
+    private boolean scheduled;
+    private boolean polling;
+
+    @Inject
+    public LifecycleWatch(Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        this.watches = new ArrayList<>();
+        this.interval = new PollInterval();
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Waits until {@code server-config.status} of the server is one of the specified states. */
+    public Promise<FlowStatus> serverConfigStatus(Server server, int timeout, ServerConfigStatus first,
+            ServerConfigStatus... rest) {
+        return serverConfigStatus(singletonList(server), timeout, first, rest);
+    }
+
+    /** Waits until {@code server-config.status} of all servers is one of the specified states. */
+    public Promise<FlowStatus> serverConfigStatus(List<Server> servers, int timeout, ServerConfigStatus first,
+            ServerConfigStatus... rest) {
+        EnumSet<ServerConfigStatus> states = EnumSet.of(first, rest);
+        return watch(servers.stream()
+                .map(server -> new Target(server.getServerConfigAddress(), STATUS,
+                        value -> states.contains(
+                                asEnumValue(value, ServerConfigStatus::valueOf, ServerConfigStatus.UNDEFINED))))
+                .collect(toList()), timeout);
+    }
+
+    /** Waits until {@code server.server-state} of the server is the specified state. */
+    public Promise<FlowStatus> serverState(Server server, int timeout, RunningState state) {
+        return watch(singletonList(new Target(server.getServerAddress(), SERVER_STATE,
+                value -> state == asEnumValue(value, RunningState::valueOf, RunningState.UNDEFINED))), timeout);
+    }
+
+    /** Waits until {@code server.suspend-state} of the server is the specified state. */
+    public Promise<FlowStatus> suspendState(Server server, int timeout, SuspendState state) {
+        return suspendState(singletonList(server), timeout, state);
+    }
+
+    /** Waits until {@code server.suspend-state} of all servers is the specified state. */
+    public Promise<FlowStatus> suspendState(List<Server> servers, int timeout, SuspendState state) {
+        return watch(servers.stream()
+                .map(server -> new Target(server.getServerAddress(), SUSPEND_STATE,
+                        value -> state == asEnumValue(value, SuspendState::valueOf, SuspendState.UNDEFINED)))
+                .collect(toList()), timeout);
+    }
+
+    private Promise<FlowStatus> watch(List<Target> targets, int timeout) {
+        if (targets.isEmpty()) {
+            return Promise.resolve(SUCCESS);
+        }
+        return new Promise<>((resolve, reject) -> {
+            watches.add(new Watch(targets, timeout, resolve));
+            interval.reset();
+            if (!polling) {
+                cancel();
+                schedule(interval.current());
+            }
+        });
+    }
+
+    // ------------------------------------------------------ poll
+
+    private void poll() {
+        expire(System.currentTimeMillis());
+        if (watches.isEmpty()) {
+            return;
+        }
+
+        // group the targets by attribute and wildcard address
+        Map<String, Read> reads = new LinkedHashMap<>();
+        for (Watch watch : watches) {
+            for (Target target : watch.targets) {
+                if (!target.reached) {
+                    String key = target.attribute + "@" + wildcard(target.address);
+                    reads.computeIfAbsent(key, k -> new Read(target.attribute)).add(target.address);
+                }
+            }
+        }
+        List<Read> plan = new ArrayList<>(reads.values());
+        Composite composite = new Composite(plan.stream().map(Read::operation).collect(toList()));
+        logger.debug("Poll lifecycle state of {} watch(es) using {} operation(s)", watches.size(), plan.size());
+
+        polling = true;
+        dispatcher.execute(composite)
+                .then(result -> {
+                    polling = false;
+                    next(evaluate(plan, result));
+                    return null;
+                })
+                .catch_(error -> {
+                    // servers might not be reachable while they're reloading or restarting
+                    polling = false;
+                    logger.debug("Unable to poll lifecycle state: {}", error);
+                    next(false);
+                    return null;
+                });
+    }
+
+    private boolean evaluate(List<Read> plan, CompositeResult result) {
+        Map<String, ModelNode> values = new HashMap<>();
+        for (int i = 0; i < plan.size(); i++) {
+            Read read = plan.get(i);
+            ModelNode step = result.step(i);
+            if (!step.isFailure()) {
+                if (read.isWildcard()) {
+                    for (ModelNode item : step.get(RESULT).asList()) {
+                        if (!item.isFailure()) {
+                            values.put(key(new ResourceAddress(item.get(ADDRESS)), read.attribute),
+                                    item.get(RESULT));
+                        }
+                    }
+                } else {
+                    values.put(key(read.address(), read.attribute), step.get(RESULT));
+                }
+            }
+        }
+
+        boolean changed = false;
+        for (Iterator<Watch> iterator = watches.iterator(); iterator.hasNext();) {
+            Watch watch = iterator.next();
+            for (Target target : watch.targets) {
+                ModelNode value = values.get(target.key);
+                if (!target.reached && value != null) {
+                    String current = value.asString();
+                    changed |= !current.equals(target.lastValue);
+                    target.lastValue = current;
+                    target.reached = target.until.test(value);
+                }
+            }
+            if (watch.targets.stream().allMatch(target -> target.reached)) {
+                iterator.remove();
+                watch.resolve.onInvoke(SUCCESS);
+            }
+        }
+        return changed;
+    }
+
+    private void expire(long now) {
+        for (Iterator<Watch> iterator = watches.iterator(); iterator.hasNext();) {
+            Watch watch = iterator.next();
+            if (now >= watch.deadline) {
+                logger.debug("Lifecycle watch timed out after {} seconds", watch.timeout);
+                iterator.remove();
+                watch.resolve.onInvoke(TIMEOUT);
+            }
+        }
+    }
+
+    private void next(boolean changed) {
+        if (!watches.isEmpty()) {
+            int shortestTimeout = Integer.MAX_VALUE;
+            long earliestDeadline = Long.MAX_VALUE;
+            for (Watch watch : watches) {
+                shortestTimeout = Math.min(shortestTimeout, watch.timeout);
+                earliestDeadline = Math.min(earliestDeadline, watch.deadline);
+            }
+            long delay = interval.next(changed, shortestTimeout);
+            schedule(Math.max(0, Math.min(delay, earliestDeadline - System.currentTimeMillis())));
+        }
+    }
+
+    private void schedule(long delay) {
+        scheduled = true;
+        timeoutHandle = setTimeout(__ -> {
+            scheduled = false;
+            poll();
+        }, delay);
+    }
+
+    private void cancel() {
+        if (scheduled) {
+            clearTimeout(timeoutHandle);
+            scheduled = false;
+        }
+    }
+
+    private static ResourceAddress wildcard(ResourceAddress address) {
+        ResourceAddress wildcard = new ResourceAddress();
+        for (Property property : address.asPropertyList()) {
+            wildcard.add(property.getName(), WILDCARD);
+        }
+        return wildcard;
+    }
+
+    private static String key(ResourceAddress address, String attribute) {
+        return address + "@" + attribute;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Target {
+
+        final ResourceAddress address;
+        final String attribute;
+        final Predicate<ModelNode> until;
+        final String key;
+        String lastValue;
+        boolean reached;
+
+        Target(ResourceAddress address, String attribute, Predicate<ModelNode> until) {
+            this.address = address;
+            this.attribute = attribute;
+            this.until = until;
+            this.key = key(address, attribute);
+        }
+    }
+
+    private static class Watch {
+
+        final List<Target> targets;
+        final int timeout;
+        final long deadline;
+        final ResolveCallbackFn<FlowStatus> resolve;
+
+        Watch(List<Target> targets, int timeout, ResolveCallbackFn<FlowStatus> resolve) {
+            this.targets = targets;
+            this.timeout = timeout;
+            this.deadline = System.currentTimeMillis() + timeout * 1000L;
+            this.resolve = resolve;
+        }
+    }
+
+    /** A read-attribute operation which reads one attribute of one or several resources. */
+    private static class Read {
+
+        final String attribute;
+        final Map<String, ResourceAddress> addresses;
+
+        Read(String attribute) {
+            this.attribute = attribute;
+            this.addresses = new LinkedHashMap<>();
+        }
+
+        void add(ResourceAddress address) {
+            addresses.putIfAbsent(address.toString(), address);
+        }
+
+        boolean isWildcard() {
+            return addresses.size() > 1;
+        }
+
+        ResourceAddress address() {
+            ResourceAddress first = addresses.values().iterator().next();
+            return isWildcard() ? wildcard(first) : first;
+        }
+
+        Operation operation() {
+            return new Operation.Builder(address(), READ_ATTRIBUTE_OPERATION)
+                    .param(NAME, attribute)
+                    .build();
+        }
+    }
+}
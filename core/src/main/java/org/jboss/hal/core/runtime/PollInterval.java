@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime;
+
+/**
+ * Adaptive interval used by {@link LifecycleWatch}. The interval starts at {@link #MIN_INTERVAL} and grows with every poll
+ * which didn't observe a state change. It never exceeds a fraction of the shortest pending {@linkplain Timeouts timeout}
+ * so that even short lifecycle operations are polled several times before they time out.
+ */
+class PollInterval {
+
+    static final long MIN_INTERVAL = 500;
+    static final long MAX_INTERVAL = 3_000;
+    static final double GROWTH = 1.5;
+
+    /** Minimum number of polls within the shortest pending timeout. */
+    static final int POLLS_PER_TIMEOUT = 10;
+
+    private long interval;
+
+    PollInterval() {
+        this.interval = MIN_INTERVAL;
+    }
+
+    /**
+     * Calculates the next interval.
+     *
+     * @param changed whether the last poll observed a state change
+     * @param shortestTimeout the shortest timeout in seconds of all pending lifecycle operations
+     *
+     * @return the interval in milliseconds
+     */
+    long next(boolean changed, int shortestTimeout) {
+        if (changed) {
+            interval = MIN_INTERVAL;
+        } else {
+            interval = Math.round(interval * GROWTH);
+        }
+        long limit = Math.max(MIN_INTERVAL, Math.min(MAX_INTERVAL, shortestTimeout * 1000L / POLLS_PER_TIMEOUT));
+        interval = Math.min(interval, limit);
+        return interval;
+    }
+
+    void reset() {
+        interval = MIN_INTERVAL;
+    }
+
+    long current() {
+        return interval;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.core.runtime.group.ServerGroup;
+import org.jboss.hal.core.runtime.host.Host;
+import org.jboss.hal.core.runtime.server.Server;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelDescriptionConstants;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.AUTO_START;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CONNECTED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CORE_SERVICE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ERROR_WFY_CTL_0379;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.EVENTS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.GROUP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST_CONNECTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST_STATE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.LAUNCH_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MANAGEMENT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MANAGEMENT_MAJOR_VERSION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MANAGEMENT_MICRO_VERSION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MANAGEMENT_MINOR_VERSION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PRIMARY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PRODUCT_NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PRODUCT_VERSION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PROFILE_NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.QUERY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_BOOT_ERRORS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RELEASE_CODENAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RELEASE_VERSION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RUNNING_MODE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SELECT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_CONFIG;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_STATE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SOCKET_BINDING_DEFAULT_INTERFACE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SOCKET_BINDING_PORT_OFFSET;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STATUS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_STATE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WHERE;
+
+/**
+ * Snapshot of the hosts, server groups and servers of a domain read with one composite operation.
+ * <p>
+ * Instead of reading the host names, each host and its server configs one after the other, the snapshot uses wildcard
+ * {@code query} and {@code read-children-resources} operations which select only the attributes needed by the topology.
+ * The number of round-trips does not depend on the number of hosts: The snapshot needs one round-trip plus one for the
+ * boot errors of the started servers ({@code read-boot-errors} is not a global operation and cannot be used with
+ * wildcards).
+ */
+final class TopologySnapshot {
+
+    static final String[] HOST_ATTRIBUTES = new String[] {
+            NAME, PRIMARY, HOST_STATE, RUNNING_MODE,
+            RELEASE_CODENAME, RELEASE_VERSION, PRODUCT_NAME, PRODUCT_VERSION,
+            MANAGEMENT_MAJOR_VERSION, MANAGEMENT_MINOR_VERSION, MANAGEMENT_MICRO_VERSION };
+    static final String[] SERVER_CONFIG_ATTRIBUTES = new String[] {
+            NAME, GROUP, AUTO_START, STATUS,
+            SOCKET_BINDING_GROUP, SOCKET_BINDING_PORT_OFFSET, SOCKET_BINDING_DEFAULT_INTERFACE };
+    static final String[] SERVER_ATTRIBUTES = new String[] {
+            NAME, ModelDescriptionConstants.HOST, SERVER_GROUP, PROFILE_NAME, LAUNCH_TYPE,
+            SERVER_STATE, SUSPEND_STATE, RUNNING_MODE,
+            RELEASE_CODENAME, RELEASE_VERSION, PRODUCT_NAME, PRODUCT_VERSION,
+            MANAGEMENT_MAJOR_VERSION, MANAGEMENT_MINOR_VERSION, MANAGEMENT_MICRO_VERSION };
+
+    private static final String WILDCARD = "*";
+    private static final int HOSTS_STEP = 0;
+    private static final int DISCONNECTED_HOSTS_STEP = 1;
+    private static final int SERVER_GROUPS_STEP = 2;
+    private static final int SERVER_CONFIGS_STEP = 3;
+    private static final int SERVERS_STEP = 4;
+
+    /** @return the composite operation which reads the complete topology */
+    static Composite composite() {
+        Operation hosts = new Operation.Builder(new ResourceAddress()
+                .add(ModelDescriptionConstants.HOST, WILDCARD), QUERY)
+                .param(SELECT, select(HOST_ATTRIBUTES))
+                .build();
+        Operation disconnectedHosts = new Operation.Builder(new ResourceAddress()
+                .add(CORE_SERVICE, MANAGEMENT)
+                .add(HOST_CONNECTION, WILDCARD), QUERY)
+                .param(SELECT, new ModelNode().add(EVENTS))
+                .param(WHERE, new ModelNode().set(CONNECTED, false))
+                .build();
+        Operation serverGroups = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_RESOURCES_OPERATION)
+                .param(CHILD_TYPE, ModelDescriptionConstants.SERVER_GROUP)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+        Operation serverConfigs = new Operation.Builder(new ResourceAddress()
+                .add(ModelDescriptionConstants.HOST, WILDCARD)
+                .add(SERVER_CONFIG, WILDCARD), QUERY)
+                .param(SELECT, select(SERVER_CONFIG_ATTRIBUTES))
+                .build();
+        Operation servers = new Operation.Builder(new ResourceAddress()
+                .add(ModelDescriptionConstants.HOST, WILDCARD)
+                .add(SERVER, WILDCARD), QUERY)
+                .param(SELECT, select(SERVER_ATTRIBUTES))
+                .build();
+        return new Composite(hosts, disconnectedHosts, serverGroups, serverConfigs, servers);
+    }
+
+    /** @return the composite operation which reads the boot errors of the specified servers */
+    static Composite bootErrors(List<Server> servers) {
+        return new Composite(servers.stream()
+                .map(server -> new Operation.Builder(server.getServerAddress().add(CORE_SERVICE, MANAGEMENT),
+                        READ_BOOT_ERRORS).build())
+                .collect(toList()));
+    }
+
+    /** Parses the result of the {@linkplain #composite() snapshot composite}. */
+    static TopologySnapshot parse(CompositeResult result) {
+        Map<String, Host> hosts = new LinkedHashMap<>();
+        for (ModelNode node : result.step(HOSTS_STEP).get(RESULT).asList()) {
+            String name = segment(node, 0);
+            if (node.isFailure()) {
+                hosts.put(name, node.getFailureDescription().contains(ERROR_WFY_CTL_0379)
+                        ? Host.booting(name)
+                        : Host.failed(name));
+            } else {
+                hosts.put(name, new Host(new Property(name, node.get(RESULT))));
+            }
+        }
+        List<Host> disconnectedHosts = new ArrayList<>();
+        for (ModelNode node : result.step(DISCONNECTED_HOSTS_STEP).get(RESULT).asList()) {
+            if (!node.isFailure()) {
+                disconnectedHosts.add(TopologyTasks.disconnectedHost(node));
+            }
+        }
+
+        List<ServerGroup> serverGroups = result.step(SERVER_GROUPS_STEP).get(RESULT).asPropertyList().stream()
+                .map(ServerGroup::new)
+                .sorted(comparing(ServerGroup::getName))
+                .collect(toList());
+
+        Map<String, Server> servers = new LinkedHashMap<>();
+        for (ModelNode node : result.step(SERVER_CONFIGS_STEP).get(RESULT).asList()) {
+            if (!node.isFailure()) {
+                String hostName = segment(node, 0);
+                Server server = new Server(hostName, node.get(RESULT));
+                servers.put(key(hostName, server.getName()), server);
+                Host host = hosts.get(hostName);
+                if (host != null) {
+                    host.addServer(server);
+                }
+            }
+        }
+        for (ModelNode node : result.step(SERVERS_STEP).get(RESULT).asList()) {
+            if (!node.isFailure()) {
+                Server server = servers.get(key(segment(node, 0), segment(node, 1)));
+                if (server != null && server.isStarted()) {
+                    server.addServerAttributes(node.get(RESULT));
+                }
+            }
+        }
+
+        List<Host> allHosts = new ArrayList<>(hosts.values());
+        allHosts.addAll(disconnectedHosts);
+        return new TopologySnapshot(allHosts, serverGroups, new ArrayList<>(servers.values()));
+    }
+
+    private final List<Host> hosts;
+    private final List<ServerGroup> serverGroups;
+    private final List<Server> servers;
+
+    private TopologySnapshot(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers) {
+        this.hosts = hosts;
+        this.serverGroups = serverGroups;
+        this.servers = servers;
+    }
+
+    /**
+     * Applies the result of the {@linkplain #bootErrors(List) boot errors composite}.
+     *
+     * @param servers the servers used to create the boot errors composite
+     * @param result the result of the boot errors composite
+     */
+    void applyBootErrors(List<Server> servers, CompositeResult result) {
+        for (int i = 0; i < servers.size(); i++) {
+            ModelNode step = result.step(i);
+            if (!step.isFailure()) {
+                servers.get(i).setBootErrors(!step.get(RESULT).asList().isEmpty());
+            }
+        }
+    }
+
+    /** @return the unsorted list of connected and disconnected hosts. Each host contains its servers. */
+    List<Host> hosts() {
+        return hosts;
+    }
+
+    /** @return the list of server groups sorted by name. The server groups do not contain servers. */
+    List<ServerGroup> serverGroups() {
+        return serverGroups;
+    }
+
+    List<Server> servers() {
+        return servers;
+    }
+
+    List<Server> startedServers() {
+        return servers.stream().filter(Server::isStarted).collect(toList());
+    }
+
+    /** Cheaper than {@link Server#getId()} which normalizes the host and server name. */
+    private static String key(String host, String server) {
+        return host + "/" + server;
+    }
+
+    /** Returns the value of an address segment of a wildcard result without creating a resource address. */
+    private static String segment(ModelNode node, int index) {
+        return node.get(ADDRESS).get(index).asProperty().getValue().asString();
+    }
+
+    private static ModelNode select(String[] attributes) {
+        ModelNode select = new ModelNode();
+        for (String attribute : attributes) {
+            select.add(attribute);
+        }
+        return select;
+    }
+}
@@ -37,6 +37,7 @@ import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.Flow;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.flow.Progress;
+import org.jboss.hal.flow.Scheduler;
 import org.jboss.hal.flow.Task;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Messages;
@@ -101,6 +102,12 @@ public final class TopologyTasks {
     private static final String WILDCARD = "*";
     private static final Logger logger = LoggerFactory.getLogger(TopologyTasks.class);
 
+    /** Maximum number of concurrent requests when reading the hosts or servers of the domain. */
+    static final int MAX_CONCURRENCY = 4;
+
+    /** Shared by all topology reads, so that concurrent reads don't exceed {@link #MAX_CONCURRENCY} requests. */
+    private static final Scheduler scheduler = new Scheduler(MAX_CONCURRENCY);
+
     // ------------------------------------------------------ topology
 
     /** Show a blocking verification dialog and executes the specified operation. */
@@ -141,6 +148,22 @@ public final class TopologyTasks {
         return tasks;
     }
 
+    /**
+     * Returns a list of tasks to read the same topology as {@link #topology(Environment, Dispatcher)}, but with a constant
+     * number of round-trips: One composite reads all hosts, server groups, server configs and running servers using
+     * wildcard operations and a second one reads the boot errors of the started servers. If the snapshot cannot be read,
+     * the tasks fall back to the per-host reads of {@link #topology(Environment, Dispatcher)}.
+     *
+     * <p>
+     * The context is populated with the same keys as {@link #topology(Environment, Dispatcher)}.
+     */
+    public static List<Task<FlowContext>> snapshot(Environment environment, Dispatcher dispatcher) {
+        List<Task<FlowContext>> tasks = new ArrayList<>();
+        tasks.add(new Snapshot(environment, dispatcher));
+        tasks.add(new Topology(environment));
+        return tasks;
+    }
+
     /**
      * Returns a list of tasks to read all hosts (connected and disconnected) and its servers.
      *
@@ -218,6 +241,24 @@ public final class TopologyTasks {
         return tasks;
     }
 
+    /**
+     * Returns a list of tasks to re-read the specified servers. Use this to refresh known servers without reading the whole
+     * topology.
+     *
+     * <p>
+     * The context is populated with the following keys:
+     * <ul>
+     * <li>{@link #SERVERS}: The list of refreshed servers. Servers which no longer exist are not part of the list.</li>
+     * </ul>
+     * Started servers contain additional attributes and optional server boot errors.
+     */
+    public static List<Task<FlowContext>> servers(Environment environment, Dispatcher dispatcher, List<Server> servers) {
+        List<Task<FlowContext>> tasks = new ArrayList<>();
+        tasks.add(new Servers(environment, dispatcher, servers));
+        tasks.add(new StartedServers(environment, dispatcher));
+        return tasks;
+    }
+
     /**
      * Returns a list of tasks to read all running servers in the domain, which satisfy the specified query.
      *
@@ -236,6 +277,25 @@ public final class TopologyTasks {
         return tasks;
     }
 
+    /** Creates a disconnected host from one result of a {@code host-connection=*:query(select=[events])} operation. */
+    static Host disconnectedHost(ModelNode node) {
+        String name = new ResourceAddress(node.get(ADDRESS)).lastValue();
+        long registered = 0;
+        long unregistered = 0;
+        for (ModelNode event : failSafeList(node, RESULT + "/" + EVENTS)) {
+            if (event.hasDefined(TYPE) && event.hasDefined(TIMESTAMP)) {
+                if (REGISTERED.equals(event.get(TYPE).asString())) {
+                    registered = max(registered, event.get(TIMESTAMP).asLong());
+                } else if (UNREGISTERED.equals(event.get(TYPE).asString())) {
+                    unregistered = max(unregistered, event.get(TIMESTAMP).asLong());
+                }
+            }
+        }
+        Date disconnected = unregistered != 0 ? new Date(unregistered) : null;
+        Date lastConnected = registered != 0 ? new Date(registered) : null;
+        return Host.disconnected(name, disconnected, lastConnected);
+    }
+
     // ------------------------------------------------------ tasks
 
     private static final class Topology implements Task<FlowContext> {
@@ -301,6 +361,55 @@ public final class TopologyTasks {
         }
     }
 
+    private static final class Snapshot implements Task<FlowContext> {
+
+        private final Environment environment;
+        private final Dispatcher dispatcher;
+
+        private Snapshot(Environment environment, Dispatcher dispatcher) {
+            this.environment = environment;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public Promise<FlowContext> apply(final FlowContext context) {
+            if (environment.isStandalone()) {
+                return Promise.resolve(context);
+            } else {
+                return dispatcher.execute(TopologySnapshot.composite())
+                        .then(result -> {
+                            TopologySnapshot snapshot = TopologySnapshot.parse(result);
+                            List<Server> startedServers = snapshot.startedServers();
+                            if (startedServers.isEmpty()) {
+                                return Promise.resolve(snapshot);
+                            } else {
+                                return dispatcher.execute(TopologySnapshot.bootErrors(startedServers))
+                                        .then(bootErrors -> {
+                                            snapshot.applyBootErrors(startedServers, bootErrors);
+                                            return Promise.resolve(snapshot);
+                                        });
+                            }
+                        })
+                        .then(snapshot -> {
+                            context.set(HOSTS, snapshot.hosts());
+                            context.set(SERVER_GROUPS, snapshot.serverGroups());
+                            context.set(SERVERS, snapshot.servers());
+                            return Promise.resolve(context);
+                        })
+                        .catch_(error -> {
+                            logger.warn("TopologyTasks.Snapshot failed: {}. Fall back to per-host reads.", error);
+                            List<Task<FlowContext>> tasks = new ArrayList<>();
+                            tasks.add(new HostsNames(environment, dispatcher));
+                            tasks.add(new Hosts(environment, dispatcher));
+                            tasks.add(new DisconnectedHosts(environment, dispatcher));
+                            tasks.add(new ServerGroups(environment, dispatcher));
+                            tasks.add(new StartedServers(environment, dispatcher));
+                            return Flow.sequential(context, tasks).promise();
+                        });
+            }
+        }
+    }
+
     private static final class HostsNames implements Task<FlowContext> {
 
         private final Environment environment;
@@ -398,7 +507,8 @@ public final class TopologyTasks {
                                     });
                         })
                         .collect(toList());
-                return Flow.sequential(new FlowContext(Progress.NOOP), tasks)
+                return Flow.parallel(new FlowContext(Progress.NOOP), tasks)
+                        .scheduler(scheduler)
                         .failFast(false)
                         .promise();
             }
@@ -431,23 +541,7 @@ public final class TopologyTasks {
                         .then(result -> {
                             List<Host> disconnectedHosts = result.asList().stream()
                                     .filter(node -> !node.isFailure())
-                                    .map(node -> {
-                                        String name = new ResourceAddress(node.get(ADDRESS)).lastValue();
-                                        long registered = 0;
-                                        long unregistered = 0;
-                                        for (ModelNode event : failSafeList(node, RESULT + "/" + EVENTS)) {
-                                            if (event.hasDefined(TYPE) && event.hasDefined(TIMESTAMP)) {
-                                                if (REGISTERED.equals(event.get(TYPE).asString())) {
-                                                    registered = max(registered, event.get(TIMESTAMP).asLong());
-                                                } else if (UNREGISTERED.equals(event.get(TYPE).asString())) {
-                                                    unregistered = max(unregistered, event.get(TIMESTAMP).asLong());
-                                                }
-                                            }
-                                        }
-                                        Date disconnected = unregistered != 0 ? new Date(unregistered) : null;
-                                        Date lastConnected = registered != 0 ? new Date(registered) : null;
-                                        return Host.disconnected(name, disconnected, lastConnected);
-                                    })
+                                    .map(TopologyTasks::disconnectedHost)
                                     .collect(toList());
                             List<Host> hosts = context.get(HOSTS);
                             if (hosts == null) {
@@ -592,13 +686,57 @@ public final class TopologyTasks {
                                     });
                         })
                         .collect(toList());
-                return Flow.sequential(new FlowContext(Progress.NOOP), tasks)
+                return Flow.parallel(new FlowContext(Progress.NOOP), tasks)
+                        .scheduler(scheduler)
                         .failFast(false)
                         .promise();
             }
         }
     }
 
+    private static final class Servers implements Task<FlowContext> {
+
+        private final Environment environment;
+        private final Dispatcher dispatcher;
+        private final List<Server> servers;
+
+        private Servers(Environment environment, Dispatcher dispatcher, List<Server> servers) {
+            this.environment = environment;
+            this.dispatcher = dispatcher;
+            this.servers = servers;
+        }
+
+        @Override
+        public Promise<FlowContext> apply(final FlowContext context) {
+            List<Server> refreshed = new ArrayList<>();
+            context.set(SERVERS, refreshed);
+
+            if (environment.isStandalone() || servers.isEmpty()) {
+                return Promise.resolve(context);
+            } else {
+                List<Operation> operations = servers.stream()
+                        .map(server -> new Operation.Builder(server.getServerConfigAddress(), READ_RESOURCE_OPERATION)
+                                .param(INCLUDE_RUNTIME, true)
+                                .build())
+                        .collect(toList());
+                return dispatcher.execute(new Composite(operations))
+                        .then(result -> {
+                            for (int i = 0; i < servers.size(); i++) {
+                                ModelNode step = result.step(i);
+                                if (!step.isFailure()) {
+                                    refreshed.add(new Server(servers.get(i).getHost(), step.get(RESULT)));
+                                }
+                            }
+                            return Promise.resolve(context);
+                        })
+                        .catch_(error -> {
+                            logger.error("TopologyTasks.Servers failed: {}", error);
+                            return context.reject(String.valueOf(error));
+                        });
+            }
+        }
+    }
+
     private static final class RunningServers implements Task<FlowContext> {
 
         private final Environment environment;
@@ -661,7 +799,8 @@ public final class TopologyTasks {
                                     });
                         })
                         .collect(toList());
-                return Flow.sequential(new FlowContext(Progress.NOOP), tasks)
+                return Flow.parallel(new FlowContext(Progress.NOOP), tasks)
+                        .scheduler(scheduler)
                         .failFast(false)
                         .promise();
             }
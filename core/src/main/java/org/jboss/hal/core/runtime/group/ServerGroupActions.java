@@ -16,11 +16,9 @@
 package org.jboss.hal.core.runtime.group;
 
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -34,12 +32,10 @@ import org.jboss.hal.core.mbui.dialog.NameItem;
 import org.jboss.hal.core.mbui.form.ModelNodeForm;
 import org.jboss.hal.core.mbui.form.OperationFormBuilder;
 import org.jboss.hal.core.runtime.Action;
-import org.jboss.hal.core.runtime.SuspendState;
+import org.jboss.hal.core.runtime.LifecycleWatch;
 import org.jboss.hal.core.runtime.server.Server;
 import org.jboss.hal.core.runtime.server.ServerActions;
-import org.jboss.hal.core.runtime.server.ServerConfigStatus;
 import org.jboss.hal.dmr.Composite;
-import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ModelType;
 import org.jboss.hal.dmr.Operation;
@@ -66,11 +62,9 @@ import com.google.web.bindery.event.shared.EventBus;
 
 import elemental2.promise.Promise;
 
-import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.core.runtime.Action.RESUME;
 import static org.jboss.hal.core.runtime.SuspendState.RUNNING;
 import static org.jboss.hal.core.runtime.SuspendState.SUSPENDED;
-import static org.jboss.hal.core.runtime.TimeoutHandler.repeatCompositeUntil;
 import static org.jboss.hal.core.runtime.Timeouts.serverGroupTimeout;
 import static org.jboss.hal.core.runtime.server.ServerConfigStatus.DISABLED;
 import static org.jboss.hal.core.runtime.server.ServerConfigStatus.STARTED;
@@ -80,24 +74,18 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.BLOCKING;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.COPY;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DESTROY_SERVERS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.KILL_SERVERS;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RECURSIVE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RELOAD_SERVERS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.REMOVE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESTART_SERVERS;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESUME_SERVERS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.START_MODE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.START_SERVERS;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.STATUS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.STOP_SERVERS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_SERVERS;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_STATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_TIMEOUT;
-import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
 import static org.jboss.hal.dmr.ModelNodeHelper.getOrDefault;
 import static org.jboss.hal.flow.FlowStatus.FAILURE;
 import static org.jboss.hal.flow.FlowStatus.SUCCESS;
@@ -113,6 +101,7 @@ public class ServerGroupActions {
 
     private final EventBus eventBus;
     private final Dispatcher dispatcher;
+    private final LifecycleWatch lifecycleWatch;
     private final MetadataProcessor metadataProcessor;
     private final Provider<Progress> progress;
     private final ServerActions serverActions;
@@ -122,12 +111,14 @@ public class ServerGroupActions {
     @Inject
     public ServerGroupActions(EventBus eventBus,
             Dispatcher dispatcher,
+            LifecycleWatch lifecycleWatch,
             MetadataProcessor metadataProcessor,
             @Footer Provider<Progress> progress,
             ServerActions serverActions,
             Resources resources) {
         this.eventBus = eventBus;
         this.dispatcher = dispatcher;
+        this.lifecycleWatch = lifecycleWatch;
         this.metadataProcessor = metadataProcessor;
         this.progress = progress;
         this.serverActions = serverActions;
@@ -165,9 +156,8 @@ public class ServerGroupActions {
             DialogFactory.showConfirmation(title, question, () -> {
                 prepare(serverGroup, startedServers, action);
                 dispatcher.execute(operation)
-                        .then(__ -> repeatCompositeUntil(dispatcher, readServerConfigStatus(startedServers),
-                                checkServerConfigStatus(startedServers.size(), STARTED),
-                                serverGroupTimeout(serverGroup, action)))
+                        .then(__ -> lifecycleWatch.serverConfigStatus(startedServers,
+                                serverGroupTimeout(serverGroup, action), STARTED))
                         .then(status -> finish(serverGroup, startedServers, status,
                                 successMessage, timeoutMessage, errorMessage))
                         .catch_(error -> finish(serverGroup, startedServers, FAILURE, Message.error(
@@ -204,8 +194,7 @@ public class ServerGroupActions {
                                         .param(SUSPEND_TIMEOUT, timeout)
                                         .build();
                                 dispatcher.execute(operation)
-                                        .then(__ -> repeatCompositeUntil(dispatcher, readSuspendState(startedServers),
-                                                checkSuspendState(startedServers.size(), SUSPENDED), uiTimeout))
+                                        .then(__ -> lifecycleWatch.suspendState(startedServers, uiTimeout, SUSPENDED))
                                         .then(status -> finish(serverGroup, startedServers, status,
                                                 resources.messages().suspendServerGroupSuccess(serverGroup.getName()),
                                                 resources.messages().serverGroupTimeout(serverGroup.getName()),
@@ -241,9 +230,8 @@ public class ServerGroupActions {
             prepare(serverGroup, suspendedServers, RESUME);
             Operation operation = new Operation.Builder(serverGroup.getAddress(), RESUME_SERVERS).build();
             dispatcher.execute(operation)
-                    .then(__ -> repeatCompositeUntil(dispatcher, readSuspendState(suspendedServers),
-                            checkSuspendState(suspendedServers.size(), RUNNING),
-                            serverGroupTimeout(serverGroup, RESUME)))
+                    .then(__ -> lifecycleWatch.suspendState(suspendedServers, serverGroupTimeout(serverGroup, RESUME),
+                            RUNNING))
                     .then(status -> finish(serverGroup, suspendedServers, status,
                             resources.messages().resumeServerGroupSuccess(serverGroup.getName()),
                             resources.messages().serverGroupTimeout(serverGroup.getName()),
@@ -284,10 +272,8 @@ public class ServerGroupActions {
                                         .param(BLOCKING, false)
                                         .build();
                                 dispatcher.execute(operation)
-                                        .then(__ -> repeatCompositeUntil(dispatcher,
-                                                readServerConfigStatus(startedServers),
-                                                checkServerConfigStatus(startedServers.size(), STOPPED, DISABLED),
-                                                uiTimeout))
+                                        .then(__ -> lifecycleWatch.serverConfigStatus(startedServers, uiTimeout,
+                                                STOPPED, DISABLED))
                                         .then(status -> finish(serverGroup, startedServers, status,
                                                 resources.messages().stopServerGroupSuccess(serverGroup.getName()),
                                                 resources.messages().serverGroupTimeout(serverGroup.getName()),
@@ -325,9 +311,8 @@ public class ServerGroupActions {
                     .param(BLOCKING, false)
                     .build();
             dispatcher.execute(operation)
-                    .then(__ -> repeatCompositeUntil(dispatcher, readServerConfigStatus(downServers),
-                            checkServerConfigStatus(downServers.size(), STARTED),
-                            serverGroupTimeout(serverGroup, Action.START)))
+                    .then(__ -> lifecycleWatch.serverConfigStatus(downServers,
+                            serverGroupTimeout(serverGroup, Action.START), STARTED))
                     .then(status -> finish(serverGroup, downServers, status,
                             resources.messages().startServerGroupSuccess(serverGroup.getName()),
                             resources.messages().serverGroupTimeout(serverGroup.getName()),
@@ -351,9 +336,8 @@ public class ServerGroupActions {
                     .param(BLOCKING, false)
                     .build();
             dispatcher.execute(operation)
-                    .then(__ -> repeatCompositeUntil(dispatcher, readServerConfigStatus(downServers),
-                            checkServerConfigStatus(downServers.size(), STARTED),
-                            serverGroupTimeout(serverGroup, Action.START)))
+                    .then(__ -> lifecycleWatch.serverConfigStatus(downServers,
+                            serverGroupTimeout(serverGroup, Action.START), STARTED))
                     .then(status -> finish(serverGroup, downServers, status,
                             resources.messages().startServerGroupSuccess(serverGroup.getName()),
                             resources.messages().serverGroupTimeout(serverGroup.getName()),
@@ -375,9 +359,8 @@ public class ServerGroupActions {
                     prepare(serverGroup, startedServers, Action.DESTROY);
                     Operation operation = new Operation.Builder(serverGroup.getAddress(), DESTROY_SERVERS).build();
                     dispatcher.execute(operation)
-                            .then(__ -> repeatCompositeUntil(dispatcher, readServerConfigStatus(startedServers),
-                                    checkServerConfigStatus(startedServers.size(), STOPPED, DISABLED),
-                                    serverGroupTimeout(serverGroup, Action.DESTROY)))
+                            .then(__ -> lifecycleWatch.serverConfigStatus(startedServers,
+                                    serverGroupTimeout(serverGroup, Action.DESTROY), STOPPED, DISABLED))
                             .then(status -> finish(serverGroup, startedServers, status,
                                     resources.messages().destroyServerGroupSuccess(serverGroup.getName()),
                                     resources.messages().serverGroupTimeout(serverGroup.getName()),
@@ -396,9 +379,8 @@ public class ServerGroupActions {
                     prepare(serverGroup, startedServers, Action.KILL);
                     Operation operation = new Operation.Builder(serverGroup.getAddress(), KILL_SERVERS).build();
                     dispatcher.execute(operation)
-                            .then(__ -> repeatCompositeUntil(dispatcher, readServerConfigStatus(startedServers),
-                                    checkServerConfigStatus(startedServers.size(), STOPPED, DISABLED),
-                                    serverGroupTimeout(serverGroup, Action.KILL)))
+                            .then(__ -> lifecycleWatch.serverConfigStatus(startedServers,
+                                    serverGroupTimeout(serverGroup, Action.KILL), STOPPED, DISABLED))
                             .then(status -> finish(serverGroup, startedServers, status,
                                     resources.messages().killServerGroupSuccess(serverGroup.getName()),
                                     resources.messages().serverGroupTimeout(serverGroup.getName()),
@@ -541,41 +523,4 @@ public class ServerGroupActions {
     public boolean isPending(ServerGroup serverGroup) {
         return pendingServerGroups.containsKey(serverGroup.getName());
     }
-
-    private Composite readServerConfigStatus(List<Server> servers) {
-        return new Composite(servers.stream()
-                .map(server -> new Operation.Builder(server.getServerConfigAddress(), READ_ATTRIBUTE_OPERATION)
-                        .param(NAME, STATUS)
-                        .build())
-                .collect(toList()));
-    }
-
-    private Predicate<CompositeResult> checkServerConfigStatus(long servers, ServerConfigStatus first,
-            ServerConfigStatus... rest) {
-        return compositeResult -> {
-            long statusCount = compositeResult.stream()
-                    .map(step -> asEnumValue(step, RESULT, ServerConfigStatus::valueOf, ServerConfigStatus.UNDEFINED))
-                    .filter(status -> EnumSet.of(first, rest).contains(status))
-                    .count();
-            return statusCount == servers;
-        };
-    }
-
-    private Composite readSuspendState(List<Server> servers) {
-        return new Composite(servers.stream()
-                .map(server -> new Operation.Builder(server.getServerAddress(), READ_ATTRIBUTE_OPERATION)
-                        .param(NAME, SUSPEND_STATE)
-                        .build())
-                .collect(toList()));
-    }
-
-    private Predicate<CompositeResult> checkSuspendState(long servers, SuspendState statusToReach) {
-        return compositeResult -> {
-            long statusCount = compositeResult.stream()
-                    .map(step -> asEnumValue(step, RESULT, SuspendState::valueOf, SuspendState.UNDEFINED))
-                    .filter(status -> status == statusToReach)
-                    .count();
-            return statusCount == servers;
-        };
-    }
 }
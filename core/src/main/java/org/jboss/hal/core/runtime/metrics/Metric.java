@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime.metrics;
+
+import java.util.Objects;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ModelNodeHelper;
+import org.jboss.hal.dmr.ResourceAddress;
+
+/**
+ * A numeric runtime attribute polled by {@link RuntimeMetrics}. The path is relative to the resource and uses '/' to
+ * address nested attributes like {@code heap-memory-usage/used}.
+ */
+public class Metric {
+
+    private final ResourceAddress address;
+    private final String path;
+    private final String key;
+
+    public Metric(ResourceAddress address, String path) {
+        this.address = address;
+        this.path = path;
+        this.key = address + "@" + path;
+    }
+
+    /** @return the value of this metric in the specified resource or an undefined node if there's no such value */
+    public ModelNode resolve(ModelNode resource) {
+        return ModelNodeHelper.failSafeGet(resource, path);
+    }
+
+    public ResourceAddress getAddress() {
+        return address;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    String key() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Metric)) {
+            return false;
+        }
+        Metric metric = (Metric) o;
+        return key.equals(metric.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key);
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
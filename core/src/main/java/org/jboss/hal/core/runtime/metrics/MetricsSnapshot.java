@@ -0,0 +1,63 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime.metrics;
+
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+
+/**
+ * The result of one poll of {@link RuntimeMetrics}. Contains the latest runtime attributes of the polled resources and
+ * the sample history of the polled metrics.
+ */
+public class MetricsSnapshot {
+
+    private final long timestamp;
+    private final Map<String, ModelNode> resources;
+    private final Map<String, Samples> samples;
+
+    MetricsSnapshot(long timestamp, Map<String, ModelNode> resources, Map<String, Samples> samples) {
+        this.timestamp = timestamp;
+        this.resources = resources;
+        this.samples = samples;
+    }
+
+    /** @return the time of the poll in milliseconds */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the runtime attributes of the specified resource or an undefined node if the resource was not part of the
+     *         poll or could not be read
+     */
+    public ModelNode resource(ResourceAddress address) {
+        ModelNode resource = resources.get(address.toString());
+        return resource != null ? resource : new ModelNode();
+    }
+
+    /** @return the latest value of the specified metric or an undefined node if there's no such value */
+    public ModelNode value(Metric metric) {
+        return metric.resolve(resource(metric.getAddress()));
+    }
+
+    /** @return the sample history of the specified metric */
+    public Samples samples(Metric metric) {
+        Samples s = samples.get(metric.key());
+        return s != null ? s : new Samples(1);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.web.bindery.event.shared.HandlerRegistration;
+
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.setTimeout;
+import static java.util.Arrays.asList;
+import static org.jboss.hal.config.Settings.DEFAULT_POLL_TIME;
+import static org.jboss.hal.config.Settings.Key.POLL;
+import static org.jboss.hal.config.Settings.Key.POLL_TIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES_ONLY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+
+/**
+ * Central poller for runtime metrics. Instead of reading their own snapshot, previews register the metrics they need and
+ * get notified after each poll.
+ * <p>
+ * All registered metrics are polled on one timer using the {@linkplain Settings.Key#POLL_TIME poll time} of the
+ * settings. Each poll executes a single composite with one {@code read-resource(include-runtime)} operation per distinct
+ * resource. The values are recorded in a ring buffer of {@link #HISTORY_SIZE} samples per metric which can be used to
+ * show trends. The history of a metric is kept when its registration is removed, so that a preview which is shown again
+ * continues where it left off. The timer runs only as long as there are registrations.
+ * <p>
+ * If polling is turned off in the {@linkplain Settings.Key#POLL settings}, there's no timer at all. The metrics are then
+ * only read when they're registered and when {@link #poll()} is called, e.g. when a preview is updated.
+ */
+public class RuntimeMetrics {
+
+    /** Number of samples kept per metric. */
+    public static final int HISTORY_SIZE = 60;
+
+    /** Maximum number of metrics for which the history is kept. */
+    static final int MAX_HISTORIES = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeMetrics.class);
+
+    private final Dispatcher dispatcher;
+    private final Settings settings;
+    private final List<MetricsRegistration> registrations;
+    private final Map<String, Samples> history;
+    private double timeoutHandle;
+    private boolean scheduled;
+    private boolean polling;
+
+    @Inject
+    public RuntimeMetrics(Dispatcher dispatcher, Settings settings) {
+        this.dispatcher = dispatcher;
+        this.settings = settings;
+        this.registrations = new ArrayList<>();
+        this.history = new LinkedHashMap<String, Samples>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Samples> eldest) {
+                return size() > MAX_HISTORIES;
+            }
+        };
+    }
+
+    /**
+     * Registers the specified metrics and polls them immediately. The callback is called after each poll until the
+     * returned registration is removed.
+     */
+    public HandlerRegistration register(Consumer<MetricsSnapshot> callback, Metric first, Metric... rest) {
+        List<Metric> metrics = new ArrayList<>();
+        metrics.add(first);
+        if (rest != null) {
+            metrics.addAll(asList(rest));
+        }
+        MetricsRegistration registration = new MetricsRegistration(metrics, callback);
+        registrations.add(registration);
+        poll();
+        return () -> {
+            registrations.remove(registration);
+            if (registrations.isEmpty()) {
+                cancel();
+            }
+        };
+    }
+
+    /** Polls the registered metrics now instead of waiting for the next tick. */
+    public void poll() {
+        if (!polling) {
+            cancel();
+            tick();
+        }
+    }
+
+    private void tick() {
+        if (registrations.isEmpty()) {
+            return;
+        }
+
+        List<ResourceAddress> addresses = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (MetricsRegistration registration : registrations) {
+            for (Metric metric : registration.metrics) {
+                if (seen.add(metric.getAddress().toString())) {
+                    addresses.add(metric.getAddress());
+                }
+            }
+        }
+        List<Operation> operations = new ArrayList<>();
+        for (ResourceAddress address : addresses) {
+            operations.add(new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                    .param(ATTRIBUTES_ONLY, true)
+                    .param(INCLUDE_RUNTIME, true)
+                    .build());
+        }
+
+        polling = true;
+        dispatcher.execute(new Composite(operations))
+                .then(result -> {
+                    polling = false;
+                    record(addresses, result);
+                    schedule();
+                    return null;
+                })
+                .catch_(error -> {
+                    polling = false;
+                    logger.error("Unable to poll runtime metrics: {}", error);
+                    schedule();
+                    return null;
+                });
+    }
+
+    private void record(List<ResourceAddress> addresses, CompositeResult result) {
+        long timestamp = System.currentTimeMillis();
+        Map<String, ModelNode> resources = new HashMap<>();
+        for (int i = 0; i < addresses.size(); i++) {
+            ModelNode step = result.step(i);
+            if (!step.isFailure()) {
+                resources.put(addresses.get(i).toString(), step.get(RESULT));
+            }
+        }
+
+        Map<String, Samples> samples = new HashMap<>();
+        for (MetricsRegistration registration : registrations) {
+            for (Metric metric : registration.metrics) {
+                if (!samples.containsKey(metric.key())) {
+                    Samples s = history.computeIfAbsent(metric.key(), key -> new Samples(HISTORY_SIZE));
+                    ModelNode resource = resources.get(metric.getAddress().toString());
+                    if (resource != null) {
+                        ModelNode value = metric.resolve(resource);
+                        if (value.isDefined()) {
+                            s.add(timestamp, value.asDouble());
+                        }
+                    }
+                    samples.put(metric.key(), s);
+                }
+            }
+        }
+
+        MetricsSnapshot snapshot = new MetricsSnapshot(timestamp, resources, samples);
+        // callbacks might remove their registration
+        for (MetricsRegistration registration : new ArrayList<>(registrations)) {
+            registration.callback.accept(snapshot);
+        }
+    }
+
+    private void schedule() {
+        if (!registrations.isEmpty() && !scheduled && settings.get(POLL).asBoolean()) {
+            int pollTime = settings.get(POLL_TIME).asInt(DEFAULT_POLL_TIME);
+            scheduled = true;
+            timeoutHandle = startTimer(() -> {
+                scheduled = false;
+                tick();
+            }, pollTime * 1000);
+        }
+    }
+
+    private void cancel() {
+        if (scheduled) {
+            stopTimer(timeoutHandle);
+            scheduled = false;
+        }
+    }
+
+    // timer methods are package-private, so that tests can replace the browser timer
+
+    double startTimer(Runnable task, int delay) {
+        return setTimeout(__ -> task.run(), delay);
+    }
+
+    void stopTimer(double handle) {
+        clearTimeout(handle);
+    }
+
+    private static class MetricsRegistration {
+
+        final List<Metric> metrics;
+        final Consumer<MetricsSnapshot> callback;
+
+        MetricsRegistration(List<Metric> metrics, Consumer<MetricsSnapshot> callback) {
+            this.metrics = metrics;
+            this.callback = callback;
+        }
+    }
+}
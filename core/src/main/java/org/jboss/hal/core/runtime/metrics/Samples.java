@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime.metrics;
+
+/**
+ * Fixed-size ring buffer of numeric samples. Once the buffer is full, adding a sample overwrites the oldest one. Indexes
+ * passed to {@link #value(int)} and {@link #timestamp(int)} are relative to the oldest sample.
+ */
+public class Samples {
+
+    private final long[] timestamps;
+    private final double[] values;
+    private int start;
+    private int size;
+
+    public Samples(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be greater than 0: " + capacity);
+        }
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+        this.start = 0;
+        this.size = 0;
+    }
+
+    public void add(long timestamp, double value) {
+        int index = (start + size) % values.length;
+        timestamps[index] = timestamp;
+        values[index] = value;
+        if (size < values.length) {
+            size++;
+        } else {
+            start = (start + 1) % values.length;
+        }
+    }
+
+    public void clear() {
+        start = 0;
+        size = 0;
+    }
+
+    /** @return the value at the specified index with {@code 0} being the oldest sample */
+    public double value(int index) {
+        return values[offset(index)];
+    }
+
+    /** @return the timestamp at the specified index with {@code 0} being the oldest sample */
+    public long timestamp(int index) {
+        return timestamps[offset(index)];
+    }
+
+    /** @return the latest value */
+    public double last() {
+        return value(size - 1);
+    }
+
+    /** @return a copy of the values from the oldest to the latest sample */
+    public double[] values() {
+        double[] copy = new double[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = values[(start + i) % values.length];
+        }
+        return copy;
+    }
+
+    public double min() {
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, value(i));
+        }
+        return min;
+    }
+
+    public double max() {
+        double max = -Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, value(i));
+        }
+        return max;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return (start + index) % values.length;
+    }
+
+    @Override
+    public String toString() {
+        return "Samples(" + size + "/" + values.length + ")";
+    }
+}
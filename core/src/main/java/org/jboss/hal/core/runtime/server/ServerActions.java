@@ -17,12 +17,10 @@ package org.jboss.hal.core.runtime.server;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -40,7 +38,7 @@ import org.jboss.hal.core.mbui.dialog.NameItem;
 import org.jboss.hal.core.mbui.form.ModelNodeForm;
 import org.jboss.hal.core.mbui.form.OperationFormBuilder;
 import org.jboss.hal.core.runtime.Action;
-import org.jboss.hal.core.runtime.RunningState;
+import org.jboss.hal.core.runtime.LifecycleWatch;
 import org.jboss.hal.core.runtime.SuspendState;
 import org.jboss.hal.core.runtime.Timeouts;
 import org.jboss.hal.core.runtime.server.ServerUrlTasks.ReadSocketBinding;
@@ -86,7 +84,6 @@ import static org.jboss.elemento.Elements.a;
 import static org.jboss.elemento.Elements.p;
 import static org.jboss.elemento.Elements.span;
 import static org.jboss.hal.core.runtime.RunningState.RUNNING;
-import static org.jboss.hal.core.runtime.TimeoutHandler.repeatOperationUntil;
 import static org.jboss.hal.core.runtime.TimeoutHandler.repeatUntilTimeout;
 import static org.jboss.hal.core.runtime.server.ServerConfigStatus.DISABLED;
 import static org.jboss.hal.core.runtime.server.ServerConfigStatus.STARTED;
@@ -108,7 +105,6 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.KILL;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.MANAGEMENT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.PATH;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_BOOT_ERRORS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
@@ -119,7 +115,6 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.RESUME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_CONFIG;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_GROUP;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_STATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SHUTDOWN;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SOCKET_BINDING_DEFAULT_INTERFACE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
@@ -127,15 +122,12 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.SOCKET_BINDING_PORT_OF
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SSL;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.START;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.START_MODE;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.STATUS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.STOP;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_STATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_TIMEOUT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SYSTEM_PROPERTY;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.UPDATE_AUTO_START_WITH_SERVER_STATUS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.URL;
-import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
 import static org.jboss.hal.dmr.ModelNodeHelper.getOrDefault;
 import static org.jboss.hal.flow.Flow.sequential;
 import static org.jboss.hal.flow.FlowStatus.FAILURE;
@@ -158,6 +150,7 @@ public class ServerActions implements Timeouts {
 
     private final EventBus eventBus;
     private final Dispatcher dispatcher;
+    private final LifecycleWatch lifecycleWatch;
     private final MetadataProcessor metadataProcessor;
     private final Provider<Progress> progress;
     private final Resources resources;
@@ -168,6 +161,7 @@ public class ServerActions implements Timeouts {
     @Inject
     public ServerActions(EventBus eventBus,
             Dispatcher dispatcher,
+            LifecycleWatch lifecycleWatch,
             ServerUrlStorage serverUrlStorage,
             StatementContext statementContext,
             MetadataProcessor metadataProcessor,
@@ -175,6 +169,7 @@ public class ServerActions implements Timeouts {
             Resources resources) {
         this.eventBus = eventBus;
         this.dispatcher = dispatcher;
+        this.lifecycleWatch = lifecycleWatch;
         this.serverUrlStorage = serverUrlStorage;
         this.statementContext = statementContext;
         this.metadataProcessor = metadataProcessor;
@@ -371,10 +366,9 @@ public class ServerActions implements Timeouts {
         DialogFactory.showConfirmation(title, question, () -> {
             prepare(server, action);
             dispatcher.execute(operation)
-                    .then(__ -> repeatOperationUntil(dispatcher,
-                            server.isStandalone() ? readServerState(server) : readServerConfigStatus(server),
-                            server.isStandalone() ? checkRunningState() : checkServerConfigStatus(STARTED),
-                            timeout))
+                    .then(__ -> server.isStandalone()
+                            ? lifecycleWatch.serverState(server, timeout, RUNNING)
+                            : lifecycleWatch.serverConfigStatus(server, timeout, STARTED))
                     .then(status -> finish(server, action, status, successMessage, timeoutMessage, errorMessage))
                     .catch_(error -> finish(server, FAILURE, Message.error(errorMessage, String.valueOf(error))));
         });
@@ -408,8 +402,7 @@ public class ServerActions implements Timeouts {
                                 .param(SUSPEND_TIMEOUT, timeout)
                                 .build();
                         dispatcher.execute(operation)
-                                .then(__ -> repeatOperationUntil(dispatcher,
-                                        readSuspendState(server), checkSuspendState(), uiTimeout))
+                                .then(__ -> lifecycleWatch.suspendState(server, uiTimeout, SuspendState.SUSPENDED))
                                 .then(status -> finish(server, Action.SUSPEND, status,
                                         resources.messages().suspendServerSuccess(server.getName()),
                                         resources.messages().serverTimeout(server.getName()),
@@ -440,10 +433,9 @@ public class ServerActions implements Timeouts {
         ResourceAddress address = server.isStandalone() ? server.getServerAddress() : server.getServerConfigAddress();
         Operation operation = new Operation.Builder(address, RESUME).build();
         dispatcher.execute(operation)
-                .then(__ -> repeatOperationUntil(dispatcher,
-                        server.isStandalone() ? readServerState(server) : readServerConfigStatus(server),
-                        server.isStandalone() ? checkRunningState() : checkServerConfigStatus(STARTED),
-                        SERVER_START_TIMEOUT))
+                .then(__ -> server.isStandalone()
+                        ? lifecycleWatch.serverState(server, SERVER_START_TIMEOUT, RUNNING)
+                        : lifecycleWatch.serverConfigStatus(server, SERVER_START_TIMEOUT, STARTED))
                 .then(status -> finish(server, Action.RESUME, status,
                         resources.messages().resumeServerSuccess(server.getName()),
                         resources.messages().serverTimeout(server.getName()),
@@ -478,10 +470,8 @@ public class ServerActions implements Timeouts {
                                         .param(BLOCKING, false)
                                         .build();
                                 dispatcher.execute(operation)
-                                        .then(__ -> repeatOperationUntil(dispatcher,
-                                                readServerConfigStatus(server),
-                                                checkServerConfigStatus(STOPPED, DISABLED),
-                                                uiTimeout))
+                                        .then(__ -> lifecycleWatch.serverConfigStatus(server, uiTimeout,
+                                                STOPPED, DISABLED))
                                         .then(status -> finish(server, Action.STOP, status,
                                                 resources.messages().stopServerSuccess(server.getName()),
                                                 resources.messages().serverTimeout(server.getName()),
@@ -511,8 +501,7 @@ public class ServerActions implements Timeouts {
                 .param(BLOCKING, false)
                 .build();
         dispatcher.execute(operation)
-                .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                        checkServerConfigStatus(STOPPED, DISABLED), SERVER_STOP_TIMEOUT))
+                .then(__ -> lifecycleWatch.serverConfigStatus(server, SERVER_STOP_TIMEOUT, STOPPED, DISABLED))
                 .then(status -> finish(server, Action.STOP, status,
                         resources.messages().stopServerSuccess(server.getName()),
                         resources.messages().serverTimeout(server.getName()),
@@ -528,8 +517,7 @@ public class ServerActions implements Timeouts {
             prepare(server, Action.DESTROY);
             Operation operation = new Operation.Builder(server.getServerConfigAddress(), DESTROY).build();
             dispatcher.execute(operation)
-                    .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                            checkServerConfigStatus(STOPPED, DISABLED), SERVER_DESTROY_TIMEOUT))
+                    .then(__ -> lifecycleWatch.serverConfigStatus(server, SERVER_DESTROY_TIMEOUT, STOPPED, DISABLED))
                     .then(status -> finish(server, Action.DESTROY, status,
                             resources.messages().destroyServerSuccess(server.getName()),
                             resources.messages().serverTimeout(server.getName()),
@@ -545,8 +533,7 @@ public class ServerActions implements Timeouts {
             prepare(server, Action.KILL);
             Operation operation = new Operation.Builder(server.getServerConfigAddress(), KILL).build();
             dispatcher.execute(operation)
-                    .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                            checkServerConfigStatus(STOPPED, DISABLED), SERVER_KILL_TIMEOUT))
+                    .then(__ -> lifecycleWatch.serverConfigStatus(server, SERVER_KILL_TIMEOUT, STOPPED, DISABLED))
                     .then(status -> finish(server, Action.KILL, status,
                             resources.messages().killServerSuccess(server.getName()),
                             resources.messages().serverTimeout(server.getName()),
@@ -562,8 +549,7 @@ public class ServerActions implements Timeouts {
                 .param(BLOCKING, false)
                 .build();
         dispatcher.execute(operation)
-                .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                        checkServerConfigStatus(STARTED), SERVER_START_TIMEOUT))
+                .then(__ -> lifecycleWatch.serverConfigStatus(server, SERVER_START_TIMEOUT, STARTED))
                 .then(status -> finish(server, Action.START, status,
                         resources.messages().startServerSuccess(server.getName()),
                         resources.messages().serverTimeout(server.getName()),
@@ -579,8 +565,7 @@ public class ServerActions implements Timeouts {
                 .param(BLOCKING, false)
                 .build();
         dispatcher.execute(operation)
-                .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                        checkServerConfigStatus(STARTED), SERVER_START_TIMEOUT))
+                .then(__ -> lifecycleWatch.serverConfigStatus(server, SERVER_START_TIMEOUT, STARTED))
                 .then(status -> finish(server, Action.START, status,
                         resources.messages().startServerSuccess(server.getName()),
                         resources.messages().serverTimeout(server.getName()),
@@ -773,39 +758,6 @@ public class ServerActions implements Timeouts {
         return pendingServers.containsKey(Ids.hostServer(server.getHost(), server.getName()));
     }
 
-    private Operation readServerConfigStatus(Server server) {
-        return new Operation.Builder(server.getServerConfigAddress(), READ_ATTRIBUTE_OPERATION)
-                .param(NAME, STATUS)
-                .build();
-    }
-
-    private Operation readServerState(Server server) {
-        return new Operation.Builder(server.getServerAddress(), READ_ATTRIBUTE_OPERATION)
-                .param(NAME, SERVER_STATE)
-                .build();
-    }
-
-    private Predicate<ModelNode> checkServerConfigStatus(ServerConfigStatus first, ServerConfigStatus... rest) {
-        return result -> {
-            ServerConfigStatus status = asEnumValue(result, ServerConfigStatus::valueOf, ServerConfigStatus.UNDEFINED);
-            return EnumSet.of(first, rest).contains(status);
-        };
-    }
-
-    private Predicate<ModelNode> checkRunningState() {
-        return result -> RUNNING == asEnumValue(result, RunningState::valueOf, RunningState.UNDEFINED);
-    }
-
-    private Operation readSuspendState(Server server) {
-        return new Operation.Builder(server.getServerAddress(), READ_ATTRIBUTE_OPERATION)
-                .param(NAME, SUSPEND_STATE)
-                .build();
-    }
-
-    private Predicate<ModelNode> checkSuspendState() {
-        return result -> SuspendState.SUSPENDED == asEnumValue(result, SuspendState::valueOf, SuspendState.UNDEFINED);
-    }
-
     private Promise<List<ModelNode>> readBootErrors(FlowStatus status, Server server) {
         if (status == SUCCESS) {
             ResourceAddress address = server.getServerAddress().add(CORE_SERVICE, MANAGEMENT);
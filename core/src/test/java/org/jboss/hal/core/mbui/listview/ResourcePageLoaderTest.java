@@ -0,0 +1,194 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.mbui.listview;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.NamedNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ResourcePageLoaderTest {
+
+    private static final String STATUS = "status";
+    private static final String IGNORED = "ignored";
+
+    private ResourceAddress parent;
+    private ResourcePageLoader<NamedNode> loader;
+
+    @Before
+    public void setUp() {
+        parent = new ResourceAddress().add(SUBSYSTEM, BATCH_JBERET).add(DEPLOYMENT, "batch.war").add(JOB, "job");
+        loader = new ResourcePageLoader.Builder<>(null, parent, EXECUTION, NamedNode::new)
+                .nameFilter(NAME)
+                .where(INSTANCE_ID, INSTANCE_ID, value -> new ModelNode().set(Integer.parseInt(value)))
+                .where(STATUS, BATCH_STATUS)
+                .where(IGNORED, "foo", value -> null)
+                // descending numeric order
+                .order((n1, n2) -> Integer.compare(Integer.parseInt(n2), Integer.parseInt(n1)))
+                .build();
+    }
+
+    @Test
+    public void readChildrenNames() {
+        ModelNode where = loader.where(emptyMap());
+        assertFalse(where.isDefined());
+
+        Operation operation = loader.namesOperation(where);
+        assertEquals(READ_CHILDREN_NAMES_OPERATION, operation.getName());
+        assertEquals(parent, operation.getAddress());
+        assertEquals(EXECUTION, operation.getParameter().get(CHILD_TYPE).asString());
+    }
+
+    @Test
+    public void where() {
+        Map<String, String> filters = new HashMap<>();
+        filters.put(INSTANCE_ID, "4");
+        filters.put(STATUS, "");
+        filters.put(IGNORED, "foo");
+        filters.put("unmapped", "bar");
+        ModelNode where = loader.where(filters);
+        assertEquals(asList(INSTANCE_ID), new ArrayList<>(where.keys()));
+        assertEquals(4, where.get(INSTANCE_ID).asInt());
+
+        Operation operation = loader.namesOperation(where);
+        assertEquals(QUERY, operation.getName());
+        assertEquals(new ResourceAddress().add(parent).add(EXECUTION, "*"), operation.getAddress());
+        assertEquals(where, operation.getParameter().get(WHERE));
+        assertEquals(INSTANCE_ID, operation.getParameter().get(SELECT).get(0).asString());
+    }
+
+    @Test
+    public void orderAcrossPages() {
+        ModelNode result = new ModelNode();
+        for (int i = 1; i <= 25; i++) {
+            result.add(String.valueOf(i));
+        }
+        List<String> names = loader.names(result, new ModelNode(), "");
+
+        assertEquals(range(25, 16), loader.page(names, 0, 10));
+        assertEquals(range(15, 6), loader.page(names, 10, 10));
+        assertEquals(range(5, 1), loader.page(names, 20, 10));
+        assertEquals(emptyList(), loader.page(names, 30, 10));
+    }
+
+    @Test
+    public void nameFilter() {
+        ModelNode result = new ModelNode();
+        for (int i = 1; i <= 25; i++) {
+            result.add(String.valueOf(i));
+        }
+        assertEquals(asList("25", "24", "23", "22", "21", "20", "12", "2"), loader.names(result, new ModelNode(), "2"));
+        assertEquals(asList("25", "15", "5"), loader.names(result, new ModelNode(), "5"));
+    }
+
+    @Test
+    public void queriedNames() {
+        ModelNode result = new ModelNode();
+        result.add(execution(3, 1, "COMPLETED", "2020-01-01T10:00:00.000+0000"));
+        result.add(execution(12, 1, "FAILED", "2020-01-01T11:00:00.000+0000"));
+        ModelNode failed = new ModelNode();
+        failed.get(OUTCOME).set(FAILED);
+        result.add(failed);
+
+        ModelNode where = loader.where(singletonFilter(INSTANCE_ID, "1"));
+        assertEquals(asList("12", "3"), loader.names(result, where, ""));
+    }
+
+    @Test
+    public void distinct() {
+        ResourcePageLoader<NamedNode> distinct = new ResourcePageLoader.Builder<>(null, parent, EXECUTION,
+                NamedNode::new)
+                .where(STATUS, BATCH_STATUS)
+                .distinct(INSTANCE_ID, comparing(node -> node.get(LAST_UPDATED_TIME).asString()), LAST_UPDATED_TIME)
+                .order((n1, n2) -> Integer.compare(Integer.parseInt(n2), Integer.parseInt(n1)))
+                .build();
+
+        // the children are always queried, the where clause is applied after the reduction
+        ModelNode where = distinct.where(singletonFilter(STATUS, "COMPLETED"));
+        Operation operation = distinct.namesOperation(where);
+        assertEquals(QUERY, operation.getName());
+        assertFalse(operation.getParameter().hasDefined(WHERE));
+        assertEquals(asList(INSTANCE_ID, LAST_UPDATED_TIME, BATCH_STATUS),
+                operation.getParameter().get(SELECT).asList().stream().map(ModelNode::asString).collect(toList()));
+
+        ModelNode result = new ModelNode();
+        result.add(execution(1, 1, "FAILED", "2020-01-01T10:00:00.000+0000"));
+        result.add(execution(2, 1, "COMPLETED", "2020-01-01T11:00:00.000+0000"));
+        result.add(execution(3, 2, "COMPLETED", "2020-01-01T12:00:00.000+0000"));
+        result.add(execution(4, 2, "FAILED", "2020-01-01T13:00:00.000+0000"));
+        result.add(execution(5, 3, "COMPLETED", "2020-01-01T14:00:00.000+0000"));
+
+        assertEquals(asList("5", "4", "2"), distinct.names(result, new ModelNode(), ""));
+        // execution 3 is completed, but not the latest execution of instance 2
+        assertEquals(asList("5", "2"), distinct.names(result, where, ""));
+    }
+
+    @Test
+    public void items() {
+        ModelNode steps = new ModelNode();
+        steps.get("step-1").get(OUTCOME).set(SUCCESS);
+        steps.get("step-1").get(RESULT).get(BATCH_STATUS).set("COMPLETED");
+        steps.get("step-2").get(OUTCOME).set(FAILED);
+        steps.get("step-3").get(OUTCOME).set(SUCCESS);
+        steps.get("step-3").get(RESULT).get(BATCH_STATUS).set("FAILED");
+
+        List<NamedNode> items = loader.items(asList("3", "2", "1"), new CompositeResult(steps));
+        assertEquals(asList("3", "1"), items.stream().map(NamedNode::getName).collect(toList()));
+        assertEquals("FAILED", items.get(1).get(BATCH_STATUS).asString());
+    }
+
+    private ModelNode execution(int id, int instanceId, String status, String lastUpdated) {
+        ModelNode node = new ModelNode();
+        node.get(ADDRESS).set(new ResourceAddress().add(parent).add(EXECUTION, String.valueOf(id)));
+        node.get(OUTCOME).set(SUCCESS);
+        node.get(RESULT).get(INSTANCE_ID).set(instanceId);
+        node.get(RESULT).get(BATCH_STATUS).set(status);
+        node.get(RESULT).get(LAST_UPDATED_TIME).set(lastUpdated);
+        return node;
+    }
+
+    private Map<String, String> singletonFilter(String name, String value) {
+        Map<String, String> filters = new HashMap<>();
+        filters.put(name, value);
+        return filters;
+    }
+
+    private List<String> range(int from, int to) {
+        List<String> range = new ArrayList<>();
+        for (int i = from; i >= to; i--) {
+            range.add(String.valueOf(i));
+        }
+        return range;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.core.runtime.PollInterval.MAX_INTERVAL;
+import static org.jboss.hal.core.runtime.PollInterval.MIN_INTERVAL;
+import static org.jboss.hal.core.runtime.Timeouts.SERVER_START_TIMEOUT;
+import static org.jboss.hal.core.runtime.Timeouts.SERVER_STOP_TIMEOUT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PollIntervalTest {
+
+    private PollInterval interval;
+
+    @Before
+    public void setUp() {
+        interval = new PollInterval();
+    }
+
+    @Test
+    public void initial() {
+        assertEquals(MIN_INTERVAL, interval.current());
+    }
+
+    @Test
+    public void grow() {
+        long first = interval.next(false, 100);
+        long second = interval.next(false, 100);
+        assertTrue(first > MIN_INTERVAL);
+        assertTrue(second > first);
+    }
+
+    @Test
+    public void maxInterval() {
+        for (int i = 0; i < 20; i++) {
+            interval.next(false, 1000);
+        }
+        assertEquals(MAX_INTERVAL, interval.current());
+    }
+
+    @Test
+    public void limitedByTimeout() {
+        for (int i = 0; i < 20; i++) {
+            interval.next(false, SERVER_START_TIMEOUT);
+        }
+        assertEquals(1_500, interval.current());
+    }
+
+    @Test
+    public void shortTimeout() {
+        // 5 seconds stop timeout -> never slower than the minimum
+        for (int i = 0; i < 20; i++) {
+            interval.next(false, SERVER_STOP_TIMEOUT);
+        }
+        assertEquals(MIN_INTERVAL, interval.current());
+    }
+
+    @Test
+    public void resetOnChange() {
+        interval.next(false, 100);
+        interval.next(false, 100);
+        assertEquals(MIN_INTERVAL, interval.next(true, 100));
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.core.runtime.host.Host;
+import org.jboss.hal.core.runtime.server.Server;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ExternalModelNode;
+import org.jboss.hal.dmr.ModelNode;
+
+import static org.jboss.hal.core.runtime.TopologyTasks.MAX_CONCURRENCY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PRIMARY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_CONFIG;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+
+/**
+ * Compares reading the topology of a synthetic domain with {@link TopologyTasks#topology} (host names, one composite per
+ * host, disconnected hosts, server groups and started servers) and with {@link TopologyTasks#snapshot} (one snapshot
+ * composite plus the boot errors).
+ * <p>
+ * The responses of both strategies are built from the recorded payloads in {@code topology-snapshot.dmr}. The domain
+ * consists of {@value #HOSTS} hosts with {@value #SERVERS_PER_HOST} servers each. Besides the time to parse the responses,
+ * the benchmark reports the number of requests and the number of sequential round-trips. The estimated time assumes a
+ * round-trip time of {@value #ROUND_TRIP_MS} ms. Run with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.core.runtime.TopologySnapshotBenchmark -Dexec.classpathScope=test}.
+ */
+@SuppressWarnings({ "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr" })
+public class TopologySnapshotBenchmark {
+
+    private static final int HOSTS = 50;
+    private static final int SERVERS_PER_HOST = 10;
+    private static final int ROUND_TRIP_MS = 20;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 50;
+
+    public static void main(String[] args) {
+        ModelNode recorded = ExternalModelNode.read(
+                TopologySnapshotBenchmark.class.getResourceAsStream("topology-snapshot.dmr")).get(RESULT);
+        ModelNode hostTemplate = recorded.get("step-1").get(RESULT).get(0);
+        ModelNode disconnectedHosts = recorded.get("step-2");
+        ModelNode serverGroups = recorded.get("step-3");
+        ModelNode serverConfigTemplate = recorded.get("step-4").get(RESULT).get(0);
+        ModelNode serverTemplate = recorded.get("step-5").get(RESULT).get(0);
+
+        // snapshot: one composite with five steps plus one composite for the boot errors
+        ModelNode hosts = new ModelNode().setEmptyList();
+        ModelNode serverConfigs = new ModelNode().setEmptyList();
+        ModelNode servers = new ModelNode().setEmptyList();
+        for (int h = 0; h < HOSTS; h++) {
+            hosts.add(host(hostTemplate, h));
+            for (int s = 0; s < SERVERS_PER_HOST; s++) {
+                serverConfigs.add(server(serverConfigTemplate, SERVER_CONFIG, h, s));
+                servers.add(server(serverTemplate, SERVER, h, s));
+            }
+        }
+        ModelNode snapshotResponse = new ModelNode();
+        snapshotResponse.get("step-1").set(success(hosts));
+        snapshotResponse.get("step-2").set(disconnectedHosts);
+        snapshotResponse.get("step-3").set(serverGroups);
+        snapshotResponse.get("step-4").set(success(serverConfigs));
+        snapshotResponse.get("step-5").set(success(servers));
+        ModelNode bootErrorsResponse = bootErrors(HOSTS * SERVERS_PER_HOST);
+
+        // topology: one composite per host (host and its server configs) and one composite for the started servers
+        List<ModelNode> hostResponses = new ArrayList<>();
+        for (int h = 0; h < HOSTS; h++) {
+            ModelNode configs = new ModelNode().setEmptyList();
+            for (int s = 0; s < SERVERS_PER_HOST; s++) {
+                configs.add(server(serverConfigTemplate, SERVER_CONFIG, h, s));
+            }
+            ModelNode hostResponse = new ModelNode();
+            hostResponse.get("step-1").set(success(host(hostTemplate, h).get(RESULT)));
+            hostResponse.get("step-2").set(success(configs));
+            hostResponses.add(hostResponse);
+        }
+        ModelNode startedServersResponse = new ModelNode();
+        int step = 1;
+        for (int h = 0; h < HOSTS; h++) {
+            for (int s = 0; s < SERVERS_PER_HOST; s++) {
+                startedServersResponse.get("step-" + step++).set(success(server(serverTemplate, SERVER, h, s)
+                        .get(RESULT)));
+                startedServersResponse.get("step-" + step++).set(success(new ModelNode().setEmptyList()));
+            }
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            parseSnapshot(snapshotResponse, bootErrorsResponse);
+            parseTopology(hostResponses, startedServersResponse);
+        }
+        double snapshotMs = measure(() -> parseSnapshot(snapshotResponse, bootErrorsResponse));
+        double topologyMs = measure(() -> parseTopology(hostResponses, startedServersResponse));
+
+        // host names, hosts (MAX_CONCURRENCY at a time), disconnected hosts, server groups, started servers
+        int topologyRequests = 1 + HOSTS + 1 + 1 + 1;
+        int topologyRoundTrips = 1 + (HOSTS + MAX_CONCURRENCY - 1) / MAX_CONCURRENCY + 1 + 1 + 1;
+        int snapshotRequests = 2;
+        int snapshotRoundTrips = 2;
+        long topologyChars = hostResponses.stream().mapToLong(r -> r.toString().length()).sum()
+                + startedServersResponse.toString().length();
+        long snapshotChars = snapshotResponse.toString().length() + bootErrorsResponse.toString().length();
+
+        System.out.printf("%d hosts, %d servers, %d ms round-trip time%n%n", HOSTS, HOSTS * SERVERS_PER_HOST,
+                ROUND_TRIP_MS);
+        System.out.printf("%-10s %10s %12s %12s %10s %14s%n", "strategy", "requests", "round-trips", "dmr chars",
+                "parse ms", "estimated ms");
+        System.out.printf("%-10s %10d %12d %12d %10.2f %14.2f%n", "topology", topologyRequests, topologyRoundTrips,
+                topologyChars, topologyMs, topologyRoundTrips * ROUND_TRIP_MS + topologyMs);
+        System.out.printf("%-10s %10d %12d %12d %10.2f %14.2f%n", "snapshot", snapshotRequests, snapshotRoundTrips,
+                snapshotChars, snapshotMs, snapshotRoundTrips * ROUND_TRIP_MS + snapshotMs);
+    }
+
+    private static void parseSnapshot(ModelNode snapshotResponse, ModelNode bootErrorsResponse) {
+        TopologySnapshot snapshot = TopologySnapshot.parse(new CompositeResult(snapshotResponse));
+        snapshot.applyBootErrors(snapshot.startedServers(), new CompositeResult(bootErrorsResponse));
+    }
+
+    /** Parses the responses the same way as the tasks used by {@link TopologyTasks#topology}. */
+    private static void parseTopology(List<ModelNode> hostResponses, ModelNode startedServersResponse) {
+        List<Server> servers = new ArrayList<>();
+        for (ModelNode hostResponse : hostResponses) {
+            CompositeResult result = new CompositeResult(hostResponse);
+            Host host = new Host(result.step(0).get(RESULT));
+            for (ModelNode node : result.step(1).get(RESULT).asList()) {
+                Server server = new Server(host.getAddressName(), node.get(RESULT));
+                host.addServer(server);
+                servers.add(server);
+            }
+        }
+        CompositeResult result = new CompositeResult(startedServersResponse);
+        for (int i = 0; i < servers.size(); i++) {
+            servers.get(i).addServerAttributes(result.step(2 * i).get(RESULT));
+            servers.get(i).setBootErrors(!result.step(2 * i + 1).get(RESULT).asList().isEmpty());
+        }
+    }
+
+    private static double measure(Runnable runnable) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            runnable.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private static ModelNode host(ModelNode template, int h) {
+        String name = hostName(h);
+        ModelNode host = template.clone();
+        host.get(ADDRESS).setEmptyList().add(new ModelNode().set(HOST, name));
+        host.get(RESULT).get(NAME).set(name);
+        host.get(RESULT).get(PRIMARY).set(h == 0);
+        return host;
+    }
+
+    private static ModelNode server(ModelNode template, String type, int h, int s) {
+        String name = "server-" + h + "-" + s;
+        ModelNode server = template.clone();
+        server.get(ADDRESS).setEmptyList()
+                .add(new ModelNode().set(HOST, hostName(h)))
+                .add(new ModelNode().set(type, name));
+        server.get(RESULT).get(NAME).set(name);
+        if (server.get(RESULT).has(HOST)) {
+            server.get(RESULT).get(HOST).set(hostName(h));
+        }
+        return server;
+    }
+
+    private static ModelNode bootErrors(int servers) {
+        ModelNode response = new ModelNode();
+        for (int i = 0; i < servers; i++) {
+            response.get("step-" + (i + 1)).set(success(new ModelNode().setEmptyList()));
+        }
+        return response;
+    }
+
+    private static ModelNode success(ModelNode result) {
+        ModelNode step = new ModelNode();
+        step.get(OUTCOME).set(SUCCESS);
+        step.get(RESULT).set(result);
+        return step;
+    }
+
+    private static String hostName(int h) {
+        return String.format("host-%02d", h);
+    }
+}
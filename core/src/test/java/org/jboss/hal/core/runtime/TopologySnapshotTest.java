@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.core.runtime.group.ServerGroup;
+import org.jboss.hal.core.runtime.host.Host;
+import org.jboss.hal.core.runtime.server.Server;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ExternalModelNode;
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PROFILE_NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.QUERY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_BOOT_ERRORS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_STATE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "DuplicateStringLiteralInspection" })
+public class TopologySnapshotTest {
+
+    private TopologySnapshot snapshot;
+
+    @Before
+    public void setUp() {
+        ModelNode response = ExternalModelNode.read(
+                TopologySnapshotTest.class.getResourceAsStream("topology-snapshot.dmr"));
+        snapshot = TopologySnapshot.parse(new CompositeResult(response.get(RESULT)));
+    }
+
+    @Test
+    public void composite() {
+        Composite composite = TopologySnapshot.composite();
+        assertEquals(5, composite.size());
+        composite.forEach(operation -> assertTrue(operation.getName(),
+                operation.getName().equals(QUERY) || operation.getName().equals(READ_CHILDREN_RESOURCES_OPERATION)));
+    }
+
+    @Test
+    public void hosts() {
+        Map<String, Host> hosts = snapshot.hosts().stream().collect(toMap(Host::getName, identity()));
+        assertEquals(4, hosts.size());
+
+        Host primary = hosts.get("primary");
+        assertTrue(primary.isDomainController());
+        assertTrue(primary.isAlive());
+        assertEquals(21, primary.getManagementVersion().getMajor());
+        assertEquals(2, primary.getServers().size());
+
+        Host secondary = hosts.get("secondary");
+        assertFalse(secondary.isDomainController());
+        assertEquals(2, secondary.getServers().size());
+
+        assertTrue(hosts.get("booting").isBooting());
+
+        Host remote = hosts.get("remote");
+        assertFalse(remote.isConnected());
+        assertNotNull(remote.getLastConnected());
+        assertNotNull(remote.getDisconnected());
+    }
+
+    @Test
+    public void serverGroups() {
+        List<String> names = snapshot.serverGroups().stream().map(ServerGroup::getName).collect(toList());
+        assertEquals(2, names.size());
+        assertEquals("main-server-group", names.get(0));
+        assertEquals("other-server-group", names.get(1));
+        assertEquals("full-ha", snapshot.serverGroups().get(1).getProfile());
+    }
+
+    @Test
+    public void servers() {
+        Map<String, Server> servers = serversByName();
+        assertEquals(4, servers.size());
+
+        Server one = servers.get("server-one");
+        assertEquals("primary", one.getHost());
+        assertEquals("main-server-group", one.getServerGroup());
+        assertTrue(one.isRunning());
+        assertEquals("full", one.get(PROFILE_NAME).asString());
+
+        assertTrue(servers.get("server-two").needsReload());
+        assertTrue(servers.get("server-four").isSuspended());
+
+        // attributes of servers which are not started must not be merged
+        Server three = servers.get("server-three");
+        assertFalse(three.isStarted());
+        assertFalse(three.hasDefined(SERVER_STATE));
+    }
+
+    @Test
+    public void bootErrors() {
+        List<Server> started = snapshot.startedServers();
+        assertEquals(3, started.size());
+
+        Composite composite = TopologySnapshot.bootErrors(started);
+        assertEquals(3, composite.size());
+        composite.forEach(operation -> assertEquals(READ_BOOT_ERRORS, operation.getName()));
+
+        ModelNode steps = new ModelNode();
+        for (int i = 0; i < started.size(); i++) {
+            ModelNode step = new ModelNode();
+            step.get(OUTCOME).set(SUCCESS);
+            step.get(RESULT).setEmptyList();
+            if ("server-two".equals(started.get(i).getName())) {
+                step.get(RESULT).add(new ModelNode().set("WFLYCTL0080: Failed services"));
+            }
+            steps.get("step-" + (i + 1)).set(step);
+        }
+        snapshot.applyBootErrors(started, new CompositeResult(steps));
+
+        Map<String, Server> servers = serversByName();
+        assertFalse(servers.get("server-one").hasBootErrors());
+        assertTrue(servers.get("server-two").hasBootErrors());
+        assertFalse(servers.get("server-four").hasBootErrors());
+    }
+
+    private Map<String, Server> serversByName() {
+        return snapshot.servers().stream().collect(toMap(Server::getName, identity()));
+    }
+}
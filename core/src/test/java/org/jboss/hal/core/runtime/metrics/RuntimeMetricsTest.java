@@ -0,0 +1,301 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.web.bindery.event.shared.HandlerRegistration;
+
+import elemental2.promise.Promise;
+
+import static org.jboss.hal.config.Settings.Key.POLL;
+import static org.jboss.hal.config.Settings.Key.POLL_TIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "unchecked" })
+public class RuntimeMetricsTest {
+
+    private static final ResourceAddress POOL = ResourceAddress.from("subsystem=datasources/data-source=ds/statistics=pool");
+    private static final ResourceAddress JDBC = ResourceAddress.from("subsystem=datasources/data-source=ds/statistics=jdbc");
+    private static final Metric ACTIVE = new Metric(POOL, "ActiveCount");
+    private static final Metric AVAILABLE = new Metric(POOL, "AvailableCount");
+    private static final Metric HITS = new Metric(JDBC, "PreparedStatementCacheHitCount");
+
+    /** Records the callbacks of the dispatcher promise, so that the test decides when the poll finishes. */
+    private static class Response extends Promise<CompositeResult> {
+
+        private ThenOnFulfilledCallbackFn onFulfilled;
+        private CatchOnRejectedCallbackFn onRejected;
+
+        private Response() {
+            super(null);
+        }
+
+        @Override
+        public <V> Promise<V> then(ThenOnFulfilledCallbackFn<? super CompositeResult, ? extends V> onFulfilled) {
+            this.onFulfilled = onFulfilled;
+            return (Promise<V>) this;
+        }
+
+        @Override
+        public <V> Promise<V> catch_(CatchOnRejectedCallbackFn<? extends V> onRejected) {
+            this.onRejected = onRejected;
+            return (Promise<V>) this;
+        }
+
+        void succeed(ModelNode... steps) {
+            ModelNode result = new ModelNode();
+            for (int i = 0; i < steps.length; i++) {
+                result.get("step-" + (i + 1)).set(steps[i]);
+            }
+            onFulfilled.onInvoke(new CompositeResult(result));
+        }
+
+        void fail(String error) {
+            onRejected.onInvoke(error);
+        }
+    }
+
+    private List<Composite> composites;
+    private List<Response> responses;
+    private List<Runnable> timers;
+    private List<Integer> delays;
+    private int stoppedTimers;
+    private Settings.Value poll;
+    private RuntimeMetrics metrics;
+
+    @Before
+    public void setUp() {
+        composites = new ArrayList<>();
+        responses = new ArrayList<>();
+        timers = new ArrayList<>();
+        delays = new ArrayList<>();
+        stoppedTimers = 0;
+
+        Dispatcher dispatcher = mock(Dispatcher.class);
+        when(dispatcher.execute(any(Composite.class))).thenAnswer(invocation -> {
+            Response response = new Response();
+            composites.add(invocation.getArgument(0));
+            responses.add(response);
+            return response;
+        });
+
+        Settings settings = mock(Settings.class);
+        poll = mock(Settings.Value.class);
+        when(poll.asBoolean()).thenReturn(true);
+        when(settings.get(POLL)).thenReturn(poll);
+        Settings.Value pollTime = mock(Settings.Value.class);
+        when(pollTime.asInt(anyInt())).thenReturn(5);
+        when(settings.get(POLL_TIME)).thenReturn(pollTime);
+
+        metrics = new RuntimeMetrics(dispatcher, settings) {
+            @Override
+            double startTimer(Runnable task, int delay) {
+                timers.add(task);
+                delays.add(delay);
+                return timers.size();
+            }
+
+            @Override
+            void stopTimer(double handle) {
+                stoppedTimers++;
+            }
+        };
+    }
+
+    @Test
+    public void register() {
+        metrics.register(snapshot -> {}, ACTIVE, AVAILABLE, HITS);
+
+        // polled immediately, one operation per distinct resource
+        assertEquals(1, composites.size());
+        List<Operation> operations = operations(composites.get(0));
+        assertEquals(2, operations.size());
+        assertEquals(POOL, operations.get(0).getAddress());
+        assertEquals(JDBC, operations.get(1).getAddress());
+        assertEquals(READ_RESOURCE_OPERATION, operations.get(0).getName());
+        assertTrue(operations.get(0).get(INCLUDE_RUNTIME).asBoolean());
+    }
+
+    @Test
+    public void sharedComposite() {
+        metrics.register(snapshot -> {}, ACTIVE);
+        responses.get(0).succeed(pool(1, 2));
+        metrics.register(snapshot -> {}, AVAILABLE, HITS);
+        responses.get(1).succeed(pool(1, 2), jdbc(3));
+
+        // the next tick reads the resources of both registrations with one composite
+        assertEquals(2, composites.size());
+        timers.get(timers.size() - 1).run();
+        assertEquals(3, composites.size());
+        List<Operation> operations = operations(composites.get(2));
+        assertEquals(2, operations.size());
+        assertEquals(POOL, operations.get(0).getAddress());
+        assertEquals(JDBC, operations.get(1).getAddress());
+    }
+
+    @Test
+    public void snapshot() {
+        List<MetricsSnapshot> first = new ArrayList<>();
+        List<MetricsSnapshot> second = new ArrayList<>();
+        metrics.register(first::add, ACTIVE, HITS);
+        metrics.register(second::add, AVAILABLE);
+        responses.get(0).succeed(pool(3, 7), jdbc(12));
+
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        MetricsSnapshot snapshot = first.get(0);
+        assertSame(snapshot, second.get(0));
+        assertEquals(3, snapshot.value(ACTIVE).asInt());
+        assertEquals(7, snapshot.value(AVAILABLE).asInt());
+        assertEquals(12, snapshot.value(HITS).asInt());
+        assertEquals(3, snapshot.samples(ACTIVE).last(), 0);
+
+        timers.get(0).run();
+        responses.get(1).succeed(pool(4, 6), jdbc(13));
+        assertEquals(2, first.size());
+        Samples samples = first.get(1).samples(ACTIVE);
+        assertEquals(2, samples.size());
+        assertEquals(3, samples.value(0), 0);
+        assertEquals(4, samples.value(1), 0);
+    }
+
+    @Test
+    public void failedStep() {
+        List<MetricsSnapshot> snapshots = new ArrayList<>();
+        metrics.register(snapshots::add, ACTIVE, HITS);
+        ModelNode failed = new ModelNode();
+        failed.get(OUTCOME).set(FAILED);
+        failed.get(FAILURE_DESCRIPTION).set("not found");
+        responses.get(0).succeed(pool(3, 7), failed);
+
+        MetricsSnapshot snapshot = snapshots.get(0);
+        assertEquals(3, snapshot.value(ACTIVE).asInt());
+        assertFalse(snapshot.resource(JDBC).isDefined());
+        assertFalse(snapshot.value(HITS).isDefined());
+        assertTrue(snapshot.samples(HITS).isEmpty());
+    }
+
+    @Test
+    public void failedPoll() {
+        List<MetricsSnapshot> snapshots = new ArrayList<>();
+        metrics.register(snapshots::add, ACTIVE);
+        responses.get(0).fail("error");
+
+        // no snapshot, but the next poll is scheduled
+        assertTrue(snapshots.isEmpty());
+        assertEquals(1, timers.size());
+    }
+
+    @Test
+    public void pollTime() {
+        metrics.register(snapshot -> {}, ACTIVE);
+        assertTrue(timers.isEmpty());
+        responses.get(0).succeed(pool(1, 2));
+        assertEquals(1, timers.size());
+        assertEquals(5000, (int) delays.get(0));
+
+        timers.get(0).run();
+        assertEquals(2, composites.size());
+    }
+
+    @Test
+    public void pollDisabled() {
+        when(poll.asBoolean()).thenReturn(false);
+        metrics.register(snapshot -> {}, ACTIVE);
+        responses.get(0).succeed(pool(1, 2));
+        assertTrue(timers.isEmpty());
+
+        // read only on demand
+        metrics.poll();
+        assertEquals(2, composites.size());
+        responses.get(1).succeed(pool(1, 2));
+        assertTrue(timers.isEmpty());
+    }
+
+    @Test
+    public void pollInFlight() {
+        metrics.register(snapshot -> {}, ACTIVE);
+        metrics.poll();
+        assertEquals(1, composites.size());
+    }
+
+    @Test
+    public void removeRegistration() {
+        HandlerRegistration first = metrics.register(snapshot -> {}, ACTIVE);
+        responses.get(0).succeed(pool(1, 2));
+        HandlerRegistration second = metrics.register(snapshot -> {}, HITS);
+        responses.get(1).succeed(pool(1, 2), jdbc(3));
+        assertEquals(1, stoppedTimers);
+
+        first.removeHandler();
+        assertEquals(1, stoppedTimers);
+        timers.get(timers.size() - 1).run();
+        assertEquals(1, operations(composites.get(2)).size());
+        assertEquals(JDBC, operations(composites.get(2)).get(0).getAddress());
+        responses.get(2).succeed(jdbc(3));
+
+        // the timer is cancelled as soon as the last registration is removed
+        second.removeHandler();
+        assertEquals(2, stoppedTimers);
+    }
+
+    private List<Operation> operations(Composite composite) {
+        List<Operation> operations = new ArrayList<>();
+        composite.forEach(operations::add);
+        return operations;
+    }
+
+    private ModelNode pool(int active, int available) {
+        ModelNode node = new ModelNode();
+        node.get(OUTCOME).set(SUCCESS);
+        node.get(RESULT).get("ActiveCount").set(active);
+        node.get(RESULT).get("AvailableCount").set(available);
+        return node;
+    }
+
+    private ModelNode jdbc(int hits) {
+        ModelNode node = new ModelNode();
+        node.get(OUTCOME).set(SUCCESS);
+        node.get(RESULT).get("PreparedStatementCacheHitCount").set(hits);
+        return node;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SamplesTest {
+
+    private Samples samples;
+
+    @Before
+    public void setUp() {
+        samples = new Samples(3);
+    }
+
+    @Test
+    public void empty() {
+        assertTrue(samples.isEmpty());
+        assertEquals(0, samples.size());
+        assertEquals(3, samples.capacity());
+        assertEquals(0, samples.values().length);
+    }
+
+    @Test
+    public void add() {
+        samples.add(1, 10);
+        samples.add(2, 20);
+        assertEquals(2, samples.size());
+        assertEquals(10, samples.value(0), 0);
+        assertEquals(20, samples.last(), 0);
+        assertEquals(2, samples.timestamp(1));
+        assertArrayEquals(new double[] { 10, 20 }, samples.values(), 0);
+    }
+
+    @Test
+    public void overwriteOldest() {
+        for (int i = 1; i <= 5; i++) {
+            samples.add(i, i * 10);
+        }
+        assertEquals(3, samples.size());
+        assertEquals(3, samples.timestamp(0));
+        assertEquals(50, samples.last(), 0);
+        assertArrayEquals(new double[] { 30, 40, 50 }, samples.values(), 0);
+    }
+
+    @Test
+    public void minMax() {
+        samples.add(1, 5);
+        samples.add(2, -1);
+        samples.add(3, 7);
+        samples.add(4, 2);
+        assertEquals(-1, samples.min(), 0);
+        assertEquals(7, samples.max(), 0);
+    }
+
+    @Test
+    public void clear() {
+        samples.add(1, 10);
+        samples.clear();
+        assertTrue(samples.isEmpty());
+        samples.add(2, 20);
+        assertArrayEquals(new double[] { 20 }, samples.values(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfBounds() {
+        samples.add(1, 10);
+        samples.value(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacity() {
+        new Samples(0);
+    }
+}
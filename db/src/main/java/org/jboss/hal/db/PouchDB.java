@@ -116,4 +116,9 @@ public class PouchDB {
 
     @JsMethod
     native Promise<JsArray<BulkDocsSingleUnionType>> bulkDocs(JsArray<Document> documents);
+
+    // ------------------------------------------------------ destroy
+
+    /** Deletes the database including all documents. */
+    public native Promise<Object> destroy();
 }
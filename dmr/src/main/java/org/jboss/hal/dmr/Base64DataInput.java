@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.core.Uint8Array;
+
+/**
+ * Reads the DMR encoded representation of a {@link ModelNode} directly from base64 encoded characters. The characters are
+ * decoded on demand, three bytes at a time, so neither a decoded string nor a byte array of the whole payload is created.
+ * Whitespace (including line breaks) is ignored.
+ * <p>
+ * Use {@link #of(ArrayBuffer)} to read the body of an {@code application/dmr-encoded} response as returned by
+ * {@code Response.arrayBuffer()}.
+ */
+abstract class Base64DataInput extends DataInput {
+
+    private static final int[] SEXTETS = new int[128];
+    private static final int INVALID = -1;
+    private static final int PADDING = -2;
+
+    static {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < SEXTETS.length; i++) {
+            SEXTETS[i] = INVALID;
+        }
+        for (int i = 0; i < alphabet.length(); i++) {
+            SEXTETS[alphabet.charAt(i)] = i;
+        }
+        SEXTETS['='] = PADDING;
+    }
+
+    /** Reads from the base64 characters in the given array buffer using one {@link Uint8Array} view. */
+    static Base64DataInput of(ArrayBuffer buffer) {
+        Uint8Array view = new Uint8Array(buffer);
+        int length = view.length;
+        return new Base64DataInput() {
+            @Override
+            int length() {
+                return length;
+            }
+
+            @Override
+            int charAt(int index) {
+                return view.getAt(index).intValue();
+            }
+        };
+    }
+
+    /** Reads from the base64 characters in the given array (one character per byte). */
+    static Base64DataInput of(byte[] encoded) {
+        return new Base64DataInput() {
+            @Override
+            int length() {
+                return encoded.length;
+            }
+
+            @Override
+            int charAt(int index) {
+                return encoded[index] & 0xFF;
+            }
+        };
+    }
+
+    private int pos;
+    private int buffer;
+    private int buffered;
+    private boolean eof;
+
+    Base64DataInput() {
+        this.pos = 0;
+        this.buffer = 0;
+        this.buffered = 0;
+        this.eof = false;
+    }
+
+    /** @return the number of base64 characters */
+    abstract int length();
+
+    /** @return the base64 character at the given index */
+    abstract int charAt(int index);
+
+    @Override
+    int read() {
+        if (buffered == 0 && !fill()) {
+            return -1;
+        }
+        buffered--;
+        return (buffer >>> (buffered * 8)) & 0xFF;
+    }
+
+    /** Decodes the next quantum of four characters into up to three bytes. */
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        int quantum = 0;
+        int sextets = 0;
+        int padding = 0;
+        int length = length();
+        while (sextets + padding < 4 && pos < length) {
+            int c = charAt(pos++);
+            if (c <= ' ') {
+                continue;
+            }
+            int sextet = c < SEXTETS.length ? SEXTETS[c] : INVALID;
+            if (sextet == INVALID) {
+                throw new IllegalArgumentException("Invalid base64 character '" + (char) c + "' at " + (pos - 1));
+            } else if (sextet == PADDING) {
+                padding++;
+            } else if (padding > 0) {
+                throw new IllegalArgumentException("Invalid base64 padding at " + (pos - 1));
+            } else {
+                quantum = (quantum << 6) | sextet;
+                sextets++;
+            }
+        }
+        if (padding > 0 || pos >= length) {
+            eof = true;
+        }
+        switch (sextets) {
+            case 0:
+                return false;
+            case 1:
+                throw new IllegalArgumentException("Truncated base64 input");
+            case 2:
+                buffer = quantum >> 4;
+                buffered = 1;
+                return true;
+            case 3:
+                buffer = quantum >> 2;
+                buffered = 2;
+                return true;
+            default:
+                buffer = quantum;
+                buffered = 3;
+                return true;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/** Reads the DMR encoded representation of a {@link ModelNode} from a byte array. */
+class ByteArrayDataInput extends DataInput {
+
+    private final byte[] bytes;
+    private int pos = 0;
+
+    ByteArrayDataInput(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    int read() {
+        if (pos >= bytes.length) {
+            return -1;
+        }
+        return bytes[pos++] & 0xFF;
+    }
+}
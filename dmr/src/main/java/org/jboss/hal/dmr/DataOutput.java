@@ -15,110 +15,130 @@
  */
 package org.jboss.hal.dmr;
 
-import com.google.common.base.Charsets;
-
-import elemental2.core.ArrayBuffer;
-import elemental2.core.DataView;
-import elemental2.core.Int8Array;
-import elemental2.core.JsArray;
-
-class DataOutput {
-
-    private final JsArray<Byte> bytes;
-
-    DataOutput() {
-        bytes = new JsArray<>();
+/**
+ * Writes the DMR encoded representation of a {@link ModelNode}. Subclasses store the bytes by implementing
+ * {@link #write(int)} and provide access to the written bytes using {@link #size()} and {@link #get(int)}.
+ */
+abstract class DataOutput {
+
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+            .toCharArray();
+
+    /** Writes the eight low-order bits of the given value. */
+    abstract void write(int b);
+
+    /** @return the number of bytes written so far */
+    abstract int size();
+
+    /** @return the written byte at the given index as unsigned value */
+    abstract int get(int index);
+
+    /**
+     * Writes the base64 encoded characters of the bytes written so far to the given target (one character per byte).
+     *
+     * @return the target
+     */
+    <T extends DataOutput> T base64(T target) {
+        int size = size();
+        int i = 0;
+        for (; i + 2 < size; i += 3) {
+            int quantum = (get(i) << 16) | (get(i + 1) << 8) | get(i + 2);
+            target.write(ALPHABET[quantum >>> 18]);
+            target.write(ALPHABET[(quantum >>> 12) & 0x3F]);
+            target.write(ALPHABET[(quantum >>> 6) & 0x3F]);
+            target.write(ALPHABET[quantum & 0x3F]);
+        }
+        int remaining = size - i;
+        if (remaining == 1) {
+            int quantum = get(i) << 16;
+            target.write(ALPHABET[quantum >>> 18]);
+            target.write(ALPHABET[(quantum >>> 12) & 0x3F]);
+            target.write('=');
+            target.write('=');
+        } else if (remaining == 2) {
+            int quantum = (get(i) << 16) | (get(i + 1) << 8);
+            target.write(ALPHABET[quantum >>> 18]);
+            target.write(ALPHABET[(quantum >>> 12) & 0x3F]);
+            target.write(ALPHABET[(quantum >>> 6) & 0x3F]);
+            target.write('=');
+        }
+        return target;
     }
 
-    @Override
-    public String toString() {
-        int length = bytes.getLength();
-        byte[] array = new byte[length];
-        for (int i = 0; i < length; i++) {
-            array[i] = bytes.getAt(i);
-        }
-        return new String(array, Charsets.ISO_8859_1);
+    /** @return the number of base64 characters needed to encode the bytes written so far */
+    int base64Length() {
+        return 4 * ((size() + 2) / 3);
     }
 
     // ------------------------------------------------------ write a-z
 
     void write(byte[] bits) {
         for (int i = 0; i < bits.length; i++) {
-            bytes.push(bits[i]);
-        }
-    }
-
-    private void write(byte[] b, int off, int len) {
-        for (int i = 0; i < len; i++) {
-            bytes.push(b[off + i]);
+            write(bits[i]);
         }
     }
 
     void writeBoolean(boolean v) {
-        bytes.push(v ? (byte) 1 : (byte) 0);
+        write(v ? 1 : 0);
     }
 
     void writeByte(int v) {
-        bytes.push((byte) v);
+        write(v);
     }
 
     void writeChar(int v) {
-        bytes.push((byte) (v >>> 8));
-        bytes.push((byte) (v & 0xFF));
+        write(v >>> 8);
+        write(v);
     }
 
     void writeDouble(double v) {
-        ArrayBuffer buffer = new ArrayBuffer(8);
-        Int8Array array = new Int8Array(buffer);
-        DataView view = new DataView(buffer);
-        view.setFloat64(0, v);
-        for (int i = 0; i < array.getLength(); i++) {
-            bytes.push(array.getAt(i).byteValue());
-        }
+        writeLong(Double.doubleToLongBits(v));
     }
 
     void writeInt(int v) {
-        bytes.push((byte) (v >>> 24));
-        bytes.push((byte) ((v >>> 16) & 0xFF));
-        bytes.push((byte) ((v >>> 8) & 0xFF));
-        bytes.push((byte) (v & 0xFF));
+        write(v >>> 24);
+        write(v >>> 16);
+        write(v >>> 8);
+        write(v);
     }
 
     void writeLong(long v) {
-        bytes.push((byte) (v >>> 56));
-        bytes.push((byte) ((v >>> 48) & 0xFF));
-        bytes.push((byte) ((v >>> 40) & 0xFF));
-        bytes.push((byte) ((v >>> 32) & 0xFF));
-        bytes.push((byte) ((v >>> 24) & 0xFF));
-        bytes.push((byte) ((v >>> 16) & 0xFF));
-        bytes.push((byte) ((v >>> 8) & 0xFF));
-        bytes.push((byte) (v & 0xFF));
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
     }
 
     private void writeShort(int v) {
-        bytes.push((byte) (v >>> 8));
-        bytes.push((byte) (v & 0xFF));
+        write(v >>> 8);
+        write(v);
     }
 
     void writeUTF(String s) {
         int length = s.length();
-        byte[] bytes = new byte[length * 3];
-        int bl = 0;
+        int utfLength = 0;
         char c;
         for (int i = 0; i < length; i++) {
             c = s.charAt(i);
             if (c > 0 && c <= 0x7f) {
-                bytes[bl++] = (byte) c;
+                utfLength++;
+            } else if (c <= 0x07ff) {
+                utfLength += 2;
+            } else {
+                utfLength += 3;
+            }
+        }
+        writeShort(utfLength);
+        for (int i = 0; i < length; i++) {
+            c = s.charAt(i);
+            if (c > 0 && c <= 0x7f) {
+                write(c);
             } else if (c <= 0x07ff) {
-                bytes[bl++] = (byte) (0xc0 | 0x1f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                write(0xc0 | 0x1f & c >> 6);
+                write(0x80 | 0x3f & c);
             } else {
-                bytes[bl++] = (byte) (0xe0 | 0x0f & c >> 12);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                write(0xe0 | 0x0f & c >> 12);
+                write(0x80 | 0x3f & c >> 6);
+                write(0x80 | 0x3f & c);
             }
         }
-        writeShort(bl);
-        write(bytes, 0, bl);
     }
 }
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/**
+ * Writes the DMR encoded representation of a {@link ModelNode} into a growable array, which doubles its capacity when it's
+ * full. Subclasses provide the array and its operations.
+ * <p>
+ * {@link #toBase64String()} encodes the bytes in chunks instead of building one binary string first. The chunk size must be a
+ * multiple of three, so that the base64 encoded chunks can be concatenated.
+ *
+ * @param <A> the type of the array
+ */
+abstract class GrowableDataOutput<A> extends DataOutput {
+
+    private final int chunkSize;
+    private A array;
+    private int capacity;
+    private int size;
+
+    GrowableDataOutput(int capacity, int chunkSize) {
+        if (chunkSize <= 0 || chunkSize % 3 != 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive multiple of three: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.capacity = Math.max(capacity, 1);
+        this.array = allocate(this.capacity);
+        this.size = 0;
+    }
+
+    /** @return a new array with the given capacity */
+    abstract A allocate(int capacity);
+
+    /** Copies the first {@code length} bytes of {@code from} to the start of {@code to}. */
+    abstract void copy(A from, A to, int length);
+
+    abstract void set(A array, int index, int b);
+
+    abstract int get(A array, int index);
+
+    /** @return the base64 encoded characters of the bytes from {@code start} (inclusive) to {@code end} (exclusive) */
+    abstract String encode(A array, int start, int end);
+
+    @Override
+    void write(int b) {
+        if (size == capacity) {
+            A grown = allocate(2 * capacity);
+            copy(array, grown, size);
+            array = grown;
+            capacity = 2 * capacity;
+        }
+        set(array, size++, b & 0xFF);
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    int get(int index) {
+        return get(array, index);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    A array() {
+        return array;
+    }
+
+    /** @return the base64 encoded characters of the bytes written so far */
+    String toBase64String() {
+        StringBuilder builder = new StringBuilder(base64Length());
+        for (int i = 0; i < size; i += chunkSize) {
+            builder.append(encode(array, i, Math.min(i + chunkSize, size)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.core.Int32Array;
+import elemental2.core.Uint8Array;
+
+/**
+ * The DMR encoded representation of a {@link ModelNode} together with an index of its objects, lists and properties. The
+ * index holds the start and end offsets of these nodes in ascending order of their start offsets. It's used to skip nodes
+ * which are not accessed, so that a node can be read lazily one level at a time (see {@link LazyModelValue}).
+ * <p>
+ * Use {@link #of(ArrayBuffer, ArrayBuffer, ArrayBuffer)} for the buffers transferred from the DMR worker defined in
+ * {@code app/src/web/script/dmr-worker.js}.
+ */
+abstract class IndexedDmr {
+
+    /** Wraps the buffers using one {@link Uint8Array} and two {@link Int32Array} views. */
+    static IndexedDmr of(ArrayBuffer bytes, ArrayBuffer offsets, ArrayBuffer ends) {
+        Uint8Array bytesView = new Uint8Array(bytes);
+        Int32Array offsetsView = new Int32Array(offsets);
+        Int32Array endsView = new Int32Array(ends);
+        int length = bytesView.length;
+        int size = offsetsView.length;
+        return new IndexedDmr() {
+            @Override
+            int length() {
+                return length;
+            }
+
+            @Override
+            int byteAt(int index) {
+                return bytesView.getAt(index).intValue();
+            }
+
+            @Override
+            int size() {
+                return size;
+            }
+
+            @Override
+            int offset(int index) {
+                return offsetsView.getAt(index).intValue();
+            }
+
+            @Override
+            int end(int index) {
+                return endsView.getAt(index).intValue();
+            }
+        };
+    }
+
+    static IndexedDmr of(byte[] bytes, int[] offsets, int[] ends) {
+        return new IndexedDmr() {
+            @Override
+            int length() {
+                return bytes.length;
+            }
+
+            @Override
+            int byteAt(int index) {
+                return bytes[index] & 0xFF;
+            }
+
+            @Override
+            int size() {
+                return offsets.length;
+            }
+
+            @Override
+            int offset(int index) {
+                return offsets[index];
+            }
+
+            @Override
+            int end(int index) {
+                return ends[index];
+            }
+        };
+    }
+
+    /** @return the number of bytes */
+    abstract int length();
+
+    /** @return the unsigned byte at the given index */
+    abstract int byteAt(int index);
+
+    /** @return the number of indexed nodes */
+    abstract int size();
+
+    /** @return the start offset of the indexed node with the given index */
+    abstract int offset(int index);
+
+    /** @return the end offset (exclusive) of the indexed node with the given index */
+    abstract int end(int index);
+
+    /** @return the end offset (exclusive) of the object, list or property which starts at the given offset */
+    int endOf(int offset) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = offset(middle);
+            if (value < offset) {
+                low = middle + 1;
+            } else if (value > offset) {
+                high = middle - 1;
+            } else {
+                return end(middle);
+            }
+        }
+        throw new IllegalStateException("No indexed node at offset " + offset);
+    }
+
+    /** @return the type of the node which starts at the given offset */
+    ModelType typeAt(int offset) {
+        return ModelType.forChar((char) byteAt(offset));
+    }
+
+    Input input(int position) {
+        return new Input(position);
+    }
+
+    /** Reads from a position which can be moved to skip nodes. */
+    class Input extends DataInput {
+
+        private int pos;
+
+        private Input(int pos) {
+            this.pos = pos;
+        }
+
+        @Override
+        int read() {
+            if (pos >= length()) {
+                return -1;
+            }
+            return byteAt(pos++);
+        }
+
+        int position() {
+            return pos;
+        }
+
+        /** Reads the node at the current position. Objects, lists and properties are skipped and read lazily. */
+        ModelNode readNode() {
+            ModelType type = typeAt(pos);
+            if (type == ModelType.OBJECT || type == ModelType.LIST || type == ModelType.PROPERTY) {
+                ModelNode node = new ModelNode(new LazyModelValue(IndexedDmr.this, pos));
+                pos = endOf(pos);
+                return node;
+            }
+            ModelNode node = new ModelNode();
+            node.readExternal(this);
+            return node;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An object, list or property which is read from an {@link IndexedDmr} when it's accessed for the first time. Only the
+ * direct children are read. Nested objects, lists and properties are again lazy values. All methods delegate to the value
+ * read on first access.
+ * <p>
+ * As long as the value has not been read, copying and protecting the value is cheap: The copy is just another lazy value
+ * for the same offset, and the protected value is protected when it's read.
+ */
+final class LazyModelValue extends ModelValue {
+
+    private final IndexedDmr dmr;
+    private final int offset;
+    private final boolean protect;
+    private ModelValue value;
+
+    LazyModelValue(IndexedDmr dmr, int offset) {
+        this(dmr, offset, false);
+    }
+
+    private LazyModelValue(IndexedDmr dmr, int offset, boolean protect) {
+        super(dmr.typeAt(offset));
+        this.dmr = dmr;
+        this.offset = offset;
+        this.protect = protect;
+    }
+
+    static ModelValue unwrap(ModelValue value) {
+        return value instanceof LazyModelValue ? ((LazyModelValue) value).value() : value;
+    }
+
+    ModelValue value() {
+        if (value == null) {
+            IndexedDmr.Input in = dmr.input(offset + 1);
+            switch (getType()) {
+                case OBJECT:
+                    int size = in.readInt();
+                    LinkedHashMap<String, ModelNode> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        String key = in.readUTF();
+                        map.put(key, in.readNode());
+                    }
+                    value = new ObjectModelValue(map);
+                    break;
+                case LIST:
+                    int count = in.readInt();
+                    List<ModelNode> list = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        list.add(in.readNode());
+                    }
+                    value = new ListModelValue(list);
+                    break;
+                case PROPERTY:
+                    String name = in.readUTF();
+                    value = new PropertyModelValue(name, in.readNode());
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected lazy type " + getType());
+            }
+            if (protect) {
+                value = value.protect();
+            }
+        }
+        return value;
+    }
+
+    // ------------------------------------------------------ delegates
+
+    @Override
+    long asLong() {
+        return value().asLong();
+    }
+
+    @Override
+    long asLong(long defVal) {
+        return value().asLong(defVal);
+    }
+
+    @Override
+    int asInt() {
+        return value().asInt();
+    }
+
+    @Override
+    int asInt(int defVal) {
+        return value().asInt(defVal);
+    }
+
+    @Override
+    boolean asBoolean() {
+        return value().asBoolean();
+    }
+
+    @Override
+    boolean asBoolean(boolean defVal) {
+        return value().asBoolean(defVal);
+    }
+
+    @Override
+    double asDouble() {
+        return value().asDouble();
+    }
+
+    @Override
+    double asDouble(double defVal) {
+        return value().asDouble(defVal);
+    }
+
+    @Override
+    byte[] asBytes() {
+        return value().asBytes();
+    }
+
+    @Override
+    BigDecimal asBigDecimal() {
+        return value().asBigDecimal();
+    }
+
+    @Override
+    BigInteger asBigInteger() {
+        return value().asBigInteger();
+    }
+
+    @Override
+    String asString() {
+        return value().asString();
+    }
+
+    @Override
+    Property asProperty() {
+        return value().asProperty();
+    }
+
+    @Override
+    List<Property> asPropertyList() {
+        return value().asPropertyList();
+    }
+
+    @Override
+    ModelNode asObject() {
+        return value().asObject();
+    }
+
+    @Override
+    ModelNode getChild(String name) {
+        return value().getChild(name);
+    }
+
+    @Override
+    ModelNode removeChild(String name) {
+        return value().removeChild(name);
+    }
+
+    @Override
+    ModelNode getChild(int index) {
+        return value().getChild(index);
+    }
+
+    @Override
+    ModelNode addChild() {
+        return value().addChild();
+    }
+
+    @Override
+    Set<String> getKeys() {
+        return value().getKeys();
+    }
+
+    @Override
+    List<ModelNode> asList() {
+        return value().asList();
+    }
+
+    @Override
+    ModelType asType() {
+        return value().asType();
+    }
+
+    @Override
+    ModelValue protect() {
+        if (value == null) {
+            return protect ? this : new LazyModelValue(dmr, offset, true);
+        }
+        return value.protect();
+    }
+
+    @Override
+    ModelValue copy() {
+        // the encoded bytes never change: an unread value can be copied by reading it again
+        return value == null ? new LazyModelValue(dmr, offset) : value.copy();
+    }
+
+    @Override
+    ModelValue resolve() {
+        return value().resolve();
+    }
+
+    @Override
+    void writeExternal(DataOutput out) {
+        value().writeExternal(out);
+    }
+
+    @Override
+    boolean has(int index) {
+        return value().has(index);
+    }
+
+    @Override
+    boolean has(String key) {
+        return value().has(key);
+    }
+
+    @Override
+    ModelNode requireChild(String name) throws NoSuchElementException {
+        return value().requireChild(name);
+    }
+
+    @Override
+    ModelNode requireChild(int index) throws NoSuchElementException {
+        return value().requireChild(index);
+    }
+
+    @Override
+    void format(StringBuilder builder, int indent, boolean multiLine) {
+        value().format(builder, indent, multiLine);
+    }
+
+    @Override
+    void formatAsJSON(StringBuilder builder, int indent, boolean multiLine) {
+        value().formatAsJSON(builder, indent, multiLine);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ModelValue && value().equals(unwrap((ModelValue) other));
+    }
+
+    @Override
+    public int hashCode() {
+        return value().hashCode();
+    }
+}
@@ -22,12 +22,33 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
+ * A list value. Copies of {@linkplain #protect() protected} values are copy-on-write the same way as
+ * {@link ObjectModelValue}: They share the protected list until they're written and replace shared children by private
+ * copies when they're accessed.
+ *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 class ListModelValue extends ModelValue {
 
     public static final ModelNode[] NO_NODES = new ModelNode[0];
-    private final List<ModelNode> list;
+
+    /** Creates a copy-on-write value which shares the specified protected list. */
+    private static ListModelValue share(List<ModelNode> list) {
+        ListModelValue value = new ListModelValue(list);
+        value.shared = list;
+        return value;
+    }
+
+    /** Creates a protected value for the specified unmodifiable list of protected nodes. */
+    private static ListModelValue frozen(List<ModelNode> list) {
+        ListModelValue value = new ListModelValue(list);
+        value.frozen = true;
+        return value;
+    }
+
+    private List<ModelNode> list;
+    private List<ModelNode> shared; // the protected list this value is a copy of
+    private boolean frozen; // the list is unmodifiable and contains protected nodes only
 
     ListModelValue() {
         super(ModelType.LIST);
@@ -68,11 +89,35 @@ class ListModelValue extends ModelValue {
 
     @Override
     ModelValue protect() {
+        if (frozen) {
+            return this;
+        }
+        if (list == shared) {
+            return frozen(shared);
+        }
         List<ModelNode> list = this.list;
         for (ModelNode node : list) {
             node.protect();
         }
-        return list.getClass() == ArrayList.class ? new ListModelValue(Collections.unmodifiableList(list)) : this;
+        return list.getClass() == ArrayList.class ? frozen(Collections.unmodifiableList(list)) : this;
+    }
+
+    /** Replaces the shared list by a private one before the list is modified. */
+    private List<ModelNode> writableList() {
+        if (list == shared) {
+            list = new ArrayList<>(shared);
+        }
+        return list;
+    }
+
+    /** Replaces a child which is still shared with the original value by a private copy. */
+    private ModelNode own(int index, ModelNode node) {
+        if (shared != null && index < shared.size() && node == shared.get(index)) {
+            ModelNode copy = node.clone();
+            list.set(index, copy);
+            return copy;
+        }
+        return node;
     }
 
     @Override
@@ -117,7 +162,8 @@ class ListModelValue extends ModelValue {
     @Override
     List<Property> asPropertyList() {
         List<Property> propertyList = new ArrayList<>();
-        Iterator<ModelNode> i = list.iterator();
+        // property nodes return their property as is: use private copies of the shared nodes
+        Iterator<ModelNode> i = asList().iterator();
         while (i.hasNext()) {
             ModelNode node = i.next();
             if (node.getType() == ModelType.PROPERTY) {
@@ -149,30 +195,43 @@ class ListModelValue extends ModelValue {
 
     @Override
     ModelNode getChild(int index) {
-        List<ModelNode> list = this.list;
+        List<ModelNode> list = writableList();
         int size = list.size();
         if (size <= index) {
             for (int i = 0; i < index - size + 1; i++) {
                 list.add(new ModelNode());
             }
         }
-        return list.get(index);
+        return own(index, list.get(index));
     }
 
     @Override
     ModelNode addChild() {
         ModelNode node = new ModelNode();
-        list.add(node);
+        writableList().add(node);
         return node;
     }
 
     @Override
     List<ModelNode> asList() {
+        if (shared != null) {
+            // the returned nodes can be modified: replace the shared ones
+            List<ModelNode> list = writableList();
+            for (int i = 0; i < list.size(); i++) {
+                own(i, list.get(i));
+            }
+        }
         return Collections.unmodifiableList(list);
     }
 
     @Override
     ModelValue copy() {
+        if (frozen) {
+            return share(list);
+        }
+        if (list == shared) {
+            return share(shared);
+        }
         return new ListModelValue(this);
     }
 
@@ -195,7 +254,6 @@ class ListModelValue extends ModelValue {
     @Override
     void format(StringBuilder builder, int indent, boolean multiLineRequested) {
         boolean multiLine = multiLineRequested && list.size() > 1;
-        List<ModelNode> list = asList();
         Iterator<ModelNode> iterator = list.iterator();
         builder.append('[');
         if (multiLine) {
@@ -221,7 +279,6 @@ class ListModelValue extends ModelValue {
     @Override
     void formatAsJSON(StringBuilder builder, int indent, boolean multiLineRequested) {
         boolean multiLine = multiLineRequested && list.size() > 1;
-        List<ModelNode> list = asList();
         Iterator<ModelNode> iterator = list.iterator();
         builder.append('[');
         if (multiLine) {
@@ -280,7 +337,12 @@ class ListModelValue extends ModelValue {
     @Override
     ModelNode requireChild(int index) throws NoSuchElementException {
         try {
-            return list.get(index);
+            ModelNode node = list.get(index);
+            if (shared != null) {
+                writableList();
+                return own(index, node);
+            }
+            return node;
         } catch (IndexOutOfBoundsException ignored) {
             return super.requireChild(index);
         }
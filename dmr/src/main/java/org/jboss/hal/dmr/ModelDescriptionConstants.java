@@ -261,6 +261,7 @@ public interface ModelDescriptionConstants {
     String DEPLOYMENT_PERMISSIONS = "deployment-permissions";
     String DEPLOYMENT_SCANNER = "deployment-scanner";
     String DEPRECATED = "deprecated";
+    String DEPTH = "depth";
     String DESCRIPTION = "description";
     String DESTINATION = "destination";
     String DESTINATION_ADDRESS = "destination-address";
@@ -900,6 +901,7 @@ public interface ModelDescriptionConstants {
     String SINGLETON = "singleton";
     String SIZE_ROTATING_FILE_AUDIT_LOG = "size-rotating-file-audit-log";
     String SIZE_ROTATING_FILE_HANDLER = "size-rotating-file-handler";
+    String SKIP = "skip";
     String SMTP = "smtp";
     String SOCKET_BINDING = "socket-binding";
     String SOCKET_BINDING_DEFAULT_INTERFACE = "socket-binding-default-interface";
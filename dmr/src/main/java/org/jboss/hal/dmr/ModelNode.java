@@ -25,6 +25,9 @@ import java.util.Set;
 
 import com.google.common.base.CharMatcher;
 
+import elemental2.core.ArrayBuffer;
+import elemental2.core.Uint8Array;
+
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
@@ -48,10 +51,39 @@ public class ModelNode implements Cloneable {
         String safeEncoded = CharMatcher.breakingWhitespace().removeFrom(encoded);
         ModelNode node = new ModelNode();
         String decoded = Base64.decode(safeEncoded);
-        node.readExternal(new DataInput(toBytes(decoded)));
+        node.readExternal(new ByteArrayDataInput(toBytes(decoded)));
+        return node;
+    }
+
+    /**
+     * Creates a new node from a buffer containing base64 encoded characters as returned by {@code Response.arrayBuffer()}.
+     * The characters are decoded while the node is read, without creating intermediate strings or byte arrays.
+     *
+     * @param encoded The buffer with the base64 encoded characters.
+     *
+     * @return the new model node
+     */
+    public static ModelNode fromBase64(ArrayBuffer encoded) {
+        ModelNode node = new ModelNode();
+        node.readExternal(Base64DataInput.of(encoded));
         return node;
     }
 
+    /**
+     * Creates a new node from the DMR encoded bytes and the index of its objects, lists and properties as transferred from
+     * the DMR worker. Objects, lists and properties are read lazily when they're accessed for the first time.
+     *
+     * @param bytes The DMR encoded bytes.
+     * @param offsets The start offsets of all objects, lists and properties in ascending order (32-bit integers).
+     * @param ends The end offsets of all objects, lists and properties in the same order as {@code offsets} (32-bit
+     *        integers).
+     *
+     * @return the new model node
+     */
+    public static ModelNode fromIndexed(ArrayBuffer bytes, ArrayBuffer offsets, ArrayBuffer ends) {
+        return IndexedDmr.of(bytes, offsets, ends).input(0).readNode();
+    }
+
     private static native byte[] toBytes(String str) /*-{
         var bytes = [];
         for (var i = 0; i < str.length; ++i) {
@@ -1288,9 +1320,21 @@ public class ModelNode implements Cloneable {
     }
 
     public String toBase64String() {
-        DataOutput out = new DataOutput();
+        Uint8ArrayDataOutput out = new Uint8ArrayDataOutput();
+        writeExternal(out);
+        return out.toBase64String();
+    }
+
+    /**
+     * Get the base64 encoded binary representation of this model node as array of characters (one character per byte). Use
+     * this method to send the node as body of a request w/o creating intermediate strings.
+     *
+     * @return the base64 encoded characters
+     */
+    public Uint8Array toBase64Array() {
+        Uint8ArrayDataOutput out = new Uint8ArrayDataOutput();
         writeExternal(out);
-        return Base64.encode(out.toString());
+        return out.toBase64();
     }
 
     /**
@@ -1325,7 +1369,7 @@ public class ModelNode implements Cloneable {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(ModelNode other) {
-        return this == other || other != null && other.value.equals(value);
+        return this == other || other != null && LazyModelValue.unwrap(other.value).equals(LazyModelValue.unwrap(value));
     }
 
     /**
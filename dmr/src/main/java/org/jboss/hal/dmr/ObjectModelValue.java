@@ -25,18 +25,39 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * An object value. Copies of {@linkplain #protect() protected} values are copy-on-write: They share the protected map until
+ * they're written. The first write replaces the shared map with a private one, which still references the protected children.
+ * Children are replaced by private copies when they're accessed for the first time. Since copies of protected children are
+ * again copy-on-write, only the path to a modified child is actually copied.
+ *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 class ObjectModelValue extends ModelValue {
 
-    private final Map<String, ModelNode> map;
+    /** Creates a copy-on-write value which shares the specified protected map. */
+    private static ObjectModelValue share(Map<String, ModelNode> map) {
+        ObjectModelValue value = new ObjectModelValue(map);
+        value.shared = map;
+        return value;
+    }
+
+    /** Creates a protected value for the specified unmodifiable map of protected nodes. */
+    private static ObjectModelValue frozen(Map<String, ModelNode> map) {
+        ObjectModelValue value = new ObjectModelValue(map);
+        value.frozen = true;
+        return value;
+    }
+
+    private Map<String, ModelNode> map;
+    private Map<String, ModelNode> shared; // the protected map this value is a copy of
+    private boolean frozen; // the map is unmodifiable and contains protected nodes only
 
     ObjectModelValue() {
         super(ModelType.OBJECT);
         map = new LinkedHashMap<>();
     }
 
-    private ObjectModelValue(Map<String, ModelNode> map) {
+    ObjectModelValue(Map<String, ModelNode> map) {
         super(ModelType.OBJECT);
         this.map = map;
     }
@@ -67,11 +88,35 @@ class ObjectModelValue extends ModelValue {
 
     @Override
     ModelValue protect() {
+        if (frozen) {
+            return this;
+        }
+        if (map == shared) {
+            return frozen(shared);
+        }
         Map<String, ModelNode> map = this.map;
         for (ModelNode node : map.values()) {
             node.protect();
         }
-        return map.getClass() == LinkedHashMap.class ? new ObjectModelValue(Collections.unmodifiableMap(map)) : this;
+        return map.getClass() == LinkedHashMap.class ? frozen(Collections.unmodifiableMap(map)) : this;
+    }
+
+    /** Replaces the shared map by a private one before the map is modified. */
+    private Map<String, ModelNode> writableMap() {
+        if (map == shared) {
+            map = new LinkedHashMap<>(shared);
+        }
+        return map;
+    }
+
+    /** Replaces a child which is still shared with the original value by a private copy. */
+    private ModelNode own(String name, ModelNode node) {
+        if (shared != null && node == shared.get(name)) {
+            ModelNode copy = node.clone();
+            map.put(name, copy);
+            return copy;
+        }
+        return node;
     }
 
     @Override
@@ -84,9 +129,10 @@ class ObjectModelValue extends ModelValue {
         if (name == null) {
             return null;
         }
+        Map<String, ModelNode> map = writableMap();
         ModelNode node = map.get(name);
         if (node != null) {
-            return node;
+            return own(name, node);
         }
         ModelNode newNode = new ModelNode();
         map.put(name, newNode);
@@ -98,7 +144,11 @@ class ObjectModelValue extends ModelValue {
         if (name == null) {
             return null;
         }
-        return map.remove(name);
+        ModelNode node = writableMap().remove(name);
+        if (node != null && shared != null && node == shared.get(name)) {
+            return node.clone();
+        }
+        return node;
     }
 
     @Override
@@ -151,6 +201,12 @@ class ObjectModelValue extends ModelValue {
 
     @Override
     ModelValue copy() {
+        if (frozen) {
+            return share(map);
+        }
+        if (map == shared) {
+            return share(shared);
+        }
         return copy(false);
     }
 
@@ -283,6 +339,10 @@ class ObjectModelValue extends ModelValue {
     ModelNode requireChild(String name) throws NoSuchElementException {
         ModelNode node = map.get(name);
         if (node != null) {
+            if (shared != null) {
+                writableMap();
+                return own(name, node);
+            }
             return node;
         }
         return super.requireChild(name);
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import elemental2.core.Uint8Array;
+import jsinterop.annotations.JsMethod;
+import jsinterop.base.Js;
+
+/**
+ * Writes the DMR encoded representation of a {@link ModelNode} into a growable {@link Uint8Array}. The bytes are written
+ * straight into the array, which doubles its capacity when it's full.
+ * <p>
+ * Use {@link #toBase64()} to get the base64 encoded characters as array which can be used as body of a {@code fetch}
+ * request, or {@link #toBase64String()} to get them as string. The latter uses {@code btoa()} in chunks.
+ */
+class Uint8ArrayDataOutput extends GrowableDataOutput<Uint8Array> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int CHUNK_SIZE = 3 * 4096;
+
+    @JsMethod(namespace = "String", name = "fromCharCode")
+    static native String fromCharCode(double... codes);
+
+    Uint8ArrayDataOutput() {
+        this(INITIAL_CAPACITY);
+    }
+
+    Uint8ArrayDataOutput(int capacity) {
+        super(capacity, CHUNK_SIZE);
+    }
+
+    @Override
+    Uint8Array allocate(int capacity) {
+        return new Uint8Array(capacity);
+    }
+
+    @Override
+    void copy(Uint8Array from, Uint8Array to, int length) {
+        to.set(from.subarray(0, length));
+    }
+
+    @Override
+    void set(Uint8Array array, int index, int b) {
+        array.setAt(index, (double) b);
+    }
+
+    @Override
+    int get(Uint8Array array, int index) {
+        return array.getAt(index).intValue();
+    }
+
+    @Override
+    String encode(Uint8Array array, int start, int end) {
+        return Base64.encode(fromCharCode(Js.<double[]> uncheckedCast(array.subarray(start, end))));
+    }
+
+    /** @return a view of the bytes written so far (w/o copying them) */
+    Uint8Array bytes() {
+        return array().subarray(0, size());
+    }
+
+    /** @return the base64 encoded characters of the bytes written so far (one character per byte) */
+    Uint8Array toBase64() {
+        return base64(new Uint8ArrayDataOutput(base64Length())).bytes();
+    }
+}
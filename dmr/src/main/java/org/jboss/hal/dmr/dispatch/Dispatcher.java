@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 
@@ -47,8 +48,10 @@ import org.jboss.hal.dmr.macro.RecordingEvent.RecordingHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.CacheStats;
 import com.google.web.bindery.event.shared.EventBus;
 
+import elemental2.core.ArrayBuffer;
 import elemental2.dom.Blob;
 import elemental2.dom.Blob.ConstructorBlobPartsArrayUnionType;
 import elemental2.dom.BlobPropertyBag;
@@ -67,7 +70,9 @@ import static com.google.common.collect.Sets.difference;
 import static elemental2.core.Global.encodeURIComponent;
 import static elemental2.dom.DomGlobal.fetch;
 import static elemental2.dom.DomGlobal.navigator;
+import static elemental2.dom.DomGlobal.setTimeout;
 import static java.util.stream.Collectors.joining;
+import static org.jboss.hal.config.Settings.Key.COALESCE_REQUESTS;
 import static org.jboss.hal.config.Settings.Key.RUN_AS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FIND_NON_PROGRESSING_OPERATION;
@@ -108,6 +113,9 @@ public class Dispatcher implements RecordingHandler {
     private final ResponseHeadersProcessors responseHeadersProcessors;
     private final Macros macros;
     private final ErrorCallback errorCallback;
+    private final RequestCoalescer coalescer;
+    private final ResponseCache responseCache;
+    private final DmrWorkerPool workerPool;
 
     @Inject
     public Dispatcher(Environment environment, Endpoints endpoints, Settings settings,
@@ -122,6 +130,10 @@ public class Dispatcher implements RecordingHandler {
 
         this.eventBus.addHandler(RecordingEvent.getType(), this);
         this.errorCallback = (operation, error) -> logger.error("Dispatcher error: {}, operation {}", error, operation.asCli());
+        this.coalescer = new RequestCoalescer(this::send, this::sendMerged, Dispatcher::readOnlyOperation,
+                () -> macros.current() != null, task -> setTimeout(__ -> task.run(), 0), Promise::new);
+        this.responseCache = new ResponseCache();
+        this.workerPool = new DmrWorkerPool(settings);
     }
 
     // ------------------------------------------------------ execute composite
@@ -199,13 +211,69 @@ public class Dispatcher implements RecordingHandler {
      * "result" attribute.
      */
     public Promise<ModelNode> dmr(Operation operation) {
+        if (macros.current() != null) {
+            return send(operation);
+        }
+
+        ResponseCache.Key key = responseCache.key(operation);
+        if (key != null) {
+            ModelNode cached = responseCache.get(key);
+            if (cached != null) {
+                return Promise.resolve(cached);
+            }
+        } else if (!readOnlyOperation(operation)) {
+            responseCache.invalidate(operation);
+        }
+
+        Promise<ModelNode> promise = coalescing() ? coalescer.dmr(operation) : send(operation);
+        if (key != null) {
+            return promise.then(payload -> {
+                responseCache.put(key, payload);
+                return Promise.resolve(payload);
+            });
+        } else if (!readOnlyOperation(operation)) {
+            // invalidate again to drop responses of reads which have been cached while the write was in flight
+            return promise
+                    .then(payload -> {
+                        responseCache.invalidate(operation);
+                        return Promise.resolve(payload);
+                    })
+                    .catch_(error -> {
+                        responseCache.invalidate(operation);
+                        return Promise.reject(error);
+                    });
+        }
+        return promise;
+    }
+
+    /** Returns the hit and miss statistics of the cache for read-only operations. */
+    public CacheStats responseCacheStats() {
+        return responseCache.stats();
+    }
+
+    private Promise<ModelNode> send(Operation operation) {
         RequestInit init = requestInit(POST, true);
-        init.setBody(runAs(operation).toBase64String());
+        init.setBody(runAs(operation).toBase64Array());
         Request request = new Request(endpoints.dmr(), init);
 
         return fetch(request)
-                .then(processResponse())
-                .then(processText(operation, new DmrPayloadProcessor(), true))
+                .then(processBinaryResponse())
+                .then(processBuffer(operation, true))
+                .catch_(rejectWithError());
+    }
+
+    /**
+     * Sends a composite merged by the {@link RequestCoalescer}. Resolves with the payload even if the composite failed, so
+     * that the coalescer can settle the steps one by one.
+     */
+    private Promise<ModelNode> sendMerged(Composite composite) {
+        RequestInit init = requestInit(POST, true);
+        init.setBody(runAs(composite).toBase64Array());
+        Request request = new Request(endpoints.dmr(), init);
+
+        return fetch(request)
+                .then(processBinaryResponse())
+                .then(processBuffer(composite, true, false))
                 .catch_(rejectWithError());
     }
 
@@ -224,9 +292,10 @@ public class Dispatcher implements RecordingHandler {
     }
 
     public Promise<ModelNode> upload(File file, Operation operation) {
+        responseCache.invalidate(operation);
         Operation uploadOperation = runAs(operation);
         ConstructorBlobPartsArrayUnionType blob = ConstructorBlobPartsArrayUnionType.of(
-                uploadOperation.toBase64String());
+                uploadOperation.toBase64Array());
         BlobPropertyBag options = BlobPropertyBag.create();
         options.setType("application/dmr-encoded");
 
@@ -359,48 +428,97 @@ public class Dispatcher implements RecordingHandler {
 
     ThenOnFulfilledCallbackFn<Response, String> processResponse() {
         return response -> {
-            if (!response.ok && response.status != 500) {
-                return Promise.reject(statusError(response.status));
-            }
-            String contentType = response.headers.get(CONTENT_TYPE.header());
-            if (!contentType.startsWith(APPLICATION_DMR_ENCODED)) {
-                return Promise.reject(PARSE_ERROR + contentType);
+            String error = checkResponse(response);
+            if (error != null) {
+                return Promise.reject(error);
             }
             return response.text();
         };
     }
 
+    /** Reads the response body as binary in order to decode it without intermediate strings. */
+    ThenOnFulfilledCallbackFn<Response, ArrayBuffer> processBinaryResponse() {
+        return response -> {
+            String error = checkResponse(response);
+            if (error != null) {
+                return Promise.reject(error);
+            }
+            return response.arrayBuffer();
+        };
+    }
+
+    private String checkResponse(Response response) {
+        if (!response.ok && response.status != 500) {
+            return statusError(response.status);
+        }
+        String contentType = response.headers.get(CONTENT_TYPE.header());
+        if (!contentType.startsWith(APPLICATION_DMR_ENCODED)) {
+            return PARSE_ERROR + contentType;
+        }
+        return null;
+    }
+
     ThenOnFulfilledCallbackFn<String, ModelNode> processText(Operation operation, PayloadProcessor payloadProcessor,
             boolean recordOperation) {
-        return text -> {
-            if (recordOperation) {
-                recordOperation(operation);
+        return text -> processPayload(operation, recordOperation, true,
+                () -> payloadProcessor.processPayload(POST, APPLICATION_DMR_ENCODED, text));
+    }
+
+    ThenOnFulfilledCallbackFn<ArrayBuffer, ModelNode> processBuffer(Operation operation, boolean recordOperation) {
+        return processBuffer(operation, recordOperation, true);
+    }
+
+    private ThenOnFulfilledCallbackFn<ArrayBuffer, ModelNode> processBuffer(Operation operation, boolean recordOperation,
+            boolean rejectFailure) {
+        return buffer -> {
+            if (workerPool.accepts(buffer)) {
+                // large responses are decoded off the main thread, fall back to the main thread if that fails
+                return workerPool.decode(buffer, this::decode)
+                        .then(payload -> processPayload(operation, recordOperation, rejectFailure, () -> payload));
             }
-            logger.trace("DMR operation: {}", operation);
-            ModelNode payload = payloadProcessor.processPayload(POST, APPLICATION_DMR_ENCODED, text);
-            if (!payload.isFailure()) {
-                if (environment.isStandalone()) {
-                    if (payload.hasDefined(RESPONSE_HEADERS)) {
-                        Header[] headers = new Header[] { new Header(payload.get(RESPONSE_HEADERS)) };
+            return processPayload(operation, recordOperation, rejectFailure, () -> decode(buffer));
+        };
+    }
+
+    private ModelNode decode(ArrayBuffer buffer) {
+        return new DmrPayloadProcessor().processPayload(POST, APPLICATION_DMR_ENCODED, buffer);
+    }
+
+    /**
+     * Processes the response headers of successful payloads. Failed payloads are rejected with the failure description
+     * unless {@code rejectFailure == false}.
+     */
+    private Promise<ModelNode> processPayload(Operation operation, boolean recordOperation, boolean rejectFailure,
+            Supplier<ModelNode> payloadSupplier) {
+        if (recordOperation) {
+            recordOperation(operation);
+        }
+        logger.trace("DMR operation: {}", operation);
+        ModelNode payload = payloadSupplier.get();
+        if (!payload.isFailure()) {
+            if (environment.isStandalone()) {
+                if (payload.hasDefined(RESPONSE_HEADERS)) {
+                    Header[] headers = new Header[] { new Header(payload.get(RESPONSE_HEADERS)) };
+                    for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
+                        processor.process(headers);
+                    }
+                }
+            } else {
+                if (payload.hasDefined(SERVER_GROUPS)) {
+                    Header[] headers = collectHeaders(payload.get(SERVER_GROUPS));
+                    if (headers.length != 0) {
                         for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
                             processor.process(headers);
                         }
                     }
-                } else {
-                    if (payload.hasDefined(SERVER_GROUPS)) {
-                        Header[] headers = collectHeaders(payload.get(SERVER_GROUPS));
-                        if (headers.length != 0) {
-                            for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
-                                processor.process(headers);
-                            }
-                        }
-                    }
                 }
-                return Promise.resolve(payload);
-            } else {
-                return Promise.reject(payload.getFailureDescription());
             }
-        };
+            return Promise.resolve(payload);
+        } else if (rejectFailure) {
+            return Promise.reject(payload.getFailureDescription());
+        } else {
+            return Promise.resolve(payload);
+        }
     }
 
     private Header[] collectHeaders(ModelNode serverGroups) {
@@ -484,7 +602,16 @@ public class Dispatcher implements RecordingHandler {
         }
     }
 
-    private boolean readOnlyOperation(Operation operation) {
+    /**
+     * Identical read-only operations share one request and independent read-only operations issued in the same tick are
+     * merged into one composite unless turned off using {@link Settings.Key#COALESCE_REQUESTS}. Coalescing is suspended
+     * while a macro is recorded.
+     */
+    private boolean coalescing() {
+        return settings.get(COALESCE_REQUESTS).asBoolean();
+    }
+
+    private static boolean readOnlyOperation(Operation operation) {
         if (operation instanceof Composite) {
             Composite composite = (Composite) operation;
             for (Operation op : composite) {
@@ -15,9 +15,13 @@
  */
 package org.jboss.hal.dmr.dispatch;
 
+import java.util.function.Supplier;
+
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod;
 
+import elemental2.core.ArrayBuffer;
+
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod.GET;
 
@@ -25,10 +29,22 @@ public class DmrPayloadProcessor implements PayloadProcessor {
 
     @Override
     public ModelNode processPayload(final HttpMethod method, final String contentType, final String payload) {
+        return process(method, contentType, () -> ModelNode.fromBase64(payload));
+    }
+
+    /**
+     * Processes a payload containing the base64 encoded characters as returned by {@code Response.arrayBuffer()}. The
+     * payload is decoded without creating intermediate strings.
+     */
+    public ModelNode processPayload(final HttpMethod method, final String contentType, final ArrayBuffer payload) {
+        return process(method, contentType, () -> ModelNode.fromBase64(payload));
+    }
+
+    private ModelNode process(final HttpMethod method, final String contentType, final Supplier<ModelNode> decoder) {
         ModelNode node;
         if (contentType.startsWith(Dispatcher.APPLICATION_DMR_ENCODED)) {
             try {
-                node = ModelNode.fromBase64(payload);
+                node = decoder.get();
                 if (method == GET && !node.isFailure()) {
                     // For GET request the response is purely the model nodes result. The outcome
                     // is not send as part of the response but expressed with the HTTP status code.
@@ -0,0 +1,231 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.js.Browser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.core.JsArray;
+import elemental2.dom.MessageEvent;
+import elemental2.dom.Transferable;
+import elemental2.dom.Worker;
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.config.Settings.Key.DMR_WORKER_POOL_SIZE;
+import static org.jboss.hal.config.Settings.Key.DMR_WORKER_THRESHOLD;
+import static org.jboss.hal.resources.UIConstants.OBJECT;
+
+/**
+ * Decodes large DMR responses off the main thread. The base64 encoded response is posted to a worker defined in
+ * {@code app/src/web/script/dmr-worker.js}, which decodes the bytes and builds an index of all objects, lists and
+ * properties. The worker transfers both back to the main thread, where the response is turned into a {@link ModelNode}
+ * using {@link ModelNode#fromIndexed(ArrayBuffer, ArrayBuffer, ArrayBuffer)}. Nested nodes are read lazily when they're
+ * accessed for the first time.
+ * <p>
+ * The response is transferred to the worker, not copied. Only the first request to a new worker is copied, so that the
+ * response can still be decoded on the main thread if the worker fails to load. If the worker cannot decode a response, it
+ * transfers the response back and the response is decoded on the main thread.
+ * <p>
+ * Responses smaller than {@link Settings.Key#DMR_WORKER_THRESHOLD} kilobytes are decoded on the main thread. Up to
+ * {@link Settings.Key#DMR_WORKER_POOL_SIZE} workers are created on demand. A threshold or pool size of 0 turns decoding in
+ * workers off.
+ */
+class DmrWorkerPool {
+
+    // provided by app/src/web/script/index.js
+    @JsType(isNative = true, namespace = GLOBAL, name = "window")
+    static class WorkerProvider {
+
+        @JsProperty static WorkerFactory dmrWorker;
+    }
+
+    @JsFunction
+    @FunctionalInterface
+    interface WorkerFactory {
+
+        Worker create();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(DmrWorkerPool.class);
+
+    private final Settings settings;
+    private final List<Slot> slots;
+    private int counter;
+
+    DmrWorkerPool(Settings settings) {
+        this.settings = settings;
+        this.slots = new ArrayList<>();
+        this.counter = 0;
+    }
+
+    /** @return {@code true} if the response should be decoded in a worker */
+    boolean accepts(ArrayBuffer buffer) {
+        int threshold = settings.get(DMR_WORKER_THRESHOLD).asInt(Settings.DEFAULT_DMR_WORKER_THRESHOLD);
+        return threshold > 0 && poolSize() > 0 && !Browser.isIE() && WorkerProvider.dmrWorker != null
+                && buffer.byteLength >= threshold * 1024;
+    }
+
+    /**
+     * Decodes the base64 encoded response in a worker. The buffer must not be used afterwards, since it's transferred to the
+     * worker. If the worker fails to decode the response, the response is decoded on the main thread using the fallback.
+     * The promise is rejected if the response is not available anymore, because the worker failed after the buffer has been
+     * transferred.
+     */
+    Promise<ModelNode> decode(ArrayBuffer buffer, Function<ArrayBuffer, ModelNode> fallback) {
+        Slot slot = slot();
+        return new Promise<>((resolve, reject) -> {
+            DecodeRequest request = new DecodeRequest();
+            request.id = ++counter;
+            request.buffer = buffer;
+            if (slot.ready) {
+                JsArray<Transferable> transfer = new JsArray<>();
+                transfer.push(Js.<Transferable>uncheckedCast(buffer));
+                slot.pending.put(request.id, new Pending(resolve, reject, fallback, null));
+                slot.worker.postMessage(request, transfer);
+            } else {
+                // keep the buffer until the worker has answered once
+                slot.pending.put(request.id, new Pending(resolve, reject, fallback, buffer));
+                slot.worker.postMessage(request);
+            }
+        });
+    }
+
+    /** Returns the slot with the least pending requests. Creates a new worker if all workers are busy. */
+    private Slot slot() {
+        Slot idle = null;
+        for (Slot slot : slots) {
+            if (idle == null || slot.pending.size() < idle.pending.size()) {
+                idle = slot;
+            }
+        }
+        if (idle == null || (!idle.pending.isEmpty() && slots.size() < poolSize())) {
+            idle = new Slot(WorkerProvider.dmrWorker.create());
+            slots.add(idle);
+            logger.debug("Created DMR worker {} of {}", slots.size(), poolSize());
+        }
+        return idle;
+    }
+
+    private int poolSize() {
+        return settings.get(DMR_WORKER_POOL_SIZE).asInt(Settings.DEFAULT_DMR_WORKER_POOL_SIZE);
+    }
+
+    private class Slot {
+
+        private final Worker worker;
+        private final Map<Integer, Pending> pending;
+        private boolean ready;
+
+        Slot(Worker worker) {
+            this.worker = worker;
+            this.pending = new HashMap<>();
+            this.ready = false;
+            worker.addEventListener("message", event -> { // NON-NLS
+                ready = true;
+                DecodeResponse response = Js.uncheckedCast(((MessageEvent<?>) event).data);
+                Pending p = pending.remove(response.id);
+                if (p != null) {
+                    if (response.error != null) {
+                        p.fallback(response.buffer != null ? response.buffer : p.buffer, response.error);
+                    } else {
+                        try {
+                            p.resolve.onInvoke(ModelNode.fromIndexed(response.bytes, response.offsets, response.ends));
+                        } catch (Throwable t) {
+                            p.fallback(p.buffer, t.getMessage());
+                        }
+                    }
+                }
+            });
+            worker.addEventListener("error", event -> { // NON-NLS
+                // decode the pending requests on the main thread if possible and replace the worker on demand
+                logger.error("DMR worker failed. Decode or reject {} pending requests", pending.size());
+                slots.remove(this);
+                worker.terminate();
+                for (Iterator<Pending> iterator = pending.values().iterator(); iterator.hasNext();) {
+                    Pending p = iterator.next();
+                    iterator.remove();
+                    p.fallback(p.buffer, "DMR worker failed");
+                }
+            });
+        }
+    }
+
+    private static class Pending {
+
+        final ResolveCallbackFn<ModelNode> resolve;
+        final RejectCallbackFn reject;
+        final Function<ArrayBuffer, ModelNode> fallback;
+        final ArrayBuffer buffer; // null if the buffer has been transferred to the worker
+
+        Pending(ResolveCallbackFn<ModelNode> resolve, RejectCallbackFn reject,
+                Function<ArrayBuffer, ModelNode> fallback, ArrayBuffer buffer) {
+            this.resolve = resolve;
+            this.reject = reject;
+            this.fallback = fallback;
+            this.buffer = buffer;
+        }
+
+        /** Decodes the buffer on the main thread or rejects the request if the buffer is not available. */
+        void fallback(ArrayBuffer buffer, String error) {
+            if (buffer != null) {
+                logger.warn("Unable to decode response in worker: {}. Decode on main thread.", error);
+                try {
+                    resolve.onInvoke(fallback.apply(buffer));
+                } catch (Throwable t) {
+                    reject.onInvoke(t.getMessage());
+                }
+            } else {
+                reject.onInvoke(error);
+            }
+        }
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class DecodeRequest {
+
+        int id;
+        ArrayBuffer buffer;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class DecodeResponse {
+
+        int id;
+        ArrayBuffer bytes;
+        ArrayBuffer offsets;
+        ArrayBuffer ends;
+        ArrayBuffer buffer;
+        String error;
+    }
+}
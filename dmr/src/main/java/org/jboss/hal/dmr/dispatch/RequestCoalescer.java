@@ -0,0 +1,250 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+
+/**
+ * Coalesces read-only operations before they're sent to the management endpoint:
+ * <ol>
+ * <li>Identical read-only operations (same address, name, parameters and headers) share one in-flight request. Each caller
+ * gets its own copy of the response.</li>
+ * <li>Independent read-only operations issued in the same tick are merged into one {@link Composite}. The composite result
+ * is split into the responses of the individual operations. If the composite fails, each operation is settled by the
+ * outcome of its step. Only operations without a definite outcome (e.g. steps which have been rolled back because of
+ * another failing step) are executed again one by one.</li>
+ * </ol>
+ * Write operations and operations issued while a macro is recorded are passed through unchanged.
+ */
+class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final Function<Operation, Promise<ModelNode>> executor;
+    private final Function<Composite, Promise<ModelNode>> compositeExecutor;
+    private final Predicate<Operation> readOnly;
+    private final BooleanSupplier recording;
+    private final Consumer<Runnable> scheduler;
+    private final Function<PromiseExecutorCallbackFn<ModelNode>, Promise<ModelNode>> promises;
+    private final Map<String, Promise<ModelNode>> inFlight;
+    private List<Pending> pending;
+    private int shared;
+    private int merged;
+
+    /**
+     * @param executor          executes single operations and rejects failed operations
+     * @param compositeExecutor executes merged composites and resolves failed composites with the failed payload
+     * @param readOnly          decides whether an operation can be coalesced
+     * @param recording         whether a macro is recorded
+     * @param scheduler         runs the merge at the end of the current tick
+     * @param promises          creates new promises
+     */
+    RequestCoalescer(Function<Operation, Promise<ModelNode>> executor,
+            Function<Composite, Promise<ModelNode>> compositeExecutor,
+            Predicate<Operation> readOnly, BooleanSupplier recording, Consumer<Runnable> scheduler,
+            Function<PromiseExecutorCallbackFn<ModelNode>, Promise<ModelNode>> promises) {
+        this.executor = executor;
+        this.compositeExecutor = compositeExecutor;
+        this.readOnly = readOnly;
+        this.recording = recording;
+        this.scheduler = scheduler;
+        this.promises = promises;
+        this.inFlight = new HashMap<>();
+        this.pending = new ArrayList<>();
+        this.shared = 0;
+        this.merged = 0;
+    }
+
+    Promise<ModelNode> dmr(Operation operation) {
+        if (recording.getAsBoolean() || !readOnly.test(operation)) {
+            return executor.apply(operation);
+        }
+
+        String key = key(operation);
+        if (inFlight.containsKey(key)) {
+            shared++;
+            logger.debug("Share in-flight operation {} (shared so far: {})", key, shared);
+            Promise<ModelNode> promise = inFlight.get(key);
+            return promises.apply((resolve, reject) -> promise
+                    .then(payload -> {
+                        resolve.onInvoke(payload.clone());
+                        return null;
+                    })
+                    .catch_(error -> {
+                        reject.onInvoke(error);
+                        return null;
+                    }));
+        }
+
+        Promise<ModelNode> promise;
+        if (mergeable(operation)) {
+            promise = promises.apply((resolve, reject) -> enqueue(new Pending(operation, resolve, reject)));
+        } else {
+            promise = executor.apply(operation);
+        }
+        inFlight.put(key, promise);
+        promise.then(__ -> {
+            inFlight.remove(key);
+            return null;
+        }).catch_(__ -> {
+            inFlight.remove(key);
+            return null;
+        });
+        return promise;
+    }
+
+    // ------------------------------------------------------ merge
+
+    private void enqueue(Pending p) {
+        if (pending.isEmpty()) {
+            scheduler.accept(this::flush);
+        }
+        pending.add(p);
+    }
+
+    private void flush() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        if (batch.size() == 1) {
+            batch.get(0).execute(executor);
+
+        } else if (batch.size() > 1) {
+            merged += batch.size();
+            logger.debug("Merge {} read-only operations into one composite (merged so far: {})", batch.size(), merged);
+            List<Operation> operations = new ArrayList<>();
+            for (Pending p : batch) {
+                operations.add(p.operation);
+            }
+            compositeExecutor.apply(new Composite(operations))
+                    .then(payload -> {
+                        settle(batch, payload);
+                        return null;
+                    })
+                    .catch_(error -> {
+                        for (Pending p : batch) {
+                            p.reject.onInvoke(error);
+                        }
+                        return null;
+                    });
+        }
+    }
+
+    private void settle(List<Pending> batch, ModelNode payload) {
+        ModelNode result = payload.get(RESULT);
+        if (!result.isDefined()) {
+            // the composite failed before any step was executed
+            for (Pending p : batch) {
+                p.reject.onInvoke(payload.getFailureDescription());
+            }
+            return;
+        }
+
+        List<Pending> undecided = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Pending p = batch.get(i);
+            ModelNode step = result.get("step-" + (i + 1));
+            if (step.hasDefined(OUTCOME) && SUCCESS.equals(step.get(OUTCOME).asString())) {
+                p.resolve.onInvoke(step);
+            } else if (step.hasDefined(FAILURE_DESCRIPTION)) {
+                p.reject.onInvoke(step.getFailureDescription());
+            } else {
+                undecided.add(p);
+            }
+        }
+        if (!undecided.isEmpty()) {
+            logger.debug("Merged composite failed. Execute {} operations without outcome one by one.", undecided.size());
+            for (Pending p : undecided) {
+                p.execute(executor);
+            }
+        }
+    }
+
+    // ------------------------------------------------------ helpers
+
+    private String key(Operation operation) {
+        StringBuilder key = new StringBuilder();
+        if (operation instanceof Composite) {
+            key.append("composite(").append(operation.asCli()).append(")");
+        } else {
+            key.append(operation.asCli());
+        }
+        if (operation.hasDefined(OPERATION_HEADERS)) {
+            key.append(" ").append(operation.get(OPERATION_HEADERS).toString());
+        }
+        return key.toString();
+    }
+
+    private boolean mergeable(Operation operation) {
+        return !(operation instanceof Composite) && !operation.hasDefined(OPERATION_HEADERS);
+    }
+
+    int shared() {
+        return shared;
+    }
+
+    int merged() {
+        return merged;
+    }
+
+    private static class Pending {
+
+        final Operation operation;
+        final ResolveCallbackFn<ModelNode> resolve;
+        final RejectCallbackFn reject;
+
+        Pending(Operation operation, ResolveCallbackFn<ModelNode> resolve, RejectCallbackFn reject) {
+            this.operation = operation;
+            this.resolve = resolve;
+            this.reject = reject;
+        }
+
+        void execute(Function<Operation, Promise<ModelNode>> executor) {
+            executor.apply(operation)
+                    .then(payload -> {
+                        resolve.onInvoke(payload);
+                        return null;
+                    })
+                    .catch_(error -> {
+                        reject.onInvoke(error);
+                        return null;
+                    });
+        }
+    }
+}
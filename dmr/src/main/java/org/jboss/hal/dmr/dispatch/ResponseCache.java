@@ -0,0 +1,213 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+
+/**
+ * Short-lived cache for the responses of configuration reads. Only {@code read-resource}, {@code read-children-*}
+ * operations and composites thereof without {@code include-runtime=true} are cached.
+ * <p>
+ * Each write operation invalidates all entries whose address is the same as, a parent of or a child of the address of the
+ * write operation. Responses of reads which were sent before an invalidation and received after it, are not cached.
+ */
+class ResponseCache {
+
+    private static final String WILDCARD = "*";
+    private static final int CACHE_SIZE = 100;
+    private static final long TTL = 10; // seconds
+    private static final Set<String> CACHEABLE_OPERATIONS = new HashSet<>(Arrays.asList(READ_RESOURCE_OPERATION,
+            READ_CHILDREN_NAMES_OPERATION, READ_CHILDREN_RESOURCES_OPERATION, READ_CHILDREN_TYPES_OPERATION));
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final Cache<Key, ModelNode> cache;
+    private int generation;
+
+    ResponseCache() {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(CACHE_SIZE)
+                .expireAfterWrite(TTL, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        this.generation = 0;
+    }
+
+    /** @return the key for the operation or {@code null} if the operation is not cacheable */
+    Key key(Operation operation) {
+        if (operation instanceof Composite) {
+            Composite composite = (Composite) operation;
+            if (composite.isEmpty()) {
+                return null;
+            }
+            List<ResourceAddress> addresses = new ArrayList<>();
+            for (Operation step : composite) {
+                if (!cacheable(step)) {
+                    return null;
+                }
+                addresses.add(step.getAddress());
+            }
+            return new Key(addresses, "composite(" + composite.asCli() + ")", generation);
+        } else if (cacheable(operation)) {
+            List<ResourceAddress> addresses = new ArrayList<>();
+            addresses.add(operation.getAddress());
+            return new Key(addresses, operation.asCli(), generation);
+        }
+        return null;
+    }
+
+    /** @return a copy of the cached response or {@code null} */
+    ModelNode get(Key key) {
+        ModelNode payload = cache.getIfPresent(key);
+        if (payload != null) {
+            logger.debug("Cache hit for {}: {}", key.operation, cache.stats());
+            return payload.clone();
+        }
+        return null;
+    }
+
+    void put(Key key, ModelNode payload) {
+        if (key.generation == generation) {
+            cache.put(key, payload.clone());
+        }
+    }
+
+    /** Invalidates all entries affected by the specified write operation. */
+    void invalidate(Operation operation) {
+        generation++;
+        if (cache.size() != 0) {
+            List<ResourceAddress> addresses = new ArrayList<>();
+            if (operation instanceof Composite) {
+                for (Operation step : (Composite) operation) {
+                    addresses.add(step.getAddress());
+                }
+            } else {
+                addresses.add(operation.getAddress());
+            }
+            List<Key> invalid = new ArrayList<>();
+            for (Key key : cache.asMap().keySet()) {
+                if (key.affectedBy(addresses)) {
+                    invalid.add(key);
+                }
+            }
+            cache.invalidateAll(invalid);
+            if (!invalid.isEmpty()) {
+                logger.debug("Invalidated {} cached responses for {}", invalid.size(), operation.asCli());
+            }
+        }
+    }
+
+    void invalidateAll() {
+        generation++;
+        cache.invalidateAll();
+    }
+
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    private boolean cacheable(Operation operation) {
+        return CACHEABLE_OPERATIONS.contains(operation.getName())
+                && !(operation.hasDefined(INCLUDE_RUNTIME) && operation.get(INCLUDE_RUNTIME).asBoolean());
+    }
+
+    static final class Key {
+
+        private final List<ResourceAddress> addresses;
+        private final String operation;
+        private final int generation;
+
+        private Key(List<ResourceAddress> addresses, String operation, int generation) {
+            this.addresses = addresses;
+            this.operation = operation;
+            this.generation = generation;
+        }
+
+        private boolean affectedBy(List<ResourceAddress> writes) {
+            for (ResourceAddress address : addresses) {
+                for (ResourceAddress write : writes) {
+                    if (prefix(address, write) || prefix(write, address)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /** Wildcards match any value. */
+        private static boolean prefix(ResourceAddress prefix, ResourceAddress address) {
+            if (prefix.size() > address.size()) {
+                return false;
+            }
+            List<Property> prefixSegments = prefix.asPropertyList();
+            List<Property> addressSegments = address.asPropertyList();
+            for (int i = 0; i < prefixSegments.size(); i++) {
+                Property p = prefixSegments.get(i);
+                Property a = addressSegments.get(i);
+                String pv = p.getValue().asString();
+                String av = a.getValue().asString();
+                if (!p.getName().equals(a.getName()) || !(pv.equals(av) || WILDCARD.equals(pv) || WILDCARD.equals(av))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // generation is not part of equals() / hashCode()!
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            return operation.equals(((Key) o).operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return operation.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return operation;
+        }
+    }
+}
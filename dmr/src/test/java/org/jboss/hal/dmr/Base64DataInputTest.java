@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class Base64DataInputTest {
+
+    @Test
+    public void values() {
+        org.jboss.dmr.ModelNode external = new org.jboss.dmr.ModelNode();
+        external.get("string").set("Grüße, ☃");
+        external.get("int").set(-42);
+        external.get("long").set(Long.MIN_VALUE + 1);
+        external.get("double").set(-3.14159);
+        external.get("boolean").set(true);
+        external.get("big-decimal").set(new BigDecimal("1234567890.0987654321"));
+        external.get("big-integer").set(new BigInteger("-123456789012345678901234567890"));
+        external.get("bytes").set(new byte[] { 0, 1, -1, 127, -128 });
+        external.get("expression").set(new org.jboss.dmr.ValueExpression("${foo:bar}"));
+        external.get("type").set(org.jboss.dmr.ModelType.LONG);
+        external.get("property").set("key", "value");
+        external.get("list").add(1).add("two").add(3.0);
+        external.get("nested", "object", "undefined");
+
+        byte[] bytes = ExternalModelNode.toBytes(external);
+        ModelNode expected = read(new ByteArrayDataInput(bytes));
+        ModelNode plain = read(Base64DataInput.of(Base64.getEncoder().encode(bytes)));
+        ModelNode mime = read(Base64DataInput.of(Base64.getMimeEncoder().encode(bytes)));
+
+        assertEquals(expected, plain);
+        assertEquals(expected, mime);
+        assertEquals("Grüße, ☃", plain.get("string").asString());
+        assertEquals(Long.MIN_VALUE + 1, plain.get("long").asLong());
+        assertEquals(-3.14159, plain.get("double").asDouble(), 0);
+        assertArrayEquals(new byte[] { 0, 1, -1, 127, -128 }, plain.get("bytes").asBytes());
+    }
+
+    @Test
+    public void padding() {
+        // cover all remainders of the payload length modulo three
+        for (int length = 0; length < 6; length++) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (i * 67 + 200);
+            }
+            DataInput input = Base64DataInput.of(Base64.getEncoder().encode(bytes));
+            byte[] decoded = new byte[length];
+            input.readFully(decoded);
+            assertArrayEquals(bytes, decoded);
+            assertEquals(-1, input.read());
+        }
+    }
+
+    @Test
+    public void whitespace() {
+        DataInput input = Base64DataInput.of(" AQ\r\nID\tBA==\n".getBytes(US_ASCII));
+        assertEquals(1, input.read());
+        assertEquals(2, input.read());
+        assertEquals(3, input.read());
+        assertEquals(4, input.read());
+        assertEquals(-1, input.read());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid() {
+        Base64DataInput.of("AQ*D".getBytes(US_ASCII)).read();
+    }
+
+    private ModelNode read(DataInput input) {
+        ModelNode node = new ModelNode();
+        node.readExternal(input);
+        return node;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.Arrays;
+
+/** Writes the DMR encoded representation of a {@link ModelNode} into a growable byte array. */
+class ByteArrayDataOutput extends DataOutput {
+
+    private byte[] bytes;
+    private int size;
+
+    ByteArrayDataOutput() {
+        this.bytes = new byte[16];
+        this.size = 0;
+    }
+
+    @Override
+    void write(int b) {
+        if (size == bytes.length) {
+            bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+        }
+        bytes[size++] = (byte) b;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    int get(int index) {
+        return bytes[index] & 0xFF;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class CopyOnWriteTest {
+
+    private ModelNode original;
+    private String snapshot;
+
+    @Before
+    public void setUp() {
+        original = new ModelNode();
+        original.get("description").set("A resource");
+        original.get("attributes", "foo", "type").set(ModelType.STRING);
+        original.get("attributes", "foo", "nillable").set(true);
+        original.get("attributes", "bar", "type").set(ModelType.LONG);
+        original.get("attributes", "bar", "allowed").add("a").add("b");
+        original.get("children", "child", "description").set("A child");
+        original.protect();
+        snapshot = original.toString();
+    }
+
+    @Test
+    public void copyEqualsOriginal() {
+        ModelNode copy = original.clone();
+        assertEquals(original, copy);
+        assertEquals(snapshot, copy.toString());
+        assertEquals(original.hashCode(), copy.hashCode());
+        assertEquals(original.keys(), copy.keys());
+    }
+
+    @Test
+    public void copySharesChildren() {
+        ModelNode copy = original.clone();
+        ModelNode attributes = copy.get("attributes");
+        // read-only access to the same child returns the same private copy
+        assertSame(attributes, copy.get("attributes"));
+        assertNotSame(original.get("attributes"), attributes);
+    }
+
+    @Test
+    public void modifyCopy() {
+        ModelNode copy = original.clone();
+        copy.get("attributes", "foo", "nillable").set(false);
+        copy.get("attributes", "baz", "type").set(ModelType.BOOLEAN);
+        copy.get("children").remove("child");
+
+        assertEquals(snapshot, original.toString());
+        assertTrue(original.get("attributes", "foo", "nillable").asBoolean());
+        assertFalse(original.get("attributes").has("baz"));
+        assertTrue(original.get("children").has("child"));
+
+        assertFalse(copy.get("attributes", "foo", "nillable").asBoolean());
+        assertEquals(ModelType.BOOLEAN, copy.get("attributes", "baz", "type").asType());
+        assertFalse(copy.get("children").has("child"));
+        assertEquals(original.get("attributes", "bar"), copy.get("attributes", "bar"));
+    }
+
+    @Test
+    public void modifyList() {
+        ModelNode copy = original.clone();
+        copy.get("attributes", "bar", "allowed").get(0).set("x");
+        copy.get("attributes", "bar", "allowed").add("c");
+
+        assertEquals(2, original.get("attributes", "bar", "allowed").asList().size());
+        assertEquals("a", original.get("attributes", "bar", "allowed").get(0).asString());
+        List<ModelNode> allowed = copy.get("attributes", "bar", "allowed").asList();
+        assertEquals(3, allowed.size());
+        assertEquals("x", allowed.get(0).asString());
+    }
+
+    @Test
+    public void modifyListEntries() {
+        ModelNode copy = original.clone();
+        for (ModelNode node : copy.get("attributes", "bar", "allowed").asList()) {
+            node.set(node.asString().toUpperCase());
+        }
+        assertEquals("A", copy.get("attributes", "bar", "allowed").get(0).asString());
+        assertEquals("a", original.get("attributes", "bar", "allowed").get(0).asString());
+    }
+
+    @Test
+    public void modifyPropertyList() {
+        ModelNode copy = original.clone();
+        for (Property property : copy.get("attributes").asPropertyList()) {
+            property.getValue().get("label").set(property.getName().toUpperCase());
+            assertEquals(property.getName().toUpperCase(), property.getValue().get("label").asString());
+        }
+        assertFalse(original.get("attributes", "foo").has("label"));
+        assertEquals(snapshot, original.toString());
+    }
+
+    @Test
+    public void modifyProperty() {
+        ModelNode copy = original.clone();
+        Property child = copy.get("children").asProperty();
+        child.getValue().get("description").set("Modified");
+        assertEquals("Modified", child.getValue().get("description").asString());
+        assertEquals("A child", original.get("children", "child", "description").asString());
+    }
+
+    @Test
+    public void modifyPropertyListOfList() {
+        ModelNode foo = new ModelNode();
+        foo.get("type").set(ModelType.STRING);
+        ModelNode bar = new ModelNode();
+        bar.get("type").set(ModelType.LONG);
+        ModelNode properties = new ModelNode();
+        properties.add("foo", foo);
+        properties.add("bar", bar);
+        properties.protect();
+        String before = properties.toString();
+
+        ModelNode copy = properties.clone();
+        for (Property property : copy.asPropertyList()) {
+            property.getValue().get("label").set(property.getName().toUpperCase());
+        }
+        assertEquals("FOO", copy.get(0).asProperty().getValue().get("label").asString());
+        assertEquals(before, properties.toString());
+    }
+
+    @Test
+    public void removedChildIsWritable() {
+        ModelNode copy = original.clone();
+        ModelNode children = copy.remove("children");
+        children.get("child", "description").set("Modified");
+        assertEquals("A child", original.get("children", "child", "description").asString());
+    }
+
+    @Test
+    public void copyOfCopy() {
+        ModelNode copy = original.clone();
+        ModelNode copyOfCopy = copy.clone();
+        copy.get("description").set("Modified copy");
+        ModelNode copyOfModifiedCopy = copy.clone();
+        copyOfCopy.get("description").set("Modified copy of copy");
+
+        assertEquals("A resource", original.get("description").asString());
+        assertEquals("Modified copy", copy.get("description").asString());
+        assertEquals("Modified copy", copyOfModifiedCopy.get("description").asString());
+        assertEquals("Modified copy of copy", copyOfCopy.get("description").asString());
+    }
+
+    @Test
+    public void set() {
+        ModelNode node = new ModelNode();
+        node.set(original);
+        node.get("description").set("Modified");
+        assertEquals(snapshot, original.toString());
+    }
+
+    @Test
+    public void protectCopy() {
+        ModelNode copy = original.clone();
+        copy.get("attributes", "foo", "nillable").set(false);
+        copy.protect();
+        try {
+            copy.get("attributes", "foo", "nillable").set(true);
+            fail("Protected copy must not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+        assertFalse(copy.get("attributes", "foo", "nillable").asBoolean());
+    }
+
+    @Test
+    public void originalStaysProtected() {
+        original.clone().get("description").set("Modified");
+        try {
+            original.get("description").set("Modified");
+            fail("Protected original must not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void unprotectedCopyIsDeep() {
+        ModelNode node = new ModelNode();
+        ModelNode foo = node.get("foo");
+        foo.get("bar").set("baz");
+        ModelNode copy = node.clone();
+        foo.get("bar").set("qux");
+        assertEquals("baz", copy.get("foo", "bar").asString());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class DataOutputTest {
+
+    @Test
+    public void values() {
+        org.jboss.dmr.ModelNode external = new org.jboss.dmr.ModelNode();
+        external.get("string").set("Grüße, ☃");
+        external.get("int").set(-42);
+        external.get("long").set(Long.MIN_VALUE + 1);
+        external.get("double").set(-3.14159);
+        external.get("boolean").set(true);
+        external.get("bytes").set(new byte[] { 0, 1, -1, 127, -128 });
+        external.get("property").set("key", "value");
+        external.get("list").add(1).add("two").add(3.0);
+        external.get("nested", "object", "undefined");
+
+        ModelNode node = new ModelNode();
+        node.get("string").set("Grüße, ☃");
+        node.get("int").set(-42);
+        node.get("long").set(Long.MIN_VALUE + 1);
+        node.get("double").set(-3.14159);
+        node.get("boolean").set(true);
+        node.get("bytes").set(new byte[] { 0, 1, -1, 127, -128 });
+        node.get("property").set("key", "value");
+        node.get("list").add(1).add("two").add(3.0);
+        node.get("nested").get("object").get("undefined");
+
+        byte[] bytes = write(node);
+        assertArrayEquals(ExternalModelNode.toBytes(external), bytes);
+        assertEquals(node, read(new ByteArrayDataInput(bytes)));
+    }
+
+    @Test
+    public void primitives() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream expected = new DataOutputStream(baos);
+        ByteArrayDataOutput out = new ByteArrayDataOutput();
+        for (double d : new double[] { 0.0, -0.0, Double.NaN, Double.NEGATIVE_INFINITY, Double.MIN_VALUE,
+                Double.MAX_VALUE }) {
+            expected.writeDouble(d);
+            out.writeDouble(d);
+        }
+        for (long l : new long[] { 0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 0x0102030405060708L }) {
+            expected.writeLong(l);
+            out.writeLong(l);
+        }
+        for (int i : new int[] { 0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 0x01020304 }) {
+            expected.writeInt(i);
+            out.writeInt(i);
+        }
+        for (String s : new String[] { "", "ascii", "\u0000", "Grüße, ☃", "߿ࠀ￿" }) {
+            expected.writeUTF(s);
+            out.writeUTF(s);
+        }
+        expected.writeChar('☃');
+        out.writeChar('☃');
+        expected.writeBoolean(false);
+        out.writeBoolean(false);
+        assertArrayEquals(baos.toByteArray(), out.toByteArray());
+
+        DataInput in = new ByteArrayDataInput(out.toByteArray());
+        assertEquals(0.0, in.readDouble(), 0);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(in.readDouble()));
+        assertEquals(Double.NaN, in.readDouble(), 0);
+        assertEquals(Double.NEGATIVE_INFINITY, in.readDouble(), 0);
+        assertEquals(Double.MIN_VALUE, in.readDouble(), 0);
+        assertEquals(Double.MAX_VALUE, in.readDouble(), 0);
+        assertEquals(0, in.readLong());
+        assertEquals(-1, in.readLong());
+        assertEquals(Long.MIN_VALUE, in.readLong());
+        assertEquals(Long.MAX_VALUE, in.readLong());
+        assertEquals(0x0102030405060708L, in.readLong());
+        assertEquals(0, in.readInt());
+        assertEquals(-1, in.readInt());
+        assertEquals(Integer.MIN_VALUE, in.readInt());
+        assertEquals(Integer.MAX_VALUE, in.readInt());
+        assertEquals(0x01020304, in.readInt());
+        assertEquals("", in.readUTF());
+        assertEquals("ascii", in.readUTF());
+        assertEquals("\u0000", in.readUTF());
+        assertEquals("Grüße, ☃", in.readUTF());
+        assertEquals("߿ࠀ￿", in.readUTF());
+        assertEquals('☃', in.readChar());
+        assertFalse(in.readBoolean());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void base64() {
+        // cover all remainders of the payload length modulo three
+        for (int length = 0; length < 6; length++) {
+            ByteArrayDataOutput out = new ByteArrayDataOutput();
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (i * 67 + 200);
+            }
+            out.write(bytes);
+
+            byte[] encoded = out.base64(new ByteArrayDataOutput()).toByteArray();
+            assertEquals(Base64.getEncoder().encodeToString(bytes), new String(encoded, US_ASCII));
+            assertEquals(out.base64Length(), encoded.length);
+
+            DataInput input = Base64DataInput.of(encoded);
+            byte[] decoded = new byte[length];
+            input.readFully(decoded);
+            assertArrayEquals(bytes, decoded);
+            assertEquals(-1, input.read());
+        }
+    }
+
+    @Test
+    public void roundTrip() {
+        ModelNode node = new ModelNode();
+        for (int i = 0; i < 100; i++) {
+            ModelNode resource = node.get("resource-" + i);
+            resource.get("name").set("Ressource №" + i);
+            resource.get("count").set(i);
+            resource.get("ratio").set(i / 7.0);
+            resource.get("tags").add("a").add("b");
+        }
+
+        ByteArrayDataOutput out = new ByteArrayDataOutput();
+        node.writeExternal(out);
+        byte[] encoded = out.base64(new ByteArrayDataOutput()).toByteArray();
+
+        assertEquals(node, read(Base64DataInput.of(encoded)));
+    }
+
+    private byte[] write(ModelNode node) {
+        ByteArrayDataOutput out = new ByteArrayDataOutput();
+        node.writeExternal(out);
+        return out.toByteArray();
+    }
+
+    private ModelNode read(DataInput input) {
+        ModelNode node = new ModelNode();
+        node.readExternal(input);
+        return node;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.lang.management.ManagementFactory;
+import java.util.Base64;
+
+import com.google.common.base.CharMatcher;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Compares the speed and allocation of decoding {@code application/dmr-encoded} payloads using
+ * <ol>
+ * <li>the string based path of {@link ModelNode#fromBase64(String)}: remove whitespace, decode the base64 string into a
+ * string, copy the string into a byte array and read the byte array</li>
+ * <li>the streaming path of {@link Base64DataInput}: read the model node directly from the base64 characters</li>
+ * </ol>
+ * The payloads are synthetic read-resource-description results of increasing size. Run with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.dmr.DmrDecoderBenchmark -Dexec.classpathScope=test}.
+ */
+@SuppressWarnings({ "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr" })
+public class DmrDecoderBenchmark {
+
+    private static final int[] RESOURCES = new int[] { 10, 100, 1_000 };
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %12s %14s %14s %16s %16s%n", "resources", "payload", "string ms", "stream ms",
+                "string bytes", "stream bytes");
+        for (int resources : RESOURCES) {
+            byte[] body = Base64.getMimeEncoder().encode(ExternalModelNode.toBytes(description(resources)));
+            String text = new String(body, US_ASCII);
+
+            for (int i = 0; i < WARMUP; i++) {
+                stringPath(text);
+                streamingPath(body);
+            }
+            long[] string = measure(() -> stringPath(text));
+            long[] streaming = measure(() -> streamingPath(body));
+            System.out.printf("%-10d %12d %14.2f %14.2f %16d %16d%n", resources, body.length,
+                    string[0] / 1_000_000.0 / ITERATIONS, streaming[0] / 1_000_000.0 / ITERATIONS,
+                    string[1] / ITERATIONS, streaming[1] / ITERATIONS);
+        }
+    }
+
+    private static ModelNode stringPath(String encoded) {
+        String safeEncoded = CharMatcher.breakingWhitespace().removeFrom(encoded);
+        String decoded = new String(Base64.getDecoder().decode(safeEncoded), ISO_8859_1); // atob()
+        byte[] bytes = new byte[decoded.length()]; // toBytes()
+        for (int i = 0; i < decoded.length(); i++) {
+            bytes[i] = (byte) decoded.charAt(i);
+        }
+        ModelNode node = new ModelNode();
+        node.readExternal(new ByteArrayDataInput(bytes));
+        return node;
+    }
+
+    private static ModelNode streamingPath(byte[] body) {
+        ModelNode node = new ModelNode();
+        node.readExternal(Base64DataInput.of(body));
+        return node;
+    }
+
+    /** @return the elapsed nanos and the allocated bytes */
+    private static long[] measure(Runnable runnable) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            runnable.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[] { elapsed, threadMXBean.getThreadAllocatedBytes(threadId) - allocated };
+    }
+
+    /** Creates a recursive r-r-d like result with the given number of child resources. */
+    private static org.jboss.dmr.ModelNode description(int resources) {
+        org.jboss.dmr.ModelNode root = new org.jboss.dmr.ModelNode();
+        root.get("description").set("The root resource");
+        for (int r = 0; r < resources; r++) {
+            org.jboss.dmr.ModelNode resource = root.get("children", "child", "model-description", "child-" + r);
+            resource.get("description").set("Child resource number " + r);
+            for (int a = 0; a < 20; a++) {
+                org.jboss.dmr.ModelNode attribute = resource.get("attributes", "attribute-" + a);
+                attribute.get("type").set(a % 2 == 0 ? org.jboss.dmr.ModelType.STRING : org.jboss.dmr.ModelType.LONG);
+                attribute.get("description").set("Attribute " + a + " of child resource " + r);
+                attribute.get("expressions-allowed").set(a % 3 == 0);
+                attribute.get("nillable").set(true);
+                attribute.get("min").set(0L);
+                attribute.get("max").set(Long.MAX_VALUE);
+                attribute.get("ratio").set(a / 7.0);
+                attribute.get("access-type").set("read-write");
+                attribute.get("storage").set("configuration");
+                attribute.get("restart-required").set("no-services");
+            }
+        }
+        return root;
+    }
+}
@@ -25,14 +25,22 @@ public class ExternalModelNode {
     public static ModelNode read(InputStream inputStream) {
         try {
             org.jboss.dmr.ModelNode fromStream = org.jboss.dmr.ModelNode.fromStream(inputStream);
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            fromStream.writeExternal(new DataOutputStream(baos));
-
             ModelNode modelNode = new ModelNode();
-            modelNode.readExternal(new DataInput(baos.toByteArray()));
+            modelNode.readExternal(new ByteArrayDataInput(toBytes(fromStream)));
             return modelNode;
         } catch (IOException e) {
             throw new RuntimeException("Unable to read DMR from input stream: " + e.getMessage());
         }
     }
+
+    /** Returns the DMR encoded representation of the given external model node. */
+    static byte[] toBytes(org.jboss.dmr.ModelNode modelNode) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            modelNode.writeExternal(new DataOutputStream(baos));
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to write DMR: " + e.getMessage());
+        }
+    }
 }
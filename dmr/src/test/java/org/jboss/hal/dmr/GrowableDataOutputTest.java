@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the growth and the chunked base64 encoding of {@link GrowableDataOutput}, which are used by
+ * {@link Uint8ArrayDataOutput}, using a byte array.
+ */
+@SuppressWarnings("HardCodedStringLiteral")
+public class GrowableDataOutputTest {
+
+    @Test
+    public void grow() {
+        ChunkedDataOutput out = new ChunkedDataOutput(1, 3);
+        byte[] bytes = bytes(100);
+        int capacity = 1;
+        for (int i = 0; i < bytes.length; i++) {
+            out.write(bytes[i]);
+            // the capacity is doubled only when the array is full
+            if (i == capacity) {
+                capacity *= 2;
+            }
+            assertEquals("capacity after " + (i + 1) + " bytes", capacity, out.capacity());
+        }
+
+        assertEquals(100, out.size());
+        assertEquals(128, out.array().length);
+        assertArrayEquals(bytes, Arrays.copyOf(out.array(), out.size()));
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals(bytes[i] & 0xFF, out.get(i));
+        }
+    }
+
+    @Test
+    public void initialCapacity() {
+        assertEquals(1, new ChunkedDataOutput(0, 3).capacity());
+        assertEquals(16, new ChunkedDataOutput(16, 3).capacity());
+    }
+
+    @Test
+    public void chunks() {
+        // cover payloads shorter than, equal to and longer than one or two chunks, so that the last chunk has all
+        // remainders modulo three
+        for (int chunkSize : new int[] { 3, 6, 12 }) {
+            for (int length = 0; length <= 2 * chunkSize + 3; length++) {
+                ChunkedDataOutput out = new ChunkedDataOutput(4, chunkSize);
+                byte[] bytes = bytes(length);
+                out.write(bytes);
+
+                String message = "chunk size " + chunkSize + ", length " + length;
+                assertEquals(message, Base64.getEncoder().encodeToString(bytes), out.toBase64String());
+                assertEquals(message, (length + chunkSize - 1) / chunkSize, out.chunks.size());
+                for (int i = 0; i < out.chunks.size(); i++) {
+                    int chunkLength = out.chunks.get(i);
+                    if (i < out.chunks.size() - 1) {
+                        assertEquals(message, chunkSize, chunkLength);
+                    } else {
+                        assertTrue(message, chunkLength > 0 && chunkLength <= chunkSize);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void lastChunk() {
+        // 3 full chunks and a last chunk of 4 bytes, which isn't a multiple of three
+        ChunkedDataOutput out = new ChunkedDataOutput(16, 6);
+        byte[] bytes = bytes(22);
+        out.write(bytes);
+
+        assertEquals(Base64.getEncoder().encodeToString(bytes), out.toBase64String());
+        assertEquals(Arrays.asList(6, 6, 6, 4), out.chunks);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidChunkSize() {
+        new ChunkedDataOutput(16, 4);
+    }
+
+    private byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 67 + 200);
+        }
+        return bytes;
+    }
+
+    /** Uses a byte array and encodes each chunk separately, like {@link Uint8ArrayDataOutput} does with btoa() */
+    private static class ChunkedDataOutput extends GrowableDataOutput<byte[]> {
+
+        private final List<Integer> chunks = new ArrayList<>();
+
+        ChunkedDataOutput(int capacity, int chunkSize) {
+            super(capacity, chunkSize);
+        }
+
+        @Override
+        byte[] allocate(int capacity) {
+            return new byte[capacity];
+        }
+
+        @Override
+        void copy(byte[] from, byte[] to, int length) {
+            System.arraycopy(from, 0, to, 0, length);
+        }
+
+        @Override
+        void set(byte[] array, int index, int b) {
+            array[index] = (byte) b;
+        }
+
+        @Override
+        int get(byte[] array, int index) {
+            return array[index] & 0xFF;
+        }
+
+        @Override
+        String encode(byte[] array, int start, int end) {
+            chunks.add(end - start);
+            return Base64.getEncoder().encodeToString(Arrays.copyOfRange(array, start, end));
+        }
+    }
+}
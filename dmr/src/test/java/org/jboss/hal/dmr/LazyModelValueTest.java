@@ -0,0 +1,204 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Reads the DMR payload in {@code lazy-model-value.base64} lazily using the index in {@code lazy-model-value.index}, which
+ * was built by {@code app/src/web/script/dmr-worker.js}, and compares the result with the eagerly read payload.
+ */
+@SuppressWarnings("HardCodedStringLiteral")
+public class LazyModelValueTest {
+
+    @Test
+    public void fixtureUpToDate() {
+        // the payload must match the DMR encoded by the Java model node
+        assertEquals(eager(ExternalModelNode.toBytes(external())), eager(bytes()));
+    }
+
+    @Test
+    public void equalsEager() {
+        byte[] bytes = bytes();
+        ModelNode eager = eager(bytes);
+        ModelNode lazy = lazy(bytes);
+
+        assertEquals(eager, lazy);
+        assertEquals(lazy, eager);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+        assertEquals(eager.toString(), lazy.toString());
+        assertEquals(eager.toJSONString(true), lazy.toJSONString(true));
+        assertEquals("success", lazy.get("outcome").asString());
+        assertEquals(3, lazy.get("result", "list").asList().size());
+        assertEquals("two", lazy.get("result", "list").get(1).asString());
+        assertEquals("value", lazy.get("result", "property").asProperty().getValue().get("key").asString());
+        assertEquals(42, lazy.get("result", "nested", "object", "int").asInt());
+    }
+
+    @Test
+    public void scalar() {
+        org.jboss.dmr.ModelNode external = new org.jboss.dmr.ModelNode();
+        external.set("scalar");
+        ModelNode lazy = IndexedDmr.of(ExternalModelNode.toBytes(external), new int[0], new int[0]).input(0).readNode();
+        assertEquals("scalar", lazy.asString());
+    }
+
+    @Test
+    public void readOnDemand() {
+        byte[] bytes = bytes();
+        int[][] index = index();
+        // corrupt the type of the first value of the nested object
+        bytes[offsetOf(bytes, "int")] = 'X';
+
+        ModelNode lazy = IndexedDmr.of(bytes, index[0], index[1]).input(0).readNode();
+        assertEquals("success", lazy.get("outcome").asString());
+        assertEquals("two", lazy.get("result", "list").get(1).asString());
+        try {
+            lazy.get("result", "nested", "object", "int").asInt();
+        } catch (IllegalArgumentException e) {
+            return; // the nested object is read not until now
+        }
+        throw new AssertionError("Nested object has been read eagerly");
+    }
+
+    @Test
+    public void modify() {
+        ModelNode lazy = lazy(bytes());
+        lazy.get("result", "nested", "object", "added").set(true);
+        lazy.get("result", "list").add(4);
+        lazy.remove("outcome");
+
+        assertTrue(lazy.get("result", "nested", "object", "added").asBoolean());
+        assertEquals(4, lazy.get("result", "list").asList().size());
+        assertEquals(1, lazy.keys().size());
+    }
+
+    @Test
+    public void copyBeforeRead() {
+        ModelNode lazy = lazy(bytes());
+        ModelNode copy = lazy.clone();
+        copy.get("result", "nested", "object", "int").set(23);
+        lazy.get("result", "list").add(4);
+
+        assertEquals(42, lazy.get("result", "nested", "object", "int").asInt());
+        assertEquals(3, copy.get("result", "list").asList().size());
+        assertEquals(23, copy.get("result", "nested", "object", "int").asInt());
+    }
+
+    @Test
+    public void protectBeforeRead() {
+        ModelNode lazy = lazy(bytes());
+        lazy.protect();
+        assertEquals(42, lazy.get("result", "nested", "object", "int").asInt());
+        try {
+            lazy.get("result", "nested", "object", "int").set(23);
+        } catch (UnsupportedOperationException e) {
+            return;
+        }
+        throw new AssertionError("Nested object has not been protected");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingIndex() {
+        IndexedDmr.of(bytes(), new int[0], new int[0]).input(0).readNode();
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    /** The model node encoded in lazy-model-value.base64 */
+    private org.jboss.dmr.ModelNode external() {
+        org.jboss.dmr.ModelNode external = new org.jboss.dmr.ModelNode();
+        external.get("outcome").set("success");
+        external.get("result", "string").set("Grüße, ☃");
+        external.get("result", "long").set(Long.MAX_VALUE);
+        external.get("result", "double").set(2.5);
+        external.get("result", "bytes").set(new byte[] { 1, 2, 3 });
+        external.get("result", "list").add(1).add("two").add(3.0);
+        external.get("result", "property").set("key", new org.jboss.dmr.ModelNode().set("key", "value"));
+        external.get("result", "nested", "object", "int").set(42);
+        external.get("result", "nested", "object", "undefined");
+        return external;
+    }
+
+    private ModelNode eager(byte[] bytes) {
+        ModelNode node = new ModelNode();
+        node.readExternal(new ByteArrayDataInput(bytes));
+        return node;
+    }
+
+    private ModelNode lazy(byte[] bytes) {
+        int[][] index = index();
+        return IndexedDmr.of(bytes, index[0], index[1]).input(0).readNode();
+    }
+
+    /** Returns the offset of the value of the first object key with the given name */
+    private int offsetOf(byte[] bytes, String key) {
+        byte[] utf = key.getBytes();
+        for (int i = 0; i < bytes.length - utf.length - 2; i++) {
+            if (bytes[i] == 0 && bytes[i + 1] == utf.length) {
+                boolean match = true;
+                for (int j = 0; j < utf.length && match; j++) {
+                    match = bytes[i + 2 + j] == utf[j];
+                }
+                if (match) {
+                    return i + 2 + utf.length;
+                }
+            }
+        }
+        throw new AssertionError("Key " + key + " not found");
+    }
+
+    private byte[] bytes() {
+        try (InputStream in = resource("lazy-model-value.base64")) {
+            return Base64.getMimeDecoder().decode(new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim());
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read DMR fixture: " + e.getMessage());
+        }
+    }
+
+    /** Returns the offsets and ends built by the DMR worker for {@link #bytes()} */
+    private int[][] index() {
+        Properties properties = new Properties();
+        try (InputStream in = resource("lazy-model-value.index")) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read DMR index fixture: " + e.getMessage());
+        }
+        return new int[][] { ints(properties.getProperty("offsets")), ints(properties.getProperty("ends")) };
+    }
+
+    private int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private InputStream resource(String name) {
+        InputStream in = LazyModelValueTest.class.getResourceAsStream(name);
+        if (in == null) {
+            throw new AssertionError("Fixture " + name + " not found");
+        }
+        return in;
+    }
+}
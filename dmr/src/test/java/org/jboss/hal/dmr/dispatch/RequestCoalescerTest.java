@@ -0,0 +1,328 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import elemental2.promise.Promise;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "DuplicateStringLiteralInspection", "unchecked" })
+public class RequestCoalescerTest {
+
+    private static final ResourceAddress FOO = ResourceAddress.from("subsystem=datasources/data-source=foo");
+    private static final ResourceAddress MAIL = ResourceAddress.from("subsystem=mail");
+    private static final ResourceAddress LOGGING = ResourceAddress.from("subsystem=logging");
+
+    /** Promise which settles synchronously and runs its callbacks in the calling thread. */
+    private static class SyncPromise extends Promise<ModelNode> {
+
+        private final List<Runnable> callbacks;
+        private boolean settled;
+        private ModelNode value;
+        private Object error;
+
+        SyncPromise() {
+            super(null);
+            this.callbacks = new ArrayList<>();
+        }
+
+        SyncPromise(PromiseExecutorCallbackFn<ModelNode> executor) {
+            this();
+            executor.onInvoke(this::fulfill, this::fail);
+        }
+
+        void fulfill(ModelNode value) {
+            this.value = value;
+            settle();
+        }
+
+        void fail(Object error) {
+            this.error = error;
+            settle();
+        }
+
+        private void settle() {
+            settled = true;
+            callbacks.forEach(Runnable::run);
+            callbacks.clear();
+        }
+
+        private void whenSettled(Runnable callback) {
+            if (settled) {
+                callback.run();
+            } else {
+                callbacks.add(callback);
+            }
+        }
+
+        @Override
+        public <V> Promise<V> then(ThenOnFulfilledCallbackFn<? super ModelNode, ? extends V> onFulfilled) {
+            SyncPromise next = new SyncPromise();
+            whenSettled(() -> {
+                if (error == null) {
+                    onFulfilled.onInvoke(value);
+                    next.fulfill(null);
+                } else {
+                    next.fail(error);
+                }
+            });
+            return (Promise<V>) (Promise<?>) next;
+        }
+
+        @Override
+        public <V> Promise<V> catch_(CatchOnRejectedCallbackFn<? extends V> onRejected) {
+            SyncPromise next = new SyncPromise();
+            whenSettled(() -> {
+                if (error == null) {
+                    next.fulfill(value);
+                } else {
+                    onRejected.onInvoke(error);
+                    next.fulfill(null);
+                }
+            });
+            return (Promise<V>) (Promise<?>) next;
+        }
+    }
+
+    /** Records the outcome of a promise returned by the coalescer. */
+    private static class Outcome {
+
+        ModelNode payload;
+        Object error;
+
+        Outcome(Promise<ModelNode> promise) {
+            promise.then(payload -> {
+                this.payload = payload;
+                return null;
+            }).catch_(error -> {
+                this.error = error;
+                return null;
+            });
+        }
+    }
+
+    private List<Operation> executed;
+    private List<SyncPromise> responses;
+    private List<Composite> composites;
+    private List<SyncPromise> compositeResponses;
+    private List<Runnable> scheduled;
+    private boolean recording;
+    private RequestCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        executed = new ArrayList<>();
+        responses = new ArrayList<>();
+        composites = new ArrayList<>();
+        compositeResponses = new ArrayList<>();
+        scheduled = new ArrayList<>();
+        recording = false;
+        coalescer = new RequestCoalescer(
+                operation -> {
+                    SyncPromise response = new SyncPromise();
+                    executed.add(operation);
+                    responses.add(response);
+                    return response;
+                },
+                composite -> {
+                    SyncPromise response = new SyncPromise();
+                    composites.add(composite);
+                    compositeResponses.add(response);
+                    return response;
+                },
+                operation -> !operation.getName().equals(ADD),
+                () -> recording,
+                scheduled::add,
+                SyncPromise::new);
+    }
+
+    @Test
+    public void shareIdenticalReads() {
+        Outcome first = new Outcome(coalescer.dmr(read(FOO)));
+        Outcome second = new Outcome(coalescer.dmr(read(FOO)));
+        tick();
+
+        assertEquals(1, executed.size());
+        assertEquals(1, coalescer.shared());
+        responses.get(0).fulfill(success("foo"));
+        assertEquals("foo", first.payload.get(RESULT).asString());
+        assertEquals("foo", second.payload.get(RESULT).asString());
+        assertNotSame(first.payload, second.payload);
+
+        // once settled, the operation is executed again
+        coalescer.dmr(read(FOO));
+        tick();
+        assertEquals(2, executed.size());
+    }
+
+    @Test
+    public void shareFailure() {
+        Outcome first = new Outcome(coalescer.dmr(read(FOO)));
+        Outcome second = new Outcome(coalescer.dmr(read(FOO)));
+        tick();
+
+        responses.get(0).fail("failed");
+        assertEquals("failed", first.error);
+        assertEquals("failed", second.error);
+    }
+
+    @Test
+    public void differentHeaders() {
+        Operation withHeader = new Operation.Builder(FOO, READ_RESOURCE_OPERATION).header(ALLOW_RESOURCE_SERVICE_RESTART, true)
+                .build();
+        coalescer.dmr(withHeader);
+        coalescer.dmr(read(FOO));
+        coalescer.dmr(withHeader);
+        tick();
+
+        // operations with headers are not merged, but identical ones including the headers are shared
+        assertEquals(2, executed.size());
+        assertEquals(1, coalescer.shared());
+        assertTrue(composites.isEmpty());
+    }
+
+    @Test
+    public void mergeAndSplit() {
+        Outcome foo = new Outcome(coalescer.dmr(read(FOO)));
+        Outcome mail = new Outcome(coalescer.dmr(read(MAIL)));
+        assertEquals(1, scheduled.size());
+        tick();
+
+        assertTrue(executed.isEmpty());
+        assertEquals(1, composites.size());
+        assertEquals(2, composites.get(0).size());
+        assertEquals(2, coalescer.merged());
+
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(SUCCESS);
+        payload.get(RESULT).get("step-1").set(success("foo"));
+        payload.get(RESULT).get("step-2").set(success("mail"));
+        compositeResponses.get(0).fulfill(payload);
+
+        assertEquals("foo", foo.payload.get(RESULT).asString());
+        assertEquals("mail", mail.payload.get(RESULT).asString());
+    }
+
+    @Test
+    public void failedStep() {
+        Outcome foo = new Outcome(coalescer.dmr(read(FOO)));
+        Outcome mail = new Outcome(coalescer.dmr(read(MAIL)));
+        Outcome logging = new Outcome(coalescer.dmr(read(LOGGING)));
+        tick();
+
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(FAILED);
+        payload.get(FAILURE_DESCRIPTION).set("composite failed");
+        payload.get(RESULT).get("step-1").set(success("foo"));
+        payload.get(RESULT).get("step-2").get(OUTCOME).set(FAILED);
+        payload.get(RESULT).get("step-2").get(FAILURE_DESCRIPTION).set("no mail");
+        payload.get(RESULT).get("step-3").get(OUTCOME).set(FAILED);
+        payload.get(RESULT).get("step-3").get("rolled-back").set(true);
+        compositeResponses.get(0).fulfill(payload);
+
+        assertEquals("foo", foo.payload.get(RESULT).asString());
+        assertNull(mail.payload);
+        assertEquals("\"no mail\"", mail.error);
+
+        // only the step without outcome is executed again
+        assertEquals(1, executed.size());
+        assertEquals(LOGGING, executed.get(0).getAddress());
+        assertNull(logging.payload);
+        responses.get(0).fulfill(success("logging"));
+        assertEquals("logging", logging.payload.get(RESULT).asString());
+    }
+
+    @Test
+    public void failedComposite() {
+        Outcome foo = new Outcome(coalescer.dmr(read(FOO)));
+        Outcome mail = new Outcome(coalescer.dmr(read(MAIL)));
+        tick();
+
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(FAILED);
+        payload.get(FAILURE_DESCRIPTION).set("denied");
+        compositeResponses.get(0).fulfill(payload);
+
+        assertEquals("\"denied\"", foo.error);
+        assertEquals("\"denied\"", mail.error);
+        assertTrue(executed.isEmpty());
+    }
+
+    @Test
+    public void transportError() {
+        Outcome foo = new Outcome(coalescer.dmr(read(FOO)));
+        Outcome mail = new Outcome(coalescer.dmr(read(MAIL)));
+        tick();
+
+        compositeResponses.get(0).fail("offline");
+        assertEquals("offline", foo.error);
+        assertEquals("offline", mail.error);
+        assertTrue(executed.isEmpty());
+    }
+
+    @Test
+    public void recording() {
+        recording = true;
+        coalescer.dmr(read(FOO));
+        coalescer.dmr(read(FOO));
+        coalescer.dmr(read(MAIL));
+
+        assertTrue(scheduled.isEmpty());
+        assertEquals(3, executed.size());
+        assertEquals(0, coalescer.shared());
+    }
+
+    @Test
+    public void writes() {
+        Operation add = new Operation.Builder(FOO, ADD).build();
+        coalescer.dmr(add);
+        coalescer.dmr(add);
+
+        assertTrue(scheduled.isEmpty());
+        assertEquals(2, executed.size());
+    }
+
+    private void tick() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private Operation read(ResourceAddress address) {
+        return new Operation.Builder(address, READ_RESOURCE_OPERATION).build();
+    }
+
+    private ModelNode success(String result) {
+        ModelNode node = new ModelNode();
+        node.get(OUTCOME).set(SUCCESS);
+        node.get(RESULT).set(result);
+        return node;
+    }
+}
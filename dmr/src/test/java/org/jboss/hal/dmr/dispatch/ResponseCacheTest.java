@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "DuplicateStringLiteralInspection" })
+public class ResponseCacheTest {
+
+    private static final ResourceAddress DATASOURCES = ResourceAddress.from("subsystem=datasources");
+    private static final ResourceAddress FOO = ResourceAddress.from("subsystem=datasources/data-source=foo");
+    private static final ResourceAddress ALL = ResourceAddress.from("subsystem=datasources/data-source=*");
+    private static final ResourceAddress MAIL = ResourceAddress.from("subsystem=mail");
+
+    private ResponseCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ResponseCache();
+    }
+
+    @Test
+    public void cacheable() {
+        assertNotNull(cache.key(new Operation.Builder(FOO, READ_RESOURCE_OPERATION).build()));
+        assertNotNull(cache.key(new Operation.Builder(DATASOURCES, READ_CHILDREN_RESOURCES_OPERATION)
+                .param(CHILD_TYPE, "data-source").build()));
+        assertNotNull(cache.key(new Composite(new Operation.Builder(FOO, READ_RESOURCE_OPERATION).build(),
+                new Operation.Builder(MAIL, READ_RESOURCE_OPERATION).build())));
+    }
+
+    @Test
+    public void notCacheable() {
+        assertNull(cache.key(new Operation.Builder(FOO, READ_RESOURCE_OPERATION).param(INCLUDE_RUNTIME, true).build()));
+        assertNull(cache.key(new Operation.Builder(FOO, READ_ATTRIBUTE_OPERATION).param(NAME, "enabled").build()));
+        assertNull(cache.key(new Operation.Builder(FOO, ADD).build()));
+        assertNull(cache.key(new Composite(new Operation.Builder(FOO, READ_RESOURCE_OPERATION).build(),
+                new Operation.Builder(MAIL, REMOVE).build())));
+        assertNull(cache.key(new Composite()));
+    }
+
+    @Test
+    public void getReturnsCopy() {
+        ResponseCache.Key key = cache.key(read(FOO));
+        ModelNode payload = payload("foo");
+        cache.put(key, payload);
+        payload.get(RESULT).set("modified");
+
+        ModelNode first = cache.get(key);
+        ModelNode second = cache.get(key);
+        assertEquals("foo", first.get(RESULT).asString());
+        assertNotSame(first, second);
+        assertEquals(2, cache.stats().hitCount());
+    }
+
+    @Test
+    public void invalidateSameAndParent() {
+        put(FOO, DATASOURCES, MAIL);
+        cache.invalidate(write(FOO));
+
+        assertNull(cache.get(cache.key(read(FOO))));
+        assertNull(cache.get(cache.key(read(DATASOURCES))));
+        assertNotNull(cache.get(cache.key(read(MAIL))));
+    }
+
+    @Test
+    public void invalidateChildren() {
+        put(FOO, DATASOURCES, MAIL);
+        cache.invalidate(write(DATASOURCES));
+
+        assertNull(cache.get(cache.key(read(FOO))));
+        assertNull(cache.get(cache.key(read(DATASOURCES))));
+        assertNotNull(cache.get(cache.key(read(MAIL))));
+    }
+
+    @Test
+    public void invalidateWildcard() {
+        put(ALL, MAIL);
+        cache.invalidate(write(FOO));
+
+        assertNull(cache.get(cache.key(read(ALL))));
+        assertNotNull(cache.get(cache.key(read(MAIL))));
+    }
+
+    @Test
+    public void invalidateComposite() {
+        put(FOO, MAIL);
+        cache.invalidate(new Composite(write(ResourceAddress.from("subsystem=datasources/data-source=bar")),
+                write(MAIL)));
+
+        assertNotNull(cache.get(cache.key(read(FOO))));
+        assertNull(cache.get(cache.key(read(MAIL))));
+    }
+
+    @Test
+    public void invalidateRoot() {
+        put(FOO, DATASOURCES, MAIL);
+        cache.invalidate(new Operation.Builder(ResourceAddress.root(), RELOAD).build());
+
+        assertNull(cache.get(cache.key(read(FOO))));
+        assertNull(cache.get(cache.key(read(DATASOURCES))));
+        assertNull(cache.get(cache.key(read(MAIL))));
+    }
+
+    @Test
+    public void skipStaleResponses() {
+        // read sent before, but received after a write
+        ResponseCache.Key key = cache.key(read(MAIL));
+        cache.invalidate(write(FOO));
+        cache.put(key, payload("mail"));
+
+        assertNull(cache.get(cache.key(read(MAIL))));
+    }
+
+    private void put(ResourceAddress... addresses) {
+        for (ResourceAddress address : addresses) {
+            cache.put(cache.key(read(address)), payload(address.toString()));
+        }
+    }
+
+    private Operation read(ResourceAddress address) {
+        return new Operation.Builder(address, READ_RESOURCE_OPERATION).build();
+    }
+
+    private Operation write(ResourceAddress address) {
+        return new Operation.Builder(address, WRITE_ATTRIBUTE_OPERATION).param(NAME, "enabled").param(VALUE, true).build();
+    }
+
+    private ModelNode payload(String result) {
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(SUCCESS);
+        payload.get(RESULT).set(result);
+        return payload;
+    }
+}
@@ -29,7 +29,9 @@ import static org.jboss.hal.flow.SequenceImpl.Mode.SEQUENTIAL;
 public interface Flow {
 
     /**
-     * Executes a list of {@linkplain Task asynchronous tasks} in parallel (all at once).
+     * Executes a list of {@linkplain Task asynchronous tasks} in parallel (all at once). Use
+     * {@link Sequence#maxConcurrency(int)} or {@link Sequence#scheduler(Scheduler)} to limit the number of tasks running at
+     * the same time.
      *
      * @param context the context shared between tasks
      * @param tasks the list of tasks to execute in parallel
@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+/**
+ * The priority of {@linkplain Task tasks} executed by a {@link Scheduler}. Tasks with a higher priority are started before
+ * tasks with a lower priority. Tasks with the same priority are started in the order they were scheduled.
+ */
+public enum Priority {
+
+    /** For tasks the user is actively waiting for, e.g. the reads of the current view. */
+    HIGH,
+
+    /** The default priority. */
+    NORMAL,
+
+    /** For background tasks like refreshes or warming up caches. */
+    LOW
+}
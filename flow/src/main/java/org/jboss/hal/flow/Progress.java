@@ -71,6 +71,15 @@ public interface Progress {
      */
     void finish();
 
+    /**
+     * Called by a {@link Scheduler} whenever a queued {@linkplain Task task} has been started. Does nothing by default.
+     *
+     * @param queueDepth the number of tasks still waiting to be started
+     * @param waitTime the time in milliseconds the started task was waiting in the queue
+     */
+    default void scheduled(int queueDepth, long waitTime) {
+    }
+
     /**
      * Noop progress indicator that does nothing.
      */
@@ -0,0 +1,175 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import elemental2.promise.Promise;
+
+/**
+ * Executes {@linkplain Task asynchronous tasks} with a maximum concurrency. Tasks which cannot be started immediately are
+ * queued and started as soon as a running task finishes. The queue is ordered by {@link Priority} and then by the order in
+ * which the tasks were scheduled.
+ * <p>
+ * A scheduler can be shared between several {@linkplain Flow#parallel(FlowContext, List) parallel} and
+ * {@linkplain Flow#sequential(FlowContext, List) sequential} flows to limit the overall number of running tasks, e.g. the
+ * number of concurrent DMR requests. Whenever a task is started, the scheduler reports the queue depth and the time the task
+ * was waiting using {@link Progress#scheduled(int, long)}.
+ * <p>
+ * Please note that tasks executed by a scheduler must not wait for other tasks of the same scheduler. Otherwise the flow
+ * deadlocks as soon as all slots are taken by waiting tasks.
+ */
+public class Scheduler {
+
+    private final int maxConcurrency;
+    private final PriorityQueue<Entry> queue;
+    private int running;
+    private long sequence;
+
+    // statistics
+    private int maxQueueDepth;
+    private long started;
+    private long totalWaitTime;
+    private long maxWaitTime;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param maxConcurrency the maximum number of tasks running at the same time. Must be greater than zero.
+     */
+    public Scheduler(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be greater than zero: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.queue = new PriorityQueue<>(Comparator.comparingInt((Entry entry) -> entry.priority.ordinal())
+                .thenComparingLong(entry -> entry.sequence));
+        this.running = 0;
+        this.sequence = 0;
+    }
+
+    /**
+     * Schedules the task for execution.
+     *
+     * @param context the context passed to the task
+     * @param task the task to execute
+     * @param priority the priority of the task
+     * @param <C> the type of the shared context
+     * @return a promise which is settled when the task has been executed
+     */
+    public <C extends FlowContext> Promise<C> schedule(C context, Task<C> task, Priority priority) {
+        return new Promise<C>((resolve, reject) -> {
+            Entry entry = new Entry(priority, sequence++, context.progress, () -> {
+                Promise<C> promise;
+                try {
+                    promise = task.apply(context);
+                } catch (Throwable t) {
+                    promise = Promise.reject(t.getMessage());
+                }
+                promise.then(c -> {
+                    finished();
+                    resolve.onInvoke(c);
+                    return null;
+                }).catch_(error -> {
+                    finished();
+                    reject.onInvoke(error);
+                    return null;
+                });
+            });
+            queue.add(entry);
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+            drain();
+        });
+    }
+
+    private void finished() {
+        running--;
+        drain();
+    }
+
+    private void drain() {
+        while (running < maxConcurrency && !queue.isEmpty()) {
+            Entry entry = queue.poll();
+            long waitTime = System.currentTimeMillis() - entry.timestamp;
+            running++;
+            started++;
+            totalWaitTime += waitTime;
+            maxWaitTime = Math.max(maxWaitTime, waitTime);
+            entry.progress.scheduled(queue.size(), waitTime);
+            entry.start.run();
+        }
+    }
+
+    // ------------------------------------------------------ statistics
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /** @return the number of tasks waiting to be started */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /** @return the number of running tasks */
+    public int running() {
+        return running;
+    }
+
+    /** @return the maximum number of tasks which were waiting at the same time */
+    public int maxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /** @return the average time in milliseconds the started tasks were waiting in the queue */
+    public long averageWaitTime() {
+        return started == 0 ? 0 : totalWaitTime / started;
+    }
+
+    /** @return the maximum time in milliseconds a started task was waiting in the queue */
+    public long maxWaitTime() {
+        return maxWaitTime;
+    }
+
+    @Override
+    public String toString() {
+        return "Scheduler(maxConcurrency=" + maxConcurrency +
+                ", running=" + running +
+                ", queueDepth=" + queue.size() +
+                ", maxQueueDepth=" + maxQueueDepth +
+                ", averageWaitTime=" + averageWaitTime() +
+                "ms, maxWaitTime=" + maxWaitTime + "ms)";
+    }
+
+    private static final class Entry {
+
+        private final Priority priority;
+        private final long sequence;
+        private final long timestamp;
+        private final Progress progress;
+        private final Runnable start;
+
+        private Entry(Priority priority, long sequence, Progress progress, Runnable start) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.timestamp = System.currentTimeMillis();
+            this.progress = progress;
+            this.start = start;
+        }
+    }
+}
@@ -35,6 +35,11 @@ public interface Sequence<C extends FlowContext> extends Promisable<C>, Subscrip
      */
     long DEFAULT_TIMEOUT = -1;
 
+    /**
+     * By default, the number of tasks running at the same time is not limited.
+     */
+    int DEFAULT_MAX_CONCURRENCY = -1;
+
     /**
      * Whether the execution of {@linkplain Task tasks} should fail fast or fail last. Defaults to {@value DEFAULT_FAIL_FAST}.
      */
@@ -47,4 +52,25 @@ public interface Sequence<C extends FlowContext> extends Promisable<C>, Subscrip
      * does not provide a method to cancel running promises.
      */
     Sequence<C> timeout(long timeout);
+
+    /**
+     * The maximum number of {@linkplain Task tasks} running at the same time. Defaults to no limit
+     * ({@value #DEFAULT_MAX_CONCURRENCY}).
+     * <p>
+     * This only applies to parallel flows and uses a new {@link Scheduler} for this sequence. Use
+     * {@link #scheduler(Scheduler)} to share the limit across sequences.
+     */
+    Sequence<C> maxConcurrency(int maxConcurrency);
+
+    /**
+     * Executes the {@linkplain Task tasks} using the given scheduler. Takes precedence over
+     * {@link #maxConcurrency(int)}.
+     */
+    Sequence<C> scheduler(Scheduler scheduler);
+
+    /**
+     * The priority of the {@linkplain Task tasks} of this sequence. Only relevant if the tasks are executed by a
+     * {@link Scheduler}. Defaults to {@link Priority#NORMAL}.
+     */
+    Sequence<C> priority(Priority priority);
 }
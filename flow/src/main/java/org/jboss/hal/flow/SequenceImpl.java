@@ -38,6 +38,9 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
     private long timeout;
     private double timeoutHandle;
     private boolean timedOut;
+    private int maxConcurrency;
+    private Scheduler scheduler;
+    private Priority priority;
 
     SequenceImpl(final Mode mode, final C context, final List<Task<C>> tasks) {
         super(context, tasks.size());
@@ -48,6 +51,9 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
         this.timeout = DEFAULT_TIMEOUT;
         this.timeoutHandle = 0;
         this.timedOut = false;
+        this.maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        this.scheduler = null;
+        this.priority = Priority.NORMAL;
     }
 
     // ------------------------------------------------------ sequence API
@@ -64,6 +70,24 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
         return this;
     }
 
+    @Override
+    public Sequence<C> maxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public Sequence<C> scheduler(final Scheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    @Override
+    public Sequence<C> priority(final Priority priority) {
+        this.priority = priority;
+        return this;
+    }
+
     // ------------------------------------------------------ run
 
     @Override
@@ -86,8 +110,11 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
 
     @SuppressWarnings("unchecked")
     private Promise<C> parallel() {
+        if (scheduler == null && maxConcurrency > 0 && maxConcurrency < tasks.size()) {
+            scheduler = new Scheduler(maxConcurrency);
+        }
         Promise<C>[] promises = tasks.stream()
-                .map(task -> task.apply(context).then(c -> {
+                .map(task -> apply(task).then(c -> {
                     context.progress.tick();
                     return Promise.resolve(c);
                 }))
@@ -123,7 +150,7 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
         if (timedOut) {
             reject.onInvoke(TIMEOUT_ERROR);
         } else {
-            iterator.next().apply(context)
+            apply(iterator.next())
                     .then(c -> {
                         if (timedOut) {
                             reject.onInvoke(TIMEOUT_ERROR);
@@ -155,6 +182,10 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
 
     // ------------------------------------------------------ helper methods
 
+    private Promise<C> apply(Task<C> task) {
+        return scheduler != null ? scheduler.schedule(context, task, priority) : task.apply(context);
+    }
+
     private void rejectWithTimeout(RejectCallbackFn reject) {
         clearTimeout(timeoutHandle);
         timedOut = true;
@@ -19,6 +19,7 @@ import org.jboss.hal.meta.capabilitiy.Capabilities;
 import org.jboss.hal.meta.description.ResourceDescriptionDatabase;
 import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
 import org.jboss.hal.meta.processing.MetadataProcessor;
+import org.jboss.hal.meta.processing.MetadataStore;
 import org.jboss.hal.meta.processing.WorkerChannel;
 import org.jboss.hal.meta.security.SecurityContextDatabase;
 import org.jboss.hal.meta.security.SecurityContextRegistry;
@@ -35,6 +36,7 @@ public class MetaModule extends AbstractGinModule {
         bind(Capabilities.class).in(Singleton.class);
         bind(MetadataProcessor.class).in(Singleton.class);
         bind(MetadataRegistry.class).in(Singleton.class);
+        bind(MetadataStore.class).in(Singleton.class);
         bind(ResourceDescriptionDatabase.class).in(Singleton.class);
         bind(ResourceDescriptionRegistry.class).in(Singleton.class);
         bind(SecurityContextDatabase.class).in(Singleton.class);
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.description;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ALTERNATIVES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTE_GROUP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NILLABLE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUIRED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUIRES;
+
+/**
+ * Immutable index over the attribute descriptions of one path in a {@link ResourceDescription}. The index is built in one
+ * pass and provides constant time lookups of attributes by name, the attributes of a group, the required attributes and the
+ * {@code alternatives} and {@code requires} relations including the reverse {@code requires} relation.
+ * <p>
+ * Use {@link ResourceDescription#attributeIndex(String)} to get an instance. The returned lists and properties are shared
+ * and must not be modified.
+ */
+public class AttributeIndex {
+
+    private final ModelNode node;
+    private final int size;
+    private final List<Property> attributes;
+    private final Map<String, Property> byName;
+    private final Map<String, List<Property>> groups;
+    private final List<Property> required;
+    private final Map<String, List<String>> alternatives;
+    private final Map<String, List<String>> requires;
+    private final Map<String, List<String>> requiredBy;
+
+    AttributeIndex(ModelNode node) {
+        this.node = node;
+        this.attributes = unmodifiableList(node.isDefined() ? node.asPropertyList() : emptyList());
+        this.size = attributes.size();
+        this.byName = new HashMap<>();
+        this.groups = new HashMap<>();
+        this.required = new ArrayList<>();
+        this.alternatives = new HashMap<>();
+        this.requires = new HashMap<>();
+        this.requiredBy = new HashMap<>();
+
+        for (Property property : attributes) {
+            String name = property.getName();
+            ModelNode description = property.getValue();
+            byName.put(name, property);
+
+            if (description.hasDefined(ATTRIBUTE_GROUP)) {
+                groups.computeIfAbsent(description.get(ATTRIBUTE_GROUP).asString(), group -> new ArrayList<>())
+                        .add(property);
+            }
+            if (description.hasDefined(REQUIRED)) {
+                if (description.get(REQUIRED).asBoolean()) {
+                    required.add(property);
+                }
+            } else if (description.hasDefined(NILLABLE) && !description.get(NILLABLE).asBoolean()) {
+                required.add(property);
+            }
+            if (description.hasDefined(ALTERNATIVES)) {
+                alternatives.put(name, names(description.get(ALTERNATIVES)));
+            }
+            if (description.hasDefined(REQUIRES)) {
+                List<String> names = names(description.get(REQUIRES));
+                requires.put(name, names);
+                for (String r : names) {
+                    List<String> list = requiredBy.computeIfAbsent(r, n -> new ArrayList<>());
+                    if (!list.contains(name)) {
+                        list.add(name);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<String> names(ModelNode list) {
+        List<ModelNode> nodes = list.asList();
+        List<String> names = new ArrayList<>(nodes.size());
+        for (ModelNode node : nodes) {
+            names.add(node.asString());
+        }
+        return unmodifiableList(names);
+    }
+
+    /**
+     * @return {@code true} if this index no longer reflects the specified attributes node, i.e. the node was replaced or
+     *         attributes have been added or removed.
+     */
+    boolean isStale(ModelNode node) {
+        if (node.isDefined()) {
+            return node != this.node || node.keys().size() != size;
+        }
+        return this.node.isDefined();
+    }
+
+    /** @return all attributes in the order of the resource description */
+    public List<Property> getAttributes() {
+        return attributes;
+    }
+
+    /** @return the attribute or {@code null} if there's no such attribute */
+    public Property getAttribute(String name) {
+        return byName.get(name);
+    }
+
+    /** @return the attributes of the specified group or an empty list */
+    public List<Property> getGroup(String group) {
+        List<Property> properties = groups.get(group);
+        return properties != null ? unmodifiableList(properties) : emptyList();
+    }
+
+    /** @return the attributes which are required or not nillable */
+    public List<Property> getRequired() {
+        return unmodifiableList(required);
+    }
+
+    /** @return the alternatives of the specified attribute or an empty list */
+    public List<String> getAlternatives(String name) {
+        return alternatives.getOrDefault(name, emptyList());
+    }
+
+    /** @return the attributes the specified attribute requires or an empty list */
+    public List<String> getRequires(String name) {
+        return requires.getOrDefault(name, emptyList());
+    }
+
+    /** @return the attributes which require the specified attribute or an empty list */
+    public List<String> getRequiredBy(String name) {
+        List<String> names = requiredBy.get(name);
+        return names != null ? unmodifiableList(names) : emptyList();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -15,24 +15,20 @@
  */
 package org.jboss.hal.meta.description;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ModelNodeHelper;
 import org.jboss.hal.dmr.ModelType;
 import org.jboss.hal.dmr.Property;
 
-import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.toList;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.ALTERNATIVES;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTE_GROUP;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DEFAULT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPRECATED;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.NILLABLE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUIRED;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUIRES;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
 
 /** Contains the resource and attribute descriptions from the read-resource-description operation. */
@@ -50,7 +46,10 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
  */
 public class ResourceDescription extends ModelNode {
 
+    private final Map<String, AttributeIndex> indexes;
+
     public ResourceDescription(ModelNode payload) {
+        this.indexes = new HashMap<>();
         set(payload);
     }
 
@@ -59,61 +58,42 @@ public class ResourceDescription extends ModelNode {
         return get(DESCRIPTION).asString();
     }
 
-    public List<Property> getAttributes(String path) {
-        ModelNode attributes = ModelNodeHelper.failSafeGet(this, path);
-        if (attributes.isDefined()) {
-            return attributes.asPropertyList();
+    /**
+     * Returns the index of the attributes found under the specified path. The index is built on first access and rebuilt if
+     * the attributes node has been replaced or attributes have been added or removed since then.
+     */
+    public AttributeIndex attributeIndex(String path) {
+        ModelNode node = ModelNodeHelper.failSafeGet(this, path);
+        AttributeIndex index = indexes.get(path);
+        if (index == null || index.isStale(node)) {
+            index = new AttributeIndex(node);
+            indexes.put(path, index);
         }
-        return emptyList();
+        return index;
+    }
+
+    public List<Property> getAttributes(String path) {
+        return new ArrayList<>(attributeIndex(path).getAttributes());
     }
 
     public List<Property> getAttributes(String path, String group) {
-        List<Property> attributes = getAttributes(path);
-        return attributes.stream()
-                .filter(property -> {
-                    ModelNode attributeDescription = property.getValue();
-                    return attributeDescription.hasDefined(ATTRIBUTE_GROUP) &&
-                            group.equals(attributeDescription.get(ATTRIBUTE_GROUP).asString());
-                })
-                .collect(toList());
+        return new ArrayList<>(attributeIndex(path).getGroup(group));
     }
 
     public List<Property> getRequiredAttributes(String path) {
-        return getAttributes(path).stream()
-                .filter(property -> {
-                    ModelNode attributeDescription = property.getValue();
-                    if (attributeDescription.hasDefined(REQUIRED)) {
-                        return attributeDescription.get(REQUIRED).asBoolean();
-                    } else if (attributeDescription.hasDefined(NILLABLE)) {
-                        return !attributeDescription.get(NILLABLE).asBoolean();
-                    }
-                    return false;
-                })
-                .collect(toList());
+        return new ArrayList<>(attributeIndex(path).getRequired());
     }
 
     public List<Property> getOperations() {
-        return hasDefined(OPERATIONS) ? get(OPERATIONS).asPropertyList() : emptyList();
+        return new ArrayList<>(attributeIndex(OPERATIONS).getAttributes());
     }
 
     public Property findOperation(String name) {
-        if (hasDefined(OPERATIONS)) {
-            for (Property property : get(OPERATIONS).asPropertyList()) {
-                if (name.equals(property.getName())) {
-                    return property;
-                }
-            }
-        }
-        return null;
+        return attributeIndex(OPERATIONS).getAttribute(name);
     }
 
     public Property findAttribute(String path, String name) {
-        for (Property property : getAttributes(path)) {
-            if (name.equals(property.getName())) {
-                return property;
-            }
-        }
-        return null;
+        return attributeIndex(path).getAttribute(name);
     }
 
     /**
@@ -126,15 +106,7 @@ public class ResourceDescription extends ModelNode {
      *         {@code name}
      */
     public List<String> findAlternatives(String path, String name) {
-        Property attribute = findAttribute(path, name);
-        if (attribute != null) {
-            if (attribute.getValue().hasDefined(ALTERNATIVES)) {
-                return attribute.getValue().get(ALTERNATIVES).asList().stream()
-                        .map(ModelNode::asString)
-                        .collect(toList());
-            }
-        }
-        return emptyList();
+        return attributeIndex(path).getAlternatives(name);
     }
 
     /**
@@ -147,18 +119,7 @@ public class ResourceDescription extends ModelNode {
      *         attribute {@code name}
      */
     public List<String> findRequires(String path, String name) {
-        return getAttributes(path).stream()
-                .filter(attribute -> {
-                    if (attribute.getValue().hasDefined(REQUIRES)) {
-                        List<String> requires = attribute.getValue().get(REQUIRES).asList().stream()
-                                .map(ModelNode::asString)
-                                .collect(toList());
-                        return requires.contains(name);
-                    }
-                    return false;
-                })
-                .map(Property::getName)
-                .collect(toList());
+        return attributeIndex(path).getRequiredBy(name);
     }
 
     public boolean isDefaultValue(String path, String name, Object value) {
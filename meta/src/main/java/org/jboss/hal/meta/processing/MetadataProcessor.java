@@ -25,7 +25,9 @@ import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Settings;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.Flow;
+import org.jboss.hal.flow.Priority;
 import org.jboss.hal.flow.Progress;
+import org.jboss.hal.flow.Scheduler;
 import org.jboss.hal.flow.Task;
 import org.jboss.hal.js.Browser;
 import org.jboss.hal.meta.AddressTemplate;
@@ -58,9 +60,6 @@ public class MetadataProcessor {
     /** Recursive depth for the r-r-d operations. Keep this small - some browsers choke on too big payload size */
     static final int RRD_DEPTH = 3;
 
-    /** Number of r-r-d operations part of one composite operation. */
-    private static final int BATCH_SIZE = 3;
-
     private static final Logger logger = LoggerFactory.getLogger(MetadataProcessor.class);
 
     private final Environment environment;
@@ -74,6 +73,8 @@ public class MetadataProcessor {
     private final SecurityContextRegistry securityContextRegistry;
     private final Settings settings;
     private final WorkerChannel workerChannel;
+    private final RrdBatchPlanner planner;
+    private final Scheduler scheduler;
 
     @Inject
     public MetadataProcessor(Environment environment,
@@ -98,11 +99,13 @@ public class MetadataProcessor {
         this.resourceDescriptionRegistry = resourceDescriptionRegistry;
         this.settings = settings;
         this.workerChannel = workerChannel;
+        this.planner = new RrdBatchPlanner();
+        this.scheduler = new Scheduler(planner.maxInFlight());
     }
 
     public void lookup(AddressTemplate template, Progress progress, MetadataCallback callback) {
         logger.debug("Lookup metadata for {}", template);
-        processInternal(singleton(template), false, progress)
+        processInternal(singleton(template), false, progress, Priority.NORMAL)
                 .then(c -> {
                     callback.onMetadata(metadataRegistry.lookup(template));
                     return null;
@@ -115,11 +118,20 @@ public class MetadataProcessor {
 
     public Promise<Metadata> lookup(AddressTemplate template, Progress progress) {
         logger.debug("Lookup metadata for {}", template);
-        return processInternal(singleton(template), false, progress)
+        return processInternal(singleton(template), false, progress, Priority.NORMAL)
                 .then(__ -> Promise.resolve(metadataRegistry.lookup(template)));
     }
 
     public Promise<Void> process(String id, Progress progress) {
+        return process(id, progress, Priority.NORMAL);
+    }
+
+    /**
+     * Processes the required resources of the given id. The r-r-d operations of all lookups share one
+     * {@linkplain Scheduler scheduler}: Use {@link Priority#LOW} for background lookups, so they don't delay the lookups of
+     * the current view.
+     */
+    public Promise<Void> process(String id, Progress progress, Priority priority) {
         Set<String> resources = requiredResources.getResources(id);
         boolean recursive = requiredResources.isRecursive(id);
         logger.debug("Process required resources {} for id '{}' (recursive={})", resources, id, recursive);
@@ -129,11 +141,12 @@ public class MetadataProcessor {
 
         } else {
             Set<AddressTemplate> templates = resources.stream().map(AddressTemplate::of).collect(toSet());
-            return processInternal(templates, recursive, progress);
+            return processInternal(templates, recursive, progress, priority);
         }
     }
 
-    private Promise<Void> processInternal(Set<AddressTemplate> templates, boolean recursive, Progress progress) {
+    private Promise<Void> processInternal(Set<AddressTemplate> templates, boolean recursive, Progress progress,
+            Priority priority) {
         // we can skip the tasks if the metadata is already in the registries
         LookupRegistryTask lookupRegistries = new LookupRegistryTask(resourceDescriptionRegistry,
                 securityContextRegistry);
@@ -148,7 +161,8 @@ public class MetadataProcessor {
             if (!ie) {
                 tasks.add(new LookupDatabaseTask(resourceDescriptionDatabase, securityContextDatabase));
             }
-            tasks.add(new RrdTask(environment, dispatcher, statementContext, settings, BATCH_SIZE, RRD_DEPTH));
+            tasks.add(new RrdTask(environment, dispatcher, statementContext, settings, planner, scheduler, priority,
+                    RRD_DEPTH));
             tasks.add(new UpdateRegistryTask(resourceDescriptionRegistry, securityContextRegistry));
             if (!ie) {
                 tasks.add(new UpdateDatabaseTask(workerChannel));
@@ -0,0 +1,212 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.db.PouchDB;
+import org.jboss.hal.flow.Priority;
+import org.jboss.hal.flow.Progress;
+import org.jboss.hal.js.Browser;
+import org.jboss.hal.meta.description.ResourceDescriptionDatabase;
+import org.jboss.hal.meta.security.SecurityContextDatabase;
+import org.jboss.hal.resources.Ids;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Splitter;
+
+import elemental2.promise.Promise;
+import elemental2.webstorage.Storage;
+import elemental2.webstorage.WebStorageWindow;
+
+import static elemental2.dom.DomGlobal.window;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Manages the lifecycle of the metadata databases.
+ * <p>
+ * The databases are keyed by product version, management model version, locale and access control provider. If the key
+ * changes (e.g. after a server upgrade), the databases of the previous key are deleted in bulk. In addition the store
+ * counts how often name tokens are visited and warms up the databases with the required resources of the most visited
+ * name tokens.
+ */
+public class MetadataStore {
+
+    /** Number of name tokens whose required resources are read when {@linkplain #warmUp() warming up} the databases. */
+    static final int WARM_UP_TOKENS = 5;
+
+    /** Maximum number of name tokens whose visits are counted. */
+    static final int MAX_VISITED_TOKENS = 50;
+
+    private static final String KEY = Ids.build(Ids.METADATA_STORAGE, "key");
+    private static final String DATABASES = Ids.build(Ids.METADATA_STORAGE, "databases");
+    private static final String VISITS = Ids.build(Ids.METADATA_STORAGE, "visits");
+    private static final Logger logger = LoggerFactory.getLogger(MetadataStore.class);
+
+    private final Environment environment;
+    private final Settings settings;
+    private final ResourceDescriptionDatabase resourceDescriptionDatabase;
+    private final SecurityContextDatabase securityContextDatabase;
+    private final MetadataProcessor metadataProcessor;
+    private final Storage storage;
+
+    @Inject
+    public MetadataStore(Environment environment,
+            Settings settings,
+            ResourceDescriptionDatabase resourceDescriptionDatabase,
+            SecurityContextDatabase securityContextDatabase,
+            MetadataProcessor metadataProcessor) {
+        this.environment = environment;
+        this.settings = settings;
+        this.resourceDescriptionDatabase = resourceDescriptionDatabase;
+        this.securityContextDatabase = securityContextDatabase;
+        this.metadataProcessor = metadataProcessor;
+        this.storage = Browser.isIE() ? null : WebStorageWindow.of(window).localStorage;
+    }
+
+    // ------------------------------------------------------ key
+
+    /** The key of the current metadata databases. */
+    public String key() {
+        return String.join("/",
+                String.valueOf(environment.getInstanceInfo().productVersion()),
+                environment.getManagementVersion().toString(),
+                settings.get(Settings.Key.LOCALE).value(),
+                environment.getAccessControlProvider().name());
+    }
+
+    /**
+     * Compares the current key with the key of the last session. If the key has changed, all databases which are no longer
+     * in use are deleted.
+     */
+    public Promise<Void> verify() {
+        if (storage == null) {
+            return Promise.resolve((Void) null);
+        }
+
+        String key = key();
+        Set<String> databases = new HashSet<>();
+        databases.add(resourceDescriptionDatabase.name());
+        databases.add(securityContextDatabase.name());
+
+        String previousKey = storage.getItem(KEY);
+        Set<String> obsolete = new HashSet<>(split(storage.getItem(DATABASES)));
+        obsolete.removeAll(databases);
+        Set<String> known = new HashSet<>(databases);
+        if (!key.equals(previousKey)) {
+            logger.info("Metadata key changed from {} to {}: Delete obsolete databases {}", previousKey, key, obsolete);
+        } else {
+            // keep databases of other roles which share the same key
+            known.addAll(obsolete);
+            obsolete.clear();
+        }
+        storage.setItem(KEY, key);
+        storage.setItem(DATABASES, String.join(",", known));
+
+        if (obsolete.isEmpty()) {
+            return Promise.resolve((Void) null);
+        }
+        @SuppressWarnings("unchecked")
+        Promise<Object>[] promises = obsolete.stream()
+                .map(name -> new PouchDB(name).destroy().catch_(error -> {
+                    logger.error("Unable to delete database {}: {}", name, error);
+                    return Promise.resolve((Object) null);
+                }))
+                .toArray(Promise[]::new);
+        return Promise.all(promises).then(__ -> Promise.resolve((Void) null));
+    }
+
+    // ------------------------------------------------------ visits & warm up
+
+    /** Counts a visit of the given name token. */
+    public void recordVisit(String nameToken) {
+        if (storage != null && nameToken != null) {
+            Map<String, Integer> visits = visits();
+            visits.merge(nameToken, 1, Integer::sum);
+            storage.setItem(VISITS, visits.entrySet().stream()
+                    .sorted(comparing(Map.Entry<String, Integer>::getValue).reversed())
+                    .limit(MAX_VISITED_TOKENS)
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(joining(",")));
+        }
+    }
+
+    /** Returns the most visited name tokens, most visited first. */
+    public List<String> mostVisited(int limit) {
+        return visits().entrySet().stream()
+                .sorted(comparing(Map.Entry<String, Integer>::getValue).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(toList());
+    }
+
+    /**
+     * Reads the required resources of the {@linkplain #WARM_UP_TOKENS most visited} name tokens one after the other. Metadata
+     * which is already in the databases is not read again. Errors are logged and otherwise ignored.
+     */
+    public Promise<Void> warmUp() {
+        List<String> tokens = mostVisited(WARM_UP_TOKENS);
+        Promise<Void> promise = Promise.resolve((Void) null);
+        for (String token : tokens) {
+            promise = promise.then(__ -> metadataProcessor.process(token, Progress.NOOP, Priority.LOW)
+                    .catch_(error -> {
+                        logger.warn("Unable to warm up metadata for {}: {}", token, error);
+                        return Promise.resolve((Void) null);
+                    }));
+        }
+        if (!tokens.isEmpty()) {
+            logger.debug("Warm up metadata for {}", tokens);
+        }
+        return promise;
+    }
+
+    private Map<String, Integer> visits() {
+        Map<String, Integer> visits = new LinkedHashMap<>();
+        if (storage != null) {
+            for (String visit : split(storage.getItem(VISITS))) {
+                int index = visit.lastIndexOf('=');
+                if (index > 0) {
+                    try {
+                        visits.put(visit.substring(0, index), Integer.parseInt(visit.substring(index + 1)));
+                    } catch (NumberFormatException ignored) {
+                        // skip corrupt entries
+                    }
+                }
+            }
+        }
+        return visits;
+    }
+
+    private List<String> split(String value) {
+        List<String> values = new ArrayList<>();
+        if (value != null && !value.isEmpty()) {
+            Splitter.on(',').omitEmptyStrings().split(value).forEach(values::add);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+/**
+ * Decides how many r-r-d operations go into one composite and how many composites are executed at once.
+ * <p>
+ * The planner keeps a moving average of the payload size (measured as number of parsed resource descriptions) and the
+ * latency per r-r-d operation of earlier responses. Batches are sized so that a composite stays below both
+ * {@link #TARGET_PAYLOAD} and {@link #TARGET_LATENCY}. As long as no measurements are available, the planner falls back to
+ * {@link #INITIAL_BATCH_SIZE}.
+ */
+class RrdBatchPlanner {
+
+    /** Number of r-r-d operations part of one composite operation as long as there are no measurements. */
+    static final int INITIAL_BATCH_SIZE = 3;
+    static final int MIN_BATCH_SIZE = 1;
+    static final int MAX_BATCH_SIZE = 12;
+
+    /** Maximum number of composites in flight. Keep this below the browsers' limit of connections per origin. */
+    static final int MAX_IN_FLIGHT = 4;
+
+    /** Upper limit of resource descriptions per composite. Some browsers choke on too big payload size. */
+    static final int TARGET_PAYLOAD = 60;
+
+    /** Upper limit in milliseconds for the execution of one composite. */
+    static final long TARGET_LATENCY = 1500;
+
+    /** Weight of the latest measurement in the moving averages. */
+    private static final double ALPHA = 0.3;
+
+    private int samples;
+    private double payloadPerOperation;
+    private double latencyPerOperation;
+
+    RrdBatchPlanner() {
+        this.samples = 0;
+        this.payloadPerOperation = 0;
+        this.latencyPerOperation = 0;
+    }
+
+    /**
+     * Records the measurements of an executed composite.
+     *
+     * @param operations the number of r-r-d operations in the composite
+     * @param payload the number of resource descriptions parsed from the result
+     * @param latency the time in milliseconds it took to execute the composite
+     */
+    void record(int operations, int payload, long latency) {
+        if (operations > 0) {
+            double payloadSample = (double) payload / operations;
+            double latencySample = (double) latency / operations;
+            if (samples == 0) {
+                payloadPerOperation = payloadSample;
+                latencyPerOperation = latencySample;
+            } else {
+                payloadPerOperation = ALPHA * payloadSample + (1 - ALPHA) * payloadPerOperation;
+                latencyPerOperation = ALPHA * latencySample + (1 - ALPHA) * latencyPerOperation;
+            }
+            samples++;
+        }
+    }
+
+    /** @return the number of r-r-d operations which should go into one composite */
+    int batchSize() {
+        if (samples == 0) {
+            return INITIAL_BATCH_SIZE;
+        }
+        int byPayload = payloadPerOperation > 0 ? (int) (TARGET_PAYLOAD / payloadPerOperation) : MAX_BATCH_SIZE;
+        int byLatency = latencyPerOperation > 0 ? (int) (TARGET_LATENCY / latencyPerOperation) : MAX_BATCH_SIZE;
+        return Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, Math.min(byPayload, byLatency)));
+    }
+
+    /** @return the maximum number of composites which should be executed in parallel */
+    int maxInFlight() {
+        return MAX_IN_FLIGHT;
+    }
+
+    int samples() {
+        return samples;
+    }
+
+    @Override
+    public String toString() {
+        return "RrdBatchPlanner(samples=" + samples +
+                ", payloadPerOperation=" + Math.round(payloadPerOperation) +
+                ", latencyPerOperation=" + Math.round(latencyPerOperation) +
+                "ms, batchSize=" + batchSize() +
+                ", maxInFlight=" + maxInFlight() + ")";
+    }
+}
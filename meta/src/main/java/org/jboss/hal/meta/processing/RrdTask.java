@@ -26,30 +26,44 @@ import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.Flow;
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Priority;
+import org.jboss.hal.flow.Scheduler;
 import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.StatementContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 
 import elemental2.promise.Promise;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 
-/** Creates, executes and parses the {@code read-resource-description} operations to read the missing metadata. */
+/**
+ * Creates, executes and parses the {@code read-resource-description} operations to read the missing metadata.
+ * <p>
+ * The size of the composites is determined by a {@link RrdBatchPlanner}. The composites are executed in parallel by a
+ * {@link Scheduler} which is shared by all lookups and limits the number of composites in flight.
+ */
 final class RrdTask implements Task<LookupContext> {
 
     private static final Logger logger = LoggerFactory.getLogger(RrdTask.class);
 
     private final Dispatcher dispatcher;
-    private final int batchSize;
+    private final RrdBatchPlanner planner;
+    private final Scheduler scheduler;
+    private final Priority priority;
     private final CreateRrdOperations rrdOps;
 
     RrdTask(Environment environment, Dispatcher dispatcher, StatementContext statementContext, Settings settings,
-            int batchSize, int depth) {
+            RrdBatchPlanner planner, Scheduler scheduler, Priority priority, int depth) {
         this.dispatcher = dispatcher;
-        this.batchSize = batchSize;
+        this.planner = planner;
+        this.scheduler = scheduler;
+        this.priority = priority;
         this.rrdOps = new CreateRrdOperations(environment, statementContext, settings.get(Settings.Key.LOCALE).value(),
                 depth);
     }
@@ -57,17 +71,15 @@ final class RrdTask implements Task<LookupContext> {
     @Override
     public Promise<LookupContext> apply(final LookupContext context) {
         boolean recursive = context.recursive;
-        List<Task<LookupContext>> tasks = new ArrayList<>();
+        int batchSize = planner.batchSize();
+        List<Task<FlowContext>> tasks = new ArrayList<>();
 
         // create and partition non-optional operations
         List<Operation> operations = rrdOps.create(context, recursive, false);
         List<List<Operation>> piles = Lists.partition(operations, batchSize);
         List<Composite> composites = piles.stream().map(Composite::new).collect(toList());
         for (Composite composite : composites) {
-            tasks.add((LookupContext c) -> dispatcher.execute(composite).then(result -> {
-                parseRrdAction(context, composite, result);
-                return Promise.resolve(c);
-            }));
+            tasks.add((FlowContext c) -> execute(context, composite).then(__ -> Promise.resolve(c)));
         }
 
         // create optional operations w/o partitioning!
@@ -78,11 +90,8 @@ final class RrdTask implements Task<LookupContext> {
         List<Composite> optionalComposites = new ArrayList<>();
         optionalOperations.forEach(operation -> optionalComposites.add(new Composite(operation)));
         for (Composite composite : optionalComposites) {
-            tasks.add((LookupContext c) -> dispatcher.execute(composite)
-                    .then(result -> {
-                        parseRrdAction(context, composite, result);
-                        return Promise.resolve(c);
-                    })
+            tasks.add((FlowContext c) -> execute(context, composite)
+                    .then(__ -> Promise.resolve(c))
                     .catch_(error -> {
                         logger.debug("Ignore errors on optional resource operation {}", composite.asCli());
                         return Promise.resolve(c);
@@ -91,8 +100,10 @@ final class RrdTask implements Task<LookupContext> {
 
         if (!tasks.isEmpty()) {
             if (logger.isDebugEnabled()) {
-                logger.debug("About to execute {} ({}+{}) composite operations (regular+optional)",
-                        composites.size() + optionalComposites.size(), composites.size(), optionalComposites.size());
+                logger.debug("About to execute {} ({}+{}) composite operations (regular+optional) " +
+                        "with batch size {} and priority {}: {}",
+                        composites.size() + optionalComposites.size(), composites.size(), optionalComposites.size(),
+                        batchSize, priority, scheduler);
                 String compositeOps = composites.stream().map(Composite::asCli).collect(Collectors.joining(", "));
                 logger.debug("Composite operations: {}", compositeOps);
                 if (!optionalComposites.isEmpty()) {
@@ -102,18 +113,38 @@ final class RrdTask implements Task<LookupContext> {
                     logger.debug("Optional operations: {}", optionalOps);
                 }
             }
-            return Flow.sequential(context, tasks).promise();
+
+            // the scheduler is shared by all lookups and limits the number of composites in flight
+            return Flow.parallel(new FlowContext(), tasks)
+                    .scheduler(scheduler)
+                    .priority(priority)
+                    .promise()
+                    .then(__ -> Promise.resolve(context));
         } else {
             logger.debug("No DMR operations necessary");
             return Promise.resolve(context);
         }
     }
 
-    private void parseRrdAction(LookupContext context, Composite composite, CompositeResult compositeResult) {
+    private Promise<RrdResult> execute(LookupContext context, Composite composite) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        return dispatcher.execute(composite).then(result -> {
+            RrdResult rrdResult = parseRrdAction(context, composite, result);
+            stopwatch.stop();
+            long elapsed = stopwatch.elapsed(MILLISECONDS);
+            planner.record(composite.size(), rrdResult.resourceDescriptions.size(), elapsed);
+            logger.debug("Executed batch of {} r-r-d operations with {} resource descriptions in {} ms -> {}",
+                    composite.size(), rrdResult.resourceDescriptions.size(), elapsed, planner);
+            return Promise.resolve(rrdResult);
+        });
+    }
+
+    private RrdResult parseRrdAction(LookupContext context, Composite composite, CompositeResult compositeResult) {
         RrdResult rrdResult = new CompositeRrdParser(composite).parse(compositeResult);
         context.toResourceDescriptionRegistry.putAll(rrdResult.resourceDescriptions);
         context.toResourceDescriptionDatabase.putAll(rrdResult.resourceDescriptions);
         context.toSecurityContextRegistry.putAll(rrdResult.securityContexts);
         context.toSecurityContextDatabase.putAll(rrdResult.securityContexts);
+        return rrdResult;
     }
 }
@@ -54,16 +54,24 @@ class SingleRrdParser {
     }
 
     private void parseSingle(ResourceAddress address, ModelNode modelNode) {
+        // The resource description and the security contexts are copies of parts of the payload. Protect the payload, so
+        // that the copies share the payload until they're modified instead of copying it deeply.
+        modelNode.protect();
+
         // resource description
         // to reduce the payload we only use the flat model node w/o children
-        ModelNode childrenNode = modelNode.hasDefined(CHILDREN) ? modelNode.remove(CHILDREN) : new ModelNode();
+        ModelNode childrenNode = modelNode.hasDefined(CHILDREN) ? modelNode.get(CHILDREN) : new ModelNode();
         if (!rrdResult.containsResourceDescription(address) && modelNode.hasDefined(DESCRIPTION)) {
-            rrdResult.addResourceDescription(addressProcessor.apply(address), new ResourceDescription(modelNode));
+            ResourceDescription resourceDescription = new ResourceDescription(modelNode);
+            if (childrenNode.isDefined()) {
+                resourceDescription.remove(CHILDREN);
+            }
+            rrdResult.addResourceDescription(addressProcessor.apply(address), resourceDescription);
         }
 
         // security context
-        ModelNode accessControl = modelNode.get(ACCESS_CONTROL);
-        if (accessControl.isDefined()) {
+        if (modelNode.hasDefined(ACCESS_CONTROL)) {
+            ModelNode accessControl = modelNode.get(ACCESS_CONTROL);
             if (!rrdResult.containsSecurityContext(address) && accessControl.hasDefined(DEFAULT)) {
                 rrdResult.addSecurityContext(address, new SecurityContext(accessControl.get(DEFAULT)));
             }
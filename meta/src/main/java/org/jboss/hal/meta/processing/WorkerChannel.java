@@ -24,15 +24,27 @@ import org.jboss.hal.meta.description.ResourceDescription;
 import org.jboss.hal.meta.description.ResourceDescriptionDatabase;
 import org.jboss.hal.meta.security.SecurityContext;
 import org.jboss.hal.meta.security.SecurityContextDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import elemental2.core.JsArray;
 import elemental2.dom.Worker;
 import jsinterop.annotations.JsProperty;
 import jsinterop.annotations.JsType;
 
+import static elemental2.dom.DomGlobal.setTimeout;
 import static jsinterop.annotations.JsPackage.GLOBAL;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 import static org.jboss.hal.resources.UIConstants.OBJECT;
 
+/**
+ * Posts resource descriptions and security contexts to the worker defined in {@code app/src/web/script/worker.js}, which
+ * stores them in the databases.
+ * <p>
+ * Updates are not posted one by one, but collected and posted as one {@link BatchMessage} at the end of the current
+ * tick or as soon as {@link #MAX_BATCH_SIZE} updates have been collected. The worker writes all documents of a batch
+ * with one {@code bulkDocs} call per database and collapses repeated updates of the same document.
+ */
 public class WorkerChannel {
 
     // provided by app/src/web/script/index.js
@@ -42,9 +54,18 @@ public class WorkerChannel {
         @JsProperty static Worker metadataChannel;
     }
 
+    /** Maximum number of updates in one batch. */
+    static final int MAX_BATCH_SIZE = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerChannel.class);
+
     private final ResourceDescriptionDatabase resourceDescriptionDatabase;
     private final SecurityContextDatabase securityContextDatabase;
     private final Worker worker;
+    private JsArray<UpdateMessage> pending;
+    private boolean flushScheduled;
+    private int updates;
+    private int batches;
 
     @Inject
     public WorkerChannel(ResourceDescriptionDatabase resourceDescriptionDatabase,
@@ -52,6 +73,10 @@ public class WorkerChannel {
         this.resourceDescriptionDatabase = resourceDescriptionDatabase;
         this.securityContextDatabase = securityContextDatabase;
         this.worker = Browser.isIE() ? null : WorkerProvider.metadataChannel;
+        this.pending = new JsArray<>();
+        this.flushScheduled = false;
+        this.updates = 0;
+        this.batches = 0;
     }
 
     void postResourceDescription(ResourceAddress address, ResourceDescription resourceDescription, boolean recursive) {
@@ -60,7 +85,7 @@ public class WorkerChannel {
             UpdateMessage message = new UpdateMessage();
             message.database = resourceDescriptionDatabase.name();
             message.document = resourceDescriptionDatabase.asDocument(address, resourceDescription);
-            worker.postMessage(message);
+            enqueue(message);
         }
     }
 
@@ -70,7 +95,34 @@ public class WorkerChannel {
             UpdateMessage message = new UpdateMessage();
             message.database = securityContextDatabase.name();
             message.document = securityContextDatabase.asDocument(address, securityContext);
+            enqueue(message);
+        }
+    }
+
+    private void enqueue(UpdateMessage message) {
+        pending.push(message);
+        updates++;
+        if (pending.length >= MAX_BATCH_SIZE) {
+            flush();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            setTimeout(__ -> {
+                flushScheduled = false;
+                flush();
+            }, 0);
+        }
+    }
+
+    /** Posts all pending updates as one batch to the worker. */
+    void flush() {
+        if (worker != null && pending.length > 0) {
+            BatchMessage message = new BatchMessage();
+            message.batch = pending;
+            pending = new JsArray<>();
+            batches++;
             worker.postMessage(message);
+            logger.debug("Posted batch of {} updates to the worker. {} updates posted in {} batches so far",
+                    message.batch.length, updates, batches);
         }
     }
 
@@ -80,4 +132,10 @@ public class WorkerChannel {
         String database;
         Document document;
     }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class BatchMessage {
+
+        JsArray<UpdateMessage> batch;
+    }
 }
@@ -52,22 +52,21 @@ public class AuthorisationDecision {
 
     // ------------------------------------------------------ factory methods
 
+    /**
+     * Creates a decision which uses the security contexts of the specified registry. Decisions for single constraints are
+     * remembered by the registry.
+     */
     public static AuthorisationDecision from(Environment environment,
             SecurityContextRegistry securityContextRegistry) {
-        return new AuthorisationDecision(environment, constraint -> {
-            if (securityContextRegistry.contains(constraint.getTemplate())) {
-                return Optional.of(securityContextRegistry.lookup(constraint.getTemplate()));
-            }
-            return Optional.empty();
-        });
+        return new AuthorisationDecision(environment, null, securityContextRegistry);
     }
 
     public static AuthorisationDecision from(Environment environment, SecurityContext securityContext) {
-        return new AuthorisationDecision(environment, constraint -> Optional.of(securityContext));
+        return new AuthorisationDecision(environment, constraint -> Optional.of(securityContext), null);
     }
 
     public static AuthorisationDecision from(Environment environment, SecurityContextResolver resolver) {
-        return new AuthorisationDecision(environment, resolver);
+        return new AuthorisationDecision(environment, resolver, null);
     }
 
     // ------------------------------------------------------ instance
@@ -76,10 +75,13 @@ public class AuthorisationDecision {
 
     private final Environment environment;
     private final SecurityContextResolver resolver;
+    private final SecurityContextRegistry registry;
 
-    private AuthorisationDecision(Environment environment, SecurityContextResolver resolver) {
+    private AuthorisationDecision(Environment environment, SecurityContextResolver resolver,
+            SecurityContextRegistry registry) {
         this.environment = environment;
         this.resolver = resolver;
+        this.registry = registry;
     }
 
     public boolean isAllowed(Constraints constraints) {
@@ -106,8 +108,14 @@ public class AuthorisationDecision {
         if (environment.getAccessControlProvider() == AccessControlProvider.SIMPLE) {
             return true;
         }
+        if (registry != null) {
+            return registry.isAllowed(constraint, optional -> isAllowed(constraint, optional));
+        }
+        return isAllowed(constraint, resolver.resolve(constraint));
+    }
+
+    private boolean isAllowed(Constraint constraint, Optional<SecurityContext> optional) {
         boolean allowed = false;
-        Optional<SecurityContext> optional = resolver.resolve(constraint);
         if (optional.isPresent()) {
             SecurityContext securityContext = optional.get();
             if (constraint.getTarget() == OPERATION) {
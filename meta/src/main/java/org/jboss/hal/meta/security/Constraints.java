@@ -20,6 +20,8 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import static com.google.common.base.Strings.emptyToNull;
 import static java.util.Arrays.asList;
@@ -44,6 +46,11 @@ public class Constraints implements Iterable<Constraint> {
         }
     }
 
+    private static final int COMPILED_CACHE_SIZE = 500;
+    private static final Cache<String, Constraints> compiled = CacheBuilder.newBuilder()
+            .maximumSize(COMPILED_CACHE_SIZE)
+            .build();
+
     // ------------------------------------------------------ factory methods
 
     public static Constraints single(Constraint constraint) {
@@ -95,6 +102,23 @@ public class Constraints implements Iterable<Constraint> {
 
     // ------------------------------------------------------ parse
 
+    /**
+     * Same as {@link #parse(String)}, but remembers the parsed constraints. Use this method for constraints which are parsed
+     * over and over again like the {@code data-constraint} attributes processed by {@link ElementGuard}. The returned
+     * instance is shared and must not be modified.
+     */
+    public static Constraints compile(String input) {
+        if (emptyToNull(input) != null) {
+            Constraints constraints = compiled.getIfPresent(input);
+            if (constraints == null) {
+                constraints = parse(input);
+                compiled.put(input, constraints);
+            }
+            return constraints;
+        }
+        return empty();
+    }
+
     public static Constraints parse(String input) {
         if (emptyToNull(input) != null) {
             Operator operator;
@@ -15,6 +15,8 @@
  */
 package org.jboss.hal.meta.security;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -54,9 +56,32 @@ public class ElementGuard {
     }
 
     private static void processElements(AuthorisationDecision authorisationDecision, NodeList<Element> elements) {
+        // Decide first and change the DOM afterwards. This way all class changes happen in one go and the browser has
+        // to recalculate styles and layout only once for the whole subtree.
+        List<HTMLElement> show = new ArrayList<>();
+        List<HTMLElement> hide = new ArrayList<>();
         Elements.stream(elements)
                 .filter(new Visible()) // prevent that hidden elements become visible by Toggle()
-                .forEach(new Toggle(authorisationDecision));
+                .forEach(element -> {
+                    if (element instanceof HTMLElement) {
+                        HTMLElement htmlElement = (HTMLElement) element;
+                        boolean hidden = !authorisationDecision.isAllowed(constraints(htmlElement));
+                        // skip elements which already have the right state
+                        if (hidden != htmlElement.classList.contains(rbacHidden)) {
+                            (hidden ? hide : show).add(htmlElement);
+                        }
+                    }
+                });
+        for (HTMLElement element : show) {
+            element.classList.remove(rbacHidden);
+        }
+        for (HTMLElement element : hide) {
+            element.classList.add(rbacHidden);
+        }
+    }
+
+    private static Constraints constraints(HTMLElement element) {
+        return Constraints.compile(element.dataset.get(UIConstants.CONSTRAINT));
     }
 
     private ElementGuard() {
@@ -89,11 +114,7 @@ public class ElementGuard {
         public void accept(Element element) {
             if (element instanceof HTMLElement) {
                 HTMLElement htmlElement = (HTMLElement) element;
-                String data = String.valueOf(htmlElement.dataset.get(UIConstants.CONSTRAINT));
-                if (data != null) {
-                    Constraints constraints = Constraints.parse(data);
-                    Elements.toggle(htmlElement, rbacHidden, !authorisationDecision.isAllowed(constraints));
-                }
+                Elements.toggle(htmlElement, rbacHidden, !authorisationDecision.isAllowed(constraints(htmlElement)));
             }
         }
     }
@@ -70,6 +70,7 @@ public class SecurityContextDatabase extends AbstractDatabase<SecurityContext> {
                     provider,
                     roles,
                     environment.getHalBuild().name(),
+                    environment.getInstanceInfo().productVersion(),
                     environment.getManagementVersion().toString());
         }
         return name;
@@ -15,9 +15,18 @@
  */
 package org.jboss.hal.meta.security;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.RolesChangedEvent;
+import org.jboss.hal.config.RolesChangedEvent.RolesChangedHandler;
+import org.jboss.hal.config.UserChangedEvent;
+import org.jboss.hal.config.UserChangedEvent.UserChangedHandler;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractRegistry;
 import org.jboss.hal.meta.StatementContext;
@@ -26,19 +35,28 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.web.bindery.event.shared.EventBus;
 
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 
-public class SecurityContextRegistry extends AbstractRegistry<SecurityContext> {
+/**
+ * Registry for security contexts. Besides the security contexts, the registry remembers the decisions made by
+ * {@link AuthorisationDecision} for single constraints. Decisions are grouped by the resolved address. When a security context
+ * is added, only the decisions for its address are dropped. All decisions are dropped when the user or roles change.
+ */
+public class SecurityContextRegistry extends AbstractRegistry<SecurityContext>
+        implements RolesChangedHandler, UserChangedHandler {
 
     private static final int CACHE_SIZE = 500;
+    private static final int DECISION_CACHE_SIZE = CACHE_SIZE;
     private static final String SECURITY_CONTEXT_TYPE = "security context";
     private static final Logger logger = LoggerFactory.getLogger(SecurityContextRegistry.class);
 
     private final Cache<ResourceAddress, SecurityContext> cache;
+    private final Cache<ResourceAddress, Map<String, Boolean>> decisions;
 
     @Inject
-    public SecurityContextRegistry(StatementContext statementContext, Environment environment) {
+    public SecurityContextRegistry(StatementContext statementContext, Environment environment, EventBus eventBus) {
         super(new SecurityContextStatementContext(statementContext, environment), SECURITY_CONTEXT_TYPE);
         this.cache = CacheBuilder.newBuilder()
                 .maximumSize(CACHE_SIZE)
@@ -47,14 +65,59 @@ public class SecurityContextRegistry extends AbstractRegistry<SecurityContext> {
                         notification -> logger.debug("Remove {} from {} cache: {}", notification.getKey(), type,
                                 notification.getCause()))
                 .build();
+        this.decisions = CacheBuilder.newBuilder()
+                .maximumSize(DECISION_CACHE_SIZE)
+                .build();
+        eventBus.addHandler(RolesChangedEvent.getType(), this);
+        eventBus.addHandler(UserChangedEvent.getType(), this);
     }
 
     public void add(ResourceAddress address, SecurityContext securityContext, boolean recursive) {
         securityContext.get(HAL_RECURSIVE).set(recursive);
         cache.put(address, securityContext);
+        // decisions are only remembered for the exact address of a security context
+        decisions.invalidate(address);
         logger.debug("Added {} to {} ({})", address.toString(), type, recursive ? "recursive" : "none-recursive");
     }
 
+    @Override
+    public void onRolesChanged(RolesChangedEvent event) {
+        invalidateDecisions();
+    }
+
+    @Override
+    public void onUserChanged(UserChangedEvent event) {
+        invalidateDecisions();
+    }
+
+    public void invalidateDecisions() {
+        decisions.invalidateAll();
+        logger.debug("Invalidated authorisation decisions");
+    }
+
+    /**
+     * Resolves the template of the constraint once and returns the remembered decision for the constraint and address. If
+     * there's no such decision, the decision is made by testing the security context (if any) and remembered as long as a
+     * security context was found.
+     */
+    boolean isAllowed(Constraint constraint, Predicate<Optional<SecurityContext>> decision) {
+        ResourceAddress address = resolveTemplate(constraint.getTemplate());
+        Map<String, Boolean> decisionsForAddress = decisions.getIfPresent(address);
+        Boolean allowed = decisionsForAddress != null ? decisionsForAddress.get(constraint.data()) : null;
+        if (allowed == null) {
+            SecurityContext securityContext = lookupAddress(address);
+            allowed = decision.test(Optional.ofNullable(securityContext));
+            if (securityContext != null) {
+                if (decisionsForAddress == null) {
+                    decisionsForAddress = new HashMap<>();
+                    decisions.put(address, decisionsForAddress);
+                }
+                decisionsForAddress.put(constraint.data(), allowed);
+            }
+        }
+        return allowed;
+    }
+
     @Override
     protected SecurityContext lookupAddress(ResourceAddress address) {
         return cache.getIfPresent(address);
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ModelType;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.meta.capabilitiy.Capabilities;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_LABEL;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.VALUE_TYPE;
+import static org.jboss.hal.meta.AddressTemplate.ROOT;
+import static org.jboss.hal.meta.security.SecurityContext.RWX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class MetadataTest {
+
+    private ModelNode payload;
+    private Metadata metadata;
+
+    @Before
+    public void setUp() {
+        payload = new ModelNode();
+        payload.get(DESCRIPTION).set("A resource");
+        ModelNode complex = payload.get(ATTRIBUTES, "complex");
+        complex.get(DESCRIPTION).set("A complex attribute");
+        complex.get(TYPE).set(ModelType.OBJECT);
+        complex.get(VALUE_TYPE, "foo", TYPE).set(ModelType.STRING);
+        complex.get(VALUE_TYPE, "bar", TYPE).set(ModelType.INT);
+        // like the payloads parsed from read-resource-description operations
+        payload.protect();
+        metadata = new Metadata(ROOT, () -> RWX, new ResourceDescription(payload), new Capabilities(null));
+    }
+
+    @Test
+    public void forComplexAttribute() {
+        Metadata nested = metadata.forComplexAttribute("complex");
+
+        assertEquals("A complex attribute", nested.getDescription().getDescription());
+        assertNotNull(nested.getDescription().findAttribute(ATTRIBUTES, "foo"));
+        assertNotNull(nested.getDescription().findAttribute(ATTRIBUTES, "bar"));
+        assertFalse(nested.getDescription().findAttribute(ATTRIBUTES, "foo").getValue().has(HAL_LABEL));
+    }
+
+    @Test
+    public void forComplexAttributePrefixLabel() {
+        Metadata nested = metadata.forComplexAttribute("complex", true);
+
+        Property foo = nested.getDescription().findAttribute(ATTRIBUTES, "foo");
+        assertEquals("complex-foo", foo.getValue().get(HAL_LABEL).asString());
+        assertEquals("complex-bar", nested.getDescription().findAttribute(ATTRIBUTES, "bar").getValue()
+                .get(HAL_LABEL).asString());
+        // the protected payload is not modified
+        assertFalse(payload.get(ATTRIBUTES, "complex", VALUE_TYPE, "foo").has(HAL_LABEL));
+    }
+}
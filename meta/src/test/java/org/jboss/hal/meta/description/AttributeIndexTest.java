@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.description;
+
+import java.util.List;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ALTERNATIVES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTE_GROUP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NILLABLE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUIRED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUIRES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AttributeIndexTest {
+
+    private ResourceDescription description;
+
+    @Before
+    public void setUp() {
+        ModelNode payload = new ModelNode();
+        ModelNode attributes = payload.get(ATTRIBUTES);
+        attributes.get("a").get(REQUIRED).set(true);
+        attributes.get("a").get(ATTRIBUTE_GROUP).set("g1");
+        attributes.get("b").get(NILLABLE).set(false);
+        attributes.get("b").get(ATTRIBUTE_GROUP).set("g1");
+        attributes.get("c").get(REQUIRES).add("a");
+        attributes.get("c").get(ALTERNATIVES).add("d");
+        attributes.get("d").get(REQUIRES).add("a").add("b");
+        attributes.get("d").get(ALTERNATIVES).add("c");
+        attributes.get("d").get(ATTRIBUTE_GROUP).set("g2");
+        payload.get(OPERATIONS).get("add").get(REQUIRED).set(false);
+        description = new ResourceDescription(payload);
+    }
+
+    @Test
+    public void attributes() {
+        AttributeIndex index = description.attributeIndex(ATTRIBUTES);
+        assertEquals(4, index.size());
+        assertEquals("a", index.getAttributes().get(0).getName());
+        assertEquals("d", index.getAttributes().get(3).getName());
+        assertNotNull(index.getAttribute("c"));
+        assertNull(index.getAttribute("x"));
+    }
+
+    @Test
+    public void undefinedPath() {
+        AttributeIndex index = description.attributeIndex("foo/bar");
+        assertTrue(index.isEmpty());
+        assertNull(index.getAttribute("a"));
+        assertSame(index, description.attributeIndex("foo/bar"));
+    }
+
+    @Test
+    public void groups() {
+        assertEquals(asList("a", "b"), names(description.attributeIndex(ATTRIBUTES).getGroup("g1")));
+        assertEquals(asList("d"), names(description.attributeIndex(ATTRIBUTES).getGroup("g2")));
+        assertEquals(emptyList(), names(description.attributeIndex(ATTRIBUTES).getGroup("g3")));
+    }
+
+    @Test
+    public void required() {
+        assertEquals(asList("a", "b"), names(description.attributeIndex(ATTRIBUTES).getRequired()));
+    }
+
+    @Test
+    public void relations() {
+        AttributeIndex index = description.attributeIndex(ATTRIBUTES);
+        assertEquals(asList("d"), index.getAlternatives("c"));
+        assertEquals(emptyList(), index.getAlternatives("a"));
+        assertEquals(asList("a", "b"), index.getRequires("d"));
+        assertEquals(asList("c", "d"), index.getRequiredBy("a"));
+        assertEquals(asList("d"), index.getRequiredBy("b"));
+        assertEquals(emptyList(), index.getRequiredBy("c"));
+    }
+
+    @Test
+    public void resourceDescription() {
+        assertEquals(asList("c", "d"), description.findRequires(ATTRIBUTES, "a"));
+        assertEquals(asList("c"), description.findAlternatives(ATTRIBUTES, "d"));
+        assertEquals("b", description.findAttribute(ATTRIBUTES, "b").getName());
+        assertEquals("add", description.findOperation("add").getName());
+        assertNull(description.findOperation("remove"));
+        assertEquals(1, description.getOperations().size());
+    }
+
+    @Test
+    public void cached() {
+        assertSame(description.attributeIndex(ATTRIBUTES), description.attributeIndex(ATTRIBUTES));
+    }
+
+    @Test
+    public void rebuiltAfterAdd() {
+        AttributeIndex index = description.attributeIndex(ATTRIBUTES);
+        description.get(ATTRIBUTES).get("e").get(REQUIRED).set(true);
+
+        AttributeIndex rebuilt = description.attributeIndex(ATTRIBUTES);
+        assertNotSame(index, rebuilt);
+        assertNotNull(rebuilt.getAttribute("e"));
+    }
+
+    @Test
+    public void rebuiltAfterReplace() {
+        AttributeIndex index = description.attributeIndex(ATTRIBUTES);
+        ModelNode attributes = new ModelNode();
+        attributes.get("x").get(REQUIRED).set(false);
+        description.remove(ATTRIBUTES);
+        description.get(ATTRIBUTES).set(attributes);
+
+        AttributeIndex rebuilt = description.attributeIndex(ATTRIBUTES);
+        assertNotSame(index, rebuilt);
+        assertEquals(1, rebuilt.size());
+        assertNotNull(rebuilt.getAttribute("x"));
+    }
+
+    private List<String> names(List<Property> properties) {
+        return properties.stream().map(Property::getName).collect(toList());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.meta.processing.RrdBatchPlanner.INITIAL_BATCH_SIZE;
+import static org.jboss.hal.meta.processing.RrdBatchPlanner.MAX_BATCH_SIZE;
+import static org.jboss.hal.meta.processing.RrdBatchPlanner.MAX_IN_FLIGHT;
+import static org.jboss.hal.meta.processing.RrdBatchPlanner.MIN_BATCH_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RrdBatchPlannerTest {
+
+    private RrdBatchPlanner planner;
+
+    @Before
+    public void setUp() {
+        planner = new RrdBatchPlanner();
+    }
+
+    @Test
+    public void initial() {
+        assertEquals(0, planner.samples());
+        assertEquals(INITIAL_BATCH_SIZE, planner.batchSize());
+        assertEquals(MAX_IN_FLIGHT, planner.maxInFlight());
+    }
+
+    @Test
+    public void ignoreEmpty() {
+        planner.record(0, 100, 1000);
+        assertEquals(0, planner.samples());
+        assertEquals(INITIAL_BATCH_SIZE, planner.batchSize());
+    }
+
+    @Test
+    public void smallAndFast() {
+        planner.record(3, 3, 30);
+        assertEquals(MAX_BATCH_SIZE, planner.batchSize());
+    }
+
+    @Test
+    public void largePayload() {
+        // 30 descriptions per operation -> 2 operations per composite
+        planner.record(3, 90, 30);
+        assertEquals(2, planner.batchSize());
+    }
+
+    @Test
+    public void slow() {
+        // 750 ms per operation -> 2 operations per composite
+        planner.record(2, 2, 1500);
+        assertEquals(2, planner.batchSize());
+    }
+
+    @Test
+    public void neverBelowMinimum() {
+        planner.record(1, 1000, 10_000);
+        assertEquals(MIN_BATCH_SIZE, planner.batchSize());
+    }
+
+    @Test
+    public void adapt() {
+        planner.record(3, 90, 30);
+        int before = planner.batchSize();
+        for (int i = 0; i < 10; i++) {
+            planner.record(3, 3, 30);
+        }
+        assertEquals(11, planner.samples());
+        assertTrue(planner.batchSize() > before);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.jboss.hal.dmr.ExternalModelNode;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.meta.description.ResourceDescription;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MODEL_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+
+/**
+ * Compares the allocation of copying the recursive {@code read-resource-description} result of the Undertow subsystem
+ * <ol>
+ * <li>using deep copies: the payload is not protected</li>
+ * <li>using copy-on-write: the payload is {@linkplain ModelNode#protect() protected} and the copies share it until they're
+ * modified</li>
+ * </ol>
+ * The scenarios are
+ * <dl>
+ * <dt>clone</dt>
+ * <dd>clone the payload</dd>
+ * <dt>descriptions</dt>
+ * <dd>create a resource description w/o children for each resource like {@link SingleRrdParser} does</dd>
+ * <dt>descriptions + reads</dt>
+ * <dd>create the resource descriptions and look up each attribute like a form does</dd>
+ * </dl>
+ * Run with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.meta.processing.RrdCopyBenchmark -Dexec.classpathScope=test}.
+ */
+@SuppressWarnings({ "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr" })
+public class RrdCopyBenchmark {
+
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        ModelNode payload = ExternalModelNode
+                .read(RrdCopyBenchmark.class.getResourceAsStream("composite_rrd_recursive_description_only.dmr"))
+                .get("step-1").get(RESULT);
+
+        System.out.printf("%-24s %14s %14s %12s %12s%n", "scenario", "deep bytes", "cow bytes", "deep ms", "cow ms");
+        run("clone", payload, (node, protect) -> node.clone());
+        run("descriptions", payload, RrdCopyBenchmark::descriptions);
+        run("descriptions + reads", payload, (node, protect) -> {
+            List<ResourceDescription> descriptions = descriptions(node, protect);
+            for (ResourceDescription description : descriptions) {
+                for (Property attribute : description.attributeIndex(ATTRIBUTES).getAttributes()) {
+                    description.findAttribute(ATTRIBUTES, attribute.getName()).getValue().isDefined();
+                }
+            }
+            return descriptions;
+        });
+    }
+
+    private static void run(String scenario, ModelNode payload, BiFunction<ModelNode, Boolean, Object> copy) {
+        for (int i = 0; i < WARMUP; i++) {
+            measure(payload, false, copy);
+            measure(payload, true, copy);
+        }
+        long[] deep = measure(payload, false, copy);
+        long[] cow = measure(payload, true, copy);
+        System.out.printf("%-24s %14d %14d %12.2f %12.2f%n", scenario, deep[1] / ITERATIONS, cow[1] / ITERATIONS,
+                deep[0] / 1_000_000.0 / ITERATIONS, cow[0] / 1_000_000.0 / ITERATIONS);
+    }
+
+    /** @return the elapsed nanos and the allocated bytes of the copies (w/o preparing the payload) */
+    private static long[] measure(ModelNode payload, boolean protect, BiFunction<ModelNode, Boolean, Object> copy) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long elapsed = 0;
+        long allocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            ModelNode node = payload.clone();
+            long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            if (protect) {
+                node.protect();
+            }
+            copy.apply(node, protect);
+            elapsed += System.nanoTime() - start;
+            allocated += threadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+        }
+        return new long[] { elapsed, allocated };
+    }
+
+    private static List<ResourceDescription> descriptions(ModelNode payload, boolean protect) {
+        List<ResourceDescription> descriptions = new ArrayList<>();
+        descriptions(payload, protect, descriptions);
+        return descriptions;
+    }
+
+    /**
+     * Deep copies follow the former parser which removed the children from the (unprotected) payload before copying it.
+     * Copy-on-write follows the current parser which removes the children from the shared copy.
+     */
+    private static void descriptions(ModelNode node, boolean protect, List<ResourceDescription> descriptions) {
+        ModelNode children;
+        ResourceDescription description;
+        if (protect) {
+            children = node.hasDefined(CHILDREN) ? node.get(CHILDREN) : new ModelNode();
+            description = new ResourceDescription(node);
+            if (children.isDefined()) {
+                description.remove(CHILDREN);
+            }
+        } else {
+            children = node.remove(CHILDREN);
+            description = new ResourceDescription(node);
+        }
+        if (children != null && children.isDefined()) {
+            for (Property child : children.asPropertyList()) {
+                if (child.getValue().hasDefined(MODEL_DESCRIPTION)) {
+                    for (Property modelDescription : child.getValue().get(MODEL_DESCRIPTION).asPropertyList()) {
+                        descriptions(modelDescription.getValue(), protect, descriptions);
+                    }
+                }
+            }
+        }
+        descriptions.add(description);
+    }
+}
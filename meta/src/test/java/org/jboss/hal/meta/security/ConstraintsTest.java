@@ -22,6 +22,7 @@ import static org.jboss.hal.meta.security.Constraints.Operator.AND;
 import static org.jboss.hal.meta.security.Constraints.Operator.OR;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ConstraintsTest {
@@ -99,6 +100,23 @@ public class ConstraintsTest {
         assertEmpty(constraints);
     }
 
+    @Test
+    public void compile() {
+        Constraints constraints = Constraints.compile(AND_DATA);
+        assertAnd(constraints);
+        assertSame(constraints, Constraints.compile(AND_DATA));
+    }
+
+    @Test
+    public void compileNull() {
+        assertEmpty(Constraints.compile(null));
+    }
+
+    @Test
+    public void compileEmpty() {
+        assertEmpty(Constraints.compile(""));
+    }
+
     // ------------------------------------------------------ helper methods
 
     private void assertEmpty(Constraints empty) {
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.security;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.TestableStatementContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.web.bindery.event.shared.EventBus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings("DuplicateStringLiteralInspection")
+public class SecurityContextRegistryTest {
+
+    private static final AddressTemplate FOO = AddressTemplate.of("/subsystem=foo");
+    private static final AddressTemplate BAR = AddressTemplate.of("/subsystem=bar");
+
+    private SecurityContextRegistry registry;
+    private AtomicInteger tests;
+    private Predicate<Optional<SecurityContext>> decision;
+
+    @Before
+    public void setUp() {
+        registry = new SecurityContextRegistry(new TestableStatementContext(), mock(Environment.class),
+                mock(EventBus.class));
+        tests = new AtomicInteger();
+        decision = securityContext -> {
+            tests.incrementAndGet();
+            return securityContext.isPresent();
+        };
+    }
+
+    @Test
+    public void remembered() {
+        add(FOO);
+        Constraint constraint = Constraint.executable(FOO, "add");
+
+        assertTrue(registry.isAllowed(constraint, decision));
+        assertTrue(registry.isAllowed(constraint, decision));
+        assertEquals(1, tests.get());
+    }
+
+    @Test
+    public void perConstraint() {
+        add(FOO);
+
+        registry.isAllowed(Constraint.executable(FOO, "add"), decision);
+        registry.isAllowed(Constraint.executable(FOO, "remove"), decision);
+        registry.isAllowed(Constraint.writable(FOO, "name"), decision);
+        assertEquals(3, tests.get());
+    }
+
+    @Test
+    public void notRememberedWithoutSecurityContext() {
+        Constraint constraint = Constraint.executable(FOO, "add");
+
+        assertFalse(registry.isAllowed(constraint, decision));
+        add(FOO);
+        assertTrue(registry.isAllowed(constraint, decision));
+        assertEquals(2, tests.get());
+    }
+
+    @Test
+    public void addInvalidatesSameAddress() {
+        add(FOO);
+        Constraint constraint = Constraint.executable(FOO, "add");
+        registry.isAllowed(constraint, decision);
+
+        add(FOO);
+        registry.isAllowed(constraint, decision);
+        assertEquals(2, tests.get());
+    }
+
+    @Test
+    public void addKeepsOtherAddresses() {
+        add(FOO);
+        Constraint constraint = Constraint.executable(FOO, "add");
+        registry.isAllowed(constraint, decision);
+
+        add(BAR);
+        registry.isAllowed(constraint, decision);
+        assertEquals(1, tests.get());
+    }
+
+    @Test
+    public void rolesChanged() {
+        add(FOO);
+        Constraint constraint = Constraint.executable(FOO, "add");
+        registry.isAllowed(constraint, decision);
+
+        registry.onRolesChanged(null);
+        registry.isAllowed(constraint, decision);
+        assertEquals(2, tests.get());
+    }
+
+    @Test
+    public void userChanged() {
+        add(FOO);
+        Constraint constraint = Constraint.executable(FOO, "add");
+        registry.isAllowed(constraint, decision);
+
+        registry.onUserChanged(null);
+        registry.isAllowed(constraint, decision);
+        assertEquals(2, tests.get());
+    }
+
+    private void add(AddressTemplate template) {
+        ResourceAddress address = template.resolve(new TestableStatementContext());
+        registry.add(address, new SecurityContext(new ModelNode()), false);
+    }
+}
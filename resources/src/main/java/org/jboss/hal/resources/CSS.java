@@ -266,6 +266,7 @@ public interface CSS {
     String loadingContainer = "loading-container";
     String logFileEditorContainer = "log-file-editor-container";
     String logFileFollow = "log-file-follow";
+    String logFileLines = "log-file-lines";
     String logFileLoading = "log-file-loading";
     String logFilePreview = "log-file-preview";
     String logo = "logo";
@@ -402,6 +403,7 @@ public interface CSS {
     String servers = "servers";
     String serverGroupContainer = "server-group-container";
     String smallLink = "small-link";
+    String sparkline = "sparkline";
     String spinner = "spinner";
     String spinnerLg = "spinner-lg";
     String srOnly = "sr-only";
@@ -455,6 +457,14 @@ public interface CSS {
 
     String value = "value";
     String valueDropdown = "value-dropdown";
+    String virtualList = "virtual-list";
+    String virtualListPlaceholder = "virtual-list-placeholder";
+    String virtualListRow = "virtual-list-row";
+    String virtualListRows = "virtual-list-rows";
+    String virtualListSpacer = "virtual-list-spacer";
+    String virtualTreeMatch = "virtual-tree-match";
+    String virtualTreeRow = "virtual-tree-row";
+    String virtualTreeToggle = "virtual-tree-toggle";
 
     String warning = "warning";
     String warningTriangleO = "warning-triangle-o";
@@ -484,6 +484,7 @@ public interface Ids {
     String LOG_FILE = "lf";
     String LOG_FILE_EDITOR = "lf-editor";
     String LOG_FILE_FOLLOW = "lf-follow";
+    String LOG_FILE_LINES = "lf-lines";
     String LOG_FILE_REFRESH = "lf-refresh";
     String LOG_FILE_SEARCH = "lf-search";
     String LOGGING_CONFIG_AND_PROFILES = "lcap";
@@ -617,6 +618,7 @@ public interface Ids {
     String MESSAGING_SOCKET_BROADCAST_GROUP = "messaging-socket-broadcast-group";
     String MESSAGING_SOCKET_DISCOVERY_GROUP = "messaging-socket-discovery-group";
     String MESSAGING_STATISTICS_DISABLED = "messaging-statistics-disabled";
+    String METADATA_STORAGE = "hal-local-storage-metadata";
     String MICRO_PROFILE_CONFIG_SOURCE = "microprofile-config-source";
     String MICRO_PROFILE_HEALTH = "microprofile-health";
     String MICRO_PROFILE_METRICS_FORM = "microprofile-metrics-form";
@@ -1141,6 +1141,8 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     String logFileFullStatus(int lines, String lastUpdate);
 
+    String logFilePagedStatus(String size, String lastUpdate);
+
     String logFilePartStatus(int lines, String lastUpdate);
 
     String logFilePreview(int lines);